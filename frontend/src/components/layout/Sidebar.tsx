@@ -49,7 +49,7 @@ const Sidebar: React.FC<SidebarProps> = ({ isOpen, onClose, isCollapsed, onToggl
 
   useEffect(() => {
     if (!user) return;
-    notificationsApi.getUnreadCount(user.userId)
+    notificationsApi.getMyUnreadCount()
       .then((res) => setUnreadCount(res.data ?? 0))
       .catch(() => setUnreadCount(0));
   }, [user]);
@@ -38,7 +38,7 @@ const TopBar: React.FC<TopBarProps> = ({ onMenuClick }) => {
 
   useEffect(() => {
     if (!user?.userId) return;
-    notificationsApi.getUnreadCount(user.userId)
+    notificationsApi.getMyUnreadCount()
       .then((r) => setUnreadCount(r.data || 0))
       .catch(() => setUnreadCount(0));
   }, [user?.userId]);
@@ -16,6 +16,8 @@ const AdminAssignmentsPage: React.FC = () => {
   const [assignments, setAssignments] = useState<Assignment[]>([]);
   const [filteredAssignments, setFilteredAssignments] = useState<Assignment[]>([]);
   const [isLoading, setIsLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | undefined>();
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [searchTerm, setSearchTerm] = useState('');
   const [statusFilter, setStatusFilter] = useState<string>('ALL');
   const [stats, setStats] = useState({
@@ -168,10 +170,22 @@ const AdminAssignmentsPage: React.FC = () => {
       try {
         setIsLoading(true);
         try {
-          const response = await assignmentsApi.getAll();
-          setAssignments(response.data);
+          // The list arrives one slice at a time; the stats come from the server so they cover every assignment
+          const [response, completed] = await Promise.all([
+            assignmentsApi.getAll({ includeTotal: true }),
+            assignmentsApi.countCompleted(),
+          ]);
+          const total = response.data.totalElements ?? response.data.content.length;
+          setAssignments(response.data.content);
+          setNextCursor(response.data.nextCursor);
+          setStats({ total, active: total - completed.data, completed: completed.data });
         } catch (error) {
           setAssignments(mockAssignments);
+          setStats({
+            total: mockAssignments.length,
+            active: mockAssignments.filter(a => !a.completedAt).length,
+            completed: mockAssignments.filter(a => a.completedAt).length,
+          });
         }
       } catch (error) {
         console.error('Failed to fetch assignments:', error);
@@ -202,14 +216,22 @@ const AdminAssignmentsPage: React.FC = () => {
     }
 
     setFilteredAssignments(filtered);
-
-    setStats({
-      total: assignments.length,
-      active: assignments.filter(a => !a.completedAt).length,
-      completed: assignments.filter(a => a.completedAt).length,
-    });
   }, [assignments, searchTerm, statusFilter]);
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await assignmentsApi.getAll({ cursor: nextCursor });
+      setAssignments(prev => [...prev, ...response.data.content]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Failed to load more assignments:', error);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const calculateDuration = (acceptedAt: string, completedAt?: string) => {
     const start = new Date(acceptedAt);
     const end = completedAt ? new Date(completedAt) : new Date();
@@ -462,6 +484,19 @@ const AdminAssignmentsPage: React.FC = () => {
               ))}
             </div>
           )}
+          {nextCursor && (
+            <div className="flex justify-center mt-6">
+              <Button
+                size="sm"
+                variant="secondary"
+                onClick={handleLoadMore}
+                loading={isLoadingMore}
+                disabled={isLoadingMore}
+              >
+                {t('common_loadMore')}
+              </Button>
+            </div>
+          )}
         </div>
       </Card>
 
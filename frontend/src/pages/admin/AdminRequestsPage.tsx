@@ -18,6 +18,8 @@ const AdminRequestsPage: React.FC = () => {
   const [requests, setRequests] = useState<Request[]>([]);
   const [filteredRequests, setFilteredRequests] = useState<Request[]>([]);
   const [isLoading, setIsLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | undefined>();
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [searchTerm, setSearchTerm] = useState('');
   const [statusFilter, setStatusFilter] = useState<string>('ALL');
   const [stats, setStats] = useState({
@@ -132,10 +134,32 @@ const AdminRequestsPage: React.FC = () => {
       try {
         setIsLoading(true);
         try {
-          const response = await requestsApi.getAll();
-          setRequests(response.data.content || response.data);
+          // The list arrives one slice at a time; the stats come from the server so they cover every request
+          const [response, pending, accepted, completed, cancelled] = await Promise.all([
+            requestsApi.getAll({ includeTotal: true }),
+            requestsApi.countByStatus(RequestStatus.PENDING),
+            requestsApi.countByStatus(RequestStatus.ACCEPTED),
+            requestsApi.countByStatus(RequestStatus.COMPLETED),
+            requestsApi.countByStatus(RequestStatus.CANCELLED),
+          ]);
+          setRequests(response.data.content);
+          setNextCursor(response.data.nextCursor);
+          setStats({
+            total: response.data.totalElements ?? response.data.content.length,
+            pending: pending.data,
+            accepted: accepted.data,
+            completed: completed.data,
+            cancelled: cancelled.data,
+          });
         } catch (error) {
           setRequests(mockRequests);
+          setStats({
+            total: mockRequests.length,
+            pending: mockRequests.filter(r => r.status === RequestStatus.PENDING).length,
+            accepted: mockRequests.filter(r => r.status === RequestStatus.ACCEPTED).length,
+            completed: mockRequests.filter(r => r.status === RequestStatus.COMPLETED).length,
+            cancelled: mockRequests.filter(r => r.status === RequestStatus.CANCELLED).length,
+          });
         }
       } catch (error) {
         console.error('Failed to fetch requests:', error);
@@ -164,16 +188,22 @@ const AdminRequestsPage: React.FC = () => {
     }
 
     setFilteredRequests(filtered);
-
-    setStats({
-      total: requests.length,
-      pending: requests.filter(r => r.status === RequestStatus.PENDING).length,
-      accepted: requests.filter(r => r.status === RequestStatus.ACCEPTED).length,
-      completed: requests.filter(r => r.status === RequestStatus.COMPLETED).length,
-      cancelled: requests.filter(r => r.status === RequestStatus.CANCELLED).length,
-    });
   }, [requests, searchTerm, statusFilter]);
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await requestsApi.getAll({ cursor: nextCursor });
+      setRequests(prev => [...prev, ...response.data.content]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Failed to load more requests:', error);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const getStatusBadgeVariant = (status: string) => {
     switch (status) {
       case RequestStatus.PENDING:
@@ -474,6 +504,19 @@ const AdminRequestsPage: React.FC = () => {
               })}
             </div>
           )}
+          {nextCursor && (
+            <div className="flex justify-center mt-6">
+              <Button
+                size="sm"
+                variant="secondary"
+                onClick={handleLoadMore}
+                loading={isLoadingMore}
+                disabled={isLoadingMore}
+              >
+                {t('common_loadMore')}
+              </Button>
+            </div>
+          )}
         </div>
       </Card>
 
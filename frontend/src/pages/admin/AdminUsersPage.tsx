@@ -13,6 +13,8 @@ import Modal from '../../components/common/Modal';
 import Input from '../../components/common/Input';
 import { useTranslation } from 'react-i18next';
 
+const USERS_PAGE_SIZE = 20;
+
 const AdminUsersPage: React.FC = () => {
   const [users, setUsers] = useState<User[]>([]);
   const [filteredUsers, setFilteredUsers] = useState<User[]>([]);
@@ -34,6 +36,8 @@ const AdminUsersPage: React.FC = () => {
   const [isTogglingLock, setIsTogglingLock] = useState<number | null>(null);
   const [currentPage, setCurrentPage] = useState(0);
   const [totalPages, setTotalPages] = useState(0);
+  // Cursor that starts each page visited so far; the first page needs none
+  const [pageCursors, setPageCursors] = useState<(string | undefined)[]>([undefined]);
   const { t } = useTranslation();
 
   // Form data
@@ -67,31 +71,30 @@ const AdminUsersPage: React.FC = () => {
   const fetchUsers = async () => {
     try {
       setIsLoading(true);
-      const response = await adminApi.getAllUsers(currentPage, 20);
+      // One cursor slice per page; the counts come from the dashboard stats so they cover every user
+      const [response, statsResponse] = await Promise.all([
+        usersApi.getAll({ cursor: pageCursors[currentPage], size: USERS_PAGE_SIZE }),
+        adminApi.getDashboardStats(),
+      ]);
       const data = response.data;
-      if (data.content) {
-        setUsers(data.content);
-        setTotalPages(data.totalPages || 1);
-      } else if (Array.isArray(data)) {
-        setUsers(data);
-        setTotalPages(1);
-      }
+      setUsers(data.content);
+      setPageCursors(prev => {
+        const next = prev.slice(0, currentPage + 1);
+        if (data.nextCursor) next.push(data.nextCursor);
+        return next;
+      });
+
+      const { totalUsers, totalVolunteers, totalCitizens } = statsResponse.data;
+      setStats({
+        totalUsers,
+        volunteers: totalVolunteers,
+        citizens: totalCitizens,
+        admins: totalUsers - totalVolunteers - totalCitizens,
+      });
+      setTotalPages(Math.max(1, Math.ceil(totalUsers / USERS_PAGE_SIZE)));
     } catch (error) {
       console.error('Failed to fetch users:', error);
-      // Fallback to users API
-      try {
-        const response = await usersApi.getAll(currentPage, 20);
-        const data = response.data;
-        if (data.content) {
-          setUsers(data.content);
-          setTotalPages(data.totalPages || 1);
-        } else if (Array.isArray(data)) {
-          setUsers(data);
-          setTotalPages(1);
-        }
-      } catch {
-        toast.error('Failed to load users');
-      }
+      toast.error('Failed to load users');
     } finally {
       setIsLoading(false);
     }
@@ -221,13 +224,6 @@ const AdminUsersPage: React.FC = () => {
     }
 
     setFilteredUsers(filtered);
-
-    setStats({
-      totalUsers: users.length,
-      volunteers: users.filter(u => u.role === UserRole.VOLUNTEER).length,
-      citizens: users.filter(u => u.role === UserRole.CITIZEN).length,
-      admins: users.filter(u => u.role === UserRole.ADMIN).length,
-    });
   }, [users, searchTerm, roleFilter]);
 
   const getRoleBadgeVariant = (role: string) => {
@@ -352,7 +348,16 @@ const AdminUsersPage: React.FC = () => {
       setIsDeleting(userId);
       try {
         await adminApi.deleteUser(userId);
+        const deleted = users.find(u => u.userId === userId);
         setUsers(prev => prev.filter(u => u.userId !== userId));
+        if (deleted) {
+          setStats(prev => ({
+            totalUsers: prev.totalUsers - 1,
+            volunteers: prev.volunteers - (deleted.role === UserRole.VOLUNTEER ? 1 : 0),
+            citizens: prev.citizens - (deleted.role === UserRole.CITIZEN ? 1 : 0),
+            admins: prev.admins - (deleted.role === UserRole.ADMIN ? 1 : 0),
+          }));
+        }
         toast.success('User deleted successfully');
       } catch (error: any) {
         const msg = error.response?.data?.message || 'Failed to delete user';
@@ -611,8 +616,8 @@ const AdminUsersPage: React.FC = () => {
               <Button
                 size="sm"
                 variant="secondary"
-                onClick={() => setCurrentPage(p => Math.min(totalPages - 1, p + 1))}
-                disabled={currentPage >= totalPages - 1}
+                onClick={() => setCurrentPage(p => p + 1)}
+                disabled={!pageCursors[currentPage + 1]}
               >
                 Next
               </Button>
@@ -28,7 +28,7 @@ const AssignmentsPage: React.FC = () => {
       if (!user) return;
       try {
         setIsLoading(true);
-        const response = await assignmentsApi.getByVolunteer(user.userId);
+        const response = await assignmentsApi.getMine();
         setAssignments(response.data);
       } catch (error) {
         console.error('Failed to fetch assignments:', error);
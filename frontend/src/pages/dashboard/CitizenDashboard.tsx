@@ -44,14 +44,15 @@ const CitizenDashboard: React.FC = () => {
       try {
         setIsLoading(true);
         const [requestsResponse, notificationsResponse, unreadCountResponse] = await Promise.all([
-          requestsApi.getByCitizen(user.userId),
-          notificationsApi.getByUser(user.userId),
-          notificationsApi.getUnreadCount(user.userId),
+          requestsApi.getMine(),
+          notificationsApi.getMine({ size: 5 }),
+          notificationsApi.getMyUnreadCount(),
         ]);
 
         const userRequests = requestsResponse.data;
         setRequests(userRequests.slice(0, 5));
-        setNotifications(notificationsResponse.data.slice(0, 5));
+        // The newest slice is enough here; the unread badge uses the server-side count
+        setNotifications(notificationsResponse.data.content);
 
         const totalRequests = userRequests.length;
         const pendingRequests = userRequests.filter((r: Request) => r.status === 'PENDING').length;
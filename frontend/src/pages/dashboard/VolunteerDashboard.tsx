@@ -48,10 +48,10 @@ const VolunteerDashboard: React.FC = () => {
       try {
         setIsLoading(true);
         const [assignmentsResponse, requestsResponse, notificationsResponse, unreadCountResponse] = await Promise.all([
-          assignmentsApi.getByVolunteer(user.userId),
+          assignmentsApi.getMine(),
           requestsApi.getPending(),
-          notificationsApi.getByUser(user.userId),
-          notificationsApi.getUnreadCount(user.userId),
+          notificationsApi.getMine({ size: 5 }),
+          notificationsApi.getMyUnreadCount(),
         ]);
 
         const userAssignments = assignmentsResponse.data;
@@ -59,7 +59,8 @@ const VolunteerDashboard: React.FC = () => {
 
         setAssignments(userAssignments.slice(0, 5));
         setAvailableRequests(pendingRequests.slice(0, 5));
-        setNotifications(notificationsResponse.data.slice(0, 5));
+        // The newest slice is enough here; the unread badge uses the server-side count
+        setNotifications(notificationsResponse.data.content);
 
         const totalAssignments = userAssignments.length;
         const activeAssignments = userAssignments.filter((a: Assignment) => !a.completedAt).length;
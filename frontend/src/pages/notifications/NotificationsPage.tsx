@@ -16,6 +16,8 @@ const NotificationsPage: React.FC = () => {
   const [notifications, setNotifications] = useState<Notification[]>([]);
   const [filteredNotifications, setFilteredNotifications] = useState<Notification[]>([]);
   const [isLoading, setIsLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | undefined>();
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [filter, setFilter] = useState<'all' | 'unread' | 'read'>('all');
   const [searchTerm, setSearchTerm] = useState('');
   const [selectedNotification, setSelectedNotification] = useState<Notification | null>(null);
@@ -31,8 +33,15 @@ const NotificationsPage: React.FC = () => {
 
       try {
         setIsLoading(true);
-        const response = await notificationsApi.getByUser(user.userId);
-        setNotifications(response.data);
+        // Notifications arrive newest first, one slice at a time; the counts cover all of them
+        const [response, unread] = await Promise.all([
+          notificationsApi.getMine({ includeTotal: true }),
+          notificationsApi.getMyUnreadCount(),
+        ]);
+        const total = response.data.totalElements ?? response.data.content.length;
+        setNotifications(response.data.content);
+        setNextCursor(response.data.nextCursor);
+        setStats({ total, unread: unread.data, read: total - unread.data });
       } catch (error) {
         console.error('Failed to fetch notifications:', error);
         setNotifications([]);
@@ -73,18 +82,28 @@ const NotificationsPage: React.FC = () => {
 
     console.log('Final filtered notifications:', filtered.length);
     setFilteredNotifications(filtered);
-
-    // Update stats
-    setStats({
-      total: notifications.length,
-      unread: notifications.filter(n => n.isRead === false).length,
-      read: notifications.filter(n => n.isRead === true).length,
-    });
   }, [notifications, filter, searchTerm]);
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await notificationsApi.getMine({ cursor: nextCursor });
+      setNotifications(prev => [...prev, ...response.data.content]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Failed to load more notifications:', error);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const markAsRead = async (notificationId: number) => {
     try {
       await notificationsApi.markAsRead(notificationId);
+      if (notifications.some(n => n.notificationId === notificationId && !n.isRead)) {
+        setStats(prev => ({ ...prev, unread: prev.unread - 1, read: prev.read + 1 }));
+      }
       setNotifications(prev => 
         prev.map(n => 
           n.notificationId === notificationId 
@@ -101,8 +120,9 @@ const NotificationsPage: React.FC = () => {
     if (!user) return;
     
     try {
-      await notificationsApi.markAllAsRead(user.userId);
+      await notificationsApi.markAllMineAsRead();
       setNotifications(prev => prev.map(n => ({ ...n, isRead: true })));
+      setStats(prev => ({ ...prev, unread: 0, read: prev.total }));
     } catch (error) {
       console.error('Failed to mark all notifications as read:', error);
     }
@@ -111,6 +131,12 @@ const NotificationsPage: React.FC = () => {
   const deleteNotification = async (notificationId: number) => {
     try {
       await notificationsApi.delete(notificationId);
+      const deleted = notifications.find(n => n.notificationId === notificationId);
+      if (deleted) {
+        setStats(prev => deleted.isRead
+          ? { ...prev, total: prev.total - 1, read: prev.read - 1 }
+          : { ...prev, total: prev.total - 1, unread: prev.unread - 1 });
+      }
       setNotifications(prev => prev.filter(n => n.notificationId !== notificationId));
     } catch (error) {
       console.error('Failed to delete notification:', error);
@@ -332,6 +358,19 @@ const NotificationsPage: React.FC = () => {
               </div>
             ))
           )}
+          {nextCursor && (
+            <div className="flex justify-center mt-6">
+              <Button
+                size="sm"
+                variant="secondary"
+                onClick={loadMore}
+                loading={isLoadingMore}
+                disabled={isLoadingMore}
+              >
+                {t('common_loadMore')}
+              </Button>
+            </div>
+          )}
         </div>
       </Card>
 
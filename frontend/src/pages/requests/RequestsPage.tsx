@@ -40,7 +40,7 @@ const RequestsPage: React.FC = () => {
 
     try {
       setIsLoading(true);
-      const response = await requestsApi.getByCitizen(user.userId);
+      const response = await requestsApi.getMine();
       setRequests(response.data || []);
     } catch (error: any) {
       console.error('Failed to fetch requests:', error);
@@ -1,5 +1,5 @@
 import axios from 'axios';
-import type { AuthResponse, LoginRequest, RegisterRequest } from '../types';
+import type { AuthResponse, CursorPage, LoginRequest, RegisterRequest } from '../types';
 
 function getApiBaseUrl(): string {
   // Check for explicit environment variable first
@@ -53,6 +53,13 @@ api.interceptors.response.use(
   }
 );
 
+// Keyset pagination: pass the previous slice's nextCursor as `cursor`
+export interface CursorParams {
+  cursor?: string;
+  size?: number;
+  includeTotal?: boolean;
+}
+
 // Auth API
 export const authApi = {
   login: (credentials: LoginRequest) => 
@@ -92,8 +99,9 @@ export const authApi = {
 
 // Users API
 export const usersApi = {
-  getAll: (page = 0, size = 10, role?: string, province?: string) => 
-    api.get(`/users/search?page=${page}&size=${size}${role ? `&role=${role}` : ''}${province ? `&province=${province}` : ''}`),
+  // Newest users first, one cursor slice at a time
+  getAll: (params: CursorParams & { role?: string } = {}) => 
+    api.get<CursorPage<any>>('/users/search', { params }),
   
   getById: (id: number) => 
     api.get(`/users/${id}`),
@@ -148,8 +156,8 @@ export const usersApi = {
 
 // Requests API
 export const requestsApi = {
-  getAll: (page = 0, size = 10) => 
-    api.get(`/requests?page=${page}&size=${size}`),
+  getAll: (params: CursorParams = {}) => 
+    api.get<CursorPage<any>>('/requests', { params }),
   
   getById: (id: number) => 
     api.get(`/requests/${id}`),
@@ -169,6 +177,10 @@ export const requestsApi = {
   getByCitizen: (citizenId: number) => 
     api.get(`/requests/citizen/${citizenId}`),
   
+  // The caller's own requests, identified by the access token
+  getMine: () => 
+    api.get('/requests/me'),
+  
   getPending: () => 
     api.get('/requests/pending'),
   
@@ -178,6 +190,9 @@ export const requestsApi = {
   getPendingByProvince: (province: string) => 
     api.get(`/requests/pending/province/${encodeURIComponent(province)}`),
   
+  countByStatus: (status: string) => 
+    api.get<number>(`/requests/count/status/${status}`),
+  
   search: (params: {
     status?: string;
     province?: string;
@@ -207,8 +222,8 @@ export const requestsApi = {
 
 // Assignments API
 export const assignmentsApi = {
-  getAll: () => 
-    api.get('/assignments'),
+  getAll: (params: CursorParams = {}) => 
+    api.get<CursorPage<any>>('/assignments', { params }),
   
   getById: (id: number) => 
     api.get(`/assignments/${id}`),
@@ -225,6 +240,10 @@ export const assignmentsApi = {
   getByVolunteer: (volunteerId: number) => 
     api.get(`/assignments/volunteer/${volunteerId}`),
   
+  // The caller's own assignments, identified by the access token
+  getMine: () => 
+    api.get('/assignments/me'),
+  
   complete: (id: number) => 
     api.patch(`/assignments/${id}/complete`),
   
@@ -233,6 +252,9 @@ export const assignmentsApi = {
   
   getPending: () => 
     api.get('/assignments/pending'),
+  
+  countCompleted: () => 
+    api.get<number>('/assignments/count/completed'),
 };
 
 // Notifications API
@@ -255,6 +277,10 @@ export const notificationsApi = {
   getByUser: (userId: number) => 
     api.get(`/notifications/user/${userId}`),
   
+  // The caller's own notifications, identified by the access token
+  getMine: (params: CursorParams = {}) => 
+    api.get<CursorPage<any>>('/notifications/me', { params }),
+  
   getByUserPaginated: (userId: number, params: {
     isRead?: boolean;
     search?: string;
@@ -284,6 +310,12 @@ export const notificationsApi = {
   getUnreadCount: (userId: number) => 
     api.get(`/notifications/user/${userId}/unread/count`),
   
+  getMyUnreadCount: () => 
+    api.get('/notifications/me/unread/count'),
+  
+  markAllMineAsRead: () => 
+    api.patch('/notifications/me/mark-all-read'),
+  
   getUserStats: (userId: number) => 
     api.get(`/notifications/user/${userId}/stats`),
 };
@@ -139,6 +139,16 @@ export interface PaginatedResponse<T> {
   last: boolean;
 }
 
+// One keyset slice; pass nextCursor back as `cursor` for the following slice.
+// totalElements is only present when requested with includeTotal.
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  hasNext: boolean;
+  nextCursor?: string;
+  totalElements?: number;
+}
+
 // ─── Auth Types ───────────────────────────────────────────────────────────────
 export interface LoginRequest {
   email: string;
@@ -0,0 +1,128 @@
+package om.community.supportsystem.benchmark;
+
+import om.community.supportsystem.CommunitySupportSystemApplication;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.Skill;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.repository.LocationRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import om.community.supportsystem.repository.SkillRepository;
+import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.service.LeaderboardService;
+import om.community.supportsystem.service.SearchIndexService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The application running on the in-memory H2 database from application-test.properties, seeded
+ * once per fork with a fixed dataset. The leaderboard and search index are rebuilt from it
+ * before measurement starts.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    static final int LOCATIONS = 30;
+    static final int VOLUNTEERS = 500;
+    static final int CITIZENS = 2_000;
+    static final int REQUESTS_PER_CITIZEN = 3;
+
+    static final String[] TOPICS = {"groceries", "pharmacy", "homework", "laptop", "roof", "clinic", "garden", "market"};
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Command-line arguments, so they win over application.properties and the active profile
+        context = new SpringApplicationBuilder(CommunitySupportSystemApplication.class).run(
+                "--spring.profiles.active=benchmark",
+                "--spring.config.additional-location=classpath:application-test.properties",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--querystats.fail-on-repeat=false");
+        seed();
+        bean(LeaderboardService.class).reconcile();
+        bean(SearchIndexService.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        new TransactionTemplate(bean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            List<Location> locations = new ArrayList<>();
+            for (int l = 0; l < LOCATIONS; l++) {
+                locations.add(new Location("Province " + (l % 5), "District " + l, "P" + (l % 5)));
+            }
+            locations = bean(LocationRepository.class).saveAll(locations);
+
+            List<Skill> skills = new ArrayList<>();
+            for (String topic : TOPICS) {
+                skills.add(new Skill("Skill " + topic, "Help with " + topic));
+            }
+            skills = bean(SkillRepository.class).saveAll(skills);
+
+            List<User> volunteers = new ArrayList<>();
+            List<User> citizens = new ArrayList<>();
+            for (int u = 0; u < VOLUNTEERS + CITIZENS; u++) {
+                boolean volunteer = u < VOLUNTEERS;
+                User user = new User((volunteer ? "Volunteer " : "Citizen ") + u, "user" + u + "@example.com",
+                        String.format("07%08d", u), volunteer ? UserRole.VOLUNTEER : UserRole.CITIZEN,
+                        locations.get(u % LOCATIONS));
+                user.setPassword("password123");
+                Set<Skill> userSkills = new HashSet<>();
+                userSkills.add(skills.get(u % skills.size()));
+                userSkills.add(skills.get((u / 3) % skills.size()));
+                user.setSkills(userSkills);
+                (volunteer ? volunteers : citizens).add(user);
+            }
+            volunteers = bean(UserRepository.class).saveAll(volunteers);
+            citizens = bean(UserRepository.class).saveAll(citizens);
+
+            List<Request> requests = new ArrayList<>();
+            RequestCategory[] categories = RequestCategory.values();
+            for (int c = 0; c < citizens.size(); c++) {
+                for (int r = 0; r < REQUESTS_PER_CITIZEN; r++) {
+                    String topic = TOPICS[(c + r) % TOPICS.length];
+                    requests.add(new Request("Need help with " + topic, "Looking for someone to help with " + topic,
+                            categories[(c + r) % categories.length], citizens.get(c)));
+                }
+            }
+            requests = bean(RequestRepository.class).saveAll(requests);
+
+            // Every other request is taken; a third of those are completed, skewed towards low volunteer ids
+            List<Assignment> assignments = new ArrayList<>();
+            for (int r = 0; r < requests.size(); r += 2) {
+                Assignment assignment = new Assignment(requests.get(r), volunteers.get((r * 7 / 3) % volunteers.size()));
+                if (r % 3 == 0) {
+                    assignment.setCompletedAt(LocalDateTime.now());
+                }
+                assignments.add(assignment);
+            }
+            bean(AssignmentRepository.class).saveAll(assignments);
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package om.community.supportsystem.benchmark;
+
+import om.community.supportsystem.dto.AssignmentResponseDTO;
+import om.community.supportsystem.dto.RequestResponseDTO;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Entity-to-DTO mapping for one list page of requests and assignments, without the database. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final List<Request> requests = new ArrayList<>();
+    private final List<Assignment> assignments = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Location location = new Location("Kigali City", "Gasabo", "KC");
+        location.setLocationId(1L);
+        User volunteer = user(1, UserRole.VOLUNTEER, location);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User citizen = user(i + 2, UserRole.CITIZEN, location);
+            Request request = new Request("Request " + i, "Help needed", RequestCategory.GENERAL_HELP, citizen);
+            request.setRequestId((long) i);
+            requests.add(request);
+            Assignment assignment = new Assignment(request, volunteer);
+            assignment.setAssignmentId((long) i);
+            assignments.add(assignment);
+        }
+    }
+
+    @Benchmark
+    public List<RequestResponseDTO> requestPage() {
+        return requests.stream().map(RequestResponseDTO::new).toList();
+    }
+
+    @Benchmark
+    public List<AssignmentResponseDTO> assignmentPage() {
+        return assignments.stream().map(AssignmentResponseDTO::new).toList();
+    }
+
+    private static User user(long id, UserRole role, Location location) {
+        User user = new User("User " + id, "user" + id + "@example.com", String.format("07%08d", id), role, location);
+        user.setUserId(id);
+        return user;
+    }
+}
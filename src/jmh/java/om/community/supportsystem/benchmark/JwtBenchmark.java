@@ -0,0 +1,63 @@
+package om.community.supportsystem.benchmark;
+
+import om.community.supportsystem.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login and user id extraction on every authenticated request. cachedExtract
+ * repeats one token, so it hits the verification cache; uncachedExtract rotates over four times
+ * more tokens than the cache holds, so most calls verify the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final int CACHE_SIZE = 1_000;
+
+    private JwtUtil jwtUtil;
+    private String cachedToken;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmarkSecretKeyForCommunitySupportSystem2026");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", CACHE_SIZE);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtlMs", 300_000L);
+        jwtUtil.validateSecret();
+
+        cachedToken = jwtUtil.generateToken("cached@example.com", "VOLUNTEER", 1L);
+        tokens = new String[CACHE_SIZE * 4];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtUtil.generateToken("user" + i + "@example.com", "CITIZEN", (long) i);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("volunteer@example.com", "VOLUNTEER", 42L);
+    }
+
+    @Benchmark
+    public Long cachedExtract() {
+        return jwtUtil.extractUserId(cachedToken);
+    }
+
+    @Benchmark
+    public Long uncachedExtract() {
+        next = (next + 1) % tokens.length;
+        return jwtUtil.extractUserId(tokens[next]);
+    }
+}
@@ -0,0 +1,60 @@
+package om.community.supportsystem.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import om.community.supportsystem.config.RateLimitFilter;
+import om.community.supportsystem.ratelimit.InMemoryRateLimitBackend;
+import om.community.supportsystem.ratelimit.RateLimitPolicyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rate limit filter on a path without a policy (most API calls) and on a limited path with
+ * anonymous callers spread over many client IPs. Each invocation builds a fresh mock request,
+ * because OncePerRequestFilter skips requests it has already seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitFilterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitFilter(new InMemoryRateLimitBackend(100_000), new RateLimitPolicyService(),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public int unlimitedPath() throws Exception {
+        return run("/api/requests", "10.0.0.1");
+    }
+
+    @Benchmark
+    public int limitedPath() throws Exception {
+        next = (next + 1) % CLIENTS;
+        return run("/api/auth/login", "10.1." + (next / 256) + "." + (next % 256));
+    }
+
+    private int run(String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,45 @@
+package om.community.supportsystem.benchmark;
+
+import om.community.supportsystem.service.LeaderboardService;
+import om.community.supportsystem.service.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Leaderboard and global search against the seeded H2 dataset in ApplicationState. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    @Param({"10", "100"})
+    public int limit;
+
+    private LeaderboardService leaderboardService;
+    private SearchService searchService;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        leaderboardService = application.bean(LeaderboardService.class);
+        searchService = application.bean(SearchService.class);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> topVolunteers() {
+        return leaderboardService.getTopVolunteers(limit);
+    }
+
+    @Benchmark
+    public Map<String, Object> globalSearch() {
+        return searchService.globalSearch(ApplicationState.TOPICS[0], limit);
+    }
+}
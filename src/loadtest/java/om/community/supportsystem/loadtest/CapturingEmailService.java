@@ -0,0 +1,41 @@
+package om.community.supportsystem.loadtest;
+
+import om.community.supportsystem.service.EmailService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for email delivery during load tests: nothing leaves the process. Codes and
+ * tokens are kept per address so virtual users can complete the OTP login like a real user
+ * reading their inbox.
+ */
+public class CapturingEmailService extends EmailService {
+
+    private final Map<String, String> latestCodes = new ConcurrentHashMap<>();
+
+    @Override
+    public void sendLoginOTP(String toEmail, String code) {
+        latestCodes.put(toEmail, code);
+    }
+
+    @Override
+    public void sendTwoFactorCode(String toEmail, String code) {
+        latestCodes.put(toEmail, code);
+    }
+
+    @Override
+    public void sendEmailVerification(String toEmail, String verificationToken) {
+        // Login with OTP verifies the address, so the token is not needed
+    }
+
+    @Override
+    public void sendPasswordResetEmail(String toEmail, String resetToken) {
+        latestCodes.put(toEmail, resetToken);
+    }
+
+    /** The last code sent to {@code email}, or null if none was sent. */
+    public String latestCode(String email) {
+        return latestCodes.get(email);
+    }
+}
@@ -0,0 +1,90 @@
+package om.community.supportsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every response time per endpoint, kept exactly so percentiles are not approximations.
+ * A few million samples fit comfortably in memory.
+ */
+public class LatencyStats {
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int failures;
+
+        synchronized void add(long value, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!ok) {
+                failures++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int failures() {
+            return failures;
+        }
+    }
+
+    private final Map<String, Samples> byEndpoint = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, boolean ok) {
+        byEndpoint.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, ok);
+    }
+
+    /** One line per endpoint: count, failures, throughput over {@code seconds}, p50/p95/p99/max in ms. */
+    public String report(double seconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-34s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "failed", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(byEndpoint).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            total += sorted.length;
+            out.append(String.format(Locale.ROOT, "%-34s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), sorted.length, entry.getValue().failures(), sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+        }
+        out.append(String.format(Locale.ROOT, "%-34s %9d %8s %9.1f%n", "total", total, "", total / seconds));
+        return out.toString();
+    }
+
+    /** The same figures as {@link #report(double)}, as CSV. */
+    public String csv(double seconds) {
+        StringBuilder out = new StringBuilder("endpoint,count,failed,rps,p50_ms,p95_ms,p99_ms,max_ms\n");
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(byEndpoint).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            out.append(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                    entry.getKey(), sorted.length, entry.getValue().failures(), sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+        }
+        return out.toString();
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
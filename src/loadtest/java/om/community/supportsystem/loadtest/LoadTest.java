@@ -0,0 +1,160 @@
+package om.community.supportsystem.loadtest;
+
+import om.community.supportsystem.CommunitySupportSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on a random port and drives it over HTTP with a citizen/volunteer
+ * traffic mix (see VirtualUser), then prints p50/p95/p99 latency and throughput per endpoint
+ * and writes the same figures to target/loadtest-report.csv. The pending scenario instead
+ * measures GET /api/requests/pending anonymously and with a token (see PendingScenario).
+ *
+ * Settings are system properties (the loadtest Maven profile passes them through):
+ * <pre>
+ * loadtest.users=500          concurrent virtual users
+ * loadtest.volunteer-share=30 percentage of users that are volunteers
+ * loadtest.duration=120       seconds of traffic after the last user has started
+ * loadtest.ramp-up=30         seconds over which users start
+ * loadtest.think-ms=1000      mean pause between a user's actions
+ * loadtest.scenario=mix       mix, or pending (users = concurrent connections, no think time)
+ * loadtest.warm-up=10         pending: unrecorded seconds before each measured phase
+ * loadtest.pending-requests=50  pending: requests the seeding citizen creates
+ * loadtest.db=h2              h2 (in memory) or postgres
+ * loadtest.jdbc-url, loadtest.db-user, loadtest.db-password   for postgres
+ * </pre>
+ * Email goes to CapturingEmailService, so runs need no network.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 500);
+        int volunteerShare = Integer.getInteger("loadtest.volunteer-share", 30);
+        int durationSeconds = Integer.getInteger("loadtest.duration", 120);
+        int rampUpSeconds = Integer.getInteger("loadtest.ramp-up", 30);
+        int thinkMs = Integer.getInteger("loadtest.think-ms", 1000);
+        String scenario = System.getProperty("loadtest.scenario", "mix");
+        String db = System.getProperty("loadtest.db", "h2");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                CommunitySupportSystemApplication.class, LoadTestEmailConfig.class)
+                .run(applicationArguments(db));
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            CapturingEmailService mailbox = context.getBean(CapturingEmailService.class);
+            if ("pending".equalsIgnoreCase(scenario)) {
+                runPending("http://localhost:" + port, mailbox, users, durationSeconds);
+            } else {
+                run("http://localhost:" + port, mailbox, users, volunteerShare, durationSeconds, rampUpSeconds, thinkMs);
+            }
+        } finally {
+            context.close();
+        }
+        // HttpClient and leftover user threads are not daemons
+        System.exit(0);
+    }
+
+    private static void run(String baseUrl, CapturingEmailService mailbox, int users, int volunteerShare,
+                           int durationSeconds, int rampUpSeconds, int thinkMs) throws InterruptedException, IOException {
+        System.out.println("🔄 Load test: " + users + " users (" + volunteerShare + "% volunteers), "
+                + rampUpSeconds + "s ramp-up, " + durationSeconds + "s steady, think " + thinkMs + "ms, " + baseUrl);
+
+        LatencyStats stats = new LatencyStats();
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+
+        long started = System.nanoTime();
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(rampUpSeconds);
+        long deadline = started + rampUpNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        // One thread per user: each blocks on its own request like a browser tab would
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            boolean volunteer = i % 100 < volunteerShare;
+            long startAt = started + rampUpNanos * i / Math.max(1, users);
+            virtualUsers.add(new VirtualUser(i, volunteer, runId, baseUrl, http, mailbox, stats, startAt, deadline, thinkMs));
+        }
+        virtualUsers.forEach(pool::execute);
+        pool.shutdown();
+        if (!pool.awaitTermination(durationSeconds + rampUpSeconds + 120L, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        report(stats, seconds);
+    }
+
+    private static void runPending(String baseUrl, CapturingEmailService mailbox, int concurrency,
+                                   int durationSeconds) throws InterruptedException, IOException {
+        int warmUpSeconds = Integer.getInteger("loadtest.warm-up", 10);
+        int pendingRequests = Integer.getInteger("loadtest.pending-requests", 50);
+        System.out.println("🔄 Pending scenario: " + pendingRequests + " pending requests, concurrency " + concurrency
+                + ", " + warmUpSeconds + "s warm-up and " + durationSeconds + "s measured per phase, " + baseUrl);
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        long now = System.nanoTime();
+        VirtualUser citizen = new VirtualUser(0, false, runId, baseUrl, http, mailbox, new LatencyStats(), now, now, 0);
+
+        LatencyStats stats = new PendingScenario(baseUrl, http, concurrency, warmUpSeconds, durationSeconds)
+                .run(citizen, pendingRequests);
+        // Each row was measured over its own phase
+        report(stats, durationSeconds);
+    }
+
+    private static void report(LatencyStats stats, double seconds) throws IOException {
+        System.out.println();
+        System.out.print(stats.report(seconds));
+
+        Path csv = Path.of("target", "loadtest-report.csv");
+        Files.createDirectories(csv.getParent());
+        Files.writeString(csv, stats.csv(seconds));
+        System.out.println("✅ Report written to " + csv.toAbsolutePath());
+    }
+
+    // Command-line arguments, so they win over application.properties and the active profile
+    private static String[] applicationArguments(String db) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=loadtest",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.om.community.supportsystem=WARN",
+                "--app.data.initialize=false",
+                "--sendgrid.enabled=false",
+                "--email.provider=stub",
+                "--rwanda.divisions.remote-enabled=false",
+                "--jwt.secret=" + System.getProperty("loadtest.jwt-secret", "loadTestSecretKeyForCommunitySupportSystem2026")));
+        if ("postgres".equalsIgnoreCase(db)) {
+            args.add("--spring.datasource.url=" + System.getProperty("loadtest.jdbc-url",
+                    "jdbc:postgresql://localhost:5432/community_support_loadtest"));
+            args.add("--spring.datasource.username=" + System.getProperty("loadtest.db-user", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("loadtest.db-password", "postgres"));
+            args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+            args.add("--spring.jpa.hibernate.ddl-auto=update");
+        } else {
+            args.add("--spring.config.additional-location=classpath:application-test.properties");
+            args.add("--querystats.fail-on-repeat=false");
+        }
+        return args.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,16 @@
+package om.community.supportsystem.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/** Replaces EmailService in the application under test so runs need no network. */
+@Configuration
+public class LoadTestEmailConfig {
+
+    @Bean
+    @Primary
+    public CapturingEmailService capturingEmailService() {
+        return new CapturingEmailService();
+    }
+}
@@ -0,0 +1,89 @@
+package om.community.supportsystem.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of GET /api/requests/pending anonymously and with a Bearer access token, so the
+ * cost of JwtAuthenticationFilter shows as the difference between the two rows.
+ *
+ * One citizen registers, logs in and creates the pending requests. Then each phase runs
+ * {@code concurrency} threads in a closed loop (no think time): a warm-up of
+ * {@code warmUpSeconds}, not recorded, then {@code durationSeconds} measured.
+ */
+class PendingScenario {
+
+    private static final String PATH = "/api/requests/pending";
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final int concurrency;
+    private final int warmUpSeconds;
+    private final int durationSeconds;
+
+    PendingScenario(String baseUrl, HttpClient http, int concurrency, int warmUpSeconds, int durationSeconds) {
+        this.baseUrl = baseUrl;
+        this.http = http;
+        this.concurrency = concurrency;
+        this.warmUpSeconds = warmUpSeconds;
+        this.durationSeconds = durationSeconds;
+    }
+
+    /** Seeds {@code pendingRequests} requests, runs both phases and returns their stats. */
+    LatencyStats run(VirtualUser citizen, int pendingRequests) throws InterruptedException {
+        if (!citizen.signIn()) {
+            throw new IllegalStateException("The seeding citizen could not register and log in");
+        }
+        citizen.createRequests(pendingRequests);
+
+        LatencyStats stats = new LatencyStats();
+        phase("pending (anonymous)", null, stats);
+        phase("pending (bearer token)", citizen.token(), stats);
+        return stats;
+    }
+
+    private void phase(String endpoint, String token, LatencyStats stats) throws InterruptedException {
+        drive(endpoint, token, new LatencyStats(), warmUpSeconds);
+        drive(endpoint, token, stats, durationSeconds);
+    }
+
+    private void drive(String endpoint, String token, LatencyStats stats, int seconds) throws InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + PATH))
+                .timeout(Duration.ofSeconds(60))
+                .header("Accept", "application/json")
+                .GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    long started = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        stats.record(endpoint, System.nanoTime() - started, response.statusCode() / 100 == 2);
+                    } catch (IOException e) {
+                        stats.record(endpoint + " (io error)", System.nanoTime() - started, false);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(seconds + 120L, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package om.community.supportsystem.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated citizen or volunteer. Registers, logs in with the emailed OTP, then repeats
+ * weighted actions with think time until the deadline:
+ *
+ * <pre>
+ * citizen:   poll unread count 45, browse pending 30, create request 20, log in again 5
+ * volunteer: poll unread count 40, browse pending 30, accept assignment 15, complete assignment 10, log in again 5
+ * </pre>
+ *
+ * Each user sends its own Fly-Client-IP, so rate limits apply per user as they would in production.
+ * Accepting a request another volunteer took first returns 400; those are reported as failures
+ * of accept-assignment and show how contended the pending list is.
+ */
+class VirtualUser implements Runnable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String PASSWORD = "LoadTest#2026";
+    private static final String[] TOPICS = {"groceries", "pharmacy pickup", "homework", "laptop setup", "roof repair", "clinic visit"};
+    private static final String[] CATEGORIES = {"GENERAL_HELP", "TRANSPORTATION", "TECHNOLOGY_SUPPORT",
+            "SHOPPING_AND_ERRANDS", "TUTORING_AND_EDUCATION", "HOUSEHOLD_TASKS", "HEALTHCARE_ASSISTANCE"};
+
+    private final int index;
+    private final boolean volunteer;
+    private final String runId;
+    private final String baseUrl;
+    private final HttpClient http;
+    private final CapturingEmailService mailbox;
+    private final LatencyStats stats;
+    private final long startAtNanos;
+    private final long deadlineNanos;
+    private final int thinkMs;
+
+    private final String email;
+    private final String clientIp;
+    private String token;
+    private long userId;
+    private final List<Long> pendingSeen = new ArrayList<>();
+    private final Deque<Long> openAssignments = new ArrayDeque<>();
+
+    VirtualUser(int index, boolean volunteer, String runId, String baseUrl, HttpClient http, CapturingEmailService mailbox,
+                LatencyStats stats, long startAtNanos, long deadlineNanos, int thinkMs) {
+        this.index = index;
+        this.volunteer = volunteer;
+        this.runId = runId;
+        this.baseUrl = baseUrl;
+        this.http = http;
+        this.mailbox = mailbox;
+        this.stats = stats;
+        this.startAtNanos = startAtNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.thinkMs = thinkMs;
+        this.email = "lt-" + runId + "-" + index + "@example.com";
+        this.clientIp = "10." + (index >> 16 & 255) + "." + (index >> 8 & 255) + "." + (index & 255);
+    }
+
+    @Override
+    public void run() {
+        try {
+            sleepUntil(startAtNanos);
+            if (!register() || !login()) {
+                return;
+            }
+            while (System.nanoTime() < deadlineNanos) {
+                int roll = ThreadLocalRandom.current().nextInt(100);
+                if (volunteer) {
+                    if (roll < 40) pollUnreadCount();
+                    else if (roll < 70) browsePending();
+                    else if (roll < 85) acceptAssignment();
+                    else if (roll < 95) completeAssignment();
+                    else login();
+                } else {
+                    if (roll < 45) pollUnreadCount();
+                    else if (roll < 75) browsePending();
+                    else if (roll < 95) createRequest();
+                    else login();
+                }
+                think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Registers and logs in without the traffic loop; PendingScenario uses one user to seed and to get a token. */
+    boolean signIn() throws InterruptedException {
+        return register() && login();
+    }
+
+    String token() {
+        return token;
+    }
+
+    void createRequests(int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            createRequest();
+        }
+    }
+
+    // ===== Actions =====
+
+    private boolean register() throws InterruptedException {
+        Map<String, Object> body = Map.of(
+                "name", (volunteer ? "Volunteer " : "Citizen ") + index,
+                "email", email,
+                "phoneNumber", phoneNumber(),
+                "password", PASSWORD,
+                "role", volunteer ? "VOLUNTEER" : "CITIZEN",
+                "province", "Kigali City",
+                "district", "Gasabo",
+                "sector", "Remera",
+                "cell", "Rukiri I",
+                "village", "Amahoro");
+        return send("register", "POST", "/api/auth/register", body) != null;
+    }
+
+    /** Password first, then the OTP from the local mailbox, as the frontend does. */
+    private boolean login() throws InterruptedException {
+        if (send("login (password)", "POST", "/api/auth/login", Map.of("email", email, "password", PASSWORD)) == null) {
+            return false;
+        }
+        String code = mailbox.latestCode(email);
+        if (code == null) {
+            return false;
+        }
+        JsonNode response = send("login (otp)", "POST", "/api/auth/login",
+                Map.of("email", email, "password", PASSWORD, "twoFactorCode", code));
+        if (response == null || !response.hasNonNull("token")) {
+            return false;
+        }
+        token = response.get("token").asText();
+        userId = response.path("user").path("userId").asLong();
+        return true;
+    }
+
+    private void pollUnreadCount() throws InterruptedException {
+        send("unread count", "GET", "/api/notifications/user/" + userId + "/unread/count", null);
+    }
+
+    private void browsePending() throws InterruptedException {
+        JsonNode pending = send("pending requests", "GET", "/api/requests/pending", null);
+        if (pending != null && pending.isArray()) {
+            pendingSeen.clear();
+            pending.forEach(request -> pendingSeen.add(request.path("requestId").asLong()));
+        }
+    }
+
+    private void createRequest() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String topic = TOPICS[random.nextInt(TOPICS.length)];
+        send("create request", "POST", "/api/requests", Map.of(
+                "title", "Need help with " + topic,
+                "description", "Looking for a volunteer to help with " + topic + " this week",
+                "category", CATEGORIES[random.nextInt(CATEGORIES.length)],
+                "citizenId", userId));
+    }
+
+    private void acceptAssignment() throws InterruptedException {
+        if (pendingSeen.isEmpty()) {
+            browsePending();
+            return;
+        }
+        Long requestId = pendingSeen.remove(ThreadLocalRandom.current().nextInt(pendingSeen.size()));
+        JsonNode assignment = send("accept assignment", "POST", "/api/assignments", Map.of(
+                "request", Map.of("requestId", requestId),
+                "volunteer", Map.of("userId", userId)));
+        if (assignment != null && assignment.hasNonNull("assignmentId")) {
+            openAssignments.add(assignment.get("assignmentId").asLong());
+        }
+    }
+
+    private void completeAssignment() throws InterruptedException {
+        Long assignmentId = openAssignments.poll();
+        if (assignmentId == null) {
+            browsePending();
+            return;
+        }
+        send("complete assignment", "PATCH", "/api/assignments/" + assignmentId + "/complete", null);
+    }
+
+    // ===== HTTP =====
+
+    /** Sends one call and records it under {@code endpoint}; returns the parsed body on 2xx, otherwise null. */
+    private JsonNode send(String endpoint, String method, String path, Object body) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Accept", "application/json")
+                .header("Fly-Client-IP", clientIp);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body for " + endpoint, e);
+        }
+
+        HttpResponse<byte[]> response;
+        long started = System.nanoTime();
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            stats.record(endpoint + " (io error)", System.nanoTime() - started, false);
+            return null;
+        }
+        boolean ok = response.statusCode() / 100 == 2;
+        stats.record(endpoint, System.nanoTime() - started, ok);
+        if (!ok) {
+            return null;
+        }
+        try {
+            return response.body().length > 0 ? JSON.readTree(response.body()) : JSON.nullNode();
+        } catch (IOException e) {
+            return JSON.nullNode();
+        }
+    }
+
+    // ===== Helpers =====
+
+    private String phoneNumber() {
+        // 10 digits, unique within a run; the run id keeps repeated runs against one database apart
+        return String.format("07%02d%06d", Math.abs(runId.hashCode()) % 100, index);
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMs > 0) {
+            Thread.sleep(thinkMs / 2 + ThreadLocalRandom.current().nextInt(thinkMs + 1));
+        }
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        long wait = nanos - System.nanoTime();
+        if (wait > 0) {
+            Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        }
+    }
+}
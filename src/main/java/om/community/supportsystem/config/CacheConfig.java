@@ -0,0 +1,70 @@
+package om.community.supportsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import om.community.supportsystem.service.AnalyticsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caffeine caches behind @Cacheable. Each cache has a Caffeine spec in cache.spec.<name>
+ * (size bound, expireAfterWrite, optionally refreshAfterWrite); any other cache name gets
+ * cache.spec.default, so no cache grows without bound. Hit, miss and eviction counts are
+ * published as cache.* metrics.
+ *
+ * A cache with refreshAfterWrite needs a CacheRefresher bean: reads after the refresh interval
+ * still return the current value while the refresher recomputes it in the background.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String SKILLS = "skills";
+    public static final String ANALYTICS = "analytics";
+
+    @Value("${cache.spec.default:maximumSize=1000,expireAfterWrite=10m}")
+    private String defaultSpec;
+
+    @Value("${cache.spec.skills:maximumSize=10,expireAfterWrite=1h}")
+    private String skillsSpec;
+
+    @Value("${cache.spec.analytics:maximumSize=10,expireAfterWrite=10m,refreshAfterWrite=1m}")
+    private String analyticsSpec;
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<CacheRefresher> refreshers) {
+        Map<String, Function<Object, Object>> loaders = refreshers.orderedStream()
+                .collect(Collectors.toMap(CacheRefresher::cacheName, CacheRefresher::loader));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+        register(cacheManager, SKILLS, skillsSpec, loaders.get(SKILLS));
+        register(cacheManager, ANALYTICS, analyticsSpec, loaders.get(ANALYTICS));
+        return cacheManager;
+    }
+
+    // The service is cached through this manager, so it is resolved on first refresh
+    @Bean
+    public CacheRefresher analyticsCacheRefresher(@Lazy AnalyticsService analyticsService) {
+        return new CacheRefresher(ANALYTICS, key -> AnalyticsService.DASHBOARD_KEY.equals(key)
+                ? analyticsService.computeAnalyticsDashboard() : null);
+    }
+
+    private void register(CaffeineCacheManager cacheManager, String name, String spec, Function<Object, Object> loader) {
+        Caffeine<Object, Object> builder = Caffeine.from(spec).recordStats();
+        if (loader != null) {
+            cacheManager.registerCustomCache(name, builder.build(loader::apply));
+        } else if (spec.contains("refreshAfterWrite")) {
+            throw new IllegalStateException("Cache '" + name + "' sets refreshAfterWrite but has no CacheRefresher");
+        } else {
+            cacheManager.registerCustomCache(name, builder.build());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package om.community.supportsystem.config;
+
+import java.util.function.Function;
+
+/**
+ * Recomputes entries of one cache whose spec sets refreshAfterWrite. The loader receives the
+ * cache key and returns the fresh value, or null when it cannot rebuild that key.
+ */
+public record CacheRefresher(String cacheName, Function<Object, Object> loader) {}
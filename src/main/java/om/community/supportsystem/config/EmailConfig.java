@@ -1,10 +1,53 @@
 package om.community.supportsystem.config;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class EmailConfig {
-    // Email configuration is now handled by Spring Boot auto-configuration
-    // when mail properties are provided. This class is kept for future custom configurations.
-}
\ No newline at end of file
+    // SMTP itself is configured by Spring Boot auto-configuration from the spring.mail.* properties
+
+    @Value("${email.outbox.threads:4}")
+    private int threads;
+
+    @Value("${email.outbox.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${email.bulk.threads:1}")
+    private int bulkThreads;
+
+    @Value("${email.bulk.queue-capacity:20}")
+    private int bulkQueueCapacity;
+
+    /**
+     * Pool that delivers outbox emails, so no request thread waits on a provider. The worker
+     * only submits as many sends as the provider limits allow; anything rejected stays queued
+     * in the outbox table for the next poll.
+     */
+    @Bean(name = "emailOutboxExecutor")
+    public ThreadPoolTaskExecutor emailOutboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("email-outbox-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Runs bulk sends, which take minutes when paced; kept apart so they never delay outbox emails. */
+    @Bean(name = "bulkEmailExecutor")
+    public ThreadPoolTaskExecutor bulkEmailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(bulkThreads);
+        executor.setMaxPoolSize(bulkThreads);
+        executor.setQueueCapacity(bulkQueueCapacity);
+        executor.setThreadNamePrefix("email-bulk-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package om.community.supportsystem.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.querystats.QueryStatsLoadListener;
+import om.community.supportsystem.querystats.QueryStatsSessionListener;
+import om.community.supportsystem.querystats.QueryStatsStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the per-request SQL counters into Hibernate. They only record while QueryStatsFilter
+ * has a request bound to the thread, so they cost one ThreadLocal read elsewhere.
+ */
+@Configuration
+public class QueryStatsConfig {
+
+    @Value("${querystats.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Value("${querystats.fail-on-repeat:false}")
+    private boolean failOnRepeat;
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    new QueryStatsStatementInspector(repeatThreshold, failOnRepeat));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryStatsSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton queryStatsLoadListenerRegistration(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new QueryStatsLoadListener());
+    }
+}
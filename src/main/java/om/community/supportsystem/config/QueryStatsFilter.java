@@ -0,0 +1,232 @@
+package om.community.supportsystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import om.community.supportsystem.querystats.QueryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the SQL each HTTP request runs, including lazy loads during JSON serialization.
+ *
+ * Adds X-Query-Count, X-DB-Time (JDBC execute time in ms) and X-Entities-Loaded to the response,
+ * set just before the first body byte is written, and records http.sql.statements,
+ * http.sql.time and http.sql.entities histograms tagged with the controller method.
+ * Runs first so statements issued by the security filters are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String DB_TIME_HEADER = "X-DB-Time";
+    public static final String ENTITIES_LOADED_HEADER = "X-Entities-Loaded";
+
+    private record HandlerMeters(DistributionSummary statements, Timer time, DistributionSummary entities) {}
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    // key = Controller.method
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, @Value("${querystats.enabled:false}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        QueryStats stats = QueryStats.begin(request.getMethod() + " " + request.getRequestURI());
+        StatsResponse statsResponse = new StatsResponse(response, stats);
+        try {
+            chain.doFilter(request, statsResponse);
+        } finally {
+            // A streamed body is written later on another thread; its statements are not ours to report
+            if (request.isAsyncStarted()) {
+                statsResponse.suppressHeaders();
+            } else {
+                statsResponse.applyHeaders();
+            }
+            QueryStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        if (log.isDebugEnabled()) {
+            log.debug("🔄 " + stats.getLabel() + " ran " + stats.getStatements() + " statements in "
+                    + formatMillis(stats.getJdbcNanos()) + "ms, loaded " + stats.getEntitiesLoaded() + " entities");
+        }
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        HandlerMeters handlerMeters = meters.computeIfAbsent(
+                handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName(), this::register);
+        handlerMeters.statements().record(stats.getStatements());
+        handlerMeters.time().record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        handlerMeters.entities().record(stats.getEntitiesLoaded());
+    }
+
+    private HandlerMeters register(String handler) {
+        return new HandlerMeters(
+                DistributionSummary.builder("http.sql.statements")
+                        .description("SQL statements run per request")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("http.sql.time")
+                        .description("JDBC execute time per request")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("http.sql.entities")
+                        .description("Entities loaded per request")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /** Sets the stats headers at the last moment they can still be sent: the first write or commit. */
+    private static final class StatsResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private boolean headersApplied;
+        private ServletOutputStream outputStream;
+
+        StatsResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void applyHeaders() {
+            if (headersApplied || isCommitted()) {
+                return;
+            }
+            headersApplied = true;
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(DB_TIME_HEADER, formatMillis(stats.getJdbcNanos()));
+            setHeader(ENTITIES_LOADED_HEADER, String.valueOf(stats.getEntitiesLoaded()));
+        }
+
+        void suppressHeaders() {
+            headersApplied = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeadersOnFirstWrite(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            applyHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            applyHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            applyHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            applyHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            applyHeaders();
+            super.sendRedirect(location);
+        }
+
+        private final class HeadersOnFirstWrite extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            HeadersOnFirstWrite(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                applyHeaders();
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                applyHeaders();
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                applyHeaders();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                applyHeaders();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package om.community.supportsystem.config;
+
+import om.community.supportsystem.ratelimit.ClientIpResolver;
+import om.community.supportsystem.ratelimit.InMemoryRateLimitBackend;
+import om.community.supportsystem.ratelimit.RateLimitBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${ratelimit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${ratelimit.client-ip-header:}")
+    private String clientIpHeader;
+
+    @Value("${ratelimit.trusted-proxies:}")
+    private List<String> trustedProxies;
+
+    /**
+     * Per-process buckets. Defining another RateLimitBackend bean (e.g. one on a store shared
+     * by all machines) replaces this one so every instance enforces the same limits.
+     */
+    @Bean
+    @ConditionalOnMissingBean(RateLimitBackend.class)
+    public RateLimitBackend rateLimitBackend() {
+        return new InMemoryRateLimitBackend(maxBuckets);
+    }
+
+    @Bean
+    public ClientIpResolver clientIpResolver() {
+        return new ClientIpResolver(clientIpHeader, trustedProxies);
+    }
+}
@@ -1,82 +1,108 @@
 package om.community.supportsystem.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import om.community.supportsystem.ratelimit.ClientIpResolver;
+import om.community.supportsystem.ratelimit.RateLimitBackend;
+import om.community.supportsystem.ratelimit.RateLimitDecision;
+import om.community.supportsystem.ratelimit.RateLimitPolicy;
+import om.community.supportsystem.ratelimit.RateLimitPolicyService;
+import om.community.supportsystem.util.JwtPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Instant;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Simple in-memory rate limiter for sensitive auth endpoints.
- * Allows MAX_REQUESTS per IP per WINDOW_SECONDS before returning 429.
- * Entries are evicted lazily once the window expires.
+ * Token-bucket rate limiting driven by RateLimitPolicyService.
+ *
+ * Runs after the Spring Security chain, so callers with a valid access token are limited
+ * per user id and role; everyone else is limited per client IP (see ClientIpResolver) as
+ * ANONYMOUS. Buckets live in the configured RateLimitBackend. Emits
+ * ratelimit.requests{policy, outcome} counters.
  */
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
 
-    private static final int MAX_REQUESTS = 10;
-    private static final long WINDOW_SECONDS = 60;
+    private final RateLimitBackend backend;
+    private final RateLimitPolicyService policyService;
+    private final ClientIpResolver clientIpResolver;
+    private final MeterRegistry meterRegistry;
 
-    private static final Set<String> RATE_LIMITED_PATHS = Set.of(
-        "/api/auth/login",
-        "/api/auth/register",
-        "/api/auth/forgot-password"
-    );
+    // key = policy name + outcome
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
 
-    // key = ip + path, value = [count, windowStartEpochSeconds]
-    private final Map<String, long[]> buckets = new ConcurrentHashMap<>();
-
-    @Override
-    protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        return RATE_LIMITED_PATHS.stream().noneMatch(path::startsWith);
+    public RateLimitFilter(RateLimitBackend backend, RateLimitPolicyService policyService,
+                           ClientIpResolver clientIpResolver, MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.policyService = policyService;
+        this.clientIpResolver = clientIpResolver;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ratelimit.buckets", backend, RateLimitBackend::size)
+                .description("Token buckets currently held by the rate limit backend")
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain chain) throws ServletException, IOException {
-        String ip = resolveClientIp(request);
-        String key = ip + "|" + request.getRequestURI();
+        JwtPrincipal principal = currentPrincipal();
+        String role = principal != null && principal.role() != null ? principal.role() : RateLimitPolicy.ANONYMOUS_ROLE;
 
-        long now = Instant.now().getEpochSecond();
-        long[] bucket = buckets.compute(key, (k, existing) -> {
-            if (existing == null || now - existing[1] >= WINDOW_SECONDS) {
-                return new long[]{1, now};
-            }
-            existing[0]++;
-            return existing;
-        });
+        RateLimitPolicy policy = policyService.resolve(request.getRequestURI(), role);
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        long count = bucket[0];
-        if (count > MAX_REQUESTS) {
-            log.warn("Rate limit exceeded for IP={} path={} count={}", ip, request.getRequestURI(), count);
+        String client = principal != null && principal.userId() != null
+                ? "user:" + principal.userId()
+                : "ip:" + clientIpResolver.resolve(request);
+        RateLimitDecision decision = backend.tryConsume(policy.name() + "|" + client, policy);
+
+        if (!decision.allowed()) {
+            counter(policy.name(), "rejected").increment();
+            log.warn("Rate limit exceeded for client={} path={} policy={}", client, request.getRequestURI(), policy.name());
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+            response.setHeader("X-RateLimit-Remaining", "0");
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"Too many requests. Please try again later.\",\"status\":429}");
             return;
         }
 
+        counter(policy.name(), "allowed").increment();
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
         chain.doFilter(request, response);
     }
 
-    private String resolveClientIp(HttpServletRequest request) {
-        String forwarded = request.getHeader("X-Forwarded-For");
-        if (forwarded != null && !forwarded.isBlank()) {
-            return forwarded.split(",")[0].trim();
+    private Counter counter(String policy, String outcome) {
+        return counters.computeIfAbsent(policy + "|" + outcome, k -> Counter.builder("ratelimit.requests")
+                .tag("policy", policy)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private JwtPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal;
         }
-        return request.getRemoteAddr();
+        return null;
     }
-}
\ No newline at end of file
+}
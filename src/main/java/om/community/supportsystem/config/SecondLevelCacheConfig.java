@@ -0,0 +1,98 @@
+package om.community.supportsystem.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.EternalExpiryPolicy;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process regions for Hibernate's second-level and query caches.
+ *
+ * Only reference data is cached: skills, locations, system settings and each user's skill set.
+ * Writes through the repositories update or invalidate the regions when the transaction commits;
+ * native DML (DataController's deletes) makes Hibernate drop every region. Regions are local to
+ * each instance, so the short TTL (l2cache.ttl-seconds) bounds how long another instance, or a
+ * change made outside the application, can be served stale. System settings are also evicted
+ * as soon as SystemSettingsService sees another instance's write.
+ *
+ * Every region is created here and Hibernate is told to fail on any other, so nothing is
+ * cached without a size limit. Hit/miss counts are published as hibernate.second.level.cache.*
+ * and hibernate.cache.query.* metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Entities name these regions with the same string literals in their @Cache annotations
+    public static final String SKILLS_REGION = "reference.skills";
+    public static final String LOCATIONS_REGION = "reference.locations";
+    public static final String SYSTEM_SETTINGS_REGION = "reference.system-settings";
+    public static final String USER_SKILLS_REGION = "reference.user-skills";
+
+    @Value("${l2cache.skills.max-size:1000}")
+    private long skillsMaxSize;
+
+    @Value("${l2cache.locations.max-size:5000}")
+    private long locationsMaxSize;
+
+    @Value("${l2cache.system-settings.max-size:500}")
+    private long systemSettingsMaxSize;
+
+    @Value("${l2cache.user-skills.max-size:50000}")
+    private long userSkillsMaxSize;
+
+    @Value("${l2cache.query-results.max-size:2000}")
+    private long queryResultsMaxSize;
+
+    @Value("${l2cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // One manager per application context; the JCache default manager is JVM-wide and would be
+    // shared by contexts pointing at different databases (as in the test suite)
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + System.identityHashCode(this)), getClass().getClassLoader());
+        createRegion(cacheManager, SKILLS_REGION, skillsMaxSize, true);
+        createRegion(cacheManager, LOCATIONS_REGION, locationsMaxSize, true);
+        createRegion(cacheManager, SYSTEM_SETTINGS_REGION, systemSettingsMaxSize, true);
+        createRegion(cacheManager, USER_SKILLS_REGION, userSkillsMaxSize, true);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryResultsMaxSize, true);
+        // Table update timestamps must outlive every cached query result: one entry per table, never expired
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 10_000, false);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxSize, boolean expires) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setTypes(Object.class, Object.class);
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        // Hibernate already stores disassembled copies; JCache's default store-by-value would serialize them again
+        configuration.setStoreByValue(false);
+        configuration.setExpiryPolicyFactory(expires && ttlSeconds > 0
+                ? CreatedExpiryPolicy.factoryOf(new Duration(TimeUnit.SECONDS, ttlSeconds))
+                : EternalExpiryPolicy.factoryOf());
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
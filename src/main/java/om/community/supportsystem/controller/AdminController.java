@@ -1,11 +1,21 @@
 package om.community.supportsystem.controller;
 
+import om.community.supportsystem.email.BulkEmailService;
+import om.community.supportsystem.email.EmailOutboxService;
+import om.community.supportsystem.model.BulkEmailJob;
 import om.community.supportsystem.model.Request;
 import om.community.supportsystem.model.RequestStatus;
+import om.community.supportsystem.model.RollupGranularity;
 import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
 import om.community.supportsystem.service.AdminService;
+import om.community.supportsystem.service.AnalyticsRollupService;
+import om.community.supportsystem.service.CacheAdminService;
 import om.community.supportsystem.service.NotificationService;
+import om.community.supportsystem.service.RatingAggregationService;
 import om.community.supportsystem.service.RequestService;
+import om.community.supportsystem.service.RwandaLocationService;
+import om.community.supportsystem.service.SearchIndexService;
 import om.community.supportsystem.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +42,13 @@ public class AdminController {
     @Autowired private RequestService requestService;
     @Autowired private UserService userService;
     @Autowired private NotificationService notificationService;
+    @Autowired private AnalyticsRollupService analyticsRollupService;
+    @Autowired private SearchIndexService searchIndexService;
+    @Autowired private RatingAggregationService ratingAggregationService;
+    @Autowired private CacheAdminService cacheAdminService;
+    @Autowired private RwandaLocationService rwandaLocationService;
+    @Autowired private EmailOutboxService emailOutboxService;
+    @Autowired private BulkEmailService bulkEmailService;
 
     @Operation(summary = "Get admin dashboard statistics")
     @ApiResponse(responseCode = "200", description = "Statistics retrieved")
@@ -53,6 +70,167 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getAnalytics());
     }
 
+    @Operation(summary = "Get an analytics rollup series",
+               description = "Recent hourly or daily counts for a metric such as REQUEST_CREATED or ASSIGNMENT_ACCEPTED")
+    @ApiResponse(responseCode = "200", description = "Series retrieved")
+    @GetMapping("/analytics/rollups/{granularity}/{metric}")
+    public ResponseEntity<?> getRollupSeries(@PathVariable RollupGranularity granularity,
+                                             @PathVariable String metric,
+                                             @RequestParam(defaultValue = "24") int points) {
+        int max = granularity == RollupGranularity.HOURLY ? 48 : 90;
+        if (points < 1 || points > max) {
+            return ResponseEntity.badRequest().body(Map.of("error", "points must be between 1 and " + max));
+        }
+        return ResponseEntity.ok(analyticsRollupService.getSeries(granularity, metric.toUpperCase(), points));
+    }
+
+    @Operation(summary = "Rebuild analytics rollups from history")
+    @ApiResponse(responseCode = "200", description = "Rollups rebuilt")
+    @PostMapping("/analytics/rollups/rebuild")
+    public ResponseEntity<?> rebuildAnalyticsRollups() {
+        try {
+            return ResponseEntity.ok(analyticsRollupService.rebuildFromHistory());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Rebuild the search index",
+               description = "Re-reads users, requests, skills and community posts into a fresh in-memory search index")
+    @ApiResponse(responseCode = "200", description = "Search index rebuilt")
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        try {
+            return ResponseEntity.ok(searchIndexService.rebuild());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Rebuild volunteer rating aggregates",
+               description = "Recomputes every volunteer's rating count, sums and star histogram from the ratings table")
+    @ApiResponse(responseCode = "200", description = "Rating aggregates rebuilt")
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<?> rebuildRatingAggregates() {
+        try {
+            return ResponseEntity.ok(ratingAggregationService.rebuild());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "List caches",
+               description = "Size, bounds and hit/miss/eviction counts of the application caches and the Hibernate second-level cache regions")
+    @ApiResponse(responseCode = "200", description = "Caches listed")
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> getCaches() {
+        return ResponseEntity.ok(cacheAdminService.describeCaches());
+    }
+
+    @Operation(summary = "Invalidate a cache", description = "Empties one application cache or second-level cache region")
+    @ApiResponse(responseCode = "200", description = "Cache invalidated")
+    @ApiResponse(responseCode = "404", description = "No cache with that name")
+    @DeleteMapping("/caches/{name}")
+    public ResponseEntity<?> invalidateCache(@PathVariable String name) {
+        try {
+            cacheAdminService.invalidate(name);
+            return ResponseEntity.ok(Map.of("invalidated", name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Invalidate all caches")
+    @ApiResponse(responseCode = "200", description = "Caches invalidated")
+    @DeleteMapping("/caches")
+    public ResponseEntity<?> invalidateAllCaches() {
+        cacheAdminService.invalidateAll();
+        return ResponseEntity.ok(Map.of("invalidated", "all"));
+    }
+
+    @Operation(summary = "Get the Rwanda divisions snapshot status", description = "Snapshot version and number of divisions per level")
+    @ApiResponse(responseCode = "200", description = "Status retrieved")
+    @GetMapping("/rwanda-locations/status")
+    public ResponseEntity<Map<String, Object>> getRwandaLocationsStatus() {
+        return ResponseEntity.ok(rwandaLocationService.getStatus());
+    }
+
+    @Operation(summary = "Refresh Rwanda divisions from the RDA API",
+               description = "Starts a background crawl of the full hierarchy; the current snapshot keeps serving until it finishes")
+    @ApiResponse(responseCode = "200", description = "Refresh started, or already running")
+    @PostMapping("/rwanda-locations/refresh")
+    public ResponseEntity<Map<String, Object>> refreshRwandaLocations() {
+        Map<String, Object> status = new LinkedHashMap<>(rwandaLocationService.getStatus());
+        status.put("started", rwandaLocationService.refreshInBackground());
+        return ResponseEntity.ok(status);
+    }
+
+    @Operation(summary = "Get email outbox status", description = "Queued, sending, sent and failed message counts and sends in flight per provider")
+    @ApiResponse(responseCode = "200", description = "Status retrieved")
+    @GetMapping("/email-outbox")
+    public ResponseEntity<Map<String, Object>> getEmailOutbox() {
+        return ResponseEntity.ok(emailOutboxService.describe());
+    }
+
+    @Operation(summary = "Retry a failed email", description = "Puts a message that ran out of attempts back in the queue")
+    @ApiResponse(responseCode = "200", description = "Message queued again")
+    @ApiResponse(responseCode = "400", description = "Message is not FAILED or does not exist")
+    @PostMapping("/email-outbox/{messageId}/retry")
+    public ResponseEntity<?> retryEmail(@PathVariable Long messageId) {
+        try {
+            emailOutboxService.retry(messageId);
+            return ResponseEntity.ok(Map.of("requeued", messageId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Send a bulk email",
+               description = "Emails every verified user, or those with the given role, in batches through the configured email provider. " +
+                             "-name- in the subject or html becomes each recipient's name. Returns the job to poll.")
+    @ApiResponse(responseCode = "202", description = "Job queued")
+    @ApiResponse(responseCode = "400", description = "Missing subject or html, or unknown role")
+    @ApiResponse(responseCode = "503", description = "Too many bulk jobs queued")
+    @PostMapping("/emails/bulk")
+    public ResponseEntity<?> sendBulkEmail(@RequestBody Map<String, String> body) {
+        String subject = body.get("subject");
+        String html = body.get("html");
+        if (subject == null || subject.isBlank() || html == null || html.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "subject and html are required"));
+        }
+        UserRole role = null;
+        String roleName = body.get("role");
+        if (roleName != null && !roleName.isBlank()) {
+            try {
+                role = UserRole.valueOf(roleName.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid role: " + roleName));
+            }
+        }
+        try {
+            return ResponseEntity.accepted().body(bulkEmailService.sendToRole(role, subject, html));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "List recent bulk email jobs", description = "Progress and per-batch failures, newest first")
+    @ApiResponse(responseCode = "200", description = "Jobs listed")
+    @GetMapping("/emails/bulk")
+    public ResponseEntity<List<BulkEmailJob>> getBulkEmailJobs() {
+        return ResponseEntity.ok(bulkEmailService.getJobs());
+    }
+
+    @Operation(summary = "Get a bulk email job")
+    @ApiResponse(responseCode = "200", description = "Job found")
+    @ApiResponse(responseCode = "404", description = "No recent job with that id")
+    @GetMapping("/emails/bulk/{jobId}")
+    public ResponseEntity<?> getBulkEmailJob(@PathVariable long jobId) {
+        return bulkEmailService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Bulk email job not found with id: " + jobId)));
+    }
+
     @Operation(summary = "Get all requests (admin view)")
     @GetMapping("/requests/all")
     public ResponseEntity<?> getAllRequests() {
@@ -1,5 +1,14 @@
 package om.community.supportsystem.controller;
 
+import jakarta.validation.Valid;
+import om.community.supportsystem.dto.AppointmentDetailsDTO;
+import om.community.supportsystem.dto.CreateAppointmentDTO;
+import om.community.supportsystem.model.Appointment;
+import om.community.supportsystem.service.AppointmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,59 +27,70 @@ import java.util.*;
         "http://localhost:3003", "https://community-support-system.vercel.app"})
 public class AppointmentsController {
 
-    private static final List<Map<String, Object>> store = new ArrayList<>();
-    private static long nextId = 1;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private AppointmentService appointmentService;
 
     @Operation(summary = "Create an appointment", description = "Schedule a new appointment between a citizen and a volunteer")
     @ApiResponse(responseCode = "200", description = "Appointment created successfully")
+    @ApiResponse(responseCode = "400", description = "Missing user")
     @PostMapping
-    public ResponseEntity<Map<String, Object>> create(@RequestBody Map<String, Object> body) {
-        body.put("appointmentId", nextId++);
-        body.put("status", "SCHEDULED");
-        body.put("createdAt", new Date().toString());
-        store.add(new HashMap<>(body));
-        return ResponseEntity.ok(body);
+    public ResponseEntity<?> create(@Valid @RequestBody CreateAppointmentDTO dto) {
+        try {
+            return ResponseEntity.ok(appointmentService.createAppointment(dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @Operation(summary = "Get appointments for a user", description = "Retrieve all appointments for a specific user (citizen or volunteer)")
     @ApiResponse(responseCode = "200", description = "Appointments retrieved successfully")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Map<String, Object>>> getByUser(@PathVariable Long userId) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map<String, Object> a : store) {
-            Object uid = a.get("userId");
-            if (uid != null && userId.equals(((Number) uid).longValue())) result.add(a);
-        }
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<Appointment>> getByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(appointmentService.getAppointmentsByUser(userId));
+    }
+
+    @Operation(summary = "Get appointments for a user (paginated)", description = "Retrieve one page of a user's appointments, soonest first")
+    @ApiResponse(responseCode = "200", description = "Appointments retrieved successfully")
+    @GetMapping("/user/{userId}/paginated")
+    public ResponseEntity<Page<Appointment>> getByUserPaginated(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(MAX_PAGE_SIZE, size)),
+                Sort.by("scheduledAt"));
+        return ResponseEntity.ok(appointmentService.getAppointmentsByUser(userId, pageable));
+    }
+
+    @Operation(summary = "Get appointments for an assignment", description = "Retrieve all appointments linked to a specific assignment")
+    @ApiResponse(responseCode = "200", description = "Appointments retrieved successfully")
+    @GetMapping("/assignment/{assignmentId}")
+    public ResponseEntity<List<Appointment>> getByAssignment(@PathVariable Long assignmentId) {
+        return ResponseEntity.ok(appointmentService.getAppointmentsByAssignment(assignmentId));
     }
 
     @Operation(summary = "Update an appointment", description = "Update appointment details such as time or notes")
     @ApiResponse(responseCode = "200", description = "Appointment updated successfully")
     @ApiResponse(responseCode = "404", description = "Appointment not found")
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> update(@PathVariable Long id, @RequestBody Map<String, Object> body) {
-        for (Map<String, Object> a : store) {
-            Object aid = a.get("appointmentId");
-            if (aid != null && id.equals(((Number) aid).longValue())) {
-                a.putAll(body);
-                return ResponseEntity.ok(a);
-            }
+    public ResponseEntity<Appointment> update(@PathVariable Long id, @Valid @RequestBody AppointmentDetailsDTO body) {
+        try {
+            return ResponseEntity.ok(appointmentService.updateAppointment(id, body));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
     }
 
     @Operation(summary = "Cancel an appointment", description = "Cancel a scheduled appointment by ID")
     @ApiResponse(responseCode = "200", description = "Appointment cancelled successfully")
     @ApiResponse(responseCode = "404", description = "Appointment not found")
     @PatchMapping("/{id}/cancel")
-    public ResponseEntity<Map<String, Object>> cancel(@PathVariable Long id) {
-        for (Map<String, Object> a : store) {
-            Object aid = a.get("appointmentId");
-            if (aid != null && id.equals(((Number) aid).longValue())) {
-                a.put("status", "CANCELLED");
-                return ResponseEntity.ok(a);
-            }
+    public ResponseEntity<Appointment> cancel(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(appointmentService.cancelAppointment(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
     }
 }
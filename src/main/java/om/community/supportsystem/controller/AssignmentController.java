@@ -1,14 +1,13 @@
 package om.community.supportsystem.controller;
 
 import om.community.supportsystem.dto.AssignmentResponseDTO;
+import om.community.supportsystem.dto.CursorPage;
 import om.community.supportsystem.model.Assignment;
 import om.community.supportsystem.service.AssignmentService;
+import om.community.supportsystem.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,15 +57,22 @@ public class AssignmentController {
     }
     
     // Read
-    @Operation(summary = "Get all assignments", description = "Retrieve all volunteer assignments in the system")
-    @ApiResponse(responseCode = "200", description = "Assignments retrieved successfully")
+    @Operation(summary = "Get all assignments", description = "Retrieve volunteer assignments newest first, one cursor slice at a time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Assignments retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
     @GetMapping
-    public ResponseEntity<List<AssignmentResponseDTO>> getAllAssignments() {
-        List<Assignment> assignments = assignmentService.getAllAssignments();
-        List<AssignmentResponseDTO> assignmentDTOs = assignments.stream()
-            .map(AssignmentResponseDTO::new)
-            .collect(java.util.stream.Collectors.toList());
-        return ResponseEntity.ok(assignmentDTOs);
+    public ResponseEntity<?> getAllAssignments(
+            @Parameter(description = "nextCursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Also return totalElements (runs a COUNT query)") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPage<AssignmentResponseDTO> assignments = assignmentService.getAssignmentSlice(cursor, CursorPage.clampSize(size), includeTotal);
+            return ResponseEntity.ok(assignments);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+        }
     }
     
     @Operation(summary = "Get assignment by ID", description = "Retrieve a specific assignment with detailed information")
@@ -79,7 +85,7 @@ public class AssignmentController {
             @Parameter(description = "Assignment ID", required = true) @PathVariable Long id) {
         try {
             log.info("🔍 Fetching assignment by ID: " + id);
-            Optional<Assignment> assignmentOpt = assignmentService.getAssignmentById(id);
+            Optional<Assignment> assignmentOpt = assignmentService.getAssignmentDetail(id);
             
             if (assignmentOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
@@ -152,6 +158,19 @@ public class AssignmentController {
         }
     }
     
+    @Operation(summary = "Get my assignments", description = "Assignments of the caller identified by the access token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Assignments retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Missing, invalid or expired access token")
+    })
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyAssignments(@AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(java.util.Map.of("error", "Authentication required"));
+        }
+        return getAssignmentsByVolunteerId(principal.userId());
+    }
+
     @Operation(summary = "Get assignments by volunteer", description = "Retrieve all assignments for a specific volunteer")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Assignments retrieved successfully"),
@@ -241,6 +260,11 @@ public class AssignmentController {
         return ResponseEntity.ok(assignments);
     }
     
+    @GetMapping("/count/completed")
+    public ResponseEntity<Long> getTotalCompletedAssignments() {
+        return ResponseEntity.ok(assignmentService.countCompletedAssignments());
+    }
+    
     @GetMapping("/pending")
     public ResponseEntity<List<Assignment>> getPendingAssignments() {
         List<Assignment> assignments = assignmentService.getPendingAssignments();
@@ -254,14 +278,18 @@ public class AssignmentController {
     }
     
     @GetMapping("/volunteer/{volunteerId}/paginated")
-    public ResponseEntity<Page<Assignment>> getAssignmentsByVolunteerPaginated(
+    public ResponseEntity<?> getAssignmentsByVolunteerPaginated(
             @PathVariable Long volunteerId,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "acceptedAt"));
-        List<Assignment> assignments = assignmentService.getAssignmentsByVolunteerId(volunteerId);
-        return ResponseEntity.ok(Page.empty());
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPage<AssignmentResponseDTO> assignments = assignmentService.getAssignmentSliceByVolunteer(
+                    volunteerId, cursor, CursorPage.clampSize(size), includeTotal);
+            return ResponseEntity.ok(assignments);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+        }
     }
     
     @GetMapping("/top-volunteers")
@@ -5,8 +5,10 @@ import om.community.supportsystem.dto.LoginRequest;
 import om.community.supportsystem.dto.RegisterRequest;
 import om.community.supportsystem.dto.ResetPasswordRequest;
 import om.community.supportsystem.service.AuthService;
+import om.community.supportsystem.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -195,6 +197,24 @@ public class AuthController {
         }
     }
 
+    @Operation(summary = "Current User", description = "Identity of the caller taken from the access token, without a database lookup")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Caller identity returned"),
+        @ApiResponse(responseCode = "401", description = "Missing, invalid or expired access token")
+    })
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+        }
+        Map<String, Object> identity = new java.util.HashMap<>();
+        identity.put("userId", principal.userId());
+        identity.put("email", principal.email());
+        identity.put("role", principal.role());
+        identity.put("expiresAt", principal.expiresAt());
+        return ResponseEntity.ok(identity);
+    }
+
     @Operation(summary = "Logout", description = "Revoke the refresh token for a user (server-side logout)")
     @ApiResponse(responseCode = "200", description = "Logged out successfully")
     @PostMapping("/logout/{userId}")
@@ -1,5 +1,10 @@
 package om.community.supportsystem.controller;
 
+import jakarta.validation.Valid;
+import om.community.supportsystem.dto.AvailabilityDTO;
+import om.community.supportsystem.model.VolunteerAvailability;
+import om.community.supportsystem.service.AvailabilityService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,45 +23,44 @@ import java.util.*;
         "http://localhost:3003", "https://community-support-system.vercel.app"})
 public class AvailabilityController {
 
-    // In-memory store until a proper DB table is added
-    private static final Map<Long, Map<String, Object>> availabilityStore = new HashMap<>();
+    @Autowired
+    private AvailabilityService availabilityService;
 
     @Operation(summary = "Get volunteer availability", description = "Retrieve availability slots and status for a specific volunteer")
     @ApiResponse(responseCode = "200", description = "Availability retrieved successfully")
     @GetMapping("/volunteer/{volunteerId}")
-    public ResponseEntity<Map<String, Object>> getAvailability(@PathVariable Long volunteerId) {
-        Map<String, Object> data = availabilityStore.getOrDefault(volunteerId, defaultAvailability(volunteerId));
-        return ResponseEntity.ok(data);
+    public ResponseEntity<VolunteerAvailability> getAvailability(@PathVariable Long volunteerId) {
+        return ResponseEntity.ok(availabilityService.getAvailability(volunteerId));
     }
 
     @Operation(summary = "Save volunteer availability", description = "Save or update availability slots for a volunteer")
     @ApiResponse(responseCode = "200", description = "Availability saved successfully")
     @PostMapping("/volunteer/{volunteerId}")
-    public ResponseEntity<Map<String, Object>> saveAvailability(
+    public ResponseEntity<VolunteerAvailability> saveAvailability(
             @PathVariable Long volunteerId,
-            @RequestBody Map<String, Object> body) {
-        body.put("volunteerId", volunteerId);
-        availabilityStore.put(volunteerId, body);
-        return ResponseEntity.ok(body);
+            @Valid @RequestBody AvailabilityDTO body) {
+        return ResponseEntity.ok(availabilityService.saveAvailability(volunteerId, body.getStatus(), body.getSlots()));
     }
 
     @Operation(summary = "Update volunteer status", description = "Update a volunteer's online/offline status")
     @ApiResponse(responseCode = "200", description = "Status updated successfully")
+    @ApiResponse(responseCode = "400", description = "Missing status")
     @PatchMapping("/volunteer/{volunteerId}/status")
-    public ResponseEntity<Map<String, Object>> updateStatus(
+    public ResponseEntity<?> updateStatus(
             @PathVariable Long volunteerId,
             @RequestBody Map<String, Object> body) {
-        Map<String, Object> current = availabilityStore.getOrDefault(volunteerId, defaultAvailability(volunteerId));
-        current.put("status", body.get("status"));
-        availabilityStore.put(volunteerId, current);
-        return ResponseEntity.ok(current);
+        Object status = body.get("status");
+        try {
+            return ResponseEntity.ok(availabilityService.updateStatus(volunteerId, status != null ? status.toString() : null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
-    private Map<String, Object> defaultAvailability(Long volunteerId) {
-        Map<String, Object> def = new HashMap<>();
-        def.put("volunteerId", volunteerId);
-        def.put("status", "OFFLINE");
-        def.put("slots", new ArrayList<>());
-        return def;
+    @Operation(summary = "Get volunteers by status", description = "List volunteers currently in a given status, e.g. ONLINE")
+    @ApiResponse(responseCode = "200", description = "Volunteers retrieved successfully")
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<VolunteerAvailability>> getByStatus(@PathVariable String status) {
+        return ResponseEntity.ok(availabilityService.getVolunteersByStatus(status));
     }
 }
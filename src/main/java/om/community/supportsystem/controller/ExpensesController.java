@@ -1,5 +1,13 @@
 package om.community.supportsystem.controller;
 
+import jakarta.validation.Valid;
+import om.community.supportsystem.dto.CreateExpenseDTO;
+import om.community.supportsystem.model.Expense;
+import om.community.supportsystem.model.ExpenseStatus;
+import om.community.supportsystem.service.ExpenseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,68 +26,89 @@ import java.util.*;
         "http://localhost:3003", "https://community-support-system.vercel.app"})
 public class ExpensesController {
 
-    private static final List<Map<String, Object>> store = new ArrayList<>();
-    private static long nextId = 1;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ExpenseService expenseService;
 
     @Operation(summary = "Submit an expense", description = "Submit a new expense claim for a volunteer assignment")
     @ApiResponse(responseCode = "200", description = "Expense submitted successfully")
+    @ApiResponse(responseCode = "400", description = "Missing volunteer or invalid amount")
     @PostMapping
-    public ResponseEntity<Map<String, Object>> create(@RequestBody Map<String, Object> body) {
-        body.put("expenseId", nextId++);
-        body.put("status", "PENDING");
-        body.put("createdAt", new Date().toString());
-        store.add(new HashMap<>(body));
-        return ResponseEntity.ok(body);
+    public ResponseEntity<?> create(@Valid @RequestBody CreateExpenseDTO dto) {
+        try {
+            return ResponseEntity.ok(expenseService.createExpense(dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @Operation(summary = "Get expenses by assignment", description = "Retrieve all expenses linked to a specific assignment")
     @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully")
     @GetMapping("/assignment/{assignmentId}")
-    public ResponseEntity<List<Map<String, Object>>> getByAssignment(@PathVariable Long assignmentId) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map<String, Object> e : store) {
-            Object aid = e.get("assignmentId");
-            if (aid != null && assignmentId.equals(((Number) aid).longValue())) result.add(e);
-        }
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<Expense>> getByAssignment(@PathVariable Long assignmentId) {
+        return ResponseEntity.ok(expenseService.getExpensesByAssignment(assignmentId));
     }
 
     @Operation(summary = "Get expenses by volunteer", description = "Retrieve all expenses submitted by a specific volunteer")
     @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully")
     @GetMapping("/volunteer/{volunteerId}")
-    public ResponseEntity<List<Map<String, Object>>> getByVolunteer(@PathVariable Long volunteerId) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map<String, Object> e : store) {
-            Object vid = e.get("volunteerId");
-            if (vid != null && volunteerId.equals(((Number) vid).longValue())) result.add(e);
-        }
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<Expense>> getByVolunteer(@PathVariable Long volunteerId) {
+        return ResponseEntity.ok(expenseService.getExpensesByVolunteer(volunteerId));
+    }
+
+    @Operation(summary = "Get expenses by volunteer (paginated)", description = "Retrieve one page of a volunteer's expenses, newest first")
+    @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully")
+    @GetMapping("/volunteer/{volunteerId}/paginated")
+    public ResponseEntity<Page<Expense>> getByVolunteerPaginated(
+            @PathVariable Long volunteerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(expenseService.getExpensesByVolunteer(volunteerId, pageRequest(page, size)));
+    }
+
+    @Operation(summary = "Get expense totals for a volunteer", description = "Count and total amount of a volunteer's expenses per status")
+    @ApiResponse(responseCode = "200", description = "Summary retrieved successfully")
+    @GetMapping("/volunteer/{volunteerId}/summary")
+    public ResponseEntity<Map<String, Object>> getVolunteerSummary(@PathVariable Long volunteerId) {
+        return ResponseEntity.ok(expenseService.getVolunteerSummary(volunteerId));
+    }
+
+    @Operation(summary = "Get expenses by status", description = "Review queue of expenses in a given status, oldest first")
+    @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully")
+    @GetMapping("/status/{status}")
+    public ResponseEntity<Page<Expense>> getByStatus(
+            @PathVariable ExpenseStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(expenseService.getExpensesByStatus(status, pageRequest(page, size)));
     }
 
     @Operation(summary = "Approve an expense", description = "Approve a pending expense claim")
     @ApiResponse(responseCode = "200", description = "Expense approved successfully")
     @ApiResponse(responseCode = "404", description = "Expense not found")
     @PatchMapping("/{expenseId}/approve")
-    public ResponseEntity<Map<String, Object>> approve(@PathVariable Long expenseId) {
-        return updateStatus(expenseId, "APPROVED");
+    public ResponseEntity<Expense> approve(@PathVariable Long expenseId) {
+        return updateStatus(expenseId, ExpenseStatus.APPROVED);
     }
 
     @Operation(summary = "Reject an expense", description = "Reject a pending expense claim")
     @ApiResponse(responseCode = "200", description = "Expense rejected successfully")
     @ApiResponse(responseCode = "404", description = "Expense not found")
     @PatchMapping("/{expenseId}/reject")
-    public ResponseEntity<Map<String, Object>> reject(@PathVariable Long expenseId) {
-        return updateStatus(expenseId, "REJECTED");
+    public ResponseEntity<Expense> reject(@PathVariable Long expenseId) {
+        return updateStatus(expenseId, ExpenseStatus.REJECTED);
     }
 
-    private ResponseEntity<Map<String, Object>> updateStatus(Long id, String status) {
-        for (Map<String, Object> e : store) {
-            Object eid = e.get("expenseId");
-            if (eid != null && id.equals(((Number) eid).longValue())) {
-                e.put("status", status);
-                return ResponseEntity.ok(e);
-            }
+    private ResponseEntity<Expense> updateStatus(Long id, ExpenseStatus status) {
+        try {
+            return ResponseEntity.ok(expenseService.updateStatus(id, status));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(0, page), Math.max(1, Math.min(MAX_PAGE_SIZE, size)));
     }
 }
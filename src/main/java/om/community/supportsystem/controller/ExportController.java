@@ -0,0 +1,196 @@
+package om.community.supportsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import om.community.supportsystem.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@Tag(name = "🔧 Admin", description = "Administrative operations")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:3002",
+        "http://localhost:3003", "https://community-support-system.vercel.app"})
+public class ExportController {
+
+    private static final String PERMIT_INTERCEPTOR = ExportController.class.getName() + ".permit";
+
+    private interface ExportJob {
+        long run(ExportService.Filter filter, ExportService.Format format, OutputStream out);
+    }
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Semaphore running;
+
+    // Each export holds a database connection for its whole duration
+    public ExportController(@Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    @Operation(summary = "Export requests", description = "Stream requests as NDJSON or CSV. status is a request status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or format"),
+        @ApiResponse(responseCode = "429", description = "Too many exports running")
+    })
+    @GetMapping("/requests")
+    public ResponseEntity<StreamingResponseBody> exportRequests(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Compress on the fly; defaults to the Accept-Encoding header") @RequestParam(required = false) Boolean gzip,
+            HttpServletRequest request) {
+        return stream("requests", format, new ExportService.Filter(status, province, from, to), gzip, request,
+                () -> exportService.parseRequestStatus(status), exportService::exportRequests);
+    }
+
+    @Operation(summary = "Export assignments", description = "Stream assignments as NDJSON or CSV. status is ACTIVE or COMPLETED")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or format"),
+        @ApiResponse(responseCode = "429", description = "Too many exports running")
+    })
+    @GetMapping("/assignments")
+    public ResponseEntity<StreamingResponseBody> exportAssignments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Compress on the fly; defaults to the Accept-Encoding header") @RequestParam(required = false) Boolean gzip,
+            HttpServletRequest request) {
+        return stream("assignments", format, new ExportService.Filter(status, province, from, to), gzip, request,
+                () -> exportService.parseAssignmentStatus(status), exportService::exportAssignments);
+    }
+
+    @Operation(summary = "Export users", description = "Stream users as NDJSON or CSV, without credentials. role filters by user role")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or format"),
+        @ApiResponse(responseCode = "429", description = "Too many exports running")
+    })
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Compress on the fly; defaults to the Accept-Encoding header") @RequestParam(required = false) Boolean gzip,
+            HttpServletRequest request) {
+        return stream("users", format, new ExportService.Filter(role, province, from, to), gzip, request,
+                () -> exportService.parseUserRole(role), exportService::exportUsers);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String dataset, String formatName, ExportService.Filter filter, Boolean gzip,
+                                     HttpServletRequest request, Runnable validate, ExportJob job) {
+        ExportService.Format format;
+        try {
+            // Reject bad filters now; once streaming starts the 200 is already sent
+            format = ExportService.Format.parse(formatName);
+            validate.run();
+            if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+                throw new IllegalArgumentException("from must not be after to");
+            }
+        } catch (IllegalArgumentException e) {
+            return error(ResponseEntity.badRequest(), e.getMessage());
+        }
+
+        if (!running.tryAcquire()) {
+            return error(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "30"),
+                    "Too many exports running. Please try again later.");
+        }
+
+        // Released once, by whichever comes first: the body finishing, or the async request
+        // completing, timing out or failing (client abort, or a body that never got to run)
+        AtomicBoolean held = new AtomicBoolean(true);
+        Runnable release = () -> {
+            if (held.compareAndSet(true, false)) {
+                running.release();
+            }
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(PERMIT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        release.run();
+                    }
+                });
+
+        boolean compress = gzip != null ? gzip : acceptsGzip(request);
+        StreamingResponseBody body = out -> {
+            try {
+                if (compress) {
+                    // syncFlush so each flush in the writer reaches the client instead of sitting in the deflater
+                    GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192, true);
+                    job.run(filter, format, gzipOut);
+                    gzipOut.finish();
+                } else {
+                    job.run(filter, format, out);
+                }
+            } finally {
+                release.run();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + dataset + "-" + LocalDate.now() + "." + format.getExtension() + "\"")
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * MVC only streams a ResponseEntity declared with a StreamingResponseBody body, so error
+     * responses are written through one too.
+     */
+    private ResponseEntity<StreamingResponseBody> error(ResponseEntity.BodyBuilder response, String message) {
+        return response.contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, Map.of("error", message)));
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
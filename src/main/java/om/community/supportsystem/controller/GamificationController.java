@@ -33,15 +33,18 @@ public class GamificationController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<Map<String, Object>> getUserProfile(@PathVariable Long userId) {
         Map<String, Object> rank = leaderboardService.getUserRank(userId);
+        List<Achievement> achievements = achievementService.getUserAchievements(userId);
         long completedAssignments = 0;
-        if (rank != null && rank.get("completedAssignments") != null) {
-            Object val = rank.get("completedAssignments");
-            completedAssignments = val instanceof Number ? ((Number) val).longValue() : 0L;
+        long points;
+        if (rank != null) {
+            completedAssignments = ((Number) rank.get("completedAssignments")).longValue();
+            points = ((Number) rank.get("points")).longValue();
+        } else {
+            // Not on the volunteer leaderboard (e.g. a citizen): achievement points only
+            points = achievements.stream().mapToLong(a -> a.getPoints() != null ? a.getPoints() : 0).sum();
         }
-        long points = completedAssignments * 10;
         int level = (int)(points / 100) + 1;
 
-        List<Achievement> achievements = achievementService.getUserAchievements(userId);
         Long achievementCount = achievementService.getUserAchievementCount(userId);
 
         Map<String, Object> profile = new HashMap<>();
@@ -28,4 +28,15 @@ public class LeaderboardController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    // The user's entry plus up to `radius` entries above and below it
+    @GetMapping("/user/{userId}/neighbours")
+    public ResponseEntity<List<Map<String, Object>>> getNeighbours(@PathVariable Long userId,
+                                                                   @RequestParam(defaultValue = "2") int radius) {
+        List<Map<String, Object>> neighbours = leaderboardService.getNeighbours(userId, Math.max(0, Math.min(50, radius)));
+        if (neighbours.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(neighbours);
+    }
 }
@@ -1,10 +1,13 @@
 package om.community.supportsystem.controller;
 
+import om.community.supportsystem.dto.CursorPage;
 import om.community.supportsystem.model.Notification;
 import om.community.supportsystem.service.NotificationService;
+import om.community.supportsystem.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +17,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -55,20 +59,44 @@ public class NotificationController {
     @Operation(summary = "Get notifications by user", description = "Retrieve all notifications for a specific user")
     @ApiResponse(responseCode = "200", description = "User notifications retrieved successfully")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Notification>> getNotificationsByUserId(
-            @Parameter(description = "User ID", required = true) @PathVariable Long userId) {
-        List<Notification> notifications = notificationService.getNotificationsByUserId(userId);
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<?> getNotificationsByUserId(
+            @Parameter(description = "User ID", required = true) @PathVariable Long userId,
+            @Parameter(description = "nextCursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Also return totalElements (runs a COUNT query)") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPage<Notification> notifications = notificationService.getNotificationSliceByUser(
+                    userId, cursor, CursorPage.clampSize(size), includeTotal);
+            return ResponseEntity.ok(notifications);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
+    @Operation(summary = "Get my notifications", description = "Notifications for the caller identified by the access token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Missing, invalid or expired access token")
+    })
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyNotifications(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @Parameter(description = "nextCursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Also return totalElements (runs a COUNT query)") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+        }
+        return getNotificationsByUserId(principal.userId(), cursor, size, includeTotal);
+    }
+
     @GetMapping("/user/{userId}/paginated")
-    public ResponseEntity<List<Notification>> getNotificationsByUserPaginated(
+    public ResponseEntity<?> getNotificationsByUserPaginated(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        
-        List<Notification> notifications = notificationService.getNotificationsByUserId(userId);
-        return ResponseEntity.ok(notifications);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return getNotificationsByUserId(userId, cursor, size, includeTotal);
     }
     
     @GetMapping("/unread")
@@ -125,6 +153,17 @@ public class NotificationController {
         return ResponseEntity.ok().build();
     }
     
+    @Operation(summary = "Mark all my notifications as read", description = "Mark all notifications as read for the caller")
+    @ApiResponse(responseCode = "200", description = "All notifications marked as read")
+    @PatchMapping("/me/mark-all-read")
+    public ResponseEntity<?> markAllMineAsRead(@AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+        }
+        notificationService.markAllAsReadForUser(principal.userId());
+        return ResponseEntity.ok().build();
+    }
+
     // Delete
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNotification(@PathVariable Long id) {
@@ -148,6 +187,16 @@ public class NotificationController {
         return ResponseEntity.ok(count);
     }
 
+    @Operation(summary = "Count my unread notifications", description = "Unread notification count for the caller; polled by the navigation bar")
+    @ApiResponse(responseCode = "200", description = "Unread notification count retrieved")
+    @GetMapping("/me/unread/count")
+    public ResponseEntity<?> countMyUnreadNotifications(@AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+        }
+        return ResponseEntity.ok(notificationService.countUnreadNotificationsByUser(principal.userId()));
+    }
+
     @GetMapping("/user/{userId}/stats")
     public ResponseEntity<java.util.Map<String, Long>> getUserStats(@PathVariable Long userId) {
         java.util.Map<String, Long> stats = new java.util.HashMap<>();
@@ -1,5 +1,13 @@
 package om.community.supportsystem.controller;
 
+import jakarta.validation.Valid;
+import om.community.supportsystem.dto.CreateRatingDTO;
+import om.community.supportsystem.model.Rating;
+import om.community.supportsystem.service.RatingAggregationService;
+import om.community.supportsystem.service.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,66 +26,68 @@ import java.util.*;
         "http://localhost:3003", "https://community-support-system.vercel.app"})
 public class RatingsController {
 
-    // In-memory store until a Ratings table is added
-    private static final List<Map<String, Object>> ratingsStore = new ArrayList<>();
-    private static long nextId = 1;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RatingAggregationService ratingAggregationService;
 
     @Operation(summary = "Create a rating", description = "Submit a rating for a volunteer after an assignment")
     @ApiResponse(responseCode = "200", description = "Rating created successfully")
+    @ApiResponse(responseCode = "400", description = "Missing volunteer or score out of range")
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createRating(@RequestBody Map<String, Object> body) {
-        body.put("ratingId", nextId++);
-        body.put("createdAt", new Date().toString());
-        ratingsStore.add(new HashMap<>(body));
-        return ResponseEntity.ok(body);
+    public ResponseEntity<?> createRating(@Valid @RequestBody CreateRatingDTO dto) {
+        try {
+            return ResponseEntity.ok(ratingService.createRating(dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @Operation(summary = "Get ratings for a volunteer", description = "Retrieve all ratings submitted for a specific volunteer")
     @ApiResponse(responseCode = "200", description = "Ratings retrieved successfully")
     @GetMapping("/volunteer/{volunteerId}")
-    public ResponseEntity<List<Map<String, Object>>> getRatingsByVolunteer(@PathVariable Long volunteerId) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map<String, Object> r : ratingsStore) {
-            Object vid = r.get("volunteerId");
-            if (vid != null && volunteerId.equals(((Number) vid).longValue())) {
-                result.add(r);
-            }
-        }
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<Rating>> getRatingsByVolunteer(@PathVariable Long volunteerId) {
+        return ResponseEntity.ok(ratingService.getRatingsByVolunteer(volunteerId));
+    }
+
+    @Operation(summary = "Get ratings for a volunteer (paginated)", description = "Retrieve one page of a volunteer's ratings, newest first")
+    @ApiResponse(responseCode = "200", description = "Ratings retrieved successfully")
+    @GetMapping("/volunteer/{volunteerId}/paginated")
+    public ResponseEntity<Page<Rating>> getRatingsByVolunteerPaginated(
+            @PathVariable Long volunteerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(MAX_PAGE_SIZE, size)));
+        return ResponseEntity.ok(ratingService.getRatingsByVolunteer(volunteerId, pageable));
     }
 
     @Operation(summary = "Get ratings for an assignment", description = "Retrieve all ratings associated with a specific assignment")
     @ApiResponse(responseCode = "200", description = "Ratings retrieved successfully")
     @GetMapping("/assignment/{assignmentId}")
-    public ResponseEntity<List<Map<String, Object>>> getRatingsByAssignment(@PathVariable Long assignmentId) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map<String, Object> r : ratingsStore) {
-            Object aid = r.get("assignmentId");
-            if (aid != null && assignmentId.equals(((Number) aid).longValue())) {
-                result.add(r);
-            }
-        }
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<Rating>> getRatingsByAssignment(@PathVariable Long assignmentId) {
+        return ResponseEntity.ok(ratingService.getRatingsByAssignment(assignmentId));
     }
 
-    @Operation(summary = "Get average rating for a volunteer", description = "Calculate the average rating score for a specific volunteer")
-    @ApiResponse(responseCode = "200", description = "Average rating calculated successfully")
+    @Operation(summary = "Get average rating for a volunteer", description = "Read the volunteer's precomputed average rating score")
+    @ApiResponse(responseCode = "200", description = "Average rating retrieved successfully")
     @GetMapping("/volunteer/{volunteerId}/average")
     public ResponseEntity<Map<String, Object>> getVolunteerAverage(@PathVariable Long volunteerId) {
-        List<Map<String, Object>> volRatings = new ArrayList<>();
-        for (Map<String, Object> r : ratingsStore) {
-            Object vid = r.get("volunteerId");
-            if (vid != null && volunteerId.equals(((Number) vid).longValue())) {
-                volRatings.add(r);
-            }
-        }
-        double avg = volRatings.stream()
-            .mapToDouble(r -> r.get("score") != null ? ((Number) r.get("score")).doubleValue() : 0)
-            .average().orElse(0.0);
+        RatingAggregationService.Summary summary = ratingAggregationService.getSummary(volunteerId);
         Map<String, Object> result = new HashMap<>();
         result.put("volunteerId", volunteerId);
-        result.put("averageScore", Math.round(avg * 10.0) / 10.0);
-        result.put("totalRatings", volRatings.size());
+        result.put("averageScore", Math.round(summary.average() * 10.0) / 10.0);
+        result.put("totalRatings", summary.count());
         return ResponseEntity.ok(result);
     }
+
+    @Operation(summary = "Get rating summary for a volunteer",
+               description = "Average, Bayesian-smoothed score, standard deviation and star distribution")
+    @ApiResponse(responseCode = "200", description = "Rating summary retrieved successfully")
+    @GetMapping("/volunteer/{volunteerId}/summary")
+    public ResponseEntity<Map<String, Object>> getVolunteerSummary(@PathVariable Long volunteerId) {
+        return ResponseEntity.ok(ratingAggregationService.describe(volunteerId));
+    }
 }
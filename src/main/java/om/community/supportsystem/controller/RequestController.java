@@ -1,16 +1,19 @@
 package om.community.supportsystem.controller;
 
 import om.community.supportsystem.dto.CreateRequestDTO;
+import om.community.supportsystem.dto.CursorPage;
 import om.community.supportsystem.dto.RequestResponseDTO;
 import om.community.supportsystem.model.Request;
 import om.community.supportsystem.model.RequestStatus;
 import om.community.supportsystem.service.RequestService;
+import om.community.supportsystem.util.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,16 +52,21 @@ public class RequestController {
     }
     
     // Read
-    @Operation(summary = "Get all requests", description = "Retrieve all help requests in the system")
-    @ApiResponse(responseCode = "200", description = "Requests retrieved successfully")
+    @Operation(summary = "Get all requests", description = "Retrieve help requests newest first, one cursor slice at a time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Requests retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
     @GetMapping
-    public ResponseEntity<?> getAllRequests() {
+    public ResponseEntity<?> getAllRequests(
+            @Parameter(description = "nextCursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Also return totalElements (runs a COUNT query)") @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            List<Request> requests = requestService.getAllRequests();
-            List<RequestResponseDTO> requestDTOs = requests.stream()
-                .map(RequestResponseDTO::new)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(requestDTOs);
+            CursorPage<RequestResponseDTO> requests = requestService.getRequestSlice(cursor, CursorPage.clampSize(size), includeTotal);
+            return ResponseEntity.ok(requests);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error(String.valueOf("Error fetching all requests: " + e.getMessage()));
             log.error("Unexpected error", e);
@@ -74,9 +82,9 @@ public class RequestController {
         @ApiResponse(responseCode = "404", description = "Request not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Request> getRequestById(
+    public ResponseEntity<RequestResponseDTO> getRequestById(
             @Parameter(description = "Request ID", required = true) @PathVariable Long id) {
-        return requestService.getRequestById(id)
+        return requestService.getRequestView(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -107,6 +115,19 @@ public class RequestController {
         }
     }
     
+    @Operation(summary = "Get my requests", description = "Requests created by the caller identified by the access token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Requests retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Missing, invalid or expired access token")
+    })
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyRequests(@AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(java.util.Map.of("error", "Authentication required"));
+        }
+        return getRequestsByCitizenId(principal.userId());
+    }
+
     @Operation(summary = "Get pending requests", description = "Retrieve all requests with PENDING status for volunteers to accept")
     @ApiResponse(responseCode = "200", description = "Pending requests retrieved successfully")
     @GetMapping("/pending")
@@ -171,7 +192,8 @@ public class RequestController {
             @RequestParam(required = false) String province,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy) {
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false) String cursor) {
         
         try {
             if (query != null && !query.trim().isEmpty()) {
@@ -188,9 +210,8 @@ public class RequestController {
                 List<Request> requests = requestService.getRequestsByStatus(status);
                 return ResponseEntity.ok(requests);
             } else {
-                // Return all requests
-                List<Request> requests = requestService.getAllRequests();
-                return ResponseEntity.ok(requests);
+                // No filter: newest requests, one cursor slice at a time
+                return ResponseEntity.ok(requestService.getRequestSlice(cursor, CursorPage.clampSize(size), false));
             }
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
@@ -1,6 +1,7 @@
 package om.community.supportsystem.controller;
 
 import om.community.supportsystem.service.RwandaLocationService;
+import om.community.supportsystem.util.DivisionTree;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,20 +13,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/rwanda-locations")
-@Tag(name = "🇷🇼 Rwanda Locations", description = "Rwanda administrative divisions from external RDA API")
+@Tag(name = "🇷🇼 Rwanda Locations", description = "Rwanda administrative divisions (local snapshot, refreshed from the RDA API)")
 @CrossOrigin(origins = {"http://localhost:3001", "http://localhost:5173", "https://community-support-system.vercel.app"}, allowCredentials = "true")
 public class RwandaLocationController {
     
     @Autowired
     private RwandaLocationService rwandaLocationService;
     
-    @Operation(summary = "Get all provinces", description = "Fetch all provinces in Rwanda from RDA API")
+    @Operation(summary = "Get all provinces", description = "All provinces in Rwanda")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved provinces"),
-        @ApiResponse(responseCode = "500", description = "Failed to fetch provinces from external API")
+        @ApiResponse(responseCode = "500", description = "Failed to load provinces")
     })
     @GetMapping("/provinces")
     public ResponseEntity<List<String>> getProvinces() {
@@ -37,10 +39,10 @@ public class RwandaLocationController {
         }
     }
     
-    @Operation(summary = "Get districts by province", description = "Fetch districts in a specific province from RDA API")
+    @Operation(summary = "Get districts by province", description = "Districts in a specific province")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved districts"),
-        @ApiResponse(responseCode = "500", description = "Failed to fetch districts from external API")
+        @ApiResponse(responseCode = "500", description = "Failed to load districts")
     })
     @GetMapping("/districts")
     public ResponseEntity<List<String>> getDistricts(
@@ -104,4 +106,26 @@ public class RwandaLocationController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Autocomplete division names",
+               description = "Provinces, districts, sectors, cells and villages whose name starts with the query, with their full path")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matches returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid level or limit")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @Parameter(description = "Name prefix (case and accents ignored)", required = true)
+            @RequestParam String q,
+            @Parameter(description = "province, district, sector, cell or village; omit for any")
+            @RequestParam(required = false) String level,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (level != null && !DivisionTree.LEVELS.contains(level.toLowerCase())) {
+            return ResponseEntity.badRequest().body(Map.of("error", "level must be one of " + DivisionTree.LEVELS));
+        }
+        if (limit < 1 || limit > 50) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and 50"));
+        }
+        return ResponseEntity.ok(rwandaLocationService.search(q, level, limit));
+    }
+}
@@ -1,17 +1,23 @@
 package om.community.supportsystem.controller;
 
+import om.community.supportsystem.service.SearchIndexService;
 import om.community.supportsystem.service.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/search")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "https://community-support-system.vercel.app"})
 public class SearchController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> TYPES = Set.of(SearchIndexService.TYPE_USER, SearchIndexService.TYPE_REQUEST,
+            SearchIndexService.TYPE_SKILL, SearchIndexService.TYPE_POST);
+
     @Autowired
     private SearchService searchService;
 
@@ -19,39 +25,84 @@ public class SearchController {
     public ResponseEntity<Map<String, Object>> globalSearch(
             @RequestParam String query,
             @RequestParam(defaultValue = "10") int limit) {
-        
+
         if (query == null || query.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Query parameter is required"));
         }
-        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
         Map<String, Object> results = searchService.globalSearch(query.trim(), limit);
         return ResponseEntity.ok(results);
     }
 
+    // Ranked, paginated results across all types or a single type (user, request, skill, post)
+    @GetMapping("/ranked")
+    public ResponseEntity<?> rankedSearch(
+            @RequestParam String query,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (query == null || query.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query parameter is required"));
+        }
+        if (type != null && !TYPES.contains(type)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "type must be one of " + TYPES));
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        return ResponseEntity.ok(searchService.search(query.trim(), type, page, size));
+    }
+
     @GetMapping("/users")
-    public ResponseEntity<?> searchUsers(@RequestParam String query) {
+    public ResponseEntity<?> searchUsers(@RequestParam String query,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
         if (query == null || query.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Query parameter is required"));
         }
-        
-        return ResponseEntity.ok(searchService.searchUsers(query.trim()));
+
+        return ResponseEntity.ok(searchService.searchUsers(query.trim(), Math.max(0, page), clampSize(size)));
     }
 
     @GetMapping("/requests")
-    public ResponseEntity<?> searchRequests(@RequestParam String query) {
+    public ResponseEntity<?> searchRequests(@RequestParam String query,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "20") int size) {
         if (query == null || query.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Query parameter is required"));
         }
-        
-        return ResponseEntity.ok(searchService.searchRequests(query.trim()));
+
+        return ResponseEntity.ok(searchService.searchRequests(query.trim(), Math.max(0, page), clampSize(size)));
     }
 
     @GetMapping("/skills")
-    public ResponseEntity<?> searchSkills(@RequestParam String query) {
+    public ResponseEntity<?> searchSkills(@RequestParam String query,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size) {
+        if (query == null || query.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query parameter is required"));
+        }
+
+        return ResponseEntity.ok(searchService.searchSkills(query.trim(), Math.max(0, page), clampSize(size)));
+    }
+
+    @GetMapping("/posts")
+    public ResponseEntity<?> searchPosts(@RequestParam String query,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
         if (query == null || query.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Query parameter is required"));
         }
-        
-        return ResponseEntity.ok(searchService.searchSkills(query.trim()));
+
+        return ResponseEntity.ok(searchService.searchPosts(query.trim(), Math.max(0, page), clampSize(size)));
+    }
+
+    private static int clampSize(int size) {
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, size));
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package om.community.supportsystem.controller;
 
+import om.community.supportsystem.dto.CursorPage;
 import om.community.supportsystem.dto.UserResponseDTO;
 import om.community.supportsystem.model.User;
 import om.community.supportsystem.model.UserRole;
@@ -68,7 +69,7 @@ public class UserController {
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(
             @Parameter(description = "User ID", required = true) @PathVariable Long id) {
-        return userService.getUserById(id)
+        return userService.getUserProfile(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -152,7 +153,9 @@ public class UserController {
             @RequestParam(required = false) String province,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "name") String sortBy) {
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         try {
             if (query != null && !query.trim().isEmpty()) {
@@ -165,10 +168,8 @@ public class UserController {
                 Page<User> users = userService.getUsersByRoleAndProvince(role, province, pageable);
                 return ResponseEntity.ok(users);
             } else {
-                // Return all users with pagination
-                Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-                List<User> allUsers = userService.getAllUsers();
-                return ResponseEntity.ok(allUsers);
+                // Newest users first (optionally one role), one cursor slice at a time
+                return ResponseEntity.ok(userService.getUserSlice(role, cursor, CursorPage.clampSize(size), includeTotal));
             }
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -0,0 +1,42 @@
+package om.community.supportsystem.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/** The fields a client may set on an appointment; null fields are left unchanged on update. */
+public class AppointmentDetailsDTO {
+
+    private Long volunteerId;
+
+    private Long assignmentId;
+
+    @Size(max = 255, message = "Title must be at most 255 characters")
+    private String title;
+
+    private LocalDateTime scheduledAt;
+
+    @Size(max = 255, message = "Location must be at most 255 characters")
+    private String location;
+
+    @Size(max = 2000, message = "Notes must be at most 2000 characters")
+    private String notes;
+
+    public Long getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(Long volunteerId) { this.volunteerId = volunteerId; }
+
+    public Long getAssignmentId() { return assignmentId; }
+    public void setAssignmentId(Long assignmentId) { this.assignmentId = assignmentId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public LocalDateTime getScheduledAt() { return scheduledAt; }
+    public void setScheduledAt(LocalDateTime scheduledAt) { this.scheduledAt = scheduledAt; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+}
@@ -1,6 +1,8 @@
 package om.community.supportsystem.dto;
 
 import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.RequestStatus;
 import java.time.LocalDateTime;
 
 public class AssignmentResponseDTO {
@@ -70,6 +72,37 @@ public class AssignmentResponseDTO {
         this.request = new RequestInfo(this.requestId, this.requestTitle, this.requestDescription, this.requestCategory, this.requestStatus);
     }
     
+    /**
+     * Read-model constructor used by JPQL constructor projections (see AssignmentRepository):
+     * one query selecting these columns instead of loading the request, citizen and volunteer.
+     */
+    public AssignmentResponseDTO(Long assignmentId, LocalDateTime acceptedAt, LocalDateTime completedAt,
+                                 Long volunteerId, String volunteerName, String volunteerEmail, String volunteerPhone,
+                                 Long requestId, String requestTitle, String requestDescription,
+                                 RequestCategory requestCategory, RequestStatus requestStatus,
+                                 Long citizenId, String citizenName, String citizenEmail) {
+        this.assignmentId = assignmentId;
+        this.acceptedAt = acceptedAt;
+        this.completedAt = completedAt;
+        this.completed = completedAt != null;
+        this.volunteerId = volunteerId;
+        this.volunteerName = volunteerName;
+        this.volunteerEmail = volunteerEmail;
+        this.volunteerPhone = volunteerPhone;
+        this.requestId = requestId;
+        this.requestTitle = requestTitle;
+        this.requestDescription = requestDescription;
+        this.requestCategory = requestCategory != null ? requestCategory.toString() : null;
+        this.requestStatus = requestStatus != null ? requestStatus.toString() : null;
+        this.citizenId = citizenId;
+        this.citizenName = citizenName;
+        this.citizenEmail = citizenEmail;
+        
+        this.volunteer = new VolunteerInfo(volunteerId, volunteerName, volunteerEmail, volunteerPhone);
+        this.citizen = new CitizenInfo(citizenId, citizenName, citizenEmail);
+        this.request = new RequestInfo(requestId, requestTitle, requestDescription, this.requestCategory, this.requestStatus);
+    }
+    
     // Getters and setters
     public Long getAssignmentId() { return assignmentId; }
     public void setAssignmentId(Long assignmentId) { this.assignmentId = assignmentId; }
@@ -0,0 +1,21 @@
+package om.community.supportsystem.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class AvailabilityDTO {
+
+    @Size(max = 20, message = "Status must be at most 20 characters")
+    private String status; // ONLINE, OFFLINE, BUSY
+
+    // Weekly slots, stored as sent
+    @Size(max = 200, message = "At most 200 slots")
+    private List<Object> slots;
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public List<Object> getSlots() { return slots; }
+    public void setSlots(List<Object> slots) { this.slots = slots; }
+}
@@ -0,0 +1,13 @@
+package om.community.supportsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class CreateAppointmentDTO extends AppointmentDetailsDTO {
+
+    // The citizen the appointment is with
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+}
@@ -0,0 +1,48 @@
+package om.community.supportsystem.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class CreateExpenseDTO {
+
+    @NotNull(message = "Volunteer ID is required")
+    private Long volunteerId;
+
+    private Long assignmentId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.00", message = "Amount must be zero or more")
+    @Digits(integer = 10, fraction = 2, message = "Amount must have at most 10 digits and 2 decimals")
+    private BigDecimal amount;
+
+    @Size(max = 255, message = "Category must be at most 255 characters")
+    private String category; // TRANSPORT, SUPPLIES, FOOD, OTHER
+
+    @Size(max = 2000, message = "Description must be at most 2000 characters")
+    private String description;
+
+    @Size(max = 255, message = "Receipt URL must be at most 255 characters")
+    private String receiptUrl;
+
+    public Long getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(Long volunteerId) { this.volunteerId = volunteerId; }
+
+    public Long getAssignmentId() { return assignmentId; }
+    public void setAssignmentId(Long assignmentId) { this.assignmentId = assignmentId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getReceiptUrl() { return receiptUrl; }
+    public void setReceiptUrl(String receiptUrl) { this.receiptUrl = receiptUrl; }
+}
@@ -0,0 +1,44 @@
+package om.community.supportsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class CreateRatingDTO {
+
+    @NotNull(message = "Volunteer ID is required")
+    private Long volunteerId;
+
+    private Long assignmentId;
+
+    // The citizen who left the rating
+    @JsonAlias({"userId", "citizenId"})
+    private Long raterId;
+
+    @NotNull(message = "Score is required")
+    @Min(value = 1, message = "Score must be between 1 and 5")
+    @Max(value = 5, message = "Score must be between 1 and 5")
+    private Integer score;
+
+    // The frontend sends it as "review"
+    @JsonAlias("review")
+    @Size(max = 2000, message = "Comment must be at most 2000 characters")
+    private String comment;
+
+    public Long getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(Long volunteerId) { this.volunteerId = volunteerId; }
+
+    public Long getAssignmentId() { return assignmentId; }
+    public void setAssignmentId(Long assignmentId) { this.assignmentId = assignmentId; }
+
+    public Long getRaterId() { return raterId; }
+    public void setRaterId(Long raterId) { this.raterId = raterId; }
+
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+}
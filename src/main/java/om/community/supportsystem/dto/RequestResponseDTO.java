@@ -1,8 +1,10 @@
 package om.community.supportsystem.dto;
 
+import om.community.supportsystem.model.Location;
 import om.community.supportsystem.model.Request;
 import om.community.supportsystem.model.RequestCategory;
 import om.community.supportsystem.model.RequestStatus;
+import om.community.supportsystem.model.User;
 import java.time.LocalDateTime;
 
 public class RequestResponseDTO {
@@ -38,41 +40,56 @@ public class RequestResponseDTO {
         this.updatedAt = request.getUpdatedAt();
         
         // Handle citizen info safely
-        if (request.getCitizen() != null) {
-            this.citizenId = request.getCitizen().getUserId();
-            this.citizenName = request.getCitizen().getName();
-            this.citizenEmail = request.getCitizen().getEmail();
-            this.citizenPhone = request.getCitizen().getPhoneNumber();
-            
-            // Handle location data safely
-            if (request.getCitizen().getLocation() != null) {
-                this.citizenProvince = request.getCitizen().getLocation().getProvince();
-                this.citizenDistrict = request.getCitizen().getLocation().getDistrict();
-            } else {
-                // Use individual location fields as fallback
-                this.citizenProvince = request.getCitizen().getProvince();
-                this.citizenDistrict = request.getCitizen().getDistrict();
-            }
-            
-            this.citizenSector = request.getCitizen().getSector();
-            this.citizenCell = request.getCitizen().getCell();
-            this.citizenVillage = request.getCitizen().getVillage();
-            
-            // Create nested citizen object
-            this.citizen = new CitizenInfo(
-                this.citizenId,
-                this.citizenName,
-                this.citizenEmail,
-                this.citizenPhone,
-                this.citizenProvince,
-                this.citizenDistrict,
-                this.citizenSector,
-                this.citizenCell,
-                this.citizenVillage
-            );
+        User citizen = request.getCitizen();
+        if (citizen != null) {
+            // Prefer the linked location, fall back to the individual location fields
+            Location location = citizen.getLocation();
+            applyCitizen(citizen.getUserId(), citizen.getName(), citizen.getEmail(), citizen.getPhoneNumber(),
+                    location != null ? location.getProvince() : citizen.getProvince(),
+                    location != null ? location.getDistrict() : citizen.getDistrict(),
+                    citizen.getSector(), citizen.getCell(), citizen.getVillage());
         }
     }
     
+    /**
+     * Read-model constructor used by JPQL constructor projections (see RequestRepository), so
+     * list and detail reads select only these columns instead of hydrating the citizen with its
+     * location and skills. Province and district are already resolved the same way as above.
+     */
+    public RequestResponseDTO(Long requestId, String title, String description, RequestCategory category,
+                              RequestStatus status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                              Long citizenId, String citizenName, String citizenEmail, String citizenPhone,
+                              String citizenProvince, String citizenDistrict,
+                              String citizenSector, String citizenCell, String citizenVillage) {
+        this.requestId = requestId;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        if (citizenId != null) {
+            applyCitizen(citizenId, citizenName, citizenEmail, citizenPhone, citizenProvince, citizenDistrict,
+                    citizenSector, citizenCell, citizenVillage);
+        }
+    }
+    
+    private void applyCitizen(Long userId, String name, String email, String phone, String province,
+                              String district, String sector, String cell, String village) {
+        this.citizenId = userId;
+        this.citizenName = name;
+        this.citizenEmail = email;
+        this.citizenPhone = phone;
+        this.citizenProvince = province;
+        this.citizenDistrict = district;
+        this.citizenSector = sector;
+        this.citizenCell = cell;
+        this.citizenVillage = village;
+        
+        // Create nested citizen object
+        this.citizen = new CitizenInfo(userId, name, email, phone, province, district, sector, cell, village);
+    }
+    
     // Nested CitizenInfo class
     public static class CitizenInfo {
         private Long userId;
@@ -0,0 +1,360 @@
+package om.community.supportsystem.email;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import om.community.supportsystem.model.BulkEmailJob;
+import om.community.supportsystem.model.BulkEmailJobStatus;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.BulkEmailJobRepository;
+import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.service.SendGridEmailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Announcements and digests to many recipients through the configured email provider
+ * (email.provider).
+ *
+ * Recipients are grouped into batches of up to email.bulk.batch-size, capped by what one call to
+ * the provider takes: SendGrid sends 1000 personalizations per mail/send call, so a message to
+ * 5,000 volunteers is 5 API calls; SMTP and the stub send each recipient as its own batch.
+ *
+ * Jobs and their recipients are stored in bulk_email_jobs and bulk_email_recipients, so they
+ * survive a restart and any instance can finish them. Only the oldest unfinished job is ever
+ * sent, by the instance holding its lease (email.bulk.lease-ms, renewed every batch), so one
+ * instance sends at a time and the pacer's email.bulk.max-emails-per-second holds cluster-wide.
+ * An instance that stops mid-job loses the lease and another one resumes from the next unsent
+ * batch; the batch in flight may be sent twice.
+ *
+ * A batch rejected with 429 or a 5xx, or lost to an I/O error, is retried; other failures are
+ * recorded on the job and the next batch goes ahead.
+ */
+@Service
+public class BulkEmailService {
+    private static final Logger log = LoggerFactory.getLogger(BulkEmailService.class);
+
+    public static final String NAME_PLACEHOLDER = "-name-";
+
+    private static final Set<BulkEmailJobStatus> UNFINISHED = EnumSet.of(BulkEmailJobStatus.QUEUED, BulkEmailJobStatus.RUNNING);
+
+    private static final String INSERT_RECIPIENT_SQL = "INSERT INTO bulk_email_recipients (job_id, batch_number, email, substitutions) " +
+            "VALUES (?, ?, ?, ?)";
+    private static final String BATCH_SQL = "SELECT email, substitutions FROM bulk_email_recipients " +
+            "WHERE job_id = ? AND batch_number = ? ORDER BY recipient_id";
+    private static final String OLDEST_UNFINISHED_SQL = "SELECT job_id FROM bulk_email_jobs " +
+            "WHERE status IN ('QUEUED', 'RUNNING') ORDER BY job_id LIMIT 1";
+    private static final String CLAIM_SQL = "UPDATE bulk_email_jobs SET status = 'RUNNING', owner = ?, lease_until = ?, " +
+            "started_at = COALESCE(started_at, ?) " +
+            "WHERE job_id = ? AND status IN ('QUEUED', 'RUNNING') AND (owner IS NULL OR owner = ? OR lease_until < ?)";
+    private static final String RENEW_SQL = "UPDATE bulk_email_jobs SET lease_until = ? WHERE job_id = ? AND owner = ?";
+    private static final String BATCH_SENT_SQL = "UPDATE bulk_email_jobs SET batches_sent = batches_sent + 1, " +
+            "emails_sent = emails_sent + ?, next_batch = ?, lease_until = ? WHERE job_id = ? AND owner = ?";
+    private static final String BATCH_FAILED_SQL = "UPDATE bulk_email_jobs SET emails_failed = emails_failed + ?, " +
+            "next_batch = ?, lease_until = ? WHERE job_id = ? AND owner = ?";
+    private static final String INSERT_FAILURE_SQL = "INSERT INTO bulk_email_failures (job_id, batch, recipients, error) VALUES (?, ?, ?, ?)";
+    private static final String FINISH_SQL = "UPDATE bulk_email_jobs SET status = CASE WHEN emails_failed > 0 " +
+            "THEN 'COMPLETED_WITH_FAILURES' ELSE 'COMPLETED' END, finished_at = ?, owner = NULL, lease_until = NULL " +
+            "WHERE job_id = ? AND owner = ?";
+    private static final String DELETE_RECIPIENTS_SQL = "DELETE FROM bulk_email_recipients WHERE job_id = ?";
+
+    private static final TypeReference<Map<String, String>> SUBSTITUTIONS = new TypeReference<>() {};
+
+    // Identifies this instance's leases
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Map<String, EmailProvider> providers = new LinkedHashMap<>();
+
+    @Autowired
+    private BulkEmailJobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("bulkEmailExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${email.provider:sendgrid}")
+    private String provider;
+
+    @Value("${email.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${email.bulk.max-emails-per-second:100}")
+    private double maxEmailsPerSecond;
+
+    @Value("${email.bulk.batch-attempts:3}")
+    private int batchAttempts;
+
+    @Value("${email.bulk.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    @Value("${email.bulk.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${email.bulk.max-queued-jobs:20}")
+    private int maxQueuedJobs;
+
+    // Earliest time the next batch may go out; one job sends at a time, so this paces them all
+    private long nextSendAtNanos = System.nanoTime();
+
+    public BulkEmailService(List<EmailProvider> emailProviders) {
+        for (EmailProvider emailProvider : emailProviders) {
+            providers.put(emailProvider.name(), emailProvider);
+        }
+    }
+
+    /**
+     * Sends to every verified user with {@code role}, or every verified user when it is null.
+     * {@value #NAME_PLACEHOLDER} in the subject or body becomes each recipient's name.
+     */
+    public BulkEmailJob sendToRole(UserRole role, String subject, String htmlContent) {
+        List<BulkRecipient> recipients = new ArrayList<>();
+        for (Object[] row : userRepository.findEmailRecipientsByRole(role)) {
+            String name = row[1] != null ? (String) row[1] : "";
+            recipients.add(new BulkRecipient((String) row[0], Map.of(NAME_PLACEHOLDER, name)));
+        }
+        return submit(subject, htmlContent, recipients);
+    }
+
+    /** Queues a bulk send and returns its job as queued; poll {@link #getJob} for progress. */
+    public BulkEmailJob submit(String subject, String htmlContent, List<BulkRecipient> recipients) {
+        if (jobRepository.countByStatusIn(UNFINISHED) >= maxQueuedJobs) {
+            throw new IllegalStateException("Too many bulk email jobs queued, try again later");
+        }
+        int size = batchSize(providers.get(provider));
+        int batches = (recipients.size() + size - 1) / size;
+        BulkEmailJob job = transactionTemplate.execute(status -> {
+            BulkEmailJob saved = jobRepository.save(new BulkEmailJob(subject, htmlContent, provider, recipients.size(), batches));
+            List<Object[]> rows = new ArrayList<>(recipients.size());
+            for (int i = 0; i < recipients.size(); i++) {
+                BulkRecipient recipient = recipients.get(i);
+                rows.add(new Object[]{saved.getJobId(), i / size, recipient.email(), toJson(recipient.substitutions())});
+            }
+            jdbcTemplate.batchUpdate(INSERT_RECIPIENT_SQL, rows);
+            return saved;
+        });
+        log.info("📧 Bulk email job " + job.getJobId() + " queued: " + recipients.size() + " recipients in " + batches + " batches via " + provider);
+        requestDrain();
+        return job;
+    }
+
+    public Optional<BulkEmailJob> getJob(long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    /** The most recent jobs, newest first. */
+    public List<BulkEmailJob> getJobs() {
+        return jobRepository.findTop50ByOrderByJobIdDesc();
+    }
+
+    /** Starts sending on the bulk pool unless this instance is already at it. */
+    public void requestDrain() {
+        if (!draining.get()) {
+            try {
+                executor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // A drain is already queued
+            }
+        }
+    }
+
+    // Picks up jobs queued on other instances and jobs whose sender stopped
+    @Scheduled(initialDelayString = "${email.bulk.poll-interval-ms:5000}",
+               fixedDelayString = "${email.bulk.poll-interval-ms:5000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    /** Sends unfinished jobs oldest first until none is left or another instance holds the next one. */
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Long jobId;
+            while ((jobId = claimOldestJob()) != null) {
+                if (!run(jobId)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("❌ Bulk email drain failed: " + e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private Long claimOldestJob() {
+        List<Long> oldest = jdbcTemplate.queryForList(OLDEST_UNFINISHED_SQL, Long.class);
+        if (oldest.isEmpty()) {
+            return null;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int claimed = jdbcTemplate.update(CLAIM_SQL, instanceId, leaseEnd(), now, oldest.get(0), instanceId, now);
+        return claimed == 1 ? oldest.get(0) : null;
+    }
+
+    /** Sends the job's remaining batches; false when the lease was lost to another instance. */
+    private boolean run(Long jobId) throws InterruptedException {
+        BulkEmailJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return true;
+        }
+        EmailProvider sender = providers.get(job.getProvider());
+        for (int batch = job.getNextBatch(); batch < job.getBatches(); batch++) {
+            List<BulkRecipient> slice = loadBatch(jobId, batch);
+            pace(slice.size());
+            if (jdbcTemplate.update(RENEW_SQL, leaseEnd(), jobId, instanceId) == 0) {
+                return lostLease(jobId);
+            }
+            String error = sender == null
+                    ? "Unknown email provider '" + job.getProvider() + "'"
+                    : sendBatch(sender, job.getSubject(), job.getHtmlBody(), slice);
+            if (!recordBatch(jobId, batch, slice.size(), error)) {
+                return lostLease(jobId);
+            }
+            if (error != null) {
+                log.warn("⚠️ Bulk email job " + jobId + " batch " + (batch + 1) + "/" + job.getBatches() + " failed: " + error);
+            }
+        }
+        if (jdbcTemplate.update(FINISH_SQL, Timestamp.valueOf(LocalDateTime.now()), jobId, instanceId) == 0) {
+            return lostLease(jobId);
+        }
+        jdbcTemplate.update(DELETE_RECIPIENTS_SQL, jobId);
+        jobRepository.findById(jobId).ifPresent(done ->
+                log.info("✅ Bulk email job " + jobId + " finished: " + done.getEmailsSent() + " sent, " + done.getEmailsFailed() + " failed"));
+        return true;
+    }
+
+    private boolean recordBatch(Long jobId, int batch, int size, String error) {
+        Boolean recorded = transactionTemplate.execute(status -> {
+            Timestamp lease = leaseEnd();
+            if (error == null) {
+                return jdbcTemplate.update(BATCH_SENT_SQL, size, batch + 1, lease, jobId, instanceId) == 1;
+            }
+            if (jdbcTemplate.update(BATCH_FAILED_SQL, size, batch + 1, lease, jobId, instanceId) == 0) {
+                return false;
+            }
+            jdbcTemplate.update(INSERT_FAILURE_SQL, jobId, batch + 1, size, truncate(error));
+            return true;
+        });
+        return Boolean.TRUE.equals(recorded);
+    }
+
+    private boolean lostLease(Long jobId) {
+        log.warn("⚠️ Bulk email job " + jobId + " was taken over by another instance");
+        return false;
+    }
+
+    private List<BulkRecipient> loadBatch(Long jobId, int batch) {
+        return jdbcTemplate.query(BATCH_SQL, (rs, rowNum) -> new BulkRecipient(rs.getString(1), fromJson(rs.getString(2))), jobId, batch);
+    }
+
+    /** Null when the batch was accepted, otherwise the last error. */
+    private String sendBatch(EmailProvider sender, String subject, String htmlContent, List<BulkRecipient> slice) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sender.sendBulk(subject, htmlContent, slice);
+                return null;
+            } catch (Exception e) {
+                if (!isRetryable(e) || attempt >= batchAttempts) {
+                    return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                }
+                TimeUnit.MILLISECONDS.sleep(retryBackoffMs << Math.min(attempt - 1, 10));
+            }
+        }
+    }
+
+    private static boolean isRetryable(Exception e) {
+        if (e instanceof SendGridEmailService.SendGridException failure) {
+            return failure.isRetryable();
+        }
+        // Bad input or a provider that is not set up fails the same way every time
+        return !(e instanceof IllegalArgumentException || e instanceof IllegalStateException);
+    }
+
+    // Each batch books emails / rate seconds of sending time; later batches wait their turn
+    private void pace(int emails) throws InterruptedException {
+        if (maxEmailsPerSecond <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextSendAtNanos);
+            nextSendAtNanos = start + (long) (emails * 1_000_000_000L / maxEmailsPerSecond);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private int batchSize(EmailProvider sender) {
+        int providerLimit = sender != null ? sender.maxBulkRecipients() : 1;
+        return Math.max(1, Math.min(batchSize, providerLimit));
+    }
+
+    private Timestamp leaseEnd() {
+        return Timestamp.valueOf(LocalDateTime.now().plus(Duration.ofMillis(leaseMs)));
+    }
+
+    private String toJson(Map<String, String> substitutions) {
+        try {
+            return objectMapper.writeValueAsString(substitutions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Substitutions cannot be stored: " + e.getMessage());
+        }
+    }
+
+    private Map<String, String> fromJson(String substitutions) {
+        if (substitutions == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(substitutions, SUBSTITUTIONS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored substitutions are not valid JSON: " + e.getMessage());
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
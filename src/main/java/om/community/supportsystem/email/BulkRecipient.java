@@ -0,0 +1,43 @@
+package om.community.supportsystem.email;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One recipient of a bulk send and the values replacing placeholders such as -name- for them.
+ * Values are plain text; they are HTML-escaped wherever they land in an HTML body.
+ */
+public record BulkRecipient(String email, Map<String, String> substitutions) {
+
+    /** {@code text} with each placeholder replaced by its value as given. */
+    public String fill(String text) {
+        return fill(text, substitutions);
+    }
+
+    /** {@code html} with each placeholder replaced by its HTML-escaped value. */
+    public String fillHtml(String html) {
+        return fill(html, htmlSubstitutions());
+    }
+
+    /** The substitutions with HTML-escaped values, for providers that fill an HTML body themselves. */
+    public Map<String, String> htmlSubstitutions() {
+        Map<String, String> escaped = new LinkedHashMap<>();
+        substitutions.forEach((placeholder, value) -> escaped.put(placeholder, HtmlUtils.htmlEscape(value)));
+        return escaped;
+    }
+
+    /** This recipient's own copy of a bulk message. */
+    public OutboundEmail render(String subject, String htmlContent) {
+        return new OutboundEmail(email, fill(subject), fillHtml(htmlContent), fill(OutboundEmail.textOf(htmlContent)));
+    }
+
+    private static String fill(String template, Map<String, String> values) {
+        String filled = template;
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            filled = filled.replace(value.getKey(), value.getValue());
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,128 @@
+package om.community.supportsystem.email;
+
+import jakarta.annotation.PostConstruct;
+import om.community.supportsystem.model.EmailOutboxMessage;
+import om.community.supportsystem.model.EmailOutboxStatus;
+import om.community.supportsystem.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queues emails in the email_outbox table. enqueue joins the caller's transaction, so a message
+ * exists exactly when the change that caused it commits; EmailOutboxWorker sends it afterwards.
+ * Bodies are stored encrypted and cleared once the message is sent.
+ */
+@Service
+public class EmailOutboxService {
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final Set<EmailOutboxStatus> WAITING = EnumSet.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING);
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailOutboxWorker worker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxPayloadCipher payloadCipher;
+
+    @Value("${email.provider:sendgrid}")
+    private String provider;
+
+    @PostConstruct
+    void checkProvider() {
+        if (!worker.hasProvider(provider)) {
+            throw new IllegalStateException("Unknown email.provider '" + provider + "', expected one of " + worker.providerNames());
+        }
+    }
+
+    /**
+     * Queues {@code email} for the configured provider. A message whose {@code dedupKey} is
+     * still waiting to be sent is not queued twice; returns false in that case.
+     */
+    public boolean enqueue(String dedupKey, OutboundEmail email) {
+        Boolean queued = transactionTemplate.execute(status -> {
+            if (outboxRepository.existsByDedupKeyAndStatusIn(dedupKey, WAITING)) {
+                log.info("⚠️ Email " + dedupKey + " is already queued, skipping");
+                return false;
+            }
+            EmailOutboxMessage message = new EmailOutboxMessage();
+            message.setDedupKey(dedupKey);
+            message.setProvider(provider);
+            message.setToEmail(email.toEmail());
+            message.setSubject(email.subject());
+            message.setHtmlBody(payloadCipher.seal(email.htmlBody()));
+            message.setTextBody(payloadCipher.seal(email.textBody()));
+            outboxRepository.save(message);
+            drainAfterCommit();
+            return true;
+        });
+        return Boolean.TRUE.equals(queued);
+    }
+
+    /** A dedup key for a message that carries {@code secret} (a code or token), without storing the secret. */
+    public String dedupKey(String kind, String secret) {
+        return kind + ":" + payloadCipher.fingerprint(secret);
+    }
+
+    /** Puts a FAILED message back in the queue with a fresh set of attempts. */
+    public void retry(Long messageId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            EmailOutboxMessage message = outboxRepository.findById(messageId)
+                    .orElseThrow(() -> new RuntimeException("Outbox message not found with id: " + messageId));
+            if (message.getStatus() != EmailOutboxStatus.FAILED) {
+                throw new IllegalArgumentException("Only FAILED messages can be retried, message " + messageId + " is " + message.getStatus());
+            }
+            message.setStatus(EmailOutboxStatus.PENDING);
+            message.setAttempts(0);
+            message.setNextAttemptAt(LocalDateTime.now());
+            outboxRepository.save(message);
+            drainAfterCommit();
+        });
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (EmailOutboxStatus status : EmailOutboxStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        for (Object[] row : outboxRepository.countByStatus()) {
+            counts.put(((EmailOutboxStatus) row[0]).name(), (Long) row[1]);
+        }
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("provider", provider);
+        description.put("counts", counts);
+        description.put("inFlight", worker.inFlight());
+        return description;
+    }
+
+    // Wake the worker once the message is visible to it rather than waiting for the next poll
+    private void drainAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    worker.requestDrain();
+                }
+            });
+        } else {
+            worker.requestDrain();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package om.community.supportsystem.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import om.community.supportsystem.model.EmailOutboxMessage;
+import om.community.supportsystem.model.EmailOutboxStatus;
+import om.community.supportsystem.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends queued outbox emails on the emailOutboxExecutor.
+ *
+ * Each drain claims due PENDING rows per provider, at most as many as that provider has free
+ * permits (email.outbox.concurrency.<name>). A claim is a conditional UPDATE to SENDING, so
+ * several instances can drain the same table. Failed sends go back to PENDING with exponential
+ * backoff until email.outbox.max-attempts, then FAILED. Claims older than
+ * email.outbox.claim-timeout-ms (an instance died mid-send) are released, so delivery is
+ * at-least-once. Bodies are decrypted just before sending and removed once the message is SENT.
+ *
+ * Polling uses JDBC so an idle outbox costs no Hibernate work.
+ */
+@Service
+public class EmailOutboxWorker {
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxWorker.class);
+
+    private static final String DUE_SQL = "SELECT message_id FROM email_outbox " +
+            "WHERE status = 'PENDING' AND provider = ? AND next_attempt_at <= ? ORDER BY next_attempt_at LIMIT ?";
+    private static final String CLAIM_SQL = "UPDATE email_outbox SET status = 'SENDING', claimed_at = ? " +
+            "WHERE message_id = ? AND status = 'PENDING'";
+    private static final String UNCLAIM_SQL = "UPDATE email_outbox SET status = 'PENDING', claimed_at = NULL " +
+            "WHERE message_id = ? AND status = 'SENDING'";
+    private static final String RELEASE_STALE_SQL = "UPDATE email_outbox SET status = 'PENDING', claimed_at = NULL " +
+            "WHERE status = 'SENDING' AND claimed_at < ?";
+    private static final String PURGE_SQL = "DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < ?";
+
+    private final Map<String, EmailProvider> providers = new LinkedHashMap<>();
+    private final Map<String, Semaphore> permits = new LinkedHashMap<>();
+    private final Map<String, Integer> limits = new LinkedHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxPayloadCipher payloadCipher;
+
+    @Autowired
+    @Qualifier("emailOutboxExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${email.outbox.max-backoff-ms:900000}")
+    private long maxBackoffMs;
+
+    @Value("${email.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    @Value("${email.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public EmailOutboxWorker(List<EmailProvider> emailProviders, Environment environment, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        int defaultLimit = environment.getProperty("email.outbox.default-concurrency", Integer.class, 2);
+        for (EmailProvider provider : emailProviders) {
+            int limit = environment.getProperty("email.outbox.concurrency." + provider.name(), Integer.class, defaultLimit);
+            providers.put(provider.name(), provider);
+            permits.put(provider.name(), new Semaphore(limit));
+            limits.put(provider.name(), limit);
+        }
+    }
+
+    public boolean hasProvider(String name) {
+        return providers.containsKey(name);
+    }
+
+    public List<String> providerNames() {
+        return new ArrayList<>(providers.keySet());
+    }
+
+    /** Sends currently running per provider, with each provider's limit. */
+    public Map<String, String> inFlight() {
+        Map<String, String> inFlight = new LinkedHashMap<>();
+        limits.forEach((name, limit) -> inFlight.put(name, (limit - permits.get(name).availablePermits()) + "/" + limit));
+        return inFlight;
+    }
+
+    /** Drains soon on the worker pool; called after a message commits. */
+    public void requestDrain() {
+        drainRequested.set(true);
+        if (!draining.get()) {
+            try {
+                executor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // Pool is busy sending; the next poll picks the message up
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${email.outbox.poll-interval-ms:1000}",
+               fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            do {
+                drainRequested.set(false);
+                for (String provider : providers.keySet()) {
+                    dispatchDue(provider);
+                }
+            } while (drainRequested.get());
+        } catch (Exception e) {
+            log.error("❌ Email outbox drain failed: " + e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${email.outbox.maintenance-interval-ms:60000}",
+               fixedDelayString = "${email.outbox.maintenance-interval-ms:60000}")
+    public void maintain() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int released = jdbcTemplate.update(RELEASE_STALE_SQL, Timestamp.valueOf(now.minus(Duration.ofMillis(claimTimeoutMs))));
+            if (released > 0) {
+                log.warn("⚠️ Released " + released + " email outbox claims older than " + claimTimeoutMs + "ms");
+            }
+            jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(now.minusDays(retentionDays)));
+        } catch (Exception e) {
+            log.warn("⚠️ Email outbox maintenance failed: " + e.getMessage());
+        }
+    }
+
+    private void dispatchDue(String provider) {
+        Semaphore providerPermits = permits.get(provider);
+        int free = Math.min(providerPermits.availablePermits(), batchSize);
+        if (free == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = jdbcTemplate.queryForList(DUE_SQL, Long.class, provider, Timestamp.valueOf(now), free);
+        for (Long messageId : due) {
+            if (!providerPermits.tryAcquire()) {
+                return;
+            }
+            if (jdbcTemplate.update(CLAIM_SQL, Timestamp.valueOf(now), messageId) == 0) {
+                // Claimed by another instance
+                providerPermits.release();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        deliver(messageId, providers.get(provider));
+                    } finally {
+                        providerPermits.release();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                jdbcTemplate.update(UNCLAIM_SQL, messageId);
+                providerPermits.release();
+                return;
+            }
+        }
+    }
+
+    private void deliver(Long messageId, EmailProvider provider) {
+        EmailOutboxMessage message = outboxRepository.findById(messageId).orElse(null);
+        if (message == null || message.getStatus() != EmailOutboxStatus.SENDING) {
+            return;
+        }
+        OutboundEmail email;
+        try {
+            email = new OutboundEmail(message.getToEmail(), message.getSubject(),
+                    payloadCipher.open(message.getHtmlBody()), payloadCipher.open(message.getTextBody()));
+        } catch (IllegalStateException e) {
+            // Retrying cannot help
+            message.setStatus(EmailOutboxStatus.FAILED);
+            message.setLastError(truncate(e.getMessage()));
+            message.setClaimedAt(null);
+            outboxRepository.save(message);
+            counter("email.outbox.failed", provider).increment();
+            log.error("❌ Email " + messageId + " to " + message.getToEmail() + " failed: " + e.getMessage());
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            provider.send(email);
+            sample.stop(meterRegistry.timer("email.outbox.delivery.latency", "provider", provider.name()));
+            message.setStatus(EmailOutboxStatus.SENT);
+            message.setSentAt(LocalDateTime.now());
+            message.setAttempts(message.getAttempts() + 1);
+            message.setLastError(null);
+            // The bodies may carry codes or reset links; nothing needs them after delivery
+            message.setHtmlBody(null);
+            message.setTextBody(null);
+            counter("email.outbox.sent", provider).increment();
+        } catch (Exception e) {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            if (attempts >= maxAttempts) {
+                message.setStatus(EmailOutboxStatus.FAILED);
+                counter("email.outbox.failed", provider).increment();
+                log.error("❌ Giving up on email " + messageId + " to " + message.getToEmail() + " after " + attempts + " attempts: " + e.getMessage());
+            } else {
+                message.setStatus(EmailOutboxStatus.PENDING);
+                message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs(attempts))));
+                counter("email.outbox.retries", provider).increment();
+                log.warn("⚠️ Email " + messageId + " to " + message.getToEmail() + " failed (attempt " + attempts + "), will retry: " + e.getMessage());
+            }
+        }
+        message.setClaimedAt(null);
+        outboxRepository.save(message);
+    }
+
+    /** initial * 2^(attempts-1), capped, plus up to 20% jitter so a provider outage doesn't end in a burst. */
+    private long backoffMs(int attempts) {
+        long backoff = initialBackoffMs << Math.min(attempts - 1, 30);
+        backoff = backoff < 0 ? maxBackoffMs : Math.min(backoff, maxBackoffMs);
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+    }
+
+    private Counter counter(String name, EmailProvider provider) {
+        return Counter.builder(name).tag("provider", provider.name()).register(meterRegistry);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
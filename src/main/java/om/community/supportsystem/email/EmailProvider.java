@@ -0,0 +1,32 @@
+package om.community.supportsystem.email;
+
+import java.util.List;
+
+/**
+ * A way of delivering email. The outbox records the provider name on each message, and
+ * email.outbox.concurrency.<name> limits how many sends to it run at once. Bulk sends use the
+ * same provider as the outbox (email.provider).
+ */
+public interface EmailProvider {
+
+    String name();
+
+    /** Sends synchronously; any exception counts as a failed attempt and is retried. */
+    void send(OutboundEmail email) throws Exception;
+
+    /** Most recipients one {@link #sendBulk} call takes; bulk batches are no larger. */
+    default int maxBulkRecipients() {
+        return 1;
+    }
+
+    /**
+     * Sends one message to each recipient with their own placeholder values. Either every
+     * recipient was accepted or it throws; providers without a multi-recipient API keep
+     * {@link #maxBulkRecipients} at 1 so a failure never resends to someone already served.
+     */
+    default void sendBulk(String subject, String htmlContent, List<BulkRecipient> recipients) throws Exception {
+        for (BulkRecipient recipient : recipients) {
+            send(recipient.render(subject, htmlContent));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package om.community.supportsystem.email;
+
+import org.springframework.web.util.HtmlUtils;
+
+/** One email to one recipient; providers send whichever body they support. */
+public record OutboundEmail(String toEmail, String subject, String htmlBody, String textBody) {
+
+    /** A plain-text version of an HTML body: line breaks for block ends, tags dropped, entities decoded. */
+    public static String textOf(String html) {
+        String text = html.replaceAll("(?i)<br\\s*/?>|</(p|div|h[1-6]|li|tr)>", "\n").replaceAll("<[^>]*>", "");
+        return HtmlUtils.htmlUnescape(text).replaceAll("\n{3,}", "\n\n").trim();
+    }
+}
@@ -0,0 +1,93 @@
+package om.community.supportsystem.email;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Keeps one-time codes and reset links out of email_outbox in plaintext. Bodies are sealed with
+ * AES-GCM before they are stored, and dedup keys that would contain a secret use an HMAC of it.
+ *
+ * The key comes from email.outbox.payload-key, or is derived from jwt.secret when that is blank.
+ * Changing it makes messages still queued under the old key unreadable; the worker fails them.
+ */
+@Component
+public class OutboxPayloadCipher {
+
+    private static final String PREFIX = "v1:";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec encryptionKey;
+    private final SecretKeySpec fingerprintKey;
+    private final SecureRandom random = new SecureRandom();
+
+    public OutboxPayloadCipher(@Value("${email.outbox.payload-key:}") String payloadKey,
+                               @Value("${jwt.secret}") String jwtSecret) {
+        String secret = payloadKey.isBlank() ? jwtSecret : payloadKey;
+        this.encryptionKey = new SecretKeySpec(sha256("email-outbox-payload:" + secret), "AES");
+        this.fingerprintKey = new SecretKeySpec(sha256("email-outbox-dedup:" + secret), "HmacSHA256");
+    }
+
+    public String seal(String plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return PREFIX + Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt email payload", e);
+        }
+    }
+
+    /** Reverses {@link #seal}; values stored before encryption was added are returned as they are. */
+    public String open(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) {
+            return stored;
+        }
+        try {
+            byte[] raw = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, raw, 0, IV_BYTES));
+            return new String(cipher.doFinal(raw, IV_BYTES, raw.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Email payload cannot be decrypted (was email.outbox.payload-key changed?)", e);
+        }
+    }
+
+    /** A stable, non-reversible stand-in for a secret, for use in dedup keys. */
+    public String fingerprint(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(fingerprintKey);
+            byte[] digest = mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to fingerprint email dedup key", e);
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package om.community.supportsystem.email;
+
+import om.community.supportsystem.service.SendGridEmailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class SendGridEmailProvider implements EmailProvider {
+
+    @Autowired
+    private SendGridEmailService sendGridEmailService;
+
+    @Override
+    public String name() {
+        return "sendgrid";
+    }
+
+    @Override
+    public void send(OutboundEmail email) throws Exception {
+        sendGridEmailService.sendEmail(email.toEmail(), email.subject(), email.htmlBody());
+    }
+
+    // One mail/send call carries up to 1000 personalizations
+    @Override
+    public int maxBulkRecipients() {
+        return SendGridEmailService.MAX_PERSONALIZATIONS;
+    }
+
+    @Override
+    public void sendBulk(String subject, String htmlContent, List<BulkRecipient> recipients) throws Exception {
+        sendGridEmailService.sendBulk(subject, htmlContent, recipients);
+    }
+}
@@ -0,0 +1,36 @@
+package om.community.supportsystem.email;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/** Plain-text delivery through spring.mail.* */
+@Component
+public class SmtpEmailProvider implements EmailProvider {
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Value("${spring.mail.username:}")
+    private String fromEmail;
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(OutboundEmail email) {
+        if (mailSender == null || fromEmail == null || fromEmail.isEmpty()) {
+            throw new IllegalStateException("SMTP mail sender not available");
+        }
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(email.toEmail());
+        message.setSubject(email.subject());
+        message.setText(email.textBody());
+        mailSender.send(message);
+    }
+}
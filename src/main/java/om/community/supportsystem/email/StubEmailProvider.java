@@ -0,0 +1,57 @@
+package om.community.supportsystem.email;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for tests and offline runs (email.provider=stub): nothing leaves the process.
+ * Keeps the most recent messages in memory and can be told to fail the next sends.
+ */
+@Component
+public class StubEmailProvider implements EmailProvider {
+    private static final Logger log = LoggerFactory.getLogger(StubEmailProvider.class);
+
+    private static final int MAX_KEPT = 1000;
+
+    private final Deque<OutboundEmail> sent = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public void send(OutboundEmail email) {
+        if (failuresToInject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new IllegalStateException("Injected stub failure");
+        }
+        sent.addLast(email);
+        while (sent.size() > MAX_KEPT) {
+            sent.pollFirst();
+        }
+        log.info("📧 Stub email to " + email.toEmail() + ": " + email.subject());
+    }
+
+    /** Messages sent so far, oldest first. */
+    public List<OutboundEmail> sent() {
+        return new ArrayList<>(sent);
+    }
+
+    /** Makes the next {@code count} sends throw. */
+    public void failNext(int count) {
+        failuresToInject.set(count);
+    }
+
+    public void clear() {
+        sent.clear();
+        failuresToInject.set(0);
+    }
+}
@@ -0,0 +1,66 @@
+package om.community.supportsystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One pre-aggregated counter bucket (e.g. REQUEST_CREATED for a given hour or day).
+ * Rows are maintained incrementally by AnalyticsRollupService and can be rebuilt from history.
+ */
+@Entity
+@Table(name = "analytics_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"granularity", "bucket_start", "metric"}),
+       indexes = @Index(name = "idx_rollup_metric_bucket", columnList = "granularity, metric, bucket_start"))
+public class AnalyticsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, length = 50)
+    private String metric;
+
+    // "value" is reserved in H2, hence the explicit column name
+    @Column(name = "counter_value", nullable = false)
+    private Long value = 0L;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Constructors
+    public AnalyticsRollup() {}
+
+    public AnalyticsRollup(RollupGranularity granularity, LocalDateTime bucketStart, String metric, Long value) {
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.metric = metric;
+        this.value = value;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getRollupId() { return rollupId; }
+    public void setRollupId(Long rollupId) { this.rollupId = rollupId; }
+
+    public RollupGranularity getGranularity() { return granularity; }
+    public void setGranularity(RollupGranularity granularity) { this.granularity = granularity; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+
+    public Long getValue() { return value; }
+    public void setValue(Long value) { this.value = value; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
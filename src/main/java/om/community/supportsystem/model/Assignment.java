@@ -5,7 +5,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assignments")
+@Table(name = "assignments", indexes = {
+        @Index(name = "idx_assignments_accepted_id", columnList = "accepted_at, assignment_id"),
+        @Index(name = "idx_assignments_volunteer_accepted", columnList = "volunteer_id, accepted_at")
+})
+@NamedEntityGraph(name = "Assignment.withParticipants",
+        attributeNodes = {
+            @NamedAttributeNode(value = "request", subgraph = "request"),
+            @NamedAttributeNode(value = "volunteer", subgraph = "user")
+        },
+        subgraphs = {
+            @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode(value = "citizen", subgraph = "user")),
+            @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("location"))
+        })
 public class Assignment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,15 +29,15 @@ public class Assignment {
     private LocalDateTime completedAt;
     
     // Many-to-One: Many assignments belong to one request
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id", nullable = false)
     @JsonIgnoreProperties({"assignments", "citizen"})
     private Request request;
     
     // Many-to-One: Many assignments belong to one volunteer
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "volunteer_id", nullable = false)
-    @JsonIgnoreProperties({"assignments", "requests", "notifications", "skills", "userSettings"})
+    @JsonIgnoreProperties({"assignments", "requests", "notifications", "skills"})
     private User volunteer;
     
     // Constructors
@@ -0,0 +1,124 @@
+package om.community.supportsystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One bulk send and its progress, updated batch by batch while it runs. The row is the job's
+ * queue entry as well: whichever instance holds the lease (owner, leaseUntil) on the oldest
+ * unfinished job sends it, starting from nextBatch.
+ */
+@Entity
+@Table(name = "bulk_email_jobs", indexes = {
+        @Index(name = "idx_bulk_email_jobs_status", columnList = "status, job_id")
+})
+public class BulkEmailJob {
+
+    /** A batch that could not be sent; none of its recipients got the message. */
+    @Embeddable
+    public record BatchFailure(@Column(nullable = false) int batch, @Column(nullable = false) int recipients,
+                               @Column(length = 1000) String error) {}
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    @Column(nullable = false, length = 300)
+    private String subject;
+
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Column(nullable = false, length = 20)
+    private String provider;
+
+    @Column(nullable = false)
+    private int recipients;
+
+    @Column(nullable = false)
+    private int batches;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private BulkEmailJobStatus status = BulkEmailJobStatus.QUEUED;
+
+    // Index of the first batch not yet sent or failed
+    @JsonIgnore
+    @Column(nullable = false)
+    private int nextBatch;
+
+    @Column(nullable = false)
+    private int batchesSent;
+
+    @Column(nullable = false)
+    private int emailsSent;
+
+    @Column(nullable = false)
+    private int emailsFailed;
+
+    @JsonIgnore
+    @Column(length = 100)
+    private String owner;
+
+    @JsonIgnore
+    private LocalDateTime leaseUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "bulk_email_failures", joinColumns = @JoinColumn(name = "job_id"))
+    @OrderBy("batch")
+    @BatchSize(size = 50)
+    private List<BatchFailure> failures = new ArrayList<>();
+
+    public BulkEmailJob() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public BulkEmailJob(String subject, String htmlBody, String provider, int recipients, int batches) {
+        this();
+        this.subject = subject;
+        this.htmlBody = htmlBody;
+        this.provider = provider;
+        this.recipients = recipients;
+        this.batches = batches;
+    }
+
+    // Getters; progress is written by BulkEmailService with conditional updates
+    public Long getJobId() { return jobId; }
+    public String getSubject() { return subject; }
+    public String getHtmlBody() { return htmlBody; }
+    public String getProvider() { return provider; }
+    public int getRecipients() { return recipients; }
+    public int getBatches() { return batches; }
+    public BulkEmailJobStatus getStatus() { return status; }
+    public int getNextBatch() { return nextBatch; }
+    public int getBatchesSent() { return batchesSent; }
+    public int getBatchesFailed() { return failures.size(); }
+    public int getEmailsSent() { return emailsSent; }
+    public int getEmailsFailed() { return emailsFailed; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public List<BatchFailure> getFailures() { return failures; }
+
+    /** Share of batches processed, sent or failed, from 0 to 100. */
+    public int getPercentComplete() {
+        return batches == 0 ? 100 : nextBatch * 100 / batches;
+    }
+
+    public boolean isDone() {
+        return finishedAt != null;
+    }
+}
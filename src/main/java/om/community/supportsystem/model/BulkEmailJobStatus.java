@@ -0,0 +1,5 @@
+package om.community.supportsystem.model;
+
+public enum BulkEmailJobStatus {
+    QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_FAILURES
+}
@@ -0,0 +1,35 @@
+package om.community.supportsystem.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A recipient of a queued bulk send, kept until the job finishes so any instance can send
+ * the remaining batches. Substitutions are stored as a JSON object.
+ */
+@Entity
+@Table(name = "bulk_email_recipients", indexes = {
+        @Index(name = "idx_bulk_email_recipients_batch", columnList = "job_id, batch_number")
+})
+public class BulkEmailRecipient {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long recipientId;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private int batchNumber;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(columnDefinition = "TEXT")
+    private String substitutions;
+
+    public Long getRecipientId() { return recipientId; }
+    public Long getJobId() { return jobId; }
+    public int getBatchNumber() { return batchNumber; }
+    public String getEmail() { return email; }
+    public String getSubstitutions() { return substitutions; }
+}
@@ -0,0 +1,40 @@
+package om.community.supportsystem.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a free-form JSON array (e.g. availability slots) in a single TEXT column.
+ */
+@Converter
+public class JsonListConverter implements AttributeConverter<List<Object>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(List<Object> value) {
+        try {
+            return MAPPER.writeValueAsString(value != null ? value : List.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Value cannot be stored as JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Object> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return MAPPER.readValue(json, new TypeReference<List<Object>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored JSON is not a list: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package om.community.supportsystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ratings", indexes = {
+        @Index(name = "idx_ratings_volunteer_created", columnList = "volunteer_id, created_at"),
+        @Index(name = "idx_ratings_assignment", columnList = "assignment_id"),
+        @Index(name = "idx_ratings_rater", columnList = "rater_id")
+})
+public class Rating {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long ratingId;
+
+    @Column(name = "volunteer_id", nullable = false)
+    private Long volunteerId;
+
+    @Column(name = "assignment_id")
+    private Long assignmentId;
+
+    // The citizen who left the rating
+    @Column(name = "rater_id")
+    private Long raterId;
+
+    @Column(nullable = false)
+    private Integer score; // 1 to 5 stars
+
+    @Column(columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Constructors
+    public Rating() {}
+
+    // Getters and Setters
+    public Long getRatingId() { return ratingId; }
+    public void setRatingId(Long ratingId) { this.ratingId = ratingId; }
+
+    public Long getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(Long volunteerId) { this.volunteerId = volunteerId; }
+
+    public Long getAssignmentId() { return assignmentId; }
+    public void setAssignmentId(Long assignmentId) { this.assignmentId = assignmentId; }
+
+    public Long getRaterId() { return raterId; }
+    public void setRaterId(Long raterId) { this.raterId = raterId; }
+
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
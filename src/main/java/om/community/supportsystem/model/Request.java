@@ -9,7 +9,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "requests")
+@Table(name = "requests", indexes = @Index(name = "idx_requests_created_id", columnList = "created_at, request_id"))
+@NamedEntityGraph(name = "Request.withCitizen",
+        attributeNodes = @NamedAttributeNode(value = "citizen", subgraph = "citizen"),
+        subgraphs = @NamedSubgraph(name = "citizen", attributeNodes = @NamedAttributeNode("location")))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Request {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,7 +43,7 @@ public class Request {
     private LocalDateTime updatedAt;
     
     // Many-to-One: Many requests belong to one citizen
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "citizen_id", nullable = false)
     @JsonIgnoreProperties({"requests", "assignments", "notifications", "password", "emailVerificationToken", "passwordResetToken", "twoFactorSecret", "twoFactorBackupCodes"})
     private User citizen;
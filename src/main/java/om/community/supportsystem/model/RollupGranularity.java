@@ -0,0 +1,5 @@
+package om.community.supportsystem.model;
+
+public enum RollupGranularity {
+    HOURLY, DAILY
+}
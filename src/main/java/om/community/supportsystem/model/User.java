@@ -4,12 +4,17 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_created_id", columnList = "created_at, user_id"))
+@NamedEntityGraph(name = "User.withLocation", attributeNodes = @NamedAttributeNode("location"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -73,7 +78,7 @@ public class User {
     private LocalDateTime lastLoginAt;
     
     // Many-to-One: Many users belong to one location
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id")
     @JsonIgnoreProperties({"users"})
     private Location location;
@@ -101,7 +106,11 @@ public class User {
     private List<Notification> notifications;
     
     // Many-to-Many: Users can have multiple skills (for volunteers)
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Lazy, loaded for up to 100 users per statement when a list is serialized; the skill ids
+    // per user are kept in the second-level cache with the skills themselves
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.user-skills")
     @JoinTable(
         name = "user_skills",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -110,10 +119,8 @@ public class User {
     @JsonIgnoreProperties({"users"})
     private Set<Skill> skills;
     
-    // One-to-One: User settings for notification preferences
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JsonIgnore
-    private UserSettings userSettings;
+    // Notification preferences: UserSettings owns the link and is loaded through
+    // UserSettingsRepository, since an inverse one-to-one would be fetched with every user
     
 
     
@@ -230,8 +237,6 @@ public class User {
     public LocalDateTime getLastLoginAt() { return lastLoginAt; }
     public void setLastLoginAt(LocalDateTime lastLoginAt) { this.lastLoginAt = lastLoginAt; }
     
-    public UserSettings getUserSettings() { return userSettings; }
-    public void setUserSettings(UserSettings userSettings) { this.userSettings = userSettings; }
     
     // Password verification method for security
     public boolean verifyPassword(String candidatePassword, org.springframework.security.crypto.password.PasswordEncoder encoder) {
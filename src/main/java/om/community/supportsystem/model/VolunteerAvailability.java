@@ -0,0 +1,46 @@
+package om.community.supportsystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "volunteer_availability", indexes = @Index(name = "idx_availability_status", columnList = "status"))
+public class VolunteerAvailability {
+
+    @Id
+    @Column(name = "volunteer_id")
+    private Long volunteerId;
+
+    @Column(nullable = false, length = 20)
+    private String status = "OFFLINE"; // ONLINE, OFFLINE, BUSY
+
+    // Weekly slots as sent by the client, kept as JSON
+    @Convert(converter = JsonListConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<Object> slots = new ArrayList<>();
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Constructors
+    public VolunteerAvailability() {}
+
+    public VolunteerAvailability(Long volunteerId) {
+        this.volunteerId = volunteerId;
+    }
+
+    // Getters and Setters
+    public Long getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(Long volunteerId) { this.volunteerId = volunteerId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public List<Object> getSlots() { return slots; }
+    public void setSlots(List<Object> slots) { this.slots = slots; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
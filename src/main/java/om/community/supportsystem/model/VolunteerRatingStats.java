@@ -0,0 +1,89 @@
+package om.community.supportsystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Running rating totals for one volunteer, updated in the same transaction as each new Rating
+ * so the average never requires scanning the ratings table. RatingAggregationService keeps
+ * these rows in memory and can rebuild them from the ratings table.
+ */
+@Entity
+@Table(name = "volunteer_rating_stats")
+public class VolunteerRatingStats {
+
+    @Id
+    @Column(name = "volunteer_id")
+    private Long volunteerId;
+
+    @Column(nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    // Sum of score^2, for the variance of the scores
+    @Column(nullable = false)
+    private Long ratingSumSquares = 0L;
+
+    // Star histogram
+    @Column(name = "stars_1", nullable = false)
+    private Long stars1 = 0L;
+
+    @Column(name = "stars_2", nullable = false)
+    private Long stars2 = 0L;
+
+    @Column(name = "stars_3", nullable = false)
+    private Long stars3 = 0L;
+
+    @Column(name = "stars_4", nullable = false)
+    private Long stars4 = 0L;
+
+    @Column(name = "stars_5", nullable = false)
+    private Long stars5 = 0L;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Constructors
+    public VolunteerRatingStats() {}
+
+    public VolunteerRatingStats(Long volunteerId) {
+        this.volunteerId = volunteerId;
+    }
+
+    public double getAverageScore() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    // Getters and Setters
+    public Long getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(Long volunteerId) { this.volunteerId = volunteerId; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
+
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+
+    public Long getRatingSumSquares() { return ratingSumSquares; }
+    public void setRatingSumSquares(Long ratingSumSquares) { this.ratingSumSquares = ratingSumSquares; }
+
+    public Long getStars1() { return stars1; }
+    public void setStars1(Long stars1) { this.stars1 = stars1; }
+
+    public Long getStars2() { return stars2; }
+    public void setStars2(Long stars2) { this.stars2 = stars2; }
+
+    public Long getStars3() { return stars3; }
+    public void setStars3(Long stars3) { this.stars3 = stars3; }
+
+    public Long getStars4() { return stars4; }
+    public void setStars4(Long stars4) { this.stars4 = stars4; }
+
+    public Long getStars5() { return stars5; }
+    public void setStars5(Long stars5) { this.stars5 = stars5; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
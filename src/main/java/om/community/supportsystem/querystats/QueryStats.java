@@ -0,0 +1,60 @@
+package om.community.supportsystem.querystats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL work done on behalf of one HTTP request: statements prepared, time spent executing them,
+ * entities loaded, and how many times each SELECT shape ran.
+ *
+ * QueryStatsFilter binds one instance to the request thread. Hibernate callbacks on other threads
+ * (schedulers, async listeners, streamed exports) find no instance and are not counted.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String label;
+    private int statements;
+    private long jdbcNanos;
+    private int entitiesLoaded;
+    private final Map<String, Integer> selectShapes = new HashMap<>();
+
+    private QueryStats(String label) {
+        this.label = label;
+    }
+
+    public static QueryStats begin(String label) {
+        QueryStats stats = new QueryStats(label);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** The stats of the request running on this thread, or null outside a request. */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /** Counts one statement; returns how many times {@code selectShape} has run so far (0 for non-SELECTs). */
+    int recordStatement(String selectShape) {
+        statements++;
+        return selectShape != null ? selectShapes.merge(selectShape, 1, Integer::sum) : 0;
+    }
+
+    void addJdbcNanos(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    public String getLabel() { return label; }
+    public int getStatements() { return statements; }
+    public long getJdbcNanos() { return jdbcNanos; }
+    public int getEntitiesLoaded() { return entitiesLoaded; }
+}
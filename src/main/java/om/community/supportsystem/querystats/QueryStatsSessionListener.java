@@ -0,0 +1,43 @@
+package om.community.supportsystem.querystats;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time each JDBC execute and batch takes to the current request's QueryStats.
+ *
+ * Hibernate creates one instance per session from its class name
+ * ({@code hibernate.session.events.auto}), so it needs a public no-arg constructor. Reading the
+ * result set is not included; that time shows up in the request latency instead.
+ */
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    private long executeStarted;
+    private long batchStarted;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(executeStarted);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStarted);
+    }
+
+    private static void record(long started) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && started != 0) {
+            stats.addJdbcNanos(System.nanoTime() - started);
+        }
+    }
+}
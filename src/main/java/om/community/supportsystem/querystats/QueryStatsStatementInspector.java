@@ -0,0 +1,71 @@
+package om.community.supportsystem.querystats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.regex.Pattern;
+
+/**
+ * Counts every statement Hibernate prepares for the current request and watches for the same
+ * SELECT running over and over, which is what an association loaded one row at a time looks like.
+ *
+ * Two SELECTs have the same shape when they differ only in literals and IN-list lengths. Once a
+ * shape runs more than {@code repeatThreshold} times in one request it is reported once, as a
+ * warning or, with {@code failOnRepeat}, as an exception that fails the request (used in tests).
+ */
+public class QueryStatsStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsStatementInspector.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int MAX_SHAPE_LENGTH = 300;
+
+    private final int repeatThreshold;
+    private final boolean failOnRepeat;
+
+    public QueryStatsStatementInspector(int repeatThreshold, boolean failOnRepeat) {
+        this.repeatThreshold = repeatThreshold;
+        this.failOnRepeat = failOnRepeat;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) {
+            return sql;
+        }
+
+        String shape = isSelect(sql) ? shapeOf(sql) : null;
+        int runs = stats.recordStatement(shape);
+        if (runs == repeatThreshold + 1) {
+            String message = "Possible N+1: the same query ran more than " + repeatThreshold + " times in "
+                    + stats.getLabel() + ": " + abbreviate(shape);
+            if (failOnRepeat) {
+                throw new IllegalStateException(message);
+            }
+            log.warn("⚠️ " + message);
+        }
+        return sql;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static boolean isSelect(String sql) {
+        String trimmed = sql.stripLeading();
+        return trimmed.regionMatches(true, 0, "select", 0, 6) || trimmed.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() <= MAX_SHAPE_LENGTH ? shape : shape.substring(0, MAX_SHAPE_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,70 @@
+package om.community.supportsystem.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+
+/**
+ * Works out which client address a request should be limited under.
+ *
+ * Forwarding headers are only believed when something in front of the app sets them:
+ * {@code clientIpHeader} names a header the hosting platform's edge proxy always overwrites
+ * (Fly-Client-IP on Fly.io), and X-Forwarded-For is read only when the connection comes from
+ * one of {@code trustedProxies} (addresses or CIDR ranges). Otherwise the socket address is used,
+ * so a client cannot pick a fresh bucket by sending a made-up header.
+ */
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final String clientIpHeader;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientIpResolver(String clientIpHeader, List<String> trustedProxies) {
+        this.clientIpHeader = clientIpHeader == null || clientIpHeader.isBlank() ? null : clientIpHeader.trim();
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        if (clientIpHeader != null) {
+            String value = request.getHeader(clientIpHeader);
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        String remote = request.getRemoteAddr();
+        String forwarded = request.getHeader(FORWARDED_FOR);
+        if (forwarded == null || forwarded.isBlank() || !isTrusted(remote)) {
+            return remote;
+        }
+        // Each proxy appends the address it received from, so read right to left and stop
+        // at the first hop that is not one of ours; anything further left is client-supplied
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return remote;
+    }
+
+    private boolean isTrusted(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP address (e.g. "unknown" from some proxies)
+                return false;
+            }
+        }
+        return false;
+    }
+}
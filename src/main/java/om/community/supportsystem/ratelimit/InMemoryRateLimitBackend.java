@@ -0,0 +1,140 @@
+package om.community.supportsystem.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-process token buckets with a hard cap on how many are held.
+ *
+ * Each bucket is an immutable state swapped with compareAndSet, so the hot path takes no locks.
+ * A bucket that has been idle long enough to refill completely is dropped by the sweep;
+ * that is lossless because a new bucket starts full. When the cap is reached, idle buckets are
+ * dropped first and then the least recently used tenth, so a burst of new clients never shares
+ * a bucket with anyone else.
+ */
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryRateLimitBackend.class);
+    private static final int EVICT_DIVISOR = 10;
+
+    private record State(double tokens, long updatedAtNanos, long fullRefillNanos) {}
+
+    private final Map<String, AtomicReference<State>> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public InMemoryRateLimitBackend(int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    public InMemoryRateLimitBackend(int maxBuckets, LongSupplier nanoClock) {
+        if (maxBuckets < 1) {
+            throw new IllegalArgumentException("maxBuckets must be positive");
+        }
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitPolicy policy) {
+        long now = nanoClock.getAsLong();
+        AtomicReference<State> bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                makeRoom(now);
+            }
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new AtomicReference<>(new State(policy.capacity(), now, policy.fullRefillNanos())));
+        }
+
+        double tokensPerNano = policy.tokensPerNano();
+        while (true) {
+            State current = bucket.get();
+            long elapsed = Math.max(0, now - current.updatedAtNanos());
+            double tokens = Math.min(policy.capacity(), current.tokens() + elapsed * tokensPerNano);
+            if (tokens >= 1) {
+                State next = new State(tokens - 1, Math.max(now, current.updatedAtNanos()), policy.fullRefillNanos());
+                if (bucket.compareAndSet(current, next)) {
+                    return RateLimitDecision.allow((long) next.tokens());
+                }
+            } else {
+                State next = new State(tokens, Math.max(now, current.updatedAtNanos()), policy.fullRefillNanos());
+                if (bucket.compareAndSet(current, next)) {
+                    long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                    return RateLimitDecision.reject(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+                }
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return buckets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        evictionLock.lock();
+        try {
+            removeIdle(nanoClock.getAsLong());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Called when a new key arrives at the cap. One caller evicts while the others insert
+     * regardless, so the map can exceed the cap by at most the number of concurrent callers.
+     */
+    private void makeRoom(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (buckets.size() < maxBuckets) {
+                return;
+            }
+            removeIdle(now);
+            int target = maxBuckets - Math.max(1, maxBuckets / EVICT_DIVISOR);
+            if (buckets.size() > target) {
+                evictLeastRecentlyUsed(buckets.size() - target);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void removeIdle(long now) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> {
+            State state = bucket.get();
+            return now - state.updatedAtNanos() >= state.fullRefillNanos();
+        });
+        int removed = before - buckets.size();
+        if (removed > 0) {
+            log.debug("Evicted {} idle rate-limit buckets, {} remaining", removed, buckets.size());
+        }
+    }
+
+    /** Drops the {@code count} buckets with the oldest last use (a few more on ties). */
+    private void evictLeastRecentlyUsed(int count) {
+        long[] lastUsed = buckets.values().stream().mapToLong(bucket -> bucket.get().updatedAtNanos()).toArray();
+        if (lastUsed.length == 0) {
+            return;
+        }
+        Arrays.sort(lastUsed);
+        long cutoff = lastUsed[Math.min(count, lastUsed.length) - 1];
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get().updatedAtNanos() - cutoff <= 0);
+        log.info("Rate-limit bucket cap {} reached, evicted {} least recently used buckets", maxBuckets, before - buckets.size());
+    }
+}
@@ -0,0 +1,21 @@
+package om.community.supportsystem.ratelimit;
+
+/**
+ * Storage for token buckets.
+ *
+ * The default InMemoryRateLimitBackend keeps buckets per process. To keep limits consistent
+ * across several machines, register another implementation as a bean (for example one
+ * backed by a shared store); RateLimitConfig only creates the in-memory one when no other
+ * backend is defined.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Take one token from the bucket identified by {@code key}, creating it full if needed.
+     * Implementations must be safe to call concurrently for the same key.
+     */
+    RateLimitDecision tryConsume(String key, RateLimitPolicy policy);
+
+    /** Number of buckets currently held, for monitoring. */
+    long size();
+}
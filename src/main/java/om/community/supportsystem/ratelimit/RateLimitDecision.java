@@ -0,0 +1,18 @@
+package om.community.supportsystem.ratelimit;
+
+/**
+ * Outcome of one token-bucket check.
+ *
+ * @param remaining         whole tokens left after this request
+ * @param retryAfterSeconds when rejected, how long until one token is available
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterSeconds) {
+
+    public static RateLimitDecision allow(long remaining) {
+        return new RateLimitDecision(true, remaining, 0);
+    }
+
+    public static RateLimitDecision reject(long retryAfterSeconds) {
+        return new RateLimitDecision(false, 0, retryAfterSeconds);
+    }
+}
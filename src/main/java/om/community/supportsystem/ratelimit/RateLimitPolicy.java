@@ -0,0 +1,67 @@
+package om.community.supportsystem.ratelimit;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A token-bucket limit for requests whose path starts with {@code pathPrefix}.
+ *
+ * {@code role} is a UserRole name, ANONYMOUS for unauthenticated callers, or ANY.
+ * Buckets hold up to {@code capacity} tokens and regain {@code refillTokens} every
+ * {@code refillPeriodSeconds}.
+ */
+public record RateLimitPolicy(String name, String pathPrefix, String role,
+                              long capacity, long refillTokens, long refillPeriodSeconds) {
+
+    public static final String ANY_ROLE = "ANY";
+    public static final String ANONYMOUS_ROLE = "ANONYMOUS";
+
+    public RateLimitPolicy {
+        if (pathPrefix == null || !pathPrefix.startsWith("/")) {
+            throw new IllegalArgumentException("path must start with '/'");
+        }
+        if (capacity < 1 || refillTokens < 1 || refillPeriodSeconds < 1) {
+            throw new IllegalArgumentException("capacity, refill and period must be positive");
+        }
+        role = role == null || role.isBlank() ? ANY_ROLE : role.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public double tokensPerNano() {
+        return refillTokens / (refillPeriodSeconds * 1_000_000_000.0);
+    }
+
+    /** Time for an empty bucket to fill up; an idle bucket is indistinguishable from a new one after this. */
+    public long fullRefillNanos() {
+        return (long) Math.ceil(capacity / tokensPerNano());
+    }
+
+    public boolean appliesTo(String path, String callerRole) {
+        return path.startsWith(pathPrefix) && (ANY_ROLE.equals(role) || role.equals(callerRole));
+    }
+
+    /**
+     * Parse a SystemSettings value such as {@code path=/api/auth/login;role=ANY;capacity=10;refill=10;period=60}.
+     * role defaults to ANY, refill to capacity and period to 60 seconds.
+     */
+    public static RateLimitPolicy parse(String name, String value) {
+        Map<String, String> fields = new HashMap<>();
+        for (String part : value.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq > 0) {
+                fields.put(part.substring(0, eq).trim().toLowerCase(Locale.ROOT), part.substring(eq + 1).trim());
+            }
+        }
+        if (!fields.containsKey("path") || !fields.containsKey("capacity")) {
+            throw new IllegalArgumentException("path and capacity are required");
+        }
+        long capacity = Long.parseLong(fields.get("capacity"));
+        return new RateLimitPolicy(
+                name,
+                fields.get("path"),
+                fields.get("role"),
+                capacity,
+                Long.parseLong(fields.getOrDefault("refill", String.valueOf(capacity))),
+                Long.parseLong(fields.getOrDefault("period", "60")));
+    }
+}
@@ -0,0 +1,106 @@
+package om.community.supportsystem.ratelimit;
+
+import om.community.supportsystem.service.SettingsSnapshot;
+import om.community.supportsystem.service.SystemSettingsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate-limit policies, built-in defaults overridden by SystemSettings.
+ *
+ * A setting {@code ratelimit.policy.<name>} defines or replaces the policy called {@code <name>}
+ * (see RateLimitPolicy.parse for the value format); an empty value or "off" disables it.
+ * The settings snapshot is checked every few seconds and policies are rebuilt when its version
+ * changes, so limits can be tuned without a redeploy.
+ */
+@Service
+public class RateLimitPolicyService {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitPolicyService.class);
+
+    public static final String SETTING_PREFIX = "ratelimit.policy.";
+
+    // The limits the old fixed-window filter enforced: 10 requests per minute per client
+    private static final List<RateLimitPolicy> DEFAULT_POLICIES = List.of(
+            new RateLimitPolicy("auth-login", "/api/auth/login", RateLimitPolicy.ANY_ROLE, 10, 10, 60),
+            new RateLimitPolicy("auth-register", "/api/auth/register", RateLimitPolicy.ANY_ROLE, 10, 10, 60),
+            new RateLimitPolicy("auth-forgot-password", "/api/auth/forgot-password", RateLimitPolicy.ANY_ROLE, 10, 10, 60)
+    );
+
+    @Autowired
+    private SystemSettingsService settingsService;
+
+    // Most specific first: longer prefixes, then exact roles before ANY
+    private volatile List<RateLimitPolicy> policies = sort(DEFAULT_POLICIES);
+    private volatile long loadedVersion = -1;
+
+    /** The policy for a request, or null when the path is not rate limited. */
+    public RateLimitPolicy resolve(String path, String callerRole) {
+        for (RateLimitPolicy policy : policies) {
+            if (policy.appliesTo(path, callerRole)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    public List<RateLimitPolicy> getPolicies() {
+        return policies;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ratelimit.policies.refresh-interval-ms:5000}",
+               fixedDelayString = "${ratelimit.policies.refresh-interval-ms:5000}")
+    public void reload() {
+        try {
+            SettingsSnapshot snapshot = settingsService.snapshot();
+            if (snapshot.version() == loadedVersion) {
+                return;
+            }
+            Map<String, RateLimitPolicy> byName = new LinkedHashMap<>();
+            for (RateLimitPolicy policy : DEFAULT_POLICIES) {
+                byName.put(policy.name(), policy);
+            }
+            for (Map.Entry<String, String> setting : snapshot.withPrefix(SETTING_PREFIX).entrySet()) {
+                String name = setting.getKey().substring(SETTING_PREFIX.length());
+                String value = setting.getValue();
+                if (value == null || value.isBlank() || "off".equalsIgnoreCase(value.trim())) {
+                    byName.remove(name);
+                    continue;
+                }
+                try {
+                    byName.put(name, RateLimitPolicy.parse(name, value));
+                } catch (IllegalArgumentException e) {
+                    log.warn("⚠️ Ignoring invalid rate limit setting " + setting.getKey() + ": " + e.getMessage());
+                }
+            }
+            List<RateLimitPolicy> loaded = sort(byName.values());
+            if (!loaded.equals(policies)) {
+                log.info("✅ Loaded " + loaded.size() + " rate limit policies");
+            }
+            policies = loaded;
+            loadedVersion = snapshot.version();
+        } catch (Exception e) {
+            log.error("❌ Failed to load rate limit policies, keeping current ones: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<RateLimitPolicy> sort(Iterable<RateLimitPolicy> source) {
+        List<RateLimitPolicy> sorted = new ArrayList<>();
+        source.forEach(sorted::add);
+        sorted.sort(Comparator.comparingInt((RateLimitPolicy p) -> p.pathPrefix().length()).reversed()
+                .thenComparing(p -> RateLimitPolicy.ANY_ROLE.equals(p.role())));
+        return List.copyOf(sorted);
+    }
+}
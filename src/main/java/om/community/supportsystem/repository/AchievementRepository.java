@@ -2,18 +2,29 @@ package om.community.supportsystem.repository;
 
 import om.community.supportsystem.model.Achievement;
 import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface AchievementRepository extends JpaRepository<Achievement, Long> {
+    @EntityGraph(attributePaths = {"user", "user.location"})
     List<Achievement> findByUser(User user);
+    @EntityGraph(attributePaths = {"user", "user.location"})
     List<Achievement> findByUserUserId(Long userId);
     
     @Query("SELECT a FROM Achievement a WHERE a.user.userId = :userId ORDER BY a.earnedAt DESC")
+    @EntityGraph(attributePaths = {"user", "user.location"})
     List<Achievement> findByUserIdOrderByEarnedAtDesc(Long userId);
     
     Long countByUserUserId(Long userId);
+
+    // Leaderboard reconciliation: [userId, name, email, totalPoints] for users with the given role
+    @Query("SELECT u.userId, u.name, u.email, COALESCE(SUM(a.points), 0) FROM Achievement a JOIN a.user u " +
+           "WHERE u.role = :role GROUP BY u.userId, u.name, u.email")
+    List<Object[]> sumPointsByUser(@Param("role") UserRole role);
 }
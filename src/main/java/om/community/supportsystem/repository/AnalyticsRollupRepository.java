@@ -0,0 +1,42 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.AnalyticsRollup;
+import om.community.supportsystem.model.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnalyticsRollupRepository extends JpaRepository<AnalyticsRollup, Long> {
+
+    // Load the recent window of buckets into memory at startup
+    List<AnalyticsRollup> findByGranularityAndBucketStartGreaterThanEqual(RollupGranularity granularity, LocalDateTime from);
+
+    // All-time total for a metric (daily buckets cover the full history)
+    @Query("SELECT COALESCE(SUM(r.value), 0) FROM AnalyticsRollup r WHERE r.granularity = :granularity AND r.metric = :metric")
+    long sumByGranularityAndMetric(@Param("granularity") RollupGranularity granularity, @Param("metric") String metric);
+
+    // Atomic in-place increment used when flushing pending deltas
+    @Modifying
+    @Transactional
+    @Query("UPDATE AnalyticsRollup r SET r.value = r.value + :delta, r.updatedAt = :now " +
+           "WHERE r.granularity = :granularity AND r.bucketStart = :bucketStart AND r.metric = :metric")
+    int incrementValue(@Param("granularity") RollupGranularity granularity,
+                       @Param("bucketStart") LocalDateTime bucketStart,
+                       @Param("metric") String metric,
+                       @Param("delta") long delta,
+                       @Param("now") LocalDateTime now);
+
+    // Retention for the fine-grained buckets
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AnalyticsRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteByGranularityAndBucketStartBefore(@Param("granularity") RollupGranularity granularity,
+                                                @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,25 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.Appointment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    // Appointments where the user is either the citizen or the volunteer
+    @Query("SELECT a FROM Appointment a WHERE a.userId = :userId OR a.volunteerId = :userId ORDER BY a.scheduledAt")
+    List<Appointment> findByParticipant(@Param("userId") Long userId);
+
+    @Query(value = "SELECT a FROM Appointment a WHERE a.userId = :userId OR a.volunteerId = :userId",
+           countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.userId = :userId OR a.volunteerId = :userId")
+    Page<Appointment> findByParticipant(@Param("userId") Long userId, Pageable pageable);
+
+    List<Appointment> findByAssignmentIdOrderByScheduledAt(Long assignmentId);
+}
@@ -3,40 +3,53 @@ package om.community.supportsystem.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import om.community.supportsystem.dto.AssignmentResponseDTO;
 import om.community.supportsystem.model.Assignment;
 import om.community.supportsystem.model.Request;
 import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
 
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     
     // Find by volunteer
+    @EntityGraph("Assignment.withParticipants")
     List<Assignment> findByVolunteer(User volunteer);
     
     // Find by request
+    @EntityGraph("Assignment.withParticipants")
     List<Assignment> findByRequest(Request request);
     
     // Find by volunteer ID
+    @EntityGraph("Assignment.withParticipants")
     List<Assignment> findByVolunteerUserId(Long volunteerId);
     
     // Find completed assignments
+    @EntityGraph("Assignment.withParticipants")
     List<Assignment> findByCompletedAtIsNotNull();
     
     // Find pending assignments (not completed)
+    @EntityGraph("Assignment.withParticipants")
     List<Assignment> findByCompletedAtIsNull();
     
     // Check if assignment exists for request and volunteer
     boolean existsByRequestAndVolunteer(Request request, User volunteer);
     
     // Find assignments accepted after specific date
+    @EntityGraph("Assignment.withParticipants")
     List<Assignment> findByAcceptedAtAfter(LocalDateTime date);
     
     
@@ -44,6 +57,7 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     Optional<Assignment> findByRequestAndCompletedAtIsNull(Request request);
     
     // Find with pagination and sorting
+    @EntityGraph("Assignment.withParticipants")
     Page<Assignment> findByVolunteerOrderByAcceptedAtDesc(User volunteer, Pageable pageable);
     
     // Count assignments by volunteer
@@ -54,6 +68,7 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     
     // Find assignments by volunteer location
     @Query("SELECT a FROM Assignment a WHERE a.volunteer.location.province = :province")
+    @EntityGraph("Assignment.withParticipants")
     List<Assignment> findByVolunteerLocationProvince(@Param("province") String province);
     
     // Find top volunteers by assignment count
@@ -67,10 +82,42 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
            "GROUP BY a.volunteer " +
            "ORDER BY completedCount DESC")
     List<Object[]> findVolunteerCompletedCountsDesc();
+
+    // Leaderboard reconciliation: [userId, name, email, completedCount] without loading User entities
+    @Query("SELECT v.userId, v.name, v.email, COUNT(a) FROM Assignment a JOIN a.volunteer v " +
+           "WHERE a.completedAt IS NOT NULL AND v.role = :role GROUP BY v.userId, v.name, v.email")
+    List<Object[]> findCompletedCountRowsByVolunteer(@Param("role") UserRole role);
     
     // Dashboard statistics methods
     @Query("SELECT COUNT(a) FROM Assignment a WHERE a.completedAt IS NOT NULL")
     long countByCompletedAtIsNotNull();
+
+    // Dashboard: one row of [total, completed]
+    @Query("SELECT COUNT(a), SUM(CASE WHEN a.completedAt IS NOT NULL THEN 1 ELSE 0 END) FROM Assignment a")
+    List<Object[]> summarizeCompletion();
+
+    // Read model: AssignmentResponseDTO columns only, no request/volunteer/citizen hydration
+    String ASSIGNMENT_VIEW = "SELECT new om.community.supportsystem.dto.AssignmentResponseDTO(" +
+            "a.assignmentId, a.acceptedAt, a.completedAt, v.userId, v.name, v.email, v.phoneNumber, " +
+            "r.requestId, r.title, r.description, r.category, r.status, c.userId, c.name, c.email) " +
+            "FROM Assignment a LEFT JOIN a.volunteer v LEFT JOIN a.request r LEFT JOIN r.citizen c ";
+
+    // Keyset pagination on (acceptedAt, id), newest first
+    @Query(ASSIGNMENT_VIEW + "ORDER BY a.acceptedAt DESC, a.assignmentId DESC")
+    List<AssignmentResponseDTO> findViewSliceNewestFirst(Pageable pageable);
+
+    @Query(ASSIGNMENT_VIEW + "WHERE a.acceptedAt < :acceptedAt OR (a.acceptedAt = :acceptedAt AND a.assignmentId < :id) " +
+           "ORDER BY a.acceptedAt DESC, a.assignmentId DESC")
+    List<AssignmentResponseDTO> findViewSliceNewestFirstAfter(@Param("acceptedAt") LocalDateTime acceptedAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(ASSIGNMENT_VIEW + "WHERE v.userId = :volunteerId ORDER BY a.acceptedAt DESC, a.assignmentId DESC")
+    List<AssignmentResponseDTO> findViewSliceByVolunteer(@Param("volunteerId") Long volunteerId, Pageable pageable);
+
+    @Query(ASSIGNMENT_VIEW + "WHERE v.userId = :volunteerId " +
+           "AND (a.acceptedAt < :acceptedAt OR (a.acceptedAt = :acceptedAt AND a.assignmentId < :id)) " +
+           "ORDER BY a.acceptedAt DESC, a.assignmentId DESC")
+    List<AssignmentResponseDTO> findViewSliceByVolunteerAfter(@Param("volunteerId") Long volunteerId, @Param("acceptedAt") LocalDateTime acceptedAt,
+                                                              @Param("id") Long id, Pageable pageable);
     
     @Query("SELECT COUNT(a) FROM Assignment a WHERE a.completedAt IS NULL")
     long countByCompletedAtIsNull();
@@ -83,4 +130,38 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     
     // Count completed assignments by volunteer ID
     long countByVolunteerUserIdAndCompletedAtIsNotNull(Long volunteerId);
-}
\ No newline at end of file
+
+    // [volunteerId, open assignment count] for routing load balancing
+    @Query("SELECT a.volunteer.userId, COUNT(a) FROM Assignment a WHERE a.completedAt IS NULL GROUP BY a.volunteer.userId")
+    List<Object[]> countOpenAssignmentsByVolunteer();
+
+    // Analytics rollup backfill: [acceptedAt, requestCreatedAt, completedAt] without hydrating entities
+    @Query("SELECT a.acceptedAt, r.createdAt, a.completedAt FROM Assignment a JOIN a.request r")
+    Stream<Object[]> streamAssignmentTimestamps();
+
+    // [volunteerId, latest acceptedAt] for volunteers who accepted work since the given date
+    @Query("SELECT a.volunteer.userId, MAX(a.acceptedAt) FROM Assignment a WHERE a.acceptedAt >= :since GROUP BY a.volunteer.userId")
+    List<Object[]> findLatestAcceptanceByVolunteerSince(@Param("since") LocalDateTime since);
+
+    // Admin export: flat rows in id order; completed = null means both open and completed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.assignmentId, r.requestId, r.title, r.status, a.acceptedAt, a.completedAt, " +
+           "v.userId, v.name, c.userId, c.name, CASE WHEN l.locationId IS NOT NULL THEN l.province ELSE c.province END " +
+           "FROM Assignment a JOIN a.request r JOIN a.volunteer v JOIN r.citizen c LEFT JOIN c.location l " +
+           "WHERE (:completed IS NULL OR (:completed = true AND a.completedAt IS NOT NULL) OR (:completed = false AND a.completedAt IS NULL)) " +
+           "AND (:province IS NULL OR l.province = :province OR c.province = :province) " +
+           "AND (:from IS NULL OR a.acceptedAt >= :from) AND (:to IS NULL OR a.acceptedAt < :to) ORDER BY a.assignmentId")
+    Stream<Object[]> streamForExport(@Param("completed") Boolean completed, @Param("province") String province,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Detail read: request, citizen, volunteer and their locations in one statement
+    @EntityGraph("Assignment.withParticipants")
+    Optional<Assignment> findWithParticipantsByAssignmentId(Long assignmentId);
+
+    // Lists are serialized with their associations, so fetch them in the same statement
+    @EntityGraph("Assignment.withParticipants")
+    List<Assignment> findAll();
+}
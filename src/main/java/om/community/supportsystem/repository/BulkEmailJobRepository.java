@@ -0,0 +1,18 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.BulkEmailJob;
+import om.community.supportsystem.model.BulkEmailJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkEmailJobRepository extends JpaRepository<BulkEmailJob, Long> {
+
+    // Most recent jobs for the admin view
+    List<BulkEmailJob> findTop50ByOrderByJobIdDesc();
+
+    long countByStatusIn(Collection<BulkEmailJobStatus> statuses);
+}
@@ -1,21 +1,36 @@
 package om.community.supportsystem.repository;
 
 import om.community.supportsystem.model.CommunityPost;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface CommunityPostRepository extends JpaRepository<CommunityPost, Long> {
+    @EntityGraph(attributePaths = {"author", "author.location"})
     List<CommunityPost> findByCategory(String category);
     
     @Query("SELECT p FROM CommunityPost p ORDER BY p.isPinned DESC, p.createdAt DESC")
+    @EntityGraph(attributePaths = {"author", "author.location"})
     List<CommunityPost> findAllOrderByPinnedAndCreatedAt();
     
     @Query("SELECT p FROM CommunityPost p WHERE p.author.userId = :userId ORDER BY p.createdAt DESC")
+    @EntityGraph(attributePaths = {"author", "author.location"})
     List<CommunityPost> findByAuthorUserId(Long userId);
     
     @Query("SELECT p FROM CommunityPost p WHERE p.isPinned = true ORDER BY p.createdAt DESC")
+    @EntityGraph(attributePaths = {"author", "author.location"})
     List<CommunityPost> findPinnedPosts();
+
+    // Posts are serialized with their author, so fetch it in the same statement
+    @EntityGraph(attributePaths = {"author", "author.location"})
+    List<CommunityPost> findAll();
+
+    // Search index rebuild: one id-ordered page after the last id seen, with the author shown in results
+    @Query("SELECT p FROM CommunityPost p LEFT JOIN FETCH p.author WHERE p.postId > :afterId ORDER BY p.postId")
+    List<CommunityPost> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
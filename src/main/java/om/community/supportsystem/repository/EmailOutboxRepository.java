@@ -0,0 +1,21 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.EmailOutboxMessage;
+import om.community.supportsystem.model.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Deduplication: is a message with this key still waiting to go out?
+    boolean existsByDedupKeyAndStatusIn(String dedupKey, Collection<EmailOutboxStatus> statuses);
+
+    // Row counts per status for the admin view
+    @Query("SELECT m.status, COUNT(m) FROM EmailOutboxMessage m GROUP BY m.status")
+    List<Object[]> countByStatus();
+}
@@ -0,0 +1,30 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.Expense;
+import om.community.supportsystem.model.ExpenseStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+
+    // Newest first, served by idx_expenses_volunteer_created
+    List<Expense> findByVolunteerIdOrderByCreatedAtDesc(Long volunteerId);
+    Page<Expense> findByVolunteerIdOrderByCreatedAtDesc(Long volunteerId, Pageable pageable);
+
+    List<Expense> findByAssignmentIdOrderByCreatedAtDesc(Long assignmentId);
+
+    // Review queue for admins
+    Page<Expense> findByStatusOrderByCreatedAtAsc(ExpenseStatus status, Pageable pageable);
+
+    // Per-status count and total for one volunteer: [status, count, amount]
+    @Query("SELECT e.status, COUNT(e), COALESCE(SUM(e.amount), 0) FROM Expense e " +
+           "WHERE e.volunteerId = :volunteerId GROUP BY e.status")
+    List<Object[]> summarizeByVolunteer(@Param("volunteerId") Long volunteerId);
+}
@@ -1,10 +1,13 @@
 package om.community.supportsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import om.community.supportsystem.model.Location;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,11 +16,17 @@ import java.util.Optional;
 
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    // Lookups with the cacheable hint are answered from the query cache until the locations table changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Location> findAll();
     
     // Find by province code
     List<Location> findByProvinceCode(String provinceCode);
     
     // Find by province name
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Location> findByProvince(String province);
     
     // Find by district
@@ -27,10 +36,16 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
     boolean existsByProvinceCode(String provinceCode);
     
     // Find all provinces (distinct)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT l.province FROM Location l ORDER BY l.province")
     List<String> findAllProvinces();
+
+    // Dashboard: [province, locationCount, userCount]; provinces without users report 0
+    @Query("SELECT l.province, COUNT(DISTINCT l.locationId), COUNT(u) FROM Location l LEFT JOIN l.users u GROUP BY l.province")
+    List<Object[]> countLocationsAndUsersByProvince();
     
     // Find districts by province
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT l.district FROM Location l WHERE l.province = :province ORDER BY l.district")
     List<String> findDistrictsByProvince(@Param("province") String province);
     
@@ -38,6 +53,7 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
     Page<Location> findByProvinceContainingIgnoreCase(String province, Pageable pageable);
     
     // Find by province and district
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Location> findByProvinceAndDistrict(String province, String district);
     
     // Custom query to find locations with users count
@@ -65,6 +65,20 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.isRead = true")
     long countByIsReadTrue();
+
+    // Dashboard: one row of [total, unread]
+    @Query("SELECT COUNT(n), SUM(CASE WHEN n.isRead = false THEN 1 ELSE 0 END) FROM Notification n")
+    List<Object[]> summarizeReadState();
+
+    // Keyset pagination of one user's notifications on (createdAt, id), newest first
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findSliceByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.notificationId < :id)) " +
+           "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findSliceByUserAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Pageable pageable);
     
     // Paginated search methods
     Page<Notification> findByUserUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
@@ -0,0 +1,24 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.Rating;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RatingRepository extends JpaRepository<Rating, Long> {
+
+    // Newest first, served by idx_ratings_volunteer_created
+    List<Rating> findByVolunteerIdOrderByCreatedAtDesc(Long volunteerId);
+    Page<Rating> findByVolunteerIdOrderByCreatedAtDesc(Long volunteerId, Pageable pageable);
+
+    List<Rating> findByAssignmentIdOrderByCreatedAtDesc(Long assignmentId);
+
+    // Star histogram for every volunteer: [volunteerId, score, count], used to rebuild the aggregates
+    @Query("SELECT r.volunteerId, r.score, COUNT(r) FROM Rating r GROUP BY r.volunteerId, r.score")
+    List<Object[]> countByVolunteerAndScore();
+}
@@ -1,63 +1,111 @@
 package om.community.supportsystem.repository;
 
+import om.community.supportsystem.dto.RequestResponseDTO;
 import om.community.supportsystem.model.Request;
 import om.community.supportsystem.model.RequestStatus;
 import om.community.supportsystem.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RequestRepository extends JpaRepository<Request, Long> {
     
     // Find by status
+    @EntityGraph("Request.withCitizen")
     List<Request> findByStatus(RequestStatus status);
     
     // Find by citizen
+    @EntityGraph("Request.withCitizen")
     List<Request> findByCitizen(User citizen);
     
     // Find by citizen ID
+    @EntityGraph("Request.withCitizen")
     List<Request> findByCitizenUserId(Long citizenId);
     
     // Find pending requests
+    @EntityGraph("Request.withCitizen")
     List<Request> findByStatusOrderByCreatedAtDesc(RequestStatus status);
     
     // Check if request exists by title and citizen
     boolean existsByTitleAndCitizen(String title, User citizen);
     
     // Find requests created after specific date
+    @EntityGraph("Request.withCitizen")
     List<Request> findByCreatedAtAfter(LocalDateTime date);
     
     // Find requests by location province
     @Query("SELECT r FROM Request r WHERE r.citizen.location.province = :province OR r.citizen.province = :province")
+    @EntityGraph("Request.withCitizen")
     List<Request> findByLocationProvince(@Param("province") String province);
     
     // Find pending requests by province (both location.province and citizen.province)
     @Query("SELECT r FROM Request r WHERE r.status = 'PENDING' AND (r.citizen.location.province = :province OR r.citizen.province = :province) ORDER BY r.createdAt DESC")
+    @EntityGraph("Request.withCitizen")
     List<Request> findPendingRequestsByProvince(@Param("province") String province);
     
     // Find with pagination and sorting
+    @EntityGraph("Request.withCitizen")
     Page<Request> findByStatusAndCitizen_Location_Province(RequestStatus status, String province, Pageable pageable);
     
     // Count requests by status
     long countByStatus(RequestStatus status);
+
+    // Dashboard: [status, count, createdSince] in one pass
+    @Query("SELECT r.status, COUNT(r), SUM(CASE WHEN r.createdAt > :since THEN 1 ELSE 0 END) FROM Request r GROUP BY r.status")
+    List<Object[]> countByStatusWithCreatedSince(@Param("since") LocalDateTime since);
+
+    // Dashboard: [province, requestCount] by the citizen's location
+    @Query("SELECT l.province, COUNT(r) FROM Request r JOIN r.citizen u JOIN u.location l GROUP BY l.province")
+    List<Object[]> countByCitizenProvince();
+
+    // Read model: RequestResponseDTO columns only (citizen location resolved in SQL), no entity hydration
+    String REQUEST_VIEW = "SELECT new om.community.supportsystem.dto.RequestResponseDTO(" +
+            "r.requestId, r.title, r.description, r.category, r.status, r.createdAt, r.updatedAt, " +
+            "c.userId, c.name, c.email, c.phoneNumber, " +
+            "CASE WHEN l.locationId IS NOT NULL THEN l.province ELSE c.province END, " +
+            "CASE WHEN l.locationId IS NOT NULL THEN l.district ELSE c.district END, " +
+            "c.sector, c.cell, c.village) " +
+            "FROM Request r LEFT JOIN r.citizen c LEFT JOIN c.location l ";
+
+    @Query(REQUEST_VIEW + "WHERE r.requestId = :id")
+    Optional<RequestResponseDTO> findViewById(@Param("id") Long id);
+
+    // Keyset pagination, newest first: first slice, then rows strictly after (createdAt, id)
+    @Query(REQUEST_VIEW + "ORDER BY r.createdAt DESC, r.requestId DESC")
+    List<RequestResponseDTO> findViewSliceNewestFirst(Pageable pageable);
+
+    @Query(REQUEST_VIEW + "WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.requestId < :id) " +
+           "ORDER BY r.createdAt DESC, r.requestId DESC")
+    List<RequestResponseDTO> findViewSliceNewestFirstAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
     
     // Find requests by title containing (case insensitive)
+    @EntityGraph("Request.withCitizen")
     List<Request> findByTitleContainingIgnoreCase(String title);
     
     // Find recent requests (last 7 days)
     @Query("SELECT r FROM Request r WHERE r.createdAt >= :weekAgo ORDER BY r.createdAt DESC")
+    @EntityGraph("Request.withCitizen")
     List<Request> findRecentRequests(@Param("weekAgo") LocalDateTime weekAgo);
     
     // Paginated queries
+    @EntityGraph("Request.withCitizen")
     Page<Request> findByStatus(RequestStatus status, Pageable pageable);
+    @EntityGraph("Request.withCitizen")
     Page<Request> findByCitizenUserId(Long citizenId, Pageable pageable);
+    @EntityGraph("Request.withCitizen")
     Page<Request> findByCitizenUserIdAndStatus(Long citizenId, RequestStatus status, Pageable pageable);
     
     // Count methods for stats
@@ -72,4 +120,33 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     long countByProvinceAndStatus(@Param("province") String province, @Param("status") String status);
     
     long countByStatus(String status);
-}
\ No newline at end of file
+
+    // Analytics rollup backfill - timestamps only, no entity hydration
+    @Query("SELECT r.createdAt FROM Request r")
+    Stream<LocalDateTime> streamCreatedAt();
+
+    // Admin export: flat rows in id order, streamed with a JDBC fetch size instead of loading entities.
+    // Province and district are the citizen's location when set, as in REQUEST_VIEW
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.requestId, r.title, r.description, r.category, r.status, r.createdAt, r.updatedAt, " +
+           "c.userId, c.name, " +
+           "CASE WHEN l.locationId IS NOT NULL THEN l.province ELSE c.province END, " +
+           "CASE WHEN l.locationId IS NOT NULL THEN l.district ELSE c.district END " +
+           "FROM Request r JOIN r.citizen c LEFT JOIN c.location l " +
+           "WHERE (:status IS NULL OR r.status = :status) " +
+           "AND (:province IS NULL OR l.province = :province OR c.province = :province) " +
+           "AND (:from IS NULL OR r.createdAt >= :from) AND (:to IS NULL OR r.createdAt < :to) ORDER BY r.requestId")
+    Stream<Object[]> streamForExport(@Param("status") RequestStatus status, @Param("province") String province,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Lists are serialized with their associations, so fetch them in the same statement
+    @EntityGraph("Request.withCitizen")
+    List<Request> findAll();
+
+    // Search index rebuild: one id-ordered page after the last id seen, with the citizen shown in results
+    @Query("SELECT r FROM Request r LEFT JOIN FETCH r.citizen WHERE r.requestId > :afterId ORDER BY r.requestId")
+    List<Request> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -1,10 +1,14 @@
 package om.community.supportsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import om.community.supportsystem.model.Skill;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,8 +16,14 @@ import java.util.Optional;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    // Lookups with the cacheable hint are answered from the query cache until the skills table changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Skill> findAll();
     
     // Find by skill name
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Skill> findBySkillName(String skillName);
     
     // Find by skill name containing (case insensitive)
@@ -23,6 +33,7 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     boolean existsBySkillName(String skillName);
     
     // Find all skills ordered by name
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Skill> findAllByOrderBySkillNameAsc();
     
     // Find with pagination and sorting
@@ -38,4 +49,8 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     // Find skills with no users
     @Query("SELECT s FROM Skill s WHERE s.users IS EMPTY")
     List<Skill> findSkillsWithNoUsers();
-}
\ No newline at end of file
+
+    // Search index rebuild: one id-ordered page after the last id seen
+    @Query("SELECT s FROM Skill s WHERE s.skillId > :afterId ORDER BY s.skillId")
+    List<Skill> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -1,12 +1,28 @@
 package om.community.supportsystem.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import om.community.supportsystem.model.SystemSettings;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SystemSettingsRepository extends JpaRepository<SystemSettings, Long> {
+    // Served from the query cache until the system_settings table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SystemSettings> findBySettingKey(String settingKey);
     boolean existsBySettingKey(String settingKey);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<SystemSettings> findBySettingKeyStartingWith(String prefix);
+    // Row lock that serializes settings version bumps across instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SystemSettings s WHERE s.settingKey = :key")
+    Optional<SystemSettings> findForUpdate(@Param("key") String key);
 }
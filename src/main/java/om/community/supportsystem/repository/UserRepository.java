@@ -2,16 +2,21 @@ package om.community.supportsystem.repository;
 
 import om.community.supportsystem.model.User;
 import om.community.supportsystem.model.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -20,32 +25,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     // Find by role
+    @EntityGraph("User.withLocation")
     List<User> findByRole(UserRole role);
     
     // Find by location province code
     @Query("SELECT u FROM User u WHERE u.location.provinceCode = :provinceCode")
+    @EntityGraph("User.withLocation")
     List<User> findByLocationProvinceCode(@Param("provinceCode") String provinceCode);
     
     // Find by location province name
     @Query("SELECT u FROM User u WHERE u.location.province = :province")
+    @EntityGraph("User.withLocation")
     List<User> findByLocationProvince(@Param("province") String province);
     
     // Find by user's province field
+    @EntityGraph("User.withLocation")
     List<User> findByProvince(String province);
     
     // Find by user's district field
+    @EntityGraph("User.withLocation")
     List<User> findByDistrict(String district);
     
     // Find by province and district
+    @EntityGraph("User.withLocation")
     List<User> findByProvinceAndDistrict(String province, String district);
     
     // Find by sector
+    @EntityGraph("User.withLocation")
     List<User> findBySector(String sector);
     
     // Find by cell
+    @EntityGraph("User.withLocation")
     List<User> findByCell(String cell);
     
     // Find by village
+    @EntityGraph("User.withLocation")
     List<User> findByVillage(String village);
     
     // Check if user exists by email
@@ -56,18 +70,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Find volunteers in specific location
     @Query("SELECT u FROM User u WHERE u.role = 'VOLUNTEER' AND u.location.province = :province")
+    @EntityGraph("User.withLocation")
     List<User> findVolunteersByProvince(@Param("province") String province);
     
     // Find users created after specific date
+    @EntityGraph("User.withLocation")
     List<User> findByCreatedAtAfter(LocalDateTime date);
     
     // Find with pagination and sorting
+    @EntityGraph("User.withLocation")
     Page<User> findByRoleAndLocation_Province(UserRole role, String province, Pageable pageable);
     
     // Count users by role
     long countByRole(UserRole role);
     
     // Find users by name containing (case insensitive)
+    @EntityGraph("User.withLocation")
     List<User> findByNameContainingIgnoreCase(String name);
     
     // Find user by phone number
@@ -85,8 +103,83 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByEmailVerifiedTrue();
     long countByEmailVerifiedFalse();
     long countByTwoFactorEnabledTrue();
+
+    // Dashboard: [role, count, createdSince] in one pass
+    @Query("SELECT u.role, COUNT(u), SUM(CASE WHEN u.createdAt > :since THEN 1 ELSE 0 END) FROM User u GROUP BY u.role")
+    List<Object[]> countByRoleWithCreatedSince(@Param("since") LocalDateTime since);
+
+    // Dashboard: one row of [locked, emailVerified, twoFactorEnabled]
+    @Query("SELECT SUM(CASE WHEN u.accountLocked = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN u.emailVerified = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN u.twoFactorEnabled = true THEN 1 ELSE 0 END) FROM User u")
+    List<Object[]> summarizeAccountFlags();
+
+    // Keyset pagination on (createdAt, id), newest first, optionally filtered by role
+    @Query("SELECT u FROM User u WHERE (:role IS NULL OR u.role = :role) ORDER BY u.createdAt DESC, u.userId DESC")
+    @EntityGraph("User.withLocation")
+    List<User> findSliceNewestFirst(@Param("role") UserRole role, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE (:role IS NULL OR u.role = :role) " +
+           "AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.userId < :id)) " +
+           "ORDER BY u.createdAt DESC, u.userId DESC")
+    @EntityGraph("User.withLocation")
+    List<User> findSliceNewestFirstAfter(@Param("role") UserRole role, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
     
     // Analytics methods
     long countByRole(String role);
     long countByProvince(String province);
-}
\ No newline at end of file
+
+    // Fan-out recipients - IDs only, no skills/location loading
+    @Query("SELECT u.userId FROM User u WHERE u.role = :role")
+    List<Long> findIdsByRole(@Param("role") UserRole role);
+
+    // Bulk email recipients: [email, name] of verified users, all roles when role is null
+    @Query("SELECT u.email, u.name FROM User u WHERE u.emailVerified = true AND (:role IS NULL OR u.role = :role) ORDER BY u.userId")
+    List<Object[]> findEmailRecipientsByRole(@Param("role") UserRole role);
+
+    // Routing index: [userId, province, district, sector, cell, village], falling back to the linked location
+    @Query("SELECT u.userId, COALESCE(u.province, l.province), COALESCE(u.district, l.district), " +
+           "COALESCE(u.sector, l.sector), COALESCE(u.cell, l.cell), COALESCE(u.village, l.village) " +
+           "FROM User u LEFT JOIN u.location l WHERE u.role = :role")
+    List<Object[]> findAreaRowsByRole(@Param("role") UserRole role);
+
+    // Routing index: [userId, skillName] for every skill held by users of a role
+    @Query("SELECT u.userId, s.skillName FROM User u JOIN u.skills s WHERE u.role = :role")
+    List<Object[]> findSkillNamesByRole(@Param("role") UserRole role);
+
+    // Analytics rollup backfill - timestamps only, no entity hydration
+    @Query("SELECT u.createdAt FROM User u")
+    Stream<LocalDateTime> streamCreatedAt();
+
+    // [userId, lastLoginAt] for users of a role who logged in since the given date
+    @Query("SELECT u.userId, u.lastLoginAt FROM User u WHERE u.role = :role AND u.lastLoginAt >= :since")
+    List<Object[]> findLastLoginsByRoleSince(@Param("role") UserRole role, @Param("since") LocalDateTime since);
+
+    // Admin export: flat rows in id order, no password, token or skill columns; province and district
+    // are the user's location when set
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.userId, u.name, u.email, u.phoneNumber, u.role, " +
+           "CASE WHEN l.locationId IS NOT NULL THEN l.province ELSE u.province END, " +
+           "CASE WHEN l.locationId IS NOT NULL THEN l.district ELSE u.district END, u.createdAt, " +
+           "u.lastLoginAt, u.emailVerified, u.accountLocked FROM User u LEFT JOIN u.location l " +
+           "WHERE (:role IS NULL OR u.role = :role) AND (:province IS NULL OR l.province = :province OR u.province = :province) " +
+           "AND (:from IS NULL OR u.createdAt >= :from) AND (:to IS NULL OR u.createdAt < :to) ORDER BY u.userId")
+    Stream<Object[]> streamForExport(@Param("role") UserRole role, @Param("province") String province,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Profile read: the user JSON includes location and skills
+    @EntityGraph(attributePaths = {"location", "skills"})
+    Optional<User> findWithProfileByUserId(Long userId);
+
+    // Lists are serialized with their associations, so fetch them in the same statement
+    @EntityGraph("User.withLocation")
+    List<User> findAll();
+
+    // Search index rebuild: one id-ordered page after the last id seen
+    @Query("SELECT u FROM User u WHERE u.userId > :afterId ORDER BY u.userId")
+    List<User> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
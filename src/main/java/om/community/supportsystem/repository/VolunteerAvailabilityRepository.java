@@ -0,0 +1,14 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.VolunteerAvailability;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VolunteerAvailabilityRepository extends JpaRepository<VolunteerAvailability, Long> {
+
+    // Volunteers currently in a given status (e.g. ONLINE)
+    List<VolunteerAvailability> findByStatus(String status);
+}
@@ -0,0 +1,43 @@
+package om.community.supportsystem.repository;
+
+import om.community.supportsystem.model.VolunteerRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface VolunteerRatingStatsRepository extends JpaRepository<VolunteerRatingStats, Long> {
+
+    // Atomic in-place update, applied in the same transaction as the rating insert
+    @Modifying
+    @Transactional
+    @Query("UPDATE VolunteerRatingStats s SET s.ratingCount = s.ratingCount + 1, s.ratingSum = s.ratingSum + :score, " +
+           "s.ratingSumSquares = s.ratingSumSquares + :score * :score, " +
+           "s.stars1 = s.stars1 + CASE WHEN :score = 1 THEN 1 ELSE 0 END, " +
+           "s.stars2 = s.stars2 + CASE WHEN :score = 2 THEN 1 ELSE 0 END, " +
+           "s.stars3 = s.stars3 + CASE WHEN :score = 3 THEN 1 ELSE 0 END, " +
+           "s.stars4 = s.stars4 + CASE WHEN :score = 4 THEN 1 ELSE 0 END, " +
+           "s.stars5 = s.stars5 + CASE WHEN :score = 5 THEN 1 ELSE 0 END, " +
+           "s.updatedAt = :now WHERE s.volunteerId = :volunteerId")
+    int addRating(@Param("volunteerId") Long volunteerId, @Param("score") long score, @Param("now") LocalDateTime now);
+
+    // Recreates a row removed after ensureStatsRow checked for it (e.g. by a rebuild)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO volunteer_rating_stats (volunteer_id, rating_count, rating_sum, rating_sum_squares, " +
+           "stars_1, stars_2, stars_3, stars_4, stars_5, updated_at) " +
+           "SELECT :volunteerId, 0, 0, 0, 0, 0, 0, 0, 0, :now " +
+           "WHERE NOT EXISTS (SELECT 1 FROM volunteer_rating_stats WHERE volunteer_id = :volunteerId)", nativeQuery = true)
+    int insertIfMissing(@Param("volunteerId") Long volunteerId, @Param("now") LocalDateTime now);
+
+    // Used by a full rebuild before the recomputed rows are inserted
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VolunteerRatingStats s")
+    int deleteAllStats();
+}
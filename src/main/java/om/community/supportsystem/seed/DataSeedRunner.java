@@ -0,0 +1,92 @@
+package om.community.supportsystem.seed;
+
+import om.community.supportsystem.service.AnalyticsRollupService;
+import om.community.supportsystem.service.LeaderboardService;
+import om.community.supportsystem.service.SearchIndexService;
+import om.community.supportsystem.service.VolunteerRoutingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Generates a synthetic dataset on startup when the "seed" profile is active, e.g.
+ * {@code SPRING_PROFILES_ACTIVE=dev,seed ./mvnw spring-boot:run -Dspring-boot.run.arguments=--seed.scale=0.05}.
+ *
+ * By default the application exits once the data is loaded. With seed.exit=false it keeps
+ * running, and the in-memory indexes that normally follow entity events are rebuilt first,
+ * since the generator writes around JPA.
+ */
+@Component
+@Profile("seed")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class DataSeedRunner implements CommandLineRunner {
+    private static final Logger log = LoggerFactory.getLogger(DataSeedRunner.class);
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private VolunteerRoutingService volunteerRoutingService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Value("${seed.seed:42}")
+    private long seed;
+
+    @Value("${seed.scale:0.05}")
+    private double scale;
+
+    @Value("${seed.threads:4}")
+    private int threads;
+
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+
+    // ISO date-time; empty means now. Fix it to reproduce timestamps exactly.
+    @Value("${seed.anchor:}")
+    private String anchor;
+
+    @Value("${seed.exit:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) {
+        LocalDateTime anchorTime = anchor.isBlank()
+                ? LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                : LocalDateTime.parse(anchor);
+        Map<String, Object> loaded = datasetGenerator.generate(new SeedPlan(seed, scale, anchorTime), threads, batchSize);
+        log.info("📊 Seed summary: " + loaded);
+
+        if (exitWhenDone) {
+            log.info("✅ Seeding finished - shutting down (set seed.exit=false to keep the application running)");
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+
+        leaderboardService.reconcile();
+        searchIndexService.rebuild();
+        volunteerRoutingService.rebuildIndex();
+        analyticsRollupService.rebuildFromHistory();
+    }
+}
@@ -0,0 +1,405 @@
+package om.community.supportsystem.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.config.DataInitializer;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.RequestStatus;
+import om.community.supportsystem.model.UserRole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk-loads a synthetic dataset described by a SeedPlan.
+ *
+ * Rows bypass JPA: each table is split into contiguous partitions, one per thread, and each
+ * partition is written with batched JDBC inserts on its own connection, committing per batch.
+ * Ids are assigned here, starting after the current maximum, so partitions never coordinate;
+ * the identity columns are moved past the new rows at the end. On PostgreSQL add
+ * {@code reWriteBatchedInserts=true} to the JDBC URL so each batch becomes one multi-row insert.
+ *
+ * Distributions are skewed the way real traffic is: a few districts hold most users, a few
+ * citizens post most requests, a few volunteers take most assignments and shopping and general
+ * help dominate the categories. Locations and skills come from DataInitializer when the database
+ * has none.
+ */
+@Service
+public class DatasetGenerator {
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    // Salts that keep the random draws of different tables independent
+    private static final long USERS = 1;
+    private static final long USER_SKILLS = 2;
+    private static final long REQUESTS = 3;
+    private static final long ASSIGNMENTS = 4;
+    private static final long NOTIFICATIONS = 5;
+
+    private static final long YEAR_SECONDS = 365L * 24 * 3600;
+    private static final String PASSWORD = "password123";
+
+    private static final String[] FIRST_NAMES = {"Jean", "Marie", "Eric", "Aline", "Patrick", "Grace", "Emmanuel",
+            "Divine", "Claude", "Josiane", "Olivier", "Chantal", "Innocent", "Diane", "Samuel", "Esther"};
+    private static final String[] LAST_NAMES = {"Uwimana", "Mugisha", "Niyonzima", "Habimana", "Mukamana",
+            "Nshimiyimana", "Uwase", "Hakizimana", "Ingabire", "Ndayisaba", "Iradukunda", "Bizimana"};
+    private static final String[] TASKS = {"groceries from the market", "a ride to the health centre",
+            "setting up a phone", "homework in mathematics", "fixing a leaking roof", "collecting medicine",
+            "carrying water", "filling in an online form", "cleaning the compound", "reading letters"};
+    private static final String[] NOTIFICATION_MESSAGES = {"A volunteer accepted your request",
+            "Your request was completed", "A new request matches your skills", "You earned a new achievement",
+            "Reminder: you have an upcoming appointment", "A new post was added to the community board"};
+
+    private static final RequestCategory[] CATEGORIES = {RequestCategory.SHOPPING_AND_ERRANDS,
+            RequestCategory.GENERAL_HELP, RequestCategory.TRANSPORTATION, RequestCategory.HOUSEHOLD_TASKS,
+            RequestCategory.HEALTHCARE_ASSISTANCE, RequestCategory.TECHNOLOGY_SUPPORT,
+            RequestCategory.TUTORING_AND_EDUCATION, RequestCategory.OTHERS};
+    private static final double[] CATEGORY_WEIGHTS = {0.24, 0.44, 0.57, 0.69, 0.80, 0.89, 0.97, 1.0};
+
+    private static final String USER_INSERT = "INSERT INTO users (user_id, name, email, phone_number, password, role, "
+            + "created_at, email_verified, two_factor_enabled, account_locked, failed_login_attempts, location_id, "
+            + "province, district) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String USER_SKILL_INSERT = "INSERT INTO user_skills (user_id, skill_id) VALUES (?, ?)";
+    private static final String REQUEST_INSERT = "INSERT INTO requests (request_id, title, description, category, "
+            + "status, created_at, updated_at, citizen_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ASSIGNMENT_INSERT = "INSERT INTO assignments (assignment_id, accepted_at, completed_at, "
+            + "request_id, volunteer_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String NOTIFICATION_INSERT = "INSERT INTO notifications (notification_id, message, is_read, "
+            + "created_at, user_id) VALUES (?, ?, ?, ?, ?)";
+
+    /** Adds the rows generated for one index to the batch and returns how many it added. */
+    @FunctionalInterface
+    private interface RowWriter {
+        int write(PreparedStatement statement, long row) throws SQLException;
+    }
+
+    private record Place(long locationId, String province, String district) {}
+
+    private record Dataset(SeedPlan plan, List<Place> places, List<Long> skillIds, String passwordHash,
+                           long userBase, long requestBase, long assignmentBase, long notificationBase) {}
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataInitializer dataInitializer;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Loads the dataset with {@code threads} connections in parallel. Keep threads at or below the
+     * connection pool size.
+     */
+    public Map<String, Object> generate(SeedPlan plan, int threads, int batchSize) {
+        if (threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("threads and batchSize must be positive");
+        }
+        long started = System.currentTimeMillis();
+        log.info("🔄 Seeding dataset: seed=" + plan.seed() + " scale=" + plan.scale() + " users=" + plan.users()
+                + " requests=" + plan.requests() + " assignments=" + plan.assignments()
+                + " notifications=" + plan.notifications() + " threads=" + threads);
+
+        Dataset dataset = new Dataset(plan, loadPlaces(), loadSkillIds(), passwordEncoder.encode(PASSWORD),
+                nextId("users", "user_id"), nextId("requests", "request_id"),
+                nextId("assignments", "assignment_id"), nextId("notifications", "notification_id"));
+
+        // Tables in foreign key order; rows within a table load in parallel
+        Map<String, Object> loaded = new LinkedHashMap<>();
+        loaded.put("users", load("users", USER_INSERT, plan.users(), threads, batchSize,
+                (statement, row) -> writeUser(dataset, statement, row)));
+        loaded.put("userSkills", load("user_skills", USER_SKILL_INSERT, plan.volunteers(), threads, batchSize,
+                (statement, row) -> writeVolunteerSkills(dataset, statement, row)));
+        loaded.put("requests", load("requests", REQUEST_INSERT, plan.requests(), threads, batchSize,
+                (statement, row) -> writeRequest(dataset, statement, row)));
+        loaded.put("assignments", load("assignments", ASSIGNMENT_INSERT, plan.assignments(), threads, batchSize,
+                (statement, row) -> writeAssignment(dataset, statement, row)));
+        loaded.put("notifications", load("notifications", NOTIFICATION_INSERT, plan.notifications(), threads, batchSize,
+                (statement, row) -> writeNotification(dataset, statement, row)));
+
+        restartIdentity("users", "user_id");
+        restartIdentity("requests", "request_id");
+        restartIdentity("assignments", "assignment_id");
+        restartIdentity("notifications", "notification_id");
+        // user_skills changed behind Hibernate's back
+        entityManagerFactory.getCache().evictAll();
+
+        long elapsed = System.currentTimeMillis() - started;
+        long rows = loaded.values().stream().mapToLong(count -> (Long) count).sum();
+        loaded.put("totalRows", rows);
+        loaded.put("elapsedMs", elapsed);
+        log.info("✅ Seeded " + rows + " rows in " + elapsed + "ms (" + (rows * 1000 / Math.max(1, elapsed)) + " rows/s)");
+        return loaded;
+    }
+
+    // ===== Rows =====
+
+    private int writeUser(Dataset dataset, PreparedStatement statement, long row) throws SQLException {
+        SeedPlan plan = dataset.plan();
+        long userId = dataset.userBase() + row;
+        UserRole role = row < plan.volunteers() ? UserRole.VOLUNTEER
+                : row < plan.volunteers() + plan.admins() ? UserRole.ADMIN : UserRole.CITIZEN;
+        Place place = dataset.places().get((int) SeedPlan.skewed(plan.unit(USERS, row, 0), dataset.places().size(), 2.0));
+
+        statement.setLong(1, userId);
+        statement.setString(2, pick(FIRST_NAMES, plan.unit(USERS, row, 1)) + " " + pick(LAST_NAMES, plan.unit(USERS, row, 2)));
+        statement.setString(3, "seed" + userId + "@example.com");
+        statement.setString(4, String.format("09%08d", userId % 100_000_000));
+        statement.setString(5, dataset.passwordHash());
+        statement.setString(6, role.name());
+        statement.setTimestamp(7, secondsBefore(plan.anchor(), YEAR_SECONDS * Math.pow(plan.unit(USERS, row, 3), 1.5)));
+        statement.setBoolean(8, plan.unit(USERS, row, 4) < 0.9);
+        statement.setBoolean(9, false);
+        statement.setBoolean(10, false);
+        statement.setInt(11, 0);
+        statement.setLong(12, place.locationId());
+        statement.setString(13, place.province());
+        statement.setString(14, place.district());
+        statement.addBatch();
+        return 1;
+    }
+
+    // One to three distinct skills per volunteer, popular skills far more common
+    private int writeVolunteerSkills(Dataset dataset, PreparedStatement statement, long volunteer) throws SQLException {
+        SeedPlan plan = dataset.plan();
+        List<Long> skillIds = dataset.skillIds();
+        if (skillIds.isEmpty()) {
+            return 0;
+        }
+        int wanted = 1 + (int) SeedPlan.skewed(plan.unit(USER_SKILLS, volunteer, 0), 3, 1.5);
+        List<Long> chosen = new ArrayList<>(wanted);
+        for (int draw = 1; draw <= wanted * 3 && chosen.size() < wanted; draw++) {
+            Long skillId = skillIds.get((int) SeedPlan.skewed(plan.unit(USER_SKILLS, volunteer, draw), skillIds.size(), 1.8));
+            if (!chosen.contains(skillId)) {
+                chosen.add(skillId);
+                statement.setLong(1, dataset.userBase() + volunteer);
+                statement.setLong(2, skillId);
+                statement.addBatch();
+            }
+        }
+        return chosen.size();
+    }
+
+    private int writeRequest(Dataset dataset, PreparedStatement statement, long row) throws SQLException {
+        SeedPlan plan = dataset.plan();
+        long citizen = SeedPlan.skewed(plan.unit(REQUESTS, row, 0), plan.citizens(), 1.8);
+        RequestCategory category = CATEGORIES[SeedPlan.weighted(plan.unit(REQUESTS, row, 1), CATEGORY_WEIGHTS)];
+        String task = pick(TASKS, plan.unit(REQUESTS, row, 2));
+        RequestStatus status = requestStatus(plan, row);
+        LocalDateTime createdAt = requestCreatedAt(plan, row);
+
+        statement.setLong(1, dataset.requestBase() + row);
+        statement.setString(2, "Help needed: " + task);
+        statement.setString(3, category.getDisplayName() + " - looking for someone to help with " + task + ".");
+        statement.setString(4, category.name());
+        statement.setString(5, status.name());
+        statement.setTimestamp(6, Timestamp.valueOf(createdAt));
+        statement.setTimestamp(7, status == RequestStatus.PENDING ? null
+                : Timestamp.valueOf(createdAt.plusMinutes(30 + (long) (plan.unit(REQUESTS, row, 3) * 4_320))));
+        statement.setLong(8, dataset.userBase() + plan.volunteers() + plan.admins() + citizen);
+        statement.addBatch();
+        return 1;
+    }
+
+    private int writeAssignment(Dataset dataset, PreparedStatement statement, long row) throws SQLException {
+        SeedPlan plan = dataset.plan();
+        long request = requestOfAssignment(plan, row);
+        long volunteer = SeedPlan.skewed(plan.unit(ASSIGNMENTS, row, 0), plan.volunteers(), 1.6);
+        LocalDateTime acceptedAt = requestCreatedAt(plan, request).plusMinutes(30 + (long) (plan.unit(ASSIGNMENTS, row, 1) * 4_320));
+        if (acceptedAt.isAfter(plan.anchor())) {
+            acceptedAt = plan.anchor();
+        }
+        LocalDateTime completedAt = requestStatus(plan, request) == RequestStatus.COMPLETED
+                ? acceptedAt.plusMinutes(60 + (long) (plan.unit(ASSIGNMENTS, row, 2) * 5_760)) : null;
+
+        statement.setLong(1, dataset.assignmentBase() + row);
+        statement.setTimestamp(2, Timestamp.valueOf(acceptedAt));
+        statement.setTimestamp(3, completedAt != null ? Timestamp.valueOf(completedAt) : null);
+        statement.setLong(4, dataset.requestBase() + request);
+        statement.setLong(5, dataset.userBase() + volunteer);
+        statement.addBatch();
+        return 1;
+    }
+
+    private int writeNotification(Dataset dataset, PreparedStatement statement, long row) throws SQLException {
+        SeedPlan plan = dataset.plan();
+        statement.setLong(1, dataset.notificationBase() + row);
+        statement.setString(2, pick(NOTIFICATION_MESSAGES, plan.unit(NOTIFICATIONS, row, 1)));
+        statement.setBoolean(3, plan.unit(NOTIFICATIONS, row, 2) < 0.7);
+        statement.setTimestamp(4, secondsBefore(plan.anchor(), 90.0 * 24 * 3600 * Math.pow(plan.unit(NOTIFICATIONS, row, 3), 2)));
+        statement.setLong(5, dataset.userBase() + SeedPlan.skewed(plan.unit(NOTIFICATIONS, row, 0), plan.users(), 1.5));
+        statement.addBatch();
+        return 1;
+    }
+
+    // ===== Request/assignment consistency =====
+
+    /**
+     * Exactly assignments() of the requests() requests are assigned, spread evenly: request r is
+     * assigned when floor((r + 1) * A / R) moves past floor(r * A / R).
+     */
+    static boolean isAssigned(SeedPlan plan, long request) {
+        long requests = plan.requests();
+        long assignments = plan.assignments();
+        return (request + 1) * assignments / requests > request * assignments / requests;
+    }
+
+    /** The request taken by assignment k: the inverse of isAssigned's numbering. */
+    static long requestOfAssignment(SeedPlan plan, long assignment) {
+        long requests = plan.requests();
+        long assignments = plan.assignments();
+        return ((assignment + 1) * requests + assignments - 1) / assignments - 1;
+    }
+
+    static RequestStatus requestStatus(SeedPlan plan, long request) {
+        double unit = plan.unit(REQUESTS, request, 5);
+        if (isAssigned(plan, request)) {
+            return unit < 0.6 ? RequestStatus.COMPLETED : RequestStatus.ACCEPTED;
+        }
+        return unit < 0.9 ? RequestStatus.PENDING : RequestStatus.CANCELLED;
+    }
+
+    // Most requests are recent
+    private static LocalDateTime requestCreatedAt(SeedPlan plan, long request) {
+        return plan.anchor().minusSeconds((long) (YEAR_SECONDS * Math.pow(plan.unit(REQUESTS, request, 4), 1.5)));
+    }
+
+    // ===== Loading =====
+
+    private long load(String table, String sql, long rows, int threads, int batchSize, RowWriter writer) {
+        if (rows == 0) {
+            return 0L;
+        }
+        long started = System.currentTimeMillis();
+        long perPartition = (rows + threads - 1) / threads;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> partitions = new ArrayList<>();
+        for (long from = 0; from < rows; from += perPartition) {
+            long start = from;
+            long end = Math.min(rows, from + perPartition);
+            partitions.add(pool.submit(() -> loadPartition(sql, start, end, batchSize, writer)));
+        }
+
+        long written = 0;
+        try {
+            for (Future<Long> partition : partitions) {
+                written += partition.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load " + table + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + table, e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("✅ Loaded " + written + " rows into " + table + " in " + elapsed + "ms ("
+                + (written * 1000 / Math.max(1, elapsed)) + " rows/s)");
+        return written;
+    }
+
+    private long loadPartition(String sql, long from, long to, int batchSize, RowWriter writer) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                long written = 0;
+                int batched = 0;
+                for (long row = from; row < to; row++) {
+                    int added = writer.write(statement, row);
+                    written += added;
+                    batched += added;
+                    if (batched >= batchSize) {
+                        statement.executeBatch();
+                        connection.commit();
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+                return written;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    // ===== Reference data and identities =====
+
+    private List<Place> loadPlaces() {
+        List<Place> places = queryPlaces();
+        if (places.isEmpty()) {
+            log.info("⚠️ No locations found - creating reference data first");
+            dataInitializer.initializeBasicData();
+            places = queryPlaces();
+        }
+        return places;
+    }
+
+    private List<Place> queryPlaces() {
+        return jdbcTemplate.query("SELECT location_id, province, district FROM locations ORDER BY location_id",
+                (rs, i) -> new Place(rs.getLong(1), rs.getString(2), rs.getString(3)));
+    }
+
+    private List<Long> loadSkillIds() {
+        return jdbcTemplate.queryForList("SELECT skill_id FROM skills ORDER BY skill_id", Long.class);
+    }
+
+    private long nextId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table, Long.class);
+        return (max != null ? max : 0) + 1;
+    }
+
+    // Ids were written explicitly, so move the identity past them or the next JPA insert collides
+    private void restartIdentity(String table, String column) {
+        String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        long next = nextId(table, column);
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + table + "', '" + column + "'), ?, false)",
+                    Long.class, next);
+        } else if ("H2".equalsIgnoreCase(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+        } else {
+            log.warn("⚠️ Cannot restart the identity of " + table + "." + column + " on " + product
+                    + "; the next insert may reuse a seeded id");
+        }
+    }
+
+    // ===== Helpers =====
+
+    private static String pick(String[] values, double unit) {
+        return values[(int) (unit * values.length)];
+    }
+
+    private static Timestamp secondsBefore(LocalDateTime anchor, double seconds) {
+        return Timestamp.valueOf(anchor.minusSeconds((long) seconds));
+    }
+}
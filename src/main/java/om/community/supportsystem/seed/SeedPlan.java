@@ -0,0 +1,86 @@
+package om.community.supportsystem.seed;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row counts and randomness for one generated dataset. At scale 1.0 that is 200k users,
+ * 1M requests, 800k assignments and 20M notifications; counts scale linearly.
+ *
+ * Every value in a row is a pure function of (seed, table, row index), so the same seed,
+ * scale and anchor produce the same dataset whatever the number of loader threads.
+ *
+ * @param anchor timestamps are spread over the year before this instant
+ */
+public record SeedPlan(long seed, double scale, LocalDateTime anchor) {
+
+    static final long USERS_AT_SCALE_1 = 200_000;
+    static final long REQUESTS_AT_SCALE_1 = 1_000_000;
+    static final long ASSIGNMENTS_AT_SCALE_1 = 800_000;
+    static final long NOTIFICATIONS_AT_SCALE_1 = 20_000_000;
+
+    public SeedPlan {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("Scale must be positive");
+        }
+    }
+
+    public long users() {
+        return Math.max(10, Math.round(USERS_AT_SCALE_1 * scale));
+    }
+
+    // A quarter of the users volunteer, one in two thousand is an admin, the rest are citizens
+    public long volunteers() {
+        return Math.max(1, users() / 4);
+    }
+
+    public long admins() {
+        return Math.max(1, users() / 2_000);
+    }
+
+    public long citizens() {
+        return users() - volunteers() - admins();
+    }
+
+    public long requests() {
+        return Math.round(REQUESTS_AT_SCALE_1 * scale);
+    }
+
+    /** Never more than one assignment per request. */
+    public long assignments() {
+        return Math.min(requests(), Math.round(ASSIGNMENTS_AT_SCALE_1 * scale));
+    }
+
+    public long notifications() {
+        return Math.round(NOTIFICATIONS_AT_SCALE_1 * scale);
+    }
+
+    // ===== Deterministic randomness =====
+
+    /** A uniform value in [0, 1) for one draw ({@code stream}) of one row. */
+    double unit(long table, long row, int stream) {
+        long bits = mix(seed ^ mix(table * 0x9E3779B97F4A7C15L + row) ^ (stream * 0xD1B54A32D192ED03L));
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+
+    /** An index in [0, n) skewed towards 0; a larger exponent means a heavier head. */
+    static long skewed(double unit, long n, double exponent) {
+        return Math.min(n - 1, (long) (n * Math.pow(unit, exponent)));
+    }
+
+    /** An index into {@code cumulativeWeights} (ascending, last element 1.0). */
+    static int weighted(double unit, double[] cumulativeWeights) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (unit < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -16,6 +16,9 @@ public class AchievementService {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
     
     public List<Achievement> getAllAchievements() {
         return achievementRepository.findAll();
@@ -26,7 +29,12 @@ public class AchievementService {
     }
     
     public Achievement createAchievement(Achievement achievement) {
-        return achievementRepository.save(achievement);
+        Achievement saved = achievementRepository.save(achievement);
+        if (saved.getUser() != null && saved.getPoints() != null && saved.getPoints() != 0) {
+            userRepository.findById(saved.getUser().getUserId())
+                .ifPresent(user -> leaderboardService.recordAchievement(user, saved.getPoints()));
+        }
+        return saved;
     }
     
     public void awardAchievement(Long userId, String title, String description, String badgeType, Integer points) {
@@ -38,6 +46,9 @@ public class AchievementService {
         achievement.setBadgeType(badgeType);
         achievement.setPoints(points);
         achievementRepository.save(achievement);
+        if (points != null && points != 0) {
+            leaderboardService.recordAchievement(user, points);
+        }
     }
     
     public Long getUserAchievementCount(Long userId) {
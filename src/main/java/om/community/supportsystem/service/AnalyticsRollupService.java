@@ -0,0 +1,439 @@
+package om.community.supportsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import om.community.supportsystem.model.AnalyticsRollup;
+import om.community.supportsystem.model.RollupGranularity;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AnalyticsRollupRepository;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import om.community.supportsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Event-driven analytics counters.
+ *
+ * Services call the record* methods as things happen; counts are kept in memory for the
+ * dashboard window and flushed as deltas to hourly/daily rows in analytics_rollups.
+ * rebuildFromHistory() recomputes every row from the source tables.
+ *
+ * Each instance only counts its own events in memory, so after every flush the window is
+ * reloaded from analytics_rollups (which holds every instance's flushed deltas) with this
+ * instance's unflushed deltas laid on top. Other instances' events therefore show up on the
+ * dashboard within one flush interval.
+ */
+@Service
+public class AnalyticsRollupService {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    public static final String USER_REGISTERED = "USER_REGISTERED";
+    public static final String REQUEST_CREATED = "REQUEST_CREATED";
+    public static final String ASSIGNMENT_ACCEPTED = "ASSIGNMENT_ACCEPTED";
+    public static final String ASSIGNMENT_COMPLETED = "ASSIGNMENT_COMPLETED";
+    public static final String RESPONSE_SECONDS = "RESPONSE_SECONDS";
+    public static final String RESPONSE_SAMPLES = "RESPONSE_SAMPLES";
+
+    public static final int ACTIVE_VOLUNTEER_DAYS = 30;
+    private static final int DAILY_WINDOW_DAYS = 90;
+    private static final int HOURLY_WINDOW_HOURS = 48;
+
+    @Autowired
+    private AnalyticsRollupRepository rollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${analytics.rollup.hourly-retention-days:30}")
+    private int hourlyRetentionDays;
+
+    private record BucketKey(RollupGranularity granularity, LocalDateTime bucketStart, String metric) {}
+
+    // Live values for the in-memory window, read by the dashboard
+    private final Map<BucketKey, LongAdder> counters = new ConcurrentHashMap<>();
+
+    // Deltas not yet written to analytics_rollups
+    private final Map<BucketKey, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // All-time totals for the average response time
+    private final LongAdder totalResponseSeconds = new LongAdder();
+    private final LongAdder totalResponseSamples = new LongAdder();
+
+    // volunteerId -> last assignment or login
+    private final Map<Long, LocalDateTime> volunteerLastActive = new ConcurrentHashMap<>();
+
+    // Events take the read lock; reloads and the start of a rebuild take the write lock,
+    // so the window is never replaced while an event is half recorded
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    // Set while a rebuild runs: earlier events are counted from the source tables, later ones stay pending
+    private volatile LocalDateTime rebuildWatermark;
+
+    // ===== Event hooks =====
+
+    public void recordUserRegistered(LocalDateTime at) {
+        increment(USER_REGISTERED, at, 1);
+    }
+
+    public void recordRequestCreated(LocalDateTime at) {
+        increment(REQUEST_CREATED, at, 1);
+    }
+
+    public void recordAssignmentAccepted(Long volunteerId, LocalDateTime requestCreatedAt, LocalDateTime acceptedAt) {
+        increment(ASSIGNMENT_ACCEPTED, acceptedAt, 1);
+        if (requestCreatedAt != null && acceptedAt != null) {
+            long seconds = Math.max(0, Duration.between(requestCreatedAt, acceptedAt).getSeconds());
+            increment(RESPONSE_SECONDS, acceptedAt, seconds);
+            increment(RESPONSE_SAMPLES, acceptedAt, 1);
+        }
+        recordVolunteerActivity(volunteerId, acceptedAt);
+    }
+
+    public void recordAssignmentCompleted(LocalDateTime at) {
+        increment(ASSIGNMENT_COMPLETED, at, 1);
+    }
+
+    public void recordVolunteerActivity(Long volunteerId, LocalDateTime at) {
+        if (volunteerId == null || at == null) {
+            return;
+        }
+        volunteerLastActive.merge(volunteerId, at, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    private void increment(String metric, LocalDateTime at, long delta) {
+        if (at == null || delta == 0) {
+            return;
+        }
+        stateLock.readLock().lock();
+        try {
+            LocalDateTime watermark = rebuildWatermark;
+            if (watermark != null && at.isBefore(watermark)) {
+                // The running rebuild counts this one from the source tables
+                return;
+            }
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                BucketKey key = new BucketKey(granularity, bucketStart(granularity, at), metric);
+                counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+                // Added inside compute so it cannot land on an adder that eviction just removed
+                pending.compute(key, (k, adder) -> {
+                    LongAdder target = adder != null ? adder : new LongAdder();
+                    target.add(delta);
+                    return target;
+                });
+            }
+            addToTotals(metric, delta);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    private void addToTotals(String metric, long delta) {
+        if (RESPONSE_SECONDS.equals(metric)) {
+            totalResponseSeconds.add(delta);
+        } else if (RESPONSE_SAMPLES.equals(metric)) {
+            totalResponseSamples.add(delta);
+        }
+    }
+
+    private static LocalDateTime bucketStart(RollupGranularity granularity, LocalDateTime at) {
+        return at.truncatedTo(granularity == RollupGranularity.HOURLY ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+
+    // ===== Reads =====
+
+    /** Sum of a metric over the daily buckets in [from, to). */
+    public long sumDaily(String metric, LocalDate from, LocalDate to) {
+        long total = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LongAdder adder = counters.get(new BucketKey(RollupGranularity.DAILY, day.atStartOfDay(), metric));
+            if (adder != null) {
+                total += adder.sum();
+            }
+        }
+        return total;
+    }
+
+    public long countActiveVolunteers(LocalDateTime since) {
+        return volunteerLastActive.values().stream().filter(at -> at.isAfter(since)).count();
+    }
+
+    public long getResponseSampleCount() {
+        return totalResponseSamples.sum();
+    }
+
+    public double getAverageResponseHours() {
+        long samples = totalResponseSamples.sum();
+        return samples > 0 ? totalResponseSeconds.sum() / 3600.0 / samples : 0.0;
+    }
+
+    /** The most recent buckets for a metric, oldest first, including empty ones. */
+    public List<Map<String, Object>> getSeries(RollupGranularity granularity, String metric, int points) {
+        ChronoUnit unit = granularity == RollupGranularity.HOURLY ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        LocalDateTime current = bucketStart(granularity, LocalDateTime.now());
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (int i = points - 1; i >= 0; i--) {
+            LocalDateTime bucket = current.minus(i, unit);
+            LongAdder adder = counters.get(new BucketKey(granularity, bucket, metric));
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucketStart", bucket);
+            point.put("value", adder != null ? adder.sum() : 0L);
+            series.add(point);
+        }
+        return series;
+    }
+
+    // ===== Persistence =====
+
+    /**
+     * Write pending deltas to analytics_rollups, then reload the window from the table so it
+     * includes what other instances have flushed.
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollup.flush-interval-ms:30000}")
+    @PreDestroy
+    public synchronized void flushPendingDeltas() {
+        LocalDateTime now = LocalDateTime.now();
+        int written = 0;
+        for (Map.Entry<BucketKey, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                continue;
+            }
+            try {
+                persistDelta(entry.getKey(), delta, now);
+                written++;
+            } catch (Exception e) {
+                // Keep the delta for the next cycle
+                entry.getValue().add(delta);
+                log.warn("⚠️ Failed to flush analytics rollup " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        evictOutsideWindow(now);
+        try {
+            reloadFromStore();
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to reload analytics rollups: " + e.getMessage());
+        }
+        if (written > 0) {
+            log.debug("✅ Flushed " + written + " analytics rollup buckets");
+        }
+    }
+
+    private void persistDelta(BucketKey key, long delta, LocalDateTime now) {
+        if (rollupRepository.incrementValue(key.granularity(), key.bucketStart(), key.metric(), delta, now) > 0) {
+            return;
+        }
+        try {
+            rollupRepository.save(new AnalyticsRollup(key.granularity(), key.bucketStart(), key.metric(), delta));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row first
+            rollupRepository.incrementValue(key.granularity(), key.bucketStart(), key.metric(), delta, now);
+        }
+    }
+
+    private void evictOutsideWindow(LocalDateTime now) {
+        LocalDateTime hourlyFloor = now.truncatedTo(ChronoUnit.HOURS).minusHours(HOURLY_WINDOW_HOURS);
+        for (BucketKey key : pending.keySet()) {
+            if (key.bucketStart().isBefore(hourlyFloor)) {
+                // Atomic with increment(): a delta added meanwhile keeps the entry
+                pending.computeIfPresent(key, (k, adder) -> adder.sum() == 0 ? null : adder);
+            }
+        }
+        LocalDateTime activeFloor = now.minusDays(ACTIVE_VOLUNTEER_DAYS);
+        volunteerLastActive.values().removeIf(at -> at.isBefore(activeFloor));
+    }
+
+    @Scheduled(cron = "0 15 3 * * *")
+    public void pruneHourlyRollups() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(hourlyRetentionDays).truncatedTo(ChronoUnit.HOURS);
+        int removed = rollupRepository.deleteByGranularityAndBucketStartBefore(RollupGranularity.HOURLY, cutoff);
+        log.info("🔄 Pruned " + removed + " hourly analytics rollups older than " + cutoff);
+    }
+
+    // ===== Startup and backfill =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initialize() {
+        try {
+            if (rollupRepository.count() == 0) {
+                log.info("🔄 Analytics rollups are empty, backfilling from history");
+                rebuildFromHistory();
+            } else {
+                flushPendingDeltas();
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to initialize analytics rollups: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recompute every rollup row from users, requests and assignments.
+     * Only timestamps are streamed; no entities are loaded. Events recorded while it runs are
+     * kept as pending deltas and applied on top of the rebuilt rows.
+     */
+    public synchronized Map<String, Object> rebuildFromHistory() {
+        long started = System.currentTimeMillis();
+        LocalDateTime hourlyCutoff = LocalDateTime.now().minusDays(hourlyRetentionDays).truncatedTo(ChronoUnit.HOURS);
+
+        LocalDateTime watermark;
+        Map<BucketKey, LongAdder> superseded;
+        stateLock.writeLock().lock();
+        try {
+            // The source tables already include anything not yet flushed
+            watermark = LocalDateTime.now();
+            rebuildWatermark = watermark;
+            superseded = new HashMap<>(pending);
+            pending.clear();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        Integer rows;
+        try {
+            rows = transactionTemplate.execute(status -> {
+                Map<BucketKey, Long> totals = new HashMap<>();
+
+                try (Stream<LocalDateTime> createdAt = userRepository.streamCreatedAt()) {
+                    createdAt.forEach(at -> accumulate(totals, USER_REGISTERED, at, 1, hourlyCutoff, watermark));
+                }
+                try (Stream<LocalDateTime> createdAt = requestRepository.streamCreatedAt()) {
+                    createdAt.forEach(at -> accumulate(totals, REQUEST_CREATED, at, 1, hourlyCutoff, watermark));
+                }
+                try (Stream<Object[]> assignments = assignmentRepository.streamAssignmentTimestamps()) {
+                    assignments.forEach(row -> {
+                        LocalDateTime acceptedAt = (LocalDateTime) row[0];
+                        LocalDateTime requestCreatedAt = (LocalDateTime) row[1];
+                        LocalDateTime completedAt = (LocalDateTime) row[2];
+                        accumulate(totals, ASSIGNMENT_ACCEPTED, acceptedAt, 1, hourlyCutoff, watermark);
+                        accumulate(totals, ASSIGNMENT_COMPLETED, completedAt, 1, hourlyCutoff, watermark);
+                        if (acceptedAt != null && requestCreatedAt != null) {
+                            long seconds = Math.max(0, Duration.between(requestCreatedAt, acceptedAt).getSeconds());
+                            accumulate(totals, RESPONSE_SECONDS, acceptedAt, seconds, hourlyCutoff, watermark);
+                            accumulate(totals, RESPONSE_SAMPLES, acceptedAt, 1, hourlyCutoff, watermark);
+                        }
+                    });
+                }
+
+                List<AnalyticsRollup> rollups = new ArrayList<>(totals.size());
+                totals.forEach((key, value) ->
+                        rollups.add(new AnalyticsRollup(key.granularity(), key.bucketStart(), key.metric(), value)));
+                rollupRepository.deleteAllInBatch();
+                rollupRepository.saveAll(rollups);
+                return rollups.size();
+            });
+        } catch (RuntimeException e) {
+            // The old rows are still in place, so the deltas they were missing are too
+            stateLock.writeLock().lock();
+            try {
+                superseded.forEach((key, adder) -> pending.merge(key, adder, (a, b) -> { a.add(b.sum()); return a; }));
+                rebuildWatermark = null;
+            } finally {
+                stateLock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        rebuildWatermark = null;
+        reloadFromStore();
+
+        long duration = System.currentTimeMillis() - started;
+        log.info("✅ Rebuilt " + rows + " analytics rollup rows in " + duration + "ms");
+        Map<String, Object> result = new HashMap<>();
+        result.put("rows", rows);
+        result.put("durationMs", duration);
+        return result;
+    }
+
+    private static void accumulate(Map<BucketKey, Long> totals, String metric, LocalDateTime at,
+                                   long delta, LocalDateTime hourlyCutoff, LocalDateTime watermark) {
+        if (at == null || delta == 0 || !at.isBefore(watermark)) {
+            // Events from the watermark on are pending deltas and get added after the rebuild
+            return;
+        }
+        totals.merge(new BucketKey(RollupGranularity.DAILY, bucketStart(RollupGranularity.DAILY, at), metric), delta, Long::sum);
+        if (!at.isBefore(hourlyCutoff)) {
+            totals.merge(new BucketKey(RollupGranularity.HOURLY, bucketStart(RollupGranularity.HOURLY, at), metric), delta, Long::sum);
+        }
+    }
+
+    /**
+     * Replace the in-memory window and totals with what is stored in analytics_rollups plus the
+     * deltas not flushed yet. Only runs from flush, rebuild and initialize, which never overlap,
+     * so nothing is flushed between reading the table and applying it.
+     */
+    private void reloadFromStore() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime activeFloor = now.minusDays(ACTIVE_VOLUNTEER_DAYS);
+        StoredWindow stored = new StoredWindow(
+                rollupRepository.findByGranularityAndBucketStartGreaterThanEqual(
+                        RollupGranularity.DAILY, now.toLocalDate().minusDays(DAILY_WINDOW_DAYS).atStartOfDay()),
+                rollupRepository.findByGranularityAndBucketStartGreaterThanEqual(
+                        RollupGranularity.HOURLY, now.truncatedTo(ChronoUnit.HOURS).minusHours(HOURLY_WINDOW_HOURS)),
+                rollupRepository.sumByGranularityAndMetric(RollupGranularity.DAILY, RESPONSE_SECONDS),
+                rollupRepository.sumByGranularityAndMetric(RollupGranularity.DAILY, RESPONSE_SAMPLES));
+
+        stateLock.writeLock().lock();
+        try {
+            counters.clear();
+            totalResponseSeconds.reset();
+            totalResponseSeconds.add(stored.responseSeconds());
+            totalResponseSamples.reset();
+            totalResponseSamples.add(stored.responseSamples());
+            loadWindow(stored.daily());
+            loadWindow(stored.hourly());
+            pending.forEach((key, adder) -> {
+                long delta = adder.sum();
+                counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+                if (key.granularity() == RollupGranularity.DAILY) {
+                    addToTotals(key.metric(), delta);
+                }
+            });
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        // Merged rather than replaced: activity recorded here may not be committed yet
+        userRepository.findLastLoginsByRoleSince(UserRole.VOLUNTEER, activeFloor)
+                .forEach(row -> recordVolunteerActivity((Long) row[0], (LocalDateTime) row[1]));
+        assignmentRepository.findLatestAcceptanceByVolunteerSince(activeFloor)
+                .forEach(row -> recordVolunteerActivity((Long) row[0], (LocalDateTime) row[1]));
+    }
+
+    private record StoredWindow(List<AnalyticsRollup> daily, List<AnalyticsRollup> hourly,
+                                long responseSeconds, long responseSamples) {}
+
+    private void loadWindow(List<AnalyticsRollup> rollups) {
+        for (AnalyticsRollup rollup : rollups) {
+            LongAdder adder = new LongAdder();
+            adder.add(rollup.getValue());
+            counters.put(new BucketKey(rollup.getGranularity(), rollup.getBucketStart(), rollup.getMetric()), adder);
+        }
+    }
+}
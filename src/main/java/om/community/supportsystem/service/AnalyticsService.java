@@ -4,11 +4,10 @@ import om.community.supportsystem.model.RequestStatus;
 import om.community.supportsystem.model.UserRole;
 import om.community.supportsystem.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -16,6 +15,8 @@ import java.util.stream.Collectors;
 @Service
 public class AnalyticsService {
 
+    public static final String DASHBOARD_KEY = "dashboard";
+
     @Autowired
     private UserRepository userRepository;
 
@@ -31,8 +32,17 @@ public class AnalyticsService {
     @Autowired
     private NotificationRepository notificationRepository;
 
-    @Cacheable(value = "analytics", key = "'dashboard'")
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    // Kept fresh by the analytics cache's refresh-after-write policy (see CacheConfig)
+    @Cacheable(value = "analytics", key = "'" + DASHBOARD_KEY + "'")
     public Map<String, Object> getAnalyticsDashboard() {
+        return computeAnalyticsDashboard();
+    }
+
+    /** Builds the dashboard from the database, bypassing the cache. */
+    public Map<String, Object> computeAnalyticsDashboard() {
         Map<String, Object> analytics = new HashMap<>();
         
         // Real basic stats from database
@@ -92,37 +102,17 @@ public class AnalyticsService {
     }
     
     private long getActiveVolunteersCount() {
-        // Count volunteers who have at least one assignment or logged in recently
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        return userRepository.findByRole(UserRole.VOLUNTEER).stream()
-            .mapToLong(user -> {
-                boolean hasRecentAssignment = user.getAssignments() != null && 
-                    user.getAssignments().stream().anyMatch(a -> a.getAcceptedAt().isAfter(thirtyDaysAgo));
-                boolean hasRecentLogin = user.getLastLoginAt() != null && 
-                    user.getLastLoginAt().isAfter(thirtyDaysAgo);
-                return (hasRecentAssignment || hasRecentLogin) ? 1 : 0;
-            })
-            .sum();
+        // Volunteers who accepted an assignment or logged in within the last 30 days
+        LocalDateTime since = LocalDateTime.now().minusDays(AnalyticsRollupService.ACTIVE_VOLUNTEER_DAYS);
+        return analyticsRollupService.countActiveVolunteers(since);
     }
     
     private String getAverageResponseTime() {
-        // Calculate average time between request creation and assignment acceptance
-        List<om.community.supportsystem.model.Assignment> assignments = assignmentRepository.findAll();
-        if (assignments.isEmpty()) {
+        // Average time between request creation and assignment acceptance, from the rollup totals
+        if (analyticsRollupService.getResponseSampleCount() == 0) {
             return "N/A";
         }
-        
-        double averageHours = assignments.stream()
-            .filter(a -> a.getRequest() != null && a.getRequest().getCreatedAt() != null)
-            .mapToDouble(a -> {
-                LocalDateTime requestTime = a.getRequest().getCreatedAt();
-                LocalDateTime acceptTime = a.getAcceptedAt();
-                return java.time.Duration.between(requestTime, acceptTime).toHours();
-            })
-            .average()
-            .orElse(0.0);
-            
-        return String.format("%.1fh", averageHours);
+        return String.format("%.1fh", analyticsRollupService.getAverageResponseHours());
     }
 
     private List<Map<String, Object>> getPerformanceByProvince() {
@@ -248,35 +238,22 @@ public class AnalyticsService {
     private Map<String, Object> getGrowthMetrics() {
         Map<String, Object> growth = new HashMap<>();
         
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime thirtyDaysAgo = now.minusDays(30);
-        LocalDateTime sixtyDaysAgo = now.minusDays(60);
-        
-        // User growth
-        long currentUsers = userRepository.findByCreatedAtAfter(thirtyDaysAgo).size();
-        long previousUsers = userRepository.findByCreatedAtAfter(sixtyDaysAgo).size() - currentUsers;
-        double userGrowth = previousUsers > 0 ? ((currentUsers - previousUsers) * 100.0 / previousUsers) : 0;
-        growth.put("userGrowth", Math.round(userGrowth * 10.0) / 10.0);
-        
-        // Request growth
-        long currentRequests = requestRepository.findByCreatedAtAfter(thirtyDaysAgo).size();
-        long previousRequests = requestRepository.findByCreatedAtAfter(sixtyDaysAgo).size() - currentRequests;
-        double requestGrowth = previousRequests > 0 ? ((currentRequests - previousRequests) * 100.0 / previousRequests) : 0;
-        growth.put("requestGrowth", Math.round(requestGrowth * 10.0) / 10.0);
+        // Last 30 days (including today) against the 30 days before, from the daily rollups
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        LocalDate thirtyDaysAgo = tomorrow.minusDays(30);
+        LocalDate sixtyDaysAgo = tomorrow.minusDays(60);
         
-        // Assignment growth
-        long currentAssignments = assignmentRepository.findByAcceptedAtAfter(thirtyDaysAgo).size();
-        long previousAssignments = assignmentRepository.findByAcceptedAtAfter(sixtyDaysAgo).size() - currentAssignments;
-        double assignmentGrowth = previousAssignments > 0 ? ((currentAssignments - previousAssignments) * 100.0 / previousAssignments) : 0;
-        growth.put("assignmentGrowth", Math.round(assignmentGrowth * 10.0) / 10.0);
+        growth.put("userGrowth", growthPercent(AnalyticsRollupService.USER_REGISTERED, sixtyDaysAgo, thirtyDaysAgo, tomorrow));
+        growth.put("requestGrowth", growthPercent(AnalyticsRollupService.REQUEST_CREATED, sixtyDaysAgo, thirtyDaysAgo, tomorrow));
+        growth.put("assignmentGrowth", growthPercent(AnalyticsRollupService.ASSIGNMENT_ACCEPTED, sixtyDaysAgo, thirtyDaysAgo, tomorrow));
 
         return growth;
     }
 
-    /** Evict analytics cache every 5 minutes so data stays fresh. */
-    @Scheduled(fixedDelay = 5 * 60 * 1000)
-    @CacheEvict(value = "analytics", allEntries = true)
-    public void evictAnalyticsCache() {
-        // triggered automatically — no body needed
+    private double growthPercent(String metric, LocalDate previousFrom, LocalDate currentFrom, LocalDate to) {
+        long current = analyticsRollupService.sumDaily(metric, currentFrom, to);
+        long previous = analyticsRollupService.sumDaily(metric, previousFrom, currentFrom);
+        double growth = previous > 0 ? ((current - previous) * 100.0 / previous) : 0;
+        return Math.round(growth * 10.0) / 10.0;
     }
 }
\ No newline at end of file
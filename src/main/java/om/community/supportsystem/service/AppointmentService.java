@@ -0,0 +1,71 @@
+package om.community.supportsystem.service;
+
+import om.community.supportsystem.dto.AppointmentDetailsDTO;
+import om.community.supportsystem.dto.CreateAppointmentDTO;
+import om.community.supportsystem.model.Appointment;
+import om.community.supportsystem.model.AppointmentStatus;
+import om.community.supportsystem.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class AppointmentService {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    public Appointment createAppointment(CreateAppointmentDTO dto) {
+        if (dto.getUserId() == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        Appointment appointment = new Appointment();
+        appointment.setUserId(dto.getUserId());
+        appointment.setVolunteerId(dto.getVolunteerId());
+        appointment.setAssignmentId(dto.getAssignmentId());
+        appointment.setTitle(dto.getTitle());
+        appointment.setScheduledAt(dto.getScheduledAt());
+        appointment.setLocation(dto.getLocation());
+        appointment.setNotes(dto.getNotes());
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        appointment.setCreatedAt(LocalDateTime.now());
+        return appointmentRepository.save(appointment);
+    }
+
+    public List<Appointment> getAppointmentsByUser(Long userId) {
+        return appointmentRepository.findByParticipant(userId);
+    }
+
+    public Page<Appointment> getAppointmentsByUser(Long userId, Pageable pageable) {
+        return appointmentRepository.findByParticipant(userId, pageable);
+    }
+
+    public List<Appointment> getAppointmentsByAssignment(Long assignmentId) {
+        return appointmentRepository.findByAssignmentIdOrderByScheduledAt(assignmentId);
+    }
+
+    public Appointment updateAppointment(Long id, AppointmentDetailsDTO details) {
+        Appointment appointment = appointmentRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+        if (details.getTitle() != null) appointment.setTitle(details.getTitle());
+        if (details.getScheduledAt() != null) appointment.setScheduledAt(details.getScheduledAt());
+        if (details.getLocation() != null) appointment.setLocation(details.getLocation());
+        if (details.getNotes() != null) appointment.setNotes(details.getNotes());
+        if (details.getVolunteerId() != null) appointment.setVolunteerId(details.getVolunteerId());
+        if (details.getAssignmentId() != null) appointment.setAssignmentId(details.getAssignmentId());
+        appointment.setUpdatedAt(LocalDateTime.now());
+        return appointmentRepository.save(appointment);
+    }
+
+    public Appointment cancelAppointment(Long id) {
+        Appointment appointment = appointmentRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+        appointment.setStatus(AppointmentStatus.CANCELLED);
+        appointment.setUpdatedAt(LocalDateTime.now());
+        return appointmentRepository.save(appointment);
+    }
+}
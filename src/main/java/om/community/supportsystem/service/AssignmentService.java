@@ -7,8 +7,12 @@ import om.community.supportsystem.model.User;
 import om.community.supportsystem.repository.AssignmentRepository;
 import om.community.supportsystem.repository.RequestRepository;
 import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.dto.AssignmentResponseDTO;
+import om.community.supportsystem.dto.CursorPage;
+import om.community.supportsystem.util.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
@@ -31,6 +35,15 @@ public class AssignmentService {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private VolunteerRoutingService volunteerRoutingService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
     
     // Create
     public Assignment createAssignment(Assignment assignment) {
@@ -74,6 +87,8 @@ public class AssignmentService {
         log.info("✅ Assignment validation passed, saving...");
         Assignment savedAssignment = assignmentRepository.save(assignment);
         log.info("✅ Assignment saved with ID: " + savedAssignment.getAssignmentId());
+        analyticsRollupService.recordAssignmentAccepted(volunteer.getUserId(), request.getCreatedAt(), savedAssignment.getAcceptedAt());
+        volunteerRoutingService.recordAssignmentOpened(volunteer.getUserId());
         
         return savedAssignment;
     }
@@ -82,11 +97,37 @@ public class AssignmentService {
     public List<Assignment> getAllAssignments() {
         return assignmentRepository.findAll();
     }
+
+    /** Keyset slice of all assignments on (acceptedAt, id), newest first. */
+    public CursorPage<AssignmentResponseDTO> getAssignmentSlice(String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<AssignmentResponseDTO> fetched = after == null
+                ? assignmentRepository.findViewSliceNewestFirst(limit)
+                : assignmentRepository.findViewSliceNewestFirstAfter(after.createdAt(), after.id(), limit);
+        return CursorPage.of(fetched, size, a -> new SeekCursor(a.getAcceptedAt(), a.getAssignmentId()),
+                includeTotal ? assignmentRepository.count() : null);
+    }
+
+    public CursorPage<AssignmentResponseDTO> getAssignmentSliceByVolunteer(Long volunteerId, String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<AssignmentResponseDTO> fetched = after == null
+                ? assignmentRepository.findViewSliceByVolunteer(volunteerId, limit)
+                : assignmentRepository.findViewSliceByVolunteerAfter(volunteerId, after.createdAt(), after.id(), limit);
+        return CursorPage.of(fetched, size, a -> new SeekCursor(a.getAcceptedAt(), a.getAssignmentId()),
+                includeTotal ? assignmentRepository.countByVolunteerUserId(volunteerId) : null);
+    }
     
     public Optional<Assignment> getAssignmentById(Long id) {
         return assignmentRepository.findById(id);
     }
     
+    /** Assignment with request, citizen, volunteer and locations loaded, for read-only responses. */
+    public Optional<Assignment> getAssignmentDetail(Long id) {
+        return assignmentRepository.findWithParticipantsByAssignmentId(id);
+    }
+    
     public List<Assignment> getAssignmentsByVolunteer(User volunteer) {
         return assignmentRepository.findByVolunteer(volunteer);
     }
@@ -136,12 +177,19 @@ public class AssignmentService {
     public Assignment completeAssignment(Long id) {
         return assignmentRepository.findById(id)
                 .map(assignment -> {
+                    boolean firstCompletion = assignment.getCompletedAt() == null;
                     assignment.setCompletedAt(LocalDateTime.now());
                     // Update request status to COMPLETED
                     Request request = assignment.getRequest();
                     request.setStatus(RequestStatus.COMPLETED);
                     requestRepository.save(request);
-                    return assignmentRepository.save(assignment);
+                    Assignment saved = assignmentRepository.save(assignment);
+                    analyticsRollupService.recordAssignmentCompleted(saved.getCompletedAt());
+                    volunteerRoutingService.recordAssignmentClosed(saved.getVolunteer().getUserId());
+                    if (firstCompletion) {
+                        leaderboardService.recordAssignmentCompleted(saved.getVolunteer());
+                    }
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + id));
     }
@@ -163,4 +211,8 @@ public class AssignmentService {
     public long countCompletedAssignmentsByVolunteer(User volunteer) {
         return assignmentRepository.countByVolunteerAndCompletedAtIsNotNull(volunteer);
     }
+
+    public long countCompletedAssignments() {
+        return assignmentRepository.countByCompletedAtIsNotNull();
+    }
 }
\ No newline at end of file
@@ -5,11 +5,13 @@ import om.community.supportsystem.dto.LoginRequest;
 import om.community.supportsystem.dto.RegisterRequest;
 import om.community.supportsystem.model.Location;
 import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
 import om.community.supportsystem.repository.UserRepository;
 import om.community.supportsystem.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +42,15 @@ public class AuthService {
     
     @Autowired
     private SkillService skillService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private VolunteerRoutingService volunteerRoutingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
     
     private final Random random = new Random();
     
@@ -80,18 +91,13 @@ public class AuthService {
         user.setEmailVerificationToken(UUID.randomUUID().toString());
         user.setEmailVerified(false); // Ensure email is not verified initially
         
-        user = userRepository.save(user);
-        
-        // Send verification email - this is critical, don't continue if it fails
-        try {
-            log.info("🔄 Sending verification email to: " + user.getEmail());
+        // The user and their verification email commit together; the outbox worker sends it
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user);
             emailService.sendEmailVerification(user.getEmail(), user.getEmailVerificationToken());
-            log.info("✅ Verification email sent successfully");
-        } catch (Exception e) {
-            log.error(String.valueOf("❌ Failed to send verification email: " + e.getMessage()));
-            log.error("Unexpected error", e);
-            // Don't fail registration, but log the issue
-        }
+        });
+        analyticsRollupService.recordUserRegistered(user.getCreatedAt());
+        volunteerRoutingService.indexUser(user);
         
         // Don't generate JWT token - user needs to verify email first
         return new AuthResponse("Registration successful. Please check your email to verify your account.", false);
@@ -123,7 +129,6 @@ public class AuthService {
         
         // Reset failed attempts on successful password verification
         user.setFailedLoginAttempts(0);
-        user.setLastLoginAt(LocalDateTime.now());
         
         // Always require OTP for login (regardless of email verification status)
         if (request.getTwoFactorCode() == null || request.getTwoFactorCode().isEmpty()) {
@@ -131,14 +136,15 @@ public class AuthService {
             String code = String.format("%06d", random.nextInt(999999));
             user.setTwoFactorSecret(code);
             user.setPasswordResetTokenExpiry(LocalDateTime.now().plusMinutes(5)); // OTP expires in 5 minutes
-            userRepository.save(user);
             
             try {
-                log.info("🔄 Sending login OTP to: " + user.getEmail());
-                emailService.sendLoginOTP(user.getEmail(), code);
-                log.info("✅ Login OTP sent successfully to: " + user.getEmail());
+                // Queued with the code it carries; delivery happens after commit
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.save(user);
+                    emailService.sendLoginOTP(user.getEmail(), code);
+                });
             } catch (Exception e) {
-                log.error(String.valueOf("❌ Failed to send login OTP: " + e.getMessage()));
+                log.error(String.valueOf("❌ Failed to queue login OTP: " + e.getMessage()));
             log.error("Unexpected error", e);
                 throw new RuntimeException("Failed to send verification code. Please try again.");
             }
@@ -168,6 +174,12 @@ public class AuthService {
             
             user.setTwoFactorSecret(null); // Clear OTP code
             user.setPasswordResetTokenExpiry(null); // Clear expiry
+
+            // Only a verified OTP completes the login
+            user.setLastLoginAt(LocalDateTime.now());
+            if (user.getRole() == UserRole.VOLUNTEER) {
+                analyticsRollupService.recordVolunteerActivity(user.getUserId(), user.getLastLoginAt());
+            }
         }
         
         // Issue refresh token
@@ -230,19 +242,17 @@ public class AuthService {
         
         log.info("💾 Saving reset token for user: " + user.getUserId());
         log.info("🔑 Reset token: " + resetToken);
-        userRepository.save(user);
-        log.info("✅ Reset token saved successfully");
         
         try {
-            log.info("📧 Attempting to send password reset email to: " + email);
-            log.info("📧 EmailService instance: " + (emailService != null ? "Available" : "NULL"));
-            emailService.sendPasswordResetEmail(email, resetToken);
-            log.info("✅ Password reset email sent successfully");
+            // Token and email commit together; the outbox worker sends it
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.save(user);
+                emailService.sendPasswordResetEmail(email, resetToken);
+            });
+            log.info("✅ Reset token saved and email queued");
         } catch (Exception e) {
-            log.error(String.valueOf("❌ Failed to send password reset email: " + e.getMessage()));
+            log.error(String.valueOf("❌ Failed to queue password reset email: " + e.getMessage()));
             log.error("Unexpected error", e);
-            log.error(String.valueOf("🔗 Reset URL: https://community-support-system.vercel.app/reset-password?token=" + resetToken));
-            // Token is saved in DB, so even if email fails, manual reset is possible via logs
             throw new RuntimeException("Failed to send password reset email. Please try again later.");
         }
     }
@@ -335,12 +345,14 @@ public class AuthService {
         // Generate new verification token
         String newToken = UUID.randomUUID().toString();
         user.setEmailVerificationToken(newToken);
-        userRepository.save(user);
         
-        // Send verification email
+        // Save the token and queue the email together
         try {
-            emailService.sendEmailVerification(email, newToken);
-            log.info("✅ Verification email resent to: " + email);
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.save(user);
+                emailService.sendEmailVerification(email, newToken);
+            });
+            log.info("✅ Verification email queued for: " + email);
         } catch (Exception e) {
             log.error(String.valueOf("❌ Failed to resend verification email: " + e.getMessage()));
             throw new RuntimeException("Failed to send verification email. Please try again later.");
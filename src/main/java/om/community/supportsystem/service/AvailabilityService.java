@@ -0,0 +1,46 @@
+package om.community.supportsystem.service;
+
+import om.community.supportsystem.model.VolunteerAvailability;
+import om.community.supportsystem.repository.VolunteerAvailabilityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class AvailabilityService {
+
+    @Autowired
+    private VolunteerAvailabilityRepository availabilityRepository;
+
+    // Volunteers who never saved anything are reported OFFLINE with no slots
+    public VolunteerAvailability getAvailability(Long volunteerId) {
+        return availabilityRepository.findById(volunteerId).orElseGet(() -> new VolunteerAvailability(volunteerId));
+    }
+
+    public VolunteerAvailability saveAvailability(Long volunteerId, String status, List<Object> slots) {
+        VolunteerAvailability availability = getAvailability(volunteerId);
+        if (status != null) {
+            availability.setStatus(status);
+        }
+        availability.setSlots(slots != null ? new ArrayList<>(slots) : new ArrayList<>());
+        availability.setUpdatedAt(LocalDateTime.now());
+        return availabilityRepository.save(availability);
+    }
+
+    public VolunteerAvailability updateStatus(Long volunteerId, String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("status is required");
+        }
+        VolunteerAvailability availability = getAvailability(volunteerId);
+        availability.setStatus(status);
+        availability.setUpdatedAt(LocalDateTime.now());
+        return availabilityRepository.save(availability);
+    }
+
+    public List<VolunteerAvailability> getVolunteersByStatus(String status) {
+        return availabilityRepository.findByStatus(status);
+    }
+}
@@ -0,0 +1,131 @@
+package om.community.supportsystem.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Inspection and invalidation of the application caches (@Cacheable, see CacheConfig) and of
+ * Hibernate's second-level cache regions (see SecondLevelCacheConfig), for the admin API.
+ */
+@Service
+public class CacheAdminService {
+    private static final Logger log = LoggerFactory.getLogger(CacheAdminService.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Object> describeCaches() {
+        List<Map<String, Object>> application = new ArrayList<>();
+        for (String name : new TreeSet<>(cacheManager.getCacheNames())) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                application.add(describe(name, caffeineCache.getNativeCache()));
+            }
+        }
+
+        List<Map<String, Object>> hibernate = new ArrayList<>();
+        Statistics statistics = sessionFactory().getStatistics();
+        for (String region : new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()))) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("name", region);
+                entry.put("hits", regionStatistics.getHitCount());
+                entry.put("misses", regionStatistics.getMissCount());
+                entry.put("puts", regionStatistics.getPutCount());
+                entry.put("hitRate", hitRate(regionStatistics.getHitCount(), regionStatistics.getMissCount()));
+                hibernate.add(entry);
+            }
+        }
+
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("application", application);
+        caches.put("hibernate", hibernate);
+        caches.put("hibernateStatisticsEnabled", statistics.isStatisticsEnabled());
+        return caches;
+    }
+
+    /**
+     * Empties one application cache or Hibernate region.
+     *
+     * @throws IllegalArgumentException if no cache or region has that name
+     */
+    public void invalidate(String name) {
+        Cache cache = cacheManager.getCacheNames().contains(name) ? cacheManager.getCache(name) : null;
+        if (cache != null) {
+            cache.invalidate();
+            log.info("🔄 Invalidated cache " + name);
+            return;
+        }
+
+        CacheImplementor hibernateCache = sessionFactory().getCache();
+        Region region = hibernateCache.getRegion(name);
+        if (region == null) {
+            throw new IllegalArgumentException("Unknown cache: " + name);
+        }
+        region.clear();
+        // Cached query results are only valid against the table timestamps they were checked with
+        if (RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(name)) {
+            hibernateCache.evictQueryRegions();
+        }
+        log.info("🔄 Invalidated second-level cache region " + name);
+    }
+
+    public void invalidateAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.invalidate();
+            }
+        }
+        sessionFactory().getCache().evictAllRegions();
+        log.info("🔄 Invalidated all caches");
+    }
+
+    private Map<String, Object> describe(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", name);
+        entry.put("size", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> entry.put("maximumSize", eviction.getMaximum()));
+        cache.policy().expireAfterWrite().ifPresent(expiry -> entry.put("expireAfterWrite", expiry.getExpiresAfter().toString()));
+        cache.policy().refreshAfterWrite().ifPresent(refresh -> entry.put("refreshAfterWrite", refresh.getRefreshesAfter().toString()));
+        entry.put("hits", stats.hitCount());
+        entry.put("misses", stats.missCount());
+        entry.put("evictions", stats.evictionCount());
+        entry.put("loadFailures", stats.loadFailureCount());
+        entry.put("hitRate", hitRate(stats.hitCount(), stats.missCount()));
+        return entry;
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    private static double hitRate(long hits, long misses) {
+        long requests = hits + misses;
+        return requests > 0 ? Math.round(hits * 1000.0 / requests) / 10.0 : 0;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -29,51 +30,72 @@ public class DashboardService {
     @Autowired
     private LocationRepository locationRepository;
     
+    /**
+     * Every dashboard counter from six grouped aggregate queries, however many users,
+     * requests or locations exist.
+     */
     public DashboardStats getDashboardStats() {
         DashboardStats stats = new DashboardStats();
+        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
         
-        // User statistics
-        stats.setTotalUsers(userRepository.count());
-        stats.setTotalCitizens(userRepository.countByRole(UserRole.CITIZEN));
-        stats.setTotalVolunteers(userRepository.countByRole(UserRole.VOLUNTEER));
-        stats.setTotalAdmins(userRepository.countByRole(UserRole.ADMIN));
+        // User statistics and new users in the last 7 days
+        long totalUsers = 0;
+        long newUsers = 0;
+        for (Object[] row : userRepository.countByRoleWithCreatedSince(weekAgo)) {
+            long count = toLong(row[1]);
+            totalUsers += count;
+            newUsers += toLong(row[2]);
+            switch ((UserRole) row[0]) {
+                case CITIZEN -> stats.setTotalCitizens(count);
+                case VOLUNTEER -> stats.setTotalVolunteers(count);
+                case ADMIN -> stats.setTotalAdmins(count);
+            }
+        }
+        stats.setTotalUsers(totalUsers);
+        stats.setNewUsersThisWeek(newUsers);
         
-        // Request statistics
-        stats.setTotalRequests(requestRepository.count());
-        stats.setPendingRequests(requestRepository.countByStatus(RequestStatus.PENDING));
-        stats.setAcceptedRequests(requestRepository.countByStatus(RequestStatus.ACCEPTED));
-        stats.setCompletedRequests(requestRepository.countByStatus(RequestStatus.COMPLETED));
+        // Request statistics and new requests in the last 7 days
+        long totalRequests = 0;
+        long newRequests = 0;
+        for (Object[] row : requestRepository.countByStatusWithCreatedSince(weekAgo)) {
+            long count = toLong(row[1]);
+            totalRequests += count;
+            newRequests += toLong(row[2]);
+            switch ((RequestStatus) row[0]) {
+                case PENDING -> stats.setPendingRequests(count);
+                case ACCEPTED -> stats.setAcceptedRequests(count);
+                case COMPLETED -> stats.setCompletedRequests(count);
+                default -> { }
+            }
+        }
+        stats.setTotalRequests(totalRequests);
+        stats.setNewRequestsThisWeek(newRequests);
         
         // Assignment statistics
-        stats.setTotalAssignments(assignmentRepository.count());
-        stats.setCompletedAssignments(assignmentRepository.countByCompletedAtIsNotNull());
-        stats.setPendingAssignments(assignmentRepository.countByCompletedAtIsNull());
+        Object[] assignments = firstRow(assignmentRepository.summarizeCompletion(), 2);
+        stats.setTotalAssignments(toLong(assignments[0]));
+        stats.setCompletedAssignments(toLong(assignments[1]));
+        stats.setPendingAssignments(toLong(assignments[0]) - toLong(assignments[1]));
         
         // Notification statistics
-        stats.setTotalNotifications(notificationRepository.count());
-        stats.setUnreadNotifications(notificationRepository.countByIsReadFalse());
-        
-        // Location statistics
-        stats.setTotalLocations(locationRepository.count());
+        Object[] notifications = firstRow(notificationRepository.summarizeReadState(), 2);
+        stats.setTotalNotifications(toLong(notifications[0]));
+        stats.setUnreadNotifications(toLong(notifications[1]));
         
-        // Recent activity (last 7 days)
-        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        stats.setNewUsersThisWeek(userRepository.findByCreatedAtAfter(weekAgo).size());
-        stats.setNewRequestsThisWeek(requestRepository.findByCreatedAtAfter(weekAgo).size());
-        
-        // Province-wise statistics
+        // Location and province-wise statistics
         Map<String, Long> usersByProvince = new HashMap<>();
         Map<String, Long> requestsByProvince = new HashMap<>();
-        
-        locationRepository.findAll().forEach(location -> {
-            String province = location.getProvince();
-            usersByProvince.put(province, (long) location.getUsers().size());
-            requestsByProvince.put(province, 
-                location.getUsers().stream()
-                    .mapToLong(user -> user.getRequests().size())
-                    .sum());
-        });
-        
+        long totalLocations = 0;
+        for (Object[] row : locationRepository.countLocationsAndUsersByProvince()) {
+            String province = (String) row[0];
+            totalLocations += toLong(row[1]);
+            usersByProvince.put(province, toLong(row[2]));
+            requestsByProvince.put(province, 0L);
+        }
+        for (Object[] row : requestRepository.countByCitizenProvince()) {
+            requestsByProvince.put((String) row[0], toLong(row[1]));
+        }
+        stats.setTotalLocations(totalLocations);
         stats.setUsersByProvince(usersByProvince);
         stats.setRequestsByProvince(requestsByProvince);
         
@@ -86,18 +108,30 @@ public class DashboardService {
         DashboardStats stats = getDashboardStats();
         dashboard.put("stats", stats);
         
-        // System health metrics
+        // System health metrics, derived from one pass over the user flags
+        Object[] flags = firstRow(userRepository.summarizeAccountFlags(), 3);
+        long lockedAccounts = toLong(flags[0]);
+        long verifiedEmails = toLong(flags[1]);
         Map<String, Object> systemHealth = new HashMap<>();
-        systemHealth.put("activeUsers", userRepository.countByAccountLockedFalse());
-        systemHealth.put("lockedAccounts", userRepository.countByAccountLockedTrue());
-        systemHealth.put("verifiedEmails", userRepository.countByEmailVerifiedTrue());
-        systemHealth.put("unverifiedEmails", userRepository.countByEmailVerifiedFalse());
-        systemHealth.put("twoFactorEnabled", userRepository.countByTwoFactorEnabledTrue());
+        systemHealth.put("activeUsers", stats.getTotalUsers() - lockedAccounts);
+        systemHealth.put("lockedAccounts", lockedAccounts);
+        systemHealth.put("verifiedEmails", verifiedEmails);
+        systemHealth.put("unverifiedEmails", stats.getTotalUsers() - verifiedEmails);
+        systemHealth.put("twoFactorEnabled", toLong(flags[2]));
         systemHealth.put("totalNotifications", stats.getTotalNotifications());
-        systemHealth.put("readNotifications", notificationRepository.countByIsReadTrue());
+        systemHealth.put("readNotifications", stats.getTotalNotifications() - stats.getUnreadNotifications());
         
         dashboard.put("systemHealth", systemHealth);
         
         return dashboard;
     }
+    
+    // Aggregate queries over an empty table return a row of nulls (or, for some drivers, no row)
+    private static Object[] firstRow(List<Object[]> rows, int columns) {
+        return rows.isEmpty() ? new Object[columns] : rows.get(0);
+    }
+    
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
 }
\ No newline at end of file
@@ -1,132 +1,58 @@
 package om.community.supportsystem.service;
 
+import om.community.supportsystem.email.EmailOutboxService;
+import om.community.supportsystem.email.OutboundEmail;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Account emails. Each method renders the message and queues it in the email outbox, joining
+ * the caller's transaction when there is one, and returns without contacting a provider; the
+ * outbox worker delivers it once that transaction commits. The outbox encrypts the bodies and
+ * the dedup keys only carry a fingerprint of the code or token.
+ */
 @Service
 public class EmailService {
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
-    
-    @Autowired(required = false)
-    private SendGridEmailService sendGridEmailService;
-    
-    @Value("${spring.mail.username:}")
-    private String fromEmail;
-    
-    public void sendPasswordResetEmail(String toEmail, String resetToken) {
-        try {
-            log.info("🔄 Attempting to send password reset email to: " + toEmail);
-
-            if (sendGridEmailService != null) {
-                log.info("📧 Using SendGrid for password reset email delivery");
-                sendGridEmailService.sendPasswordResetEmail(toEmail, "User", resetToken);
-                log.info("✅ Password reset email sent successfully via SendGrid to: " + toEmail);
-                return;
-            }
 
-            // Check if SMTP is available
-            if (mailSender != null && fromEmail != null && !fromEmail.isEmpty()) {
-                log.info("📧 Using SMTP for email delivery");
-                sendPasswordResetEmailSMTP(toEmail, resetToken);
-                return;
-            }
+    @Autowired
+    private EmailOutboxService emailOutboxService;
 
-            // Email service unavailable - log token for manual use
-            log.error("⚠️ Email service unavailable. Logging reset token for manual use:");
-            log.error(String.valueOf("🔑 MANUAL RESET TOKEN for " + toEmail + ": " + resetToken));
-            log.error(String.valueOf("🔗 MANUAL RESET URL: " + getFrontendUrl()) + "/reset-password?token=" + resetToken);
-            throw new RuntimeException("No email service available to send password reset email");
+    @Autowired(required = false)
+    private SendGridEmailService sendGridEmailService;
 
-        } catch (Exception e) {
-            log.error(String.valueOf("❌ Failed to send password reset email to " + toEmail + ": " + e.getMessage()));
-            log.error(String.valueOf("🔗 MANUAL RESET URL: " + getFrontendUrl()) + "/reset-password?token=" + resetToken);
-            throw new RuntimeException("Failed to send password reset email: " + e.getMessage(), e);
-        }
-    }
-    
-    public void sendEmailVerification(String toEmail, String verificationToken) {
-        try {
-            log.info("🔄 Sending verification email to: " + toEmail);
-            
-            if (sendGridEmailService != null) {
-                log.info("📧 Using SendGrid for email delivery");
-                sendGridEmailService.sendVerificationEmail(toEmail, "User", verificationToken);
-                log.info("✅ Verification email sent successfully");
-                return;
-            }
-            
-            // Check if SMTP is available
-            if (mailSender != null && fromEmail != null && !fromEmail.isEmpty()) {
-                log.info("📧 Using SMTP for email delivery");
-                sendEmailVerificationSMTP(toEmail, verificationToken);
-                return;
-            }
-            
-            // Email service unavailable - log token for manual use
-            log.error("⚠️ Email service unavailable. Logging verification token for manual use:");
-            log.error(String.valueOf("🔑 MANUAL VERIFICATION TOKEN for " + toEmail + ": " + verificationToken));
-            log.error(String.valueOf("🔗 MANUAL VERIFICATION URL: " + getFrontendUrl()) + "/verify-email?token=" + verificationToken);
-            
-        } catch (Exception e) {
-            log.error(String.valueOf("❌ Failed to send verification email to " + toEmail + ": " + e.getMessage()));
-            // Don't throw exception - allow registration to continue
-        }
-    }
-    
-    private void sendPasswordResetEmailSMTP(String toEmail, String resetToken) {
-        if (mailSender == null) {
-            throw new RuntimeException("SMTP mail sender not available");
-        }
-        
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Password Reset - Community Support System");
-        
-        String frontendUrl = getFrontendUrl();
-        
-        message.setText("Hello,\n\n" +
+    public void sendPasswordResetEmail(String toEmail, String resetToken) {
+        String subject = "Password Reset - Community Support System";
+        String text = "Hello,\n\n" +
                 "You requested a password reset for your Community Support System account.\n\n" +
                 "Click the link below to reset your password:\n" +
-                frontendUrl + "/reset-password?token=" + resetToken +
+                getFrontendUrl() + "/reset-password?token=" + resetToken +
                 "\n\nThis link will expire in 1 hour.\n\n" +
-                "If you didn't request this reset, please ignore this email.");
-        
-        mailSender.send(message);
-        log.info("✅ Password reset email sent successfully to: " + toEmail);
+                "If you didn't request this reset, please ignore this email.";
+        String html = sendGridEmailService != null
+                ? sendGridEmailService.buildPasswordResetEmailTemplate("User", resetToken)
+                : toHtml(text);
+        emailOutboxService.enqueue(emailOutboxService.dedupKey("password-reset", resetToken), new OutboundEmail(toEmail, subject, html, text));
+        log.info("📧 Password reset email queued for: " + toEmail);
     }
-    
-    private void sendEmailVerificationSMTP(String toEmail, String verificationToken) {
-        if (mailSender == null) {
-            throw new RuntimeException("SMTP mail sender not available");
-        }
-        
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Email Verification - Community Support System");
-        
-        String frontendUrl = getFrontendUrl();
-        
-        message.setText("Welcome to Community Support System!\n\n" +
+
+    public void sendEmailVerification(String toEmail, String verificationToken) {
+        String subject = "Email Verification - Community Support System";
+        String text = "Welcome to Community Support System!\n\n" +
                 "Please click the link below to verify your email address:\n" +
-                frontendUrl + "/verify-email?token=" + verificationToken +
+                getFrontendUrl() + "/verify-email?token=" + verificationToken +
                 "\n\nThis link will expire in 24 hours.\n\n" +
-                "If you didn't create an account, please ignore this email.");
-        
-        mailSender.send(message);
-        log.info("✅ Verification email sent successfully to: " + toEmail);
+                "If you didn't create an account, please ignore this email.";
+        String html = sendGridEmailService != null
+                ? sendGridEmailService.buildVerificationEmailTemplate("User", verificationToken)
+                : toHtml(text);
+        emailOutboxService.enqueue(emailOutboxService.dedupKey("verify-email", verificationToken), new OutboundEmail(toEmail, subject, html, text));
+        log.info("📧 Verification email queued for: " + toEmail);
     }
-    
+
     private String getFrontendUrl() {
         // Use FRONTEND_URL env var (set in fly.toml or locally)
         String frontendUrl = System.getenv("FRONTEND_URL");
@@ -136,94 +62,49 @@ public class EmailService {
         // Default local frontend URL
         return "http://localhost:3001";
     }
-    
+
     public void sendTwoFactorCode(String toEmail, String code) {
-        try {
-            if (sendGridEmailService != null) {
-                String subject = "Two-Factor Authentication Code - Community Support System";
-                String content = String.format(
-                    "<h2>Two-Factor Authentication</h2>" +
-                    "<p>Your verification code is: <strong>%s</strong></p>" +
-                    "<p>This code will expire in 5 minutes.</p>" +
-                    "<p>If you didn't request this code, please ignore this email.</p>",
-                    code
-                );
-                sendGridEmailService.sendEmail(toEmail, subject, content);
-                return;
-            }
-            
-            // Check if SMTP is available
-            if (mailSender != null && fromEmail != null && !fromEmail.isEmpty()) {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setFrom(fromEmail);
-                message.setTo(toEmail);
-                message.setSubject("Two-Factor Authentication Code - Community Support System");
-                message.setText("Your verification code is: " + code +
-                        "\n\nThis code will expire in 5 minutes." +
-                        "\n\nIf you didn't request this code, please ignore this email.");
-                
-                mailSender.send(message);
-                log.info("2FA code sent to: " + toEmail);
-                return;
-            }
-            
-            // Email service unavailable
-            log.error(String.valueOf("⚠️ Email service unavailable. 2FA code for " + toEmail + ": " + code));
-            
-        } catch (Exception e) {
-            log.error(String.valueOf("Failed to send 2FA code: " + e.getMessage()));
-            log.error(String.valueOf("🔑 MANUAL 2FA CODE for " + toEmail + ": " + code));
-        }
+        String subject = "Two-Factor Authentication Code - Community Support System";
+        String html = String.format(
+            "<h2>Two-Factor Authentication</h2>" +
+            "<p>Your verification code is: <strong>%s</strong></p>" +
+            "<p>This code will expire in 5 minutes.</p>" +
+            "<p>If you didn't request this code, please ignore this email.</p>",
+            code
+        );
+        String text = "Your verification code is: " + code +
+                "\n\nThis code will expire in 5 minutes." +
+                "\n\nIf you didn't request this code, please ignore this email.";
+        emailOutboxService.enqueue(emailOutboxService.dedupKey("two-factor", toEmail + ":" + code), new OutboundEmail(toEmail, subject, html, text));
+        log.info("📧 2FA code queued for: " + toEmail);
     }
-    
+
     public void sendLoginOTP(String toEmail, String code) {
-        try {
-            log.info("🔄 Attempting to send login OTP to: " + toEmail);
-            
-            if (sendGridEmailService != null) {
-                log.info("📧 Using SendGrid for OTP delivery");
-                String subject = "Login Verification Code - Community Support System";
-                String content = String.format(
-                    "<div style='font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto;'>" +
-                    "<h2 style='color: #2c5aa0;'>Login Verification</h2>" +
-                    "<p>Hello,</p>" +
-                    "<p>Someone is trying to log in to your Community Support System account. Please use the verification code below to complete your login:</p>" +
-                    "<div style='background-color: #f8f9fa; padding: 20px; border-radius: 8px; text-align: center; margin: 20px 0;'>" +
-                    "<h1 style='color: #2c5aa0; font-size: 32px; margin: 0; letter-spacing: 4px;'>%s</h1>" +
-                    "</div>" +
-                    "<p><strong>This code will expire in 5 minutes.</strong></p>" +
-                    "<p>If you didn't attempt to log in, please ignore this email and consider changing your password.</p>" +
-                    "<hr style='border: none; border-top: 1px solid #eee; margin: 30px 0;'>" +
-                    "<p style='color: #666; font-size: 12px;'>© 2025 Community Support System. This is an automated message.</p>" +
-                    "</div>",
-                    code
-                );
-                sendGridEmailService.sendEmail(toEmail, subject, content);
-                log.info("✅ Login OTP sent successfully via SendGrid to: " + toEmail);
-                return;
-            }
-            
-            // Check if SMTP is available
-            if (mailSender != null && fromEmail != null && !fromEmail.isEmpty()) {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setFrom(fromEmail);
-                message.setTo(toEmail);
-                message.setSubject("Login Verification Code - Community Support System");
-                message.setText("Your login verification code is: " + code +
-                        "\n\nThis code will expire in 5 minutes." +
-                        "\n\nIf you didn't attempt to log in, please ignore this email.");
-                
-                mailSender.send(message);
-                log.info("Login OTP sent to: " + toEmail);
-                return;
-            }
-            
-            // Email service unavailable
-            log.error(String.valueOf("⚠️ Email service unavailable. Login OTP for " + toEmail + ": " + code));
-            
-        } catch (Exception e) {
-            log.error(String.valueOf("Failed to send login OTP: " + e.getMessage()));
-            log.error(String.valueOf("🔑 MANUAL LOGIN OTP for " + toEmail + ": " + code));
-        }
+        String subject = "Login Verification Code - Community Support System";
+        String html = String.format(
+            "<div style='font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto;'>" +
+            "<h2 style='color: #2c5aa0;'>Login Verification</h2>" +
+            "<p>Hello,</p>" +
+            "<p>Someone is trying to log in to your Community Support System account. Please use the verification code below to complete your login:</p>" +
+            "<div style='background-color: #f8f9fa; padding: 20px; border-radius: 8px; text-align: center; margin: 20px 0;'>" +
+            "<h1 style='color: #2c5aa0; font-size: 32px; margin: 0; letter-spacing: 4px;'>%s</h1>" +
+            "</div>" +
+            "<p><strong>This code will expire in 5 minutes.</strong></p>" +
+            "<p>If you didn't attempt to log in, please ignore this email and consider changing your password.</p>" +
+            "<hr style='border: none; border-top: 1px solid #eee; margin: 30px 0;'>" +
+            "<p style='color: #666; font-size: 12px;'>© 2025 Community Support System. This is an automated message.</p>" +
+            "</div>",
+            code
+        );
+        String text = "Your login verification code is: " + code +
+                "\n\nThis code will expire in 5 minutes." +
+                "\n\nIf you didn't attempt to log in, please ignore this email.";
+        emailOutboxService.enqueue(emailOutboxService.dedupKey("login-otp", toEmail + ":" + code), new OutboundEmail(toEmail, subject, html, text));
+        log.info("📧 Login OTP queued for: " + toEmail);
+    }
+
+    private static String toHtml(String text) {
+        return "<p>" + text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\n\n", "</p><p>").replace("\n", "<br>") + "</p>";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package om.community.supportsystem.service;
+
+import om.community.supportsystem.dto.CreateExpenseDTO;
+import om.community.supportsystem.model.Expense;
+import om.community.supportsystem.model.ExpenseStatus;
+import om.community.supportsystem.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ExpenseService {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    public Expense createExpense(CreateExpenseDTO dto) {
+        if (dto.getVolunteerId() == null) {
+            throw new IllegalArgumentException("volunteerId is required");
+        }
+        if (dto.getAmount() == null || dto.getAmount().signum() < 0) {
+            throw new IllegalArgumentException("amount must be zero or more");
+        }
+        Expense expense = new Expense();
+        expense.setVolunteerId(dto.getVolunteerId());
+        expense.setAssignmentId(dto.getAssignmentId());
+        expense.setAmount(dto.getAmount());
+        expense.setCategory(dto.getCategory());
+        expense.setDescription(dto.getDescription());
+        expense.setReceiptUrl(dto.getReceiptUrl());
+        expense.setStatus(ExpenseStatus.PENDING);
+        expense.setCreatedAt(LocalDateTime.now());
+        return expenseRepository.save(expense);
+    }
+
+    public List<Expense> getExpensesByAssignment(Long assignmentId) {
+        return expenseRepository.findByAssignmentIdOrderByCreatedAtDesc(assignmentId);
+    }
+
+    public List<Expense> getExpensesByVolunteer(Long volunteerId) {
+        return expenseRepository.findByVolunteerIdOrderByCreatedAtDesc(volunteerId);
+    }
+
+    public Page<Expense> getExpensesByVolunteer(Long volunteerId, Pageable pageable) {
+        return expenseRepository.findByVolunteerIdOrderByCreatedAtDesc(volunteerId, pageable);
+    }
+
+    public Page<Expense> getExpensesByStatus(ExpenseStatus status, Pageable pageable) {
+        return expenseRepository.findByStatusOrderByCreatedAtAsc(status, pageable);
+    }
+
+    public Expense updateStatus(Long expenseId, ExpenseStatus status) {
+        Expense expense = expenseRepository.findById(expenseId)
+            .orElseThrow(() -> new RuntimeException("Expense not found with id: " + expenseId));
+        expense.setStatus(status);
+        expense.setReviewedAt(LocalDateTime.now());
+        return expenseRepository.save(expense);
+    }
+
+    // Count and total amount per status, aggregated by the database
+    public Map<String, Object> getVolunteerSummary(Long volunteerId) {
+        Map<String, Object> byStatus = new HashMap<>();
+        long count = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (Object[] row : expenseRepository.summarizeByVolunteer(volunteerId)) {
+            long statusCount = ((Number) row[1]).longValue();
+            BigDecimal statusTotal = (BigDecimal) row[2];
+            byStatus.put(((ExpenseStatus) row[0]).name(), Map.of("count", statusCount, "amount", statusTotal));
+            count += statusCount;
+            total = total.add(statusTotal);
+        }
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("volunteerId", volunteerId);
+        summary.put("totalExpenses", count);
+        summary.put("totalAmount", total);
+        summary.put("byStatus", byStatus);
+        return summary;
+    }
+}
@@ -0,0 +1,240 @@
+package om.community.supportsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import om.community.supportsystem.model.RequestStatus;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import om.community.supportsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Admin exports of requests, assignments and users as NDJSON or CSV.
+ *
+ * Rows come from scalar projection queries streamed with a JDBC fetch size inside a read-only
+ * transaction, and each row is written out before the next one is read, so heap use does not
+ * depend on table size. Nothing is hydrated as an entity, so the persistence context stays empty.
+ */
+@Service
+public class ExportService {
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    // Flush every N rows so the client sees progress on large exports
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Export filters; every field is optional and {@code to} is inclusive. {@code status} is a
+     * RequestStatus for requests, ACTIVE/COMPLETED for assignments and a UserRole for users.
+     */
+    public record Filter(String status, String province, LocalDate from, LocalDate to) {
+
+        LocalDateTime fromTime() {
+            return from != null ? from.atStartOfDay() : null;
+        }
+
+        LocalDateTime toTimeExclusive() {
+            return to != null ? to.plusDays(1).atStartOfDay() : null;
+        }
+
+        String provinceOrNull() {
+            return province == null || province.isBlank() ? null : province.trim();
+        }
+    }
+
+    private static final String[] REQUEST_COLUMNS = {"requestId", "title", "description", "category", "status",
+            "createdAt", "updatedAt", "citizenId", "citizenName", "province", "district"};
+
+    private static final String[] ASSIGNMENT_COLUMNS = {"assignmentId", "requestId", "requestTitle", "requestStatus",
+            "acceptedAt", "completedAt", "volunteerId", "volunteerName", "citizenId", "citizenName", "province"};
+
+    private static final String[] USER_COLUMNS = {"userId", "name", "email", "phoneNumber", "role", "province",
+            "district", "createdAt", "lastLoginAt", "emailVerified", "accountLocked"};
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // ===== Filter validation (call before the response is committed) =====
+
+    public RequestStatus parseRequestStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return RequestStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid request status: " + status);
+        }
+    }
+
+    /** Assignments have no status column: ACTIVE means not completed yet, COMPLETED means completed. */
+    public Boolean parseAssignmentStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        return switch (status.trim().toUpperCase()) {
+            case "ACTIVE" -> false;
+            case "COMPLETED" -> true;
+            default -> throw new IllegalArgumentException("Invalid assignment status: " + status + " (use ACTIVE or COMPLETED)");
+        };
+    }
+
+    public UserRole parseUserRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        try {
+            return UserRole.valueOf(role.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid user role: " + role);
+        }
+    }
+
+    // ===== Exports =====
+
+    public long exportRequests(Filter filter, Format format, OutputStream out) {
+        RequestStatus status = parseRequestStatus(filter.status());
+        return export("requests", REQUEST_COLUMNS, format, out, () -> requestRepository.streamForExport(
+                status, filter.provinceOrNull(), filter.fromTime(), filter.toTimeExclusive()));
+    }
+
+    public long exportAssignments(Filter filter, Format format, OutputStream out) {
+        Boolean completed = parseAssignmentStatus(filter.status());
+        return export("assignments", ASSIGNMENT_COLUMNS, format, out, () -> assignmentRepository.streamForExport(
+                completed, filter.provinceOrNull(), filter.fromTime(), filter.toTimeExclusive()));
+    }
+
+    public long exportUsers(Filter filter, Format format, OutputStream out) {
+        UserRole role = parseUserRole(filter.status());
+        return export("users", USER_COLUMNS, format, out, () -> userRepository.streamForExport(
+                role, filter.provinceOrNull(), filter.fromTime(), filter.toTimeExclusive()));
+    }
+
+    private long export(String dataset, String[] columns, Format format, OutputStream out, Supplier<Stream<Object[]>> query) {
+        long started = System.currentTimeMillis();
+        // The stream (and its JDBC cursor) only lives as long as this read-only transaction
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Long rows = readOnly.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long written = 0;
+            try (Stream<Object[]> stream = query.get()) {
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, columns);
+                    writer.flush();
+                }
+                var iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    Object[] row = iterator.next();
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, row);
+                    } else {
+                        writeJsonRow(writer, columns, row);
+                    }
+                    written++;
+                    if (written == 1 || written % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                // Usually the client went away; the transaction is rolled back and the cursor closed
+                throw new UncheckedIOException(e);
+            }
+            return written;
+        });
+
+        log.info("✅ Exported " + rows + " " + dataset + " as " + format + " in "
+                + (System.currentTimeMillis() - started) + "ms");
+        return rows != null ? rows : 0;
+    }
+
+    private void writeJsonRow(Writer writer, String[] columns, Object[] row) throws IOException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            record.put(columns[i], row[i]);
+        }
+        writer.write(objectMapper.writeValueAsString(record));
+        writer.write('\n');
+    }
+
+    private void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvCell(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            // Titles and names are user input; keep spreadsheets from evaluating them as formulas
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
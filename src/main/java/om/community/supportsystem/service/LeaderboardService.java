@@ -1,49 +1,207 @@
 package om.community.supportsystem.service;
 
 import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AchievementRepository;
 import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.util.RankedSkipList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Volunteer leaderboard kept in memory as a ranked skip list ordered by (points desc, userId).
+ *
+ * Only users whose role is VOLUNTEER are ranked; citizens' and admins' achievements are left
+ * out. Points are 10 per completed assignment plus achievement points. Standings are updated
+ * as assignments are completed and achievements awarded, so top-k, a user's rank and the
+ * users around them are all O(log n). A periodic reconciliation rebuilds the list from the database
+ * to pick up changes made elsewhere (deleted assignments, edited achievements).
+ */
 @Service
 public class LeaderboardService {
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    public static final int POINTS_PER_COMPLETED_ASSIGNMENT = 10;
 
     @Autowired
     private AssignmentRepository assignmentRepository;
 
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    @Autowired
+    private RatingAggregationService ratingAggregationService;
+
+    private record Standing(Long userId, String name, String email, long completedAssignments, long achievementPoints) {
+        long points() {
+            return completedAssignments * POINTS_PER_COMPLETED_ASSIGNMENT + achievementPoints;
+        }
+    }
+
+    private static final Comparator<Standing> ORDER = Comparator.comparingLong(Standing::points).reversed()
+            .thenComparing(Standing::userId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RankedSkipList<Standing> ranking = new RankedSkipList<>(ORDER);
+    private Map<Long, Standing> standings = new HashMap<>();
+
+    // ===== Queries =====
+
+    /** Returns top volunteers sorted by points. */
+    public List<Map<String, Object>> getTopVolunteers(int limit) {
+        if (limit < 1) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            return toEntries(ranking.range(1, limit), 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getUserRank(Long userId) {
+        lock.readLock().lock();
+        try {
+            Standing standing = standings.get(userId);
+            if (standing == null) {
+                return null;
+            }
+            return toEntry(standing, ranking.rankOf(standing));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The user's entry with up to {@code radius} entries above and below it, or empty if unranked. */
+    public List<Map<String, Object>> getNeighbours(Long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Standing standing = standings.get(userId);
+            if (standing == null) {
+                return new ArrayList<>();
+            }
+            int rank = ranking.rankOf(standing);
+            int from = Math.max(1, rank - radius);
+            return toEntries(ranking.range(from, rank - from + radius + 1), from);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRankedCount() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== Incremental updates =====
+
+    public void recordAssignmentCompleted(User volunteer) {
+        update(volunteer, 1, 0);
+    }
+
+    public void recordAchievement(User user, int points) {
+        update(user, 0, points);
+    }
+
+    private void update(User user, long completedDelta, long pointsDelta) {
+        if (user.getRole() != UserRole.VOLUNTEER) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Standing current = standings.get(user.getUserId());
+            Standing next = current == null
+                    ? new Standing(user.getUserId(), user.getName(), user.getEmail(), completedDelta, pointsDelta)
+                    : new Standing(current.userId(), user.getName(), user.getEmail(),
+                        current.completedAssignments() + completedDelta, current.achievementPoints() + pointsDelta);
+            if (current != null) {
+                ranking.remove(current);
+            }
+            ranking.insert(next);
+            standings.put(next.userId(), next);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===== Reconciliation =====
+
     /**
-     * Returns top volunteers sorted by completed assignments.
-     * Uses a single GROUP BY query — no N+1.
+     * Rebuild standings from the database. An update recorded while the queries run can be
+     * missed by this pass; the next reconciliation picks it up.
      */
-    @Cacheable(value = "leaderboard", key = "#limit")
-    public List<Map<String, Object>> getTopVolunteers(int limit) {
-        List<Object[]> rows = assignmentRepository.findVolunteerCompletedCountsDesc();
-        List<Map<String, Object>> result = new ArrayList<>();
-        int rank = 1;
-        for (Object[] row : rows) {
-            if (result.size() >= limit) break;
-            User user = (User) row[0];
-            long completedCount = ((Number) row[1]).longValue();
-            Map<String, Object> entry = new HashMap<>();
-            entry.put("userId", user.getUserId());
-            entry.put("name", user.getName());
-            entry.put("email", user.getEmail());
-            entry.put("completedAssignments", completedCount);
-            entry.put("points", completedCount * 10);
-            entry.put("rank", rank++);
-            result.add(entry);
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${leaderboard.reconcile-interval-ms:600000}",
+               fixedDelayString = "${leaderboard.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            long started = System.currentTimeMillis();
+            Map<Long, Standing> loaded = new HashMap<>();
+            for (Object[] row : assignmentRepository.findCompletedCountRowsByVolunteer(UserRole.VOLUNTEER)) {
+                Long userId = (Long) row[0];
+                loaded.put(userId, new Standing(userId, (String) row[1], (String) row[2], ((Number) row[3]).longValue(), 0));
+            }
+            for (Object[] row : achievementRepository.sumPointsByUser(UserRole.VOLUNTEER)) {
+                Long userId = (Long) row[0];
+                long points = ((Number) row[3]).longValue();
+                Standing existing = loaded.get(userId);
+                loaded.put(userId, existing != null
+                        ? new Standing(userId, existing.name(), existing.email(), existing.completedAssignments(), points)
+                        : new Standing(userId, (String) row[1], (String) row[2], 0, points));
+            }
+
+            RankedSkipList<Standing> rebuilt = new RankedSkipList<>(ORDER);
+            loaded.values().forEach(rebuilt::insert);
+
+            lock.writeLock().lock();
+            try {
+                ranking = rebuilt;
+                standings = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("✅ Leaderboard reconciled: " + loaded.size() + " ranked users in "
+                    + (System.currentTimeMillis() - started) + "ms");
+        } catch (Exception e) {
+            log.error("❌ Failed to reconcile leaderboard: " + e.getMessage(), e);
+        }
+    }
+
+    private List<Map<String, Object>> toEntries(List<Standing> page, int firstRank) {
+        List<Map<String, Object>> result = new ArrayList<>(page.size());
+        int rank = firstRank;
+        for (Standing standing : page) {
+            result.add(toEntry(standing, rank++));
         }
         return result;
     }
 
-    public Map<String, Object> getUserRank(Long userId) {
-        List<Map<String, Object>> leaderboard = getTopVolunteers(Integer.MAX_VALUE);
-        return leaderboard.stream()
-            .filter(e -> userId.equals((Long) e.get("userId")))
-            .findFirst()
-            .orElse(null);
+    private Map<String, Object> toEntry(Standing standing, int rank) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("userId", standing.userId());
+        entry.put("name", standing.name());
+        entry.put("email", standing.email());
+        entry.put("completedAssignments", standing.completedAssignments());
+        entry.put("achievementPoints", standing.achievementPoints());
+        entry.put("points", standing.points());
+        entry.put("rank", rank);
+        RatingAggregationService.Summary rating = ratingAggregationService.getSummary(standing.userId());
+        entry.put("averageRating", Math.round(rating.average() * 10.0) / 10.0);
+        entry.put("ratingCount", rating.count());
+        return entry;
     }
-}
\ No newline at end of file
+}
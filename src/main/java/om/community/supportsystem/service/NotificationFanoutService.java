@@ -0,0 +1,126 @@
+package om.community.supportsystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Writes the same notification to many users without loading the users.
+ *
+ * Jobs run on the notificationFanoutExecutor; recipients are passed or selected as IDs only
+ * and rows are inserted with JDBC batches of notifications.fanout.batch-size.
+ */
+@Service
+public class NotificationFanoutService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (message, is_read, created_at, user_id) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("notificationFanoutExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${notifications.fanout.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+    private final Timer batchTimer;
+    private final Counter rowsCounter;
+    private final DistributionSummary rowsPerSecond;
+
+    public NotificationFanoutService(MeterRegistry meterRegistry) {
+        Gauge.builder("notifications.fanout.queue.depth", pendingJobs, AtomicInteger::get)
+                .description("Fan-out jobs submitted but not yet finished")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("notifications.fanout.batch.latency")
+                .description("Time to insert one notification batch")
+                .register(meterRegistry);
+        this.rowsCounter = Counter.builder("notifications.fanout.rows")
+                .description("Notification rows written by fan-out")
+                .register(meterRegistry);
+        this.rowsPerSecond = DistributionSummary.builder("notifications.fanout.rows.per.second")
+                .description("Insert throughput of each fan-out job")
+                .register(meterRegistry);
+    }
+
+    /** Queue a job that notifies every user with the given role. Returns immediately. */
+    public void fanOutToRole(UserRole role, String message) {
+        submit(role + " users", () -> userRepository.findIdsByRole(role), message);
+    }
+
+    /** Queue a job that notifies the given users. Returns immediately. */
+    public void fanOutToUsers(List<Long> userIds, String message) {
+        List<Long> recipients = List.copyOf(userIds);
+        submit(recipients.size() + " selected users", () -> recipients, message);
+    }
+
+    private void submit(String audience, Supplier<List<Long>> recipients, String message) {
+        pendingJobs.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    runFanOut(audience, recipients.get(), message);
+                } catch (Exception e) {
+                    log.error("❌ Notification fan-out to " + audience + " failed: " + e.getMessage(), e);
+                } finally {
+                    pendingJobs.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingJobs.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public int getPendingJobs() {
+        return pendingJobs.get();
+    }
+
+    private void runFanOut(String audience, List<Long> userIds, String message) {
+        long started = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + batchSize, userIds.size()));
+            batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, userId) -> {
+                ps.setString(1, message);
+                ps.setBoolean(2, false);
+                ps.setTimestamp(3, now);
+                ps.setLong(4, userId);
+            }));
+            rowsCounter.increment(chunk.size());
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        if (!userIds.isEmpty() && seconds > 0) {
+            rowsPerSecond.record(userIds.size() / seconds);
+        }
+        log.info("✅ Fan-out wrote " + userIds.size() + " notifications to " + audience + " in "
+                + Math.round(seconds * 1000) + "ms");
+    }
+}
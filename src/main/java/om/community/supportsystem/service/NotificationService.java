@@ -3,8 +3,12 @@ package om.community.supportsystem.service;
 import om.community.supportsystem.model.Notification;
 import om.community.supportsystem.model.User;
 import om.community.supportsystem.repository.NotificationRepository;
+import om.community.supportsystem.dto.CursorPage;
+import om.community.supportsystem.util.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
@@ -23,7 +27,16 @@ public class NotificationService {
     private NotificationRepository notificationRepository;
     
     @Autowired
-    private om.community.supportsystem.repository.UserRepository userRepository;
+    private NotificationFanoutService notificationFanoutService;
+    
+    @Autowired
+    private VolunteerRoutingService volunteerRoutingService;
+    
+    @Value("${notifications.routing.enabled:true}")
+    private boolean routingEnabled;
+    
+    @Value("${notifications.routing.top-n:25}")
+    private int routingTopN;
     
     // Create
     public Notification createNotification(Notification notification) {
@@ -51,6 +64,17 @@ public class NotificationService {
     public List<Notification> getNotificationsByUserId(Long userId) {
         return notificationRepository.findByUserUserId(userId);
     }
+
+    /** Keyset slice of one user's notifications, newest first. */
+    public CursorPage<Notification> getNotificationSliceByUser(Long userId, String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Notification> fetched = after == null
+                ? notificationRepository.findSliceByUser(userId, limit)
+                : notificationRepository.findSliceByUserAfter(userId, after.createdAt(), after.id(), limit);
+        return CursorPage.of(fetched, size, n -> new SeekCursor(n.getCreatedAt(), n.getNotificationId()),
+                includeTotal ? notificationRepository.countByUserUserId(userId) : null);
+    }
     
     public List<Notification> getUnreadNotifications() {
         return notificationRepository.findByIsReadFalse();
@@ -155,11 +179,9 @@ public class NotificationService {
         return stats;
     }
     
-    // Notify all volunteers about a new request
+    // Notify the best-matched volunteers about a new request (written in batches off the caller's thread).
+    // Falls back to every volunteer when routing is disabled or its index is not built yet.
     public void notifyAllVolunteersAboutNewRequest(om.community.supportsystem.model.Request request) {
-        // Get all volunteers from user repository
-        List<User> volunteers = userRepository.findByRole(om.community.supportsystem.model.UserRole.VOLUNTEER);
-        
         String message = String.format(
             "🆕 New Request: %s - %s (📍 %s, %s). Click to view details and accept.",
             request.getTitle(),
@@ -168,12 +190,13 @@ public class NotificationService {
             request.getCitizen().getDistrict()
         );
         
-        // Create notification for each volunteer
-        volunteers.forEach(volunteer -> {
-            Notification notification = new Notification(message, volunteer);
-            notificationRepository.save(notification);
-        });
-        
-        log.info("✅ Notified " + volunteers.size() + " volunteers about new request: " + request.getTitle());
+        if (routingEnabled && volunteerRoutingService.isReady()) {
+            List<Long> volunteerIds = volunteerRoutingService.selectVolunteers(request, routingTopN);
+            notificationFanoutService.fanOutToUsers(volunteerIds, message);
+            log.info("🔄 Queued notifications to " + volunteerIds.size() + " matched volunteers for new request: " + request.getTitle());
+        } else {
+            notificationFanoutService.fanOutToRole(om.community.supportsystem.model.UserRole.VOLUNTEER, message);
+            log.info("🔄 Queued notifications to all volunteers for new request: " + request.getTitle());
+        }
     }
 }
\ No newline at end of file
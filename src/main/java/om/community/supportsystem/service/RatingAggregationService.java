@@ -0,0 +1,287 @@
+package om.community.supportsystem.service;
+
+import om.community.supportsystem.model.Rating;
+import om.community.supportsystem.model.VolunteerRatingStats;
+import om.community.supportsystem.repository.RatingRepository;
+import om.community.supportsystem.repository.VolunteerRatingStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-volunteer rating aggregates: count, sum, sum of squares and a 1-5 star histogram.
+ *
+ * The volunteer_rating_stats rows are the durable copy and are updated in the rating's own
+ * transaction; this service mirrors them in memory so averages, Bayesian scores and
+ * distributions are a map lookup for the ratings API, the leaderboard and volunteer routing.
+ *
+ * Rating writes hold a read lock from their transaction until the mirror is updated, and
+ * rebuild/reload hold the write lock while they query and swap, so a rating is never dropped
+ * by a concurrent reload. The mirror only sees this instance's writes directly; it is reloaded
+ * from the table every ratings.mirror.refresh-interval-ms to pick up other instances' ratings.
+ */
+@Service
+public class RatingAggregationService {
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregationService.class);
+
+    private static final int STARS = RatingService.MAX_SCORE;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private VolunteerRatingStatsRepository statsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Weight of the global mean in the Bayesian score, in "virtual ratings"
+    @Value("${ratings.bayesian.prior-weight:5}")
+    private double priorWeight;
+
+    /** Immutable snapshot of one volunteer's ratings; histogram index 0 holds 1-star counts. */
+    public record Summary(Long volunteerId, long count, long sum, long sumSquares, long[] histogram) {
+
+        static Summary empty(Long volunteerId) {
+            return new Summary(volunteerId, 0, 0, 0, new long[STARS]);
+        }
+
+        Summary plus(int score) {
+            long[] stars = histogram.clone();
+            stars[score - 1]++;
+            return new Summary(volunteerId, count + 1, sum + score, sumSquares + (long) score * score, stars);
+        }
+
+        public double average() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        public double standardDeviation() {
+            if (count == 0) {
+                return 0.0;
+            }
+            double mean = average();
+            return Math.sqrt(Math.max(0.0, (double) sumSquares / count - mean * mean));
+        }
+
+        public Map<Integer, Long> distribution() {
+            Map<Integer, Long> stars = new LinkedHashMap<>();
+            for (int i = 0; i < histogram.length; i++) {
+                stars.put(i + 1, histogram[i]);
+            }
+            return stars;
+        }
+    }
+
+    private record Totals(long count, long sum) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Summary> summaries = new ConcurrentHashMap<>();
+    private final AtomicReference<Totals> totals = new AtomicReference<>(new Totals(0, 0));
+
+    // ===== Reads (constant time) =====
+
+    public Summary getSummary(Long volunteerId) {
+        return summaries.getOrDefault(volunteerId, Summary.empty(volunteerId));
+    }
+
+    public double getAverage(Long volunteerId) {
+        return getSummary(volunteerId).average();
+    }
+
+    public long getRatingCount(Long volunteerId) {
+        return getSummary(volunteerId).count();
+    }
+
+    /** Mean across every rating in the system; the prior for the Bayesian score. */
+    public double getGlobalAverage() {
+        Totals current = totals.get();
+        return current.count() == 0 ? 0.0 : (double) current.sum() / current.count();
+    }
+
+    /**
+     * Average pulled toward the global mean by {@code ratings.bayesian.prior-weight} virtual
+     * ratings, so one 5-star review does not outrank fifty 4.8 averages.
+     */
+    public double getBayesianScore(Long volunteerId) {
+        Summary summary = getSummary(volunteerId);
+        double prior = getGlobalAverage();
+        return (priorWeight * prior + summary.sum()) / (priorWeight + summary.count());
+    }
+
+    public Map<String, Object> describe(Long volunteerId) {
+        Summary summary = getSummary(volunteerId);
+        Map<String, Object> result = new HashMap<>();
+        result.put("volunteerId", volunteerId);
+        result.put("totalRatings", summary.count());
+        result.put("averageScore", round(summary.average()));
+        result.put("bayesianScore", round(getBayesianScore(volunteerId)));
+        result.put("standardDeviation", round(summary.standardDeviation()));
+        result.put("distribution", summary.distribution());
+        return result;
+    }
+
+    // ===== Writes =====
+
+    /** Make sure the durable row exists so recording a rating only needs an UPDATE. */
+    public void ensureStatsRow(Long volunteerId) {
+        if (summaries.containsKey(volunteerId) || statsRepository.existsById(volunteerId)) {
+            return;
+        }
+        try {
+            statsRepository.save(new VolunteerRatingStats(volunteerId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent rating created it first
+        }
+    }
+
+    /**
+     * Run {@code write}, which inserts a rating and calls persist() in one transaction, then
+     * fold the saved rating into the in-memory aggregates.
+     */
+    public Rating record(Supplier<Rating> write) {
+        lock.readLock().lock();
+        try {
+            Rating saved = write.get();
+            int score = saved.getScore();
+            summaries.compute(saved.getVolunteerId(),
+                    (id, current) -> (current != null ? current : Summary.empty(id)).plus(score));
+            totals.updateAndGet(current -> new Totals(current.count() + 1, current.sum() + score));
+            return saved;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Apply a new rating to the durable row. Call inside the transaction that inserts the rating. */
+    public void persist(Rating rating) {
+        Long volunteerId = rating.getVolunteerId();
+        LocalDateTime now = LocalDateTime.now();
+        if (statsRepository.addRating(volunteerId, rating.getScore(), now) == 1) {
+            return;
+        }
+        statsRepository.insertIfMissing(volunteerId, now);
+        if (statsRepository.addRating(volunteerId, rating.getScore(), now) != 1) {
+            throw new IllegalStateException("Rating totals row missing for volunteer " + volunteerId);
+        }
+    }
+
+    // ===== Startup and rebuild =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        lock.writeLock().lock();
+        try {
+            List<VolunteerRatingStats> rows = statsRepository.findAll();
+            if (rows.isEmpty() && ratingRepository.count() > 0) {
+                log.info("🔄 Rating aggregates missing, rebuilding from ratings");
+                rebuild();
+                return;
+            }
+            load(rows);
+            log.info("✅ Loaded rating aggregates for " + rows.size() + " volunteers");
+        } catch (Exception e) {
+            log.error("❌ Failed to load rating aggregates: " + e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recompute every volunteer's aggregates from the ratings table and replace the stored rows.
+     * Ratings on this instance wait until it finishes; one committed on another instance while
+     * it runs may need another rebuild to be counted.
+     */
+    public Map<String, Object> rebuild() {
+        lock.writeLock().lock();
+        try {
+            return rebuildLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Object> rebuildLocked() {
+        long started = System.currentTimeMillis();
+        Map<Long, VolunteerRatingStats> rebuilt = new HashMap<>();
+        for (Object[] row : ratingRepository.countByVolunteerAndScore()) {
+            Long volunteerId = (Long) row[0];
+            int score = ((Number) row[1]).intValue();
+            long count = ((Number) row[2]).longValue();
+            if (score < 1 || score > STARS) {
+                continue;
+            }
+            VolunteerRatingStats stats = rebuilt.computeIfAbsent(volunteerId, VolunteerRatingStats::new);
+            stats.setRatingCount(stats.getRatingCount() + count);
+            stats.setRatingSum(stats.getRatingSum() + count * score);
+            stats.setRatingSumSquares(stats.getRatingSumSquares() + count * score * score);
+            switch (score) {
+                case 1 -> stats.setStars1(count);
+                case 2 -> stats.setStars2(count);
+                case 3 -> stats.setStars3(count);
+                case 4 -> stats.setStars4(count);
+                default -> stats.setStars5(count);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statsRepository.deleteAllStats();
+            statsRepository.saveAll(rebuilt.values());
+        });
+        load(rebuilt.values());
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("✅ Rebuilt rating aggregates for " + rebuilt.size() + " volunteers in " + elapsed + "ms");
+        return Map.of("volunteers", rebuilt.size(), "ratings", totals.get().count(), "elapsedMs", elapsed);
+    }
+
+    /** Reload the mirror from the durable rows, which include other instances' ratings. */
+    @Scheduled(initialDelayString = "${ratings.mirror.refresh-interval-ms:60000}",
+               fixedDelayString = "${ratings.mirror.refresh-interval-ms:60000}")
+    public void refresh() {
+        lock.writeLock().lock();
+        try {
+            load(statsRepository.findAll());
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to refresh rating aggregates: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void load(Collection<VolunteerRatingStats> rows) {
+        Map<Long, Summary> loaded = new HashMap<>();
+        long count = 0;
+        long sum = 0;
+        for (VolunteerRatingStats row : rows) {
+            long[] histogram = {row.getStars1(), row.getStars2(), row.getStars3(), row.getStars4(), row.getStars5()};
+            loaded.put(row.getVolunteerId(), new Summary(row.getVolunteerId(), row.getRatingCount(),
+                    row.getRatingSum(), row.getRatingSumSquares(), histogram));
+            count += row.getRatingCount();
+            sum += row.getRatingSum();
+        }
+        summaries.keySet().retainAll(loaded.keySet());
+        summaries.putAll(loaded);
+        totals.set(new Totals(count, sum));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
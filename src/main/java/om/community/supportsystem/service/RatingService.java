@@ -0,0 +1,67 @@
+package om.community.supportsystem.service;
+
+import om.community.supportsystem.dto.CreateRatingDTO;
+import om.community.supportsystem.model.Rating;
+import om.community.supportsystem.repository.RatingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class RatingService {
+
+    public static final int MIN_SCORE = 1;
+    public static final int MAX_SCORE = 5;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RatingAggregationService ratingAggregationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Store a rating and fold it into the volunteer's running totals in one transaction.
+     */
+    public Rating createRating(CreateRatingDTO dto) {
+        if (dto.getVolunteerId() == null) {
+            throw new IllegalArgumentException("volunteerId is required");
+        }
+        if (dto.getScore() == null || dto.getScore() < MIN_SCORE || dto.getScore() > MAX_SCORE) {
+            throw new IllegalArgumentException("score must be between " + MIN_SCORE + " and " + MAX_SCORE);
+        }
+        Rating rating = new Rating();
+        rating.setVolunteerId(dto.getVolunteerId());
+        rating.setAssignmentId(dto.getAssignmentId());
+        rating.setRaterId(dto.getRaterId());
+        rating.setScore(dto.getScore());
+        rating.setComment(dto.getComment());
+        rating.setCreatedAt(LocalDateTime.now());
+
+        ratingAggregationService.ensureStatsRow(rating.getVolunteerId());
+        return ratingAggregationService.record(() -> transactionTemplate.execute(status -> {
+            Rating inserted = ratingRepository.save(rating);
+            ratingAggregationService.persist(inserted);
+            return inserted;
+        }));
+    }
+
+    public List<Rating> getRatingsByVolunteer(Long volunteerId) {
+        return ratingRepository.findByVolunteerIdOrderByCreatedAtDesc(volunteerId);
+    }
+
+    public Page<Rating> getRatingsByVolunteer(Long volunteerId, Pageable pageable) {
+        return ratingRepository.findByVolunteerIdOrderByCreatedAtDesc(volunteerId, pageable);
+    }
+
+    public List<Rating> getRatingsByAssignment(Long assignmentId) {
+        return ratingRepository.findByAssignmentIdOrderByCreatedAtDesc(assignmentId);
+    }
+}
@@ -1,13 +1,17 @@
 package om.community.supportsystem.service;
 
 import om.community.supportsystem.dto.CreateRequestDTO;
+import om.community.supportsystem.dto.RequestResponseDTO;
 import om.community.supportsystem.model.Request;
 import om.community.supportsystem.model.RequestStatus;
 import om.community.supportsystem.model.User;
 import om.community.supportsystem.repository.RequestRepository;
 import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.dto.CursorPage;
+import om.community.supportsystem.util.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -27,6 +31,9 @@ public class RequestService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
     // Create from DTO (preferred — avoids exposing the JPA entity to clients)
     public Request createRequest(CreateRequestDTO dto) {
         User citizen = userRepository.findById(dto.getCitizenId())
@@ -42,6 +49,7 @@ public class RequestService {
     // Create from entity (kept for internal/legacy use)
     public Request createRequest(Request request) {
         Request savedRequest = requestRepository.save(request);
+        analyticsRollupService.recordRequestCreated(savedRequest.getCreatedAt());
         
         // Notify all volunteers about the new request
         try {
@@ -57,6 +65,22 @@ public class RequestService {
     public List<Request> getAllRequests() {
         return requestRepository.findAll();
     }
+
+    /** Keyset slice of all requests, newest first; the COUNT only runs when includeTotal is set. */
+    public CursorPage<RequestResponseDTO> getRequestSlice(String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<RequestResponseDTO> fetched = after == null
+                ? requestRepository.findViewSliceNewestFirst(limit)
+                : requestRepository.findViewSliceNewestFirstAfter(after.createdAt(), after.id(), limit);
+        return CursorPage.of(fetched, size, r -> new SeekCursor(r.getCreatedAt(), r.getRequestId()),
+                includeTotal ? requestRepository.count() : null);
+    }
+    
+    /** Detail read served by the projection; use getRequestById when the entity is needed for a write. */
+    public Optional<RequestResponseDTO> getRequestView(Long id) {
+        return requestRepository.findViewById(id);
+    }
     
     public Optional<Request> getRequestById(Long id) {
         return requestRepository.findById(id);
@@ -1,98 +1,264 @@
 package om.community.supportsystem.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import om.community.supportsystem.util.DivisionTree;
+import om.community.supportsystem.util.DivisionTree.Division;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Rwanda's administrative divisions, answered from an in-memory DivisionTree.
+ *
+ * The tree is loaded at startup from rwanda.divisions.snapshot-file when that file exists,
+ * otherwise from the snapshot bundled at classpath:rwanda/divisions.json. Lookups only ever read
+ * the tree. The RDA API is a background refresh source (rwanda.divisions.remote-enabled): a
+ * lookup whose children are missing from the snapshot answers empty and queues the path, the
+ * queue is fetched and grafted in batches every rwanda.divisions.fill-interval-ms, and a crawl
+ * periodically rebuilds the whole hierarchy. Both write the snapshot file once per batch when
+ * one is configured.
+ */
 @Service
 public class RwandaLocationService {
-    
+    private static final Logger log = LoggerFactory.getLogger(RwandaLocationService.class);
+
+    private static final String BUNDLED_SNAPSHOT = "rwanda/divisions.json";
+    // Endpoint for the children of a path of each length, and the query parameter naming each level
+    private static final String[] REMOTE_PATHS = {"/provinces", "/districts", "/sectors", "/cells", "/villages"};
+    private static final String[] REMOTE_PARAMS = {"province", "district", "sector", "cell"};
+
+    /** The snapshot file format. */
+    record Snapshot(String version, String source, List<Division> provinces) {}
+
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-    private static final String BASE_URL = "https://rda-ad-divisions.onrender.com";
-    
+    // Held by the crawl and by the fill of missing children, so only one of them swaps the tree
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // Paths whose children were looked up but are not in the tree, keyed by normalized path
+    private final Map<String, List<String>> missing = new ConcurrentHashMap<>();
+    private volatile DivisionTree tree;
+
+    @Value("${rwanda.divisions.remote-url:https://rda-ad-divisions.onrender.com}")
+    private String remoteUrl;
+
+    @Value("${rwanda.divisions.remote-enabled:true}")
+    private boolean remoteEnabled;
+
+    @Value("${rwanda.divisions.snapshot-file:}")
+    private String snapshotFile;
+
+    @Value("${rwanda.divisions.crawl-delay-ms:50}")
+    private long crawlDelayMs;
+
+    @Value("${rwanda.divisions.fill-batch-size:50}")
+    private int fillBatchSize;
+
     @Autowired
     public RwandaLocationService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
     }
-    
+
+    @PostConstruct
+    void loadSnapshot() {
+        tree = readSnapshot();
+        log.info("✅ Rwanda divisions " + tree.version() + " loaded: " + tree.counts());
+    }
+
     public List<String> getProvinces() {
-        try {
-            String url = BASE_URL + "/provinces";
-            String response = restTemplate.getForObject(url, String.class);
-            return parseDataArray(response);
-        } catch (RestClientException e) {
-            throw new RuntimeException("Failed to fetch provinces: " + e.getMessage());
-        }
+        return children(List.of(), "provinces");
     }
-    
+
     public List<String> getDistricts(String province) {
-        try {
-            String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/districts")
-                    .queryParam("province", province)
-                    .toUriString();
-            String response = restTemplate.getForObject(url, String.class);
-            return parseDataArray(response);
-        } catch (RestClientException e) {
-            throw new RuntimeException("Failed to fetch districts: " + e.getMessage());
-        }
+        return children(List.of(province), "districts");
     }
-    
+
     public List<String> getSectors(String province, String district) {
-        try {
-            String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/sectors")
-                    .queryParam("province", province)
-                    .queryParam("district", district)
-                    .toUriString();
-            String response = restTemplate.getForObject(url, String.class);
-            return parseDataArray(response);
-        } catch (RestClientException e) {
-            throw new RuntimeException("Failed to fetch sectors: " + e.getMessage());
-        }
+        return children(List.of(province, district), "sectors");
     }
-    
+
     public List<String> getCells(String province, String district, String sector) {
+        return children(List.of(province, district, sector), "cells");
+    }
+
+    public List<String> getVillages(String province, String district, String sector, String cell) {
+        return children(List.of(province, district, sector, cell), "villages");
+    }
+
+    /** Autocomplete over every known division; {@code level} is one of DivisionTree.LEVELS or null for any. */
+    public List<DivisionTree.Match> search(String prefix, String level, int limit) {
+        return tree.search(prefix, level, limit);
+    }
+
+    public Map<String, Object> getStatus() {
+        DivisionTree current = tree;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("version", current.version());
+        status.put("counts", current.counts());
+        status.put("remoteEnabled", remoteEnabled);
+        status.put("snapshotFile", snapshotFile.isBlank() ? null : snapshotFile);
+        status.put("refreshing", refreshing.get());
+        status.put("missing", missing.size());
+        return status;
+    }
+
+    // ===== Refresh from the RDA API =====
+
+    @Scheduled(initialDelayString = "${rwanda.divisions.refresh-initial-delay-ms:300000}",
+               fixedDelayString = "${rwanda.divisions.refresh-interval-ms:604800000}")
+    public void scheduledRefresh() {
+        if (remoteEnabled) {
+            refreshFromRemote();
+        }
+    }
+
+    /** Starts a full refresh on a background thread; false if one is already running. */
+    public boolean refreshInBackground() {
+        if (!remoteEnabled || refreshing.get()) {
+            return false;
+        }
+        Thread thread = new Thread(this::refreshFromRemote, "rwanda-divisions-refresh");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Crawls the full hierarchy from the RDA API and swaps it in. Requests keep using the current
+     * tree meanwhile; if any call fails the current tree is kept.
+     */
+    public void refreshFromRemote() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        log.info("🔄 Refreshing Rwanda divisions from " + remoteUrl);
         try {
-            String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/cells")
-                    .queryParam("province", province)
-                    .queryParam("district", district)
-                    .queryParam("sector", sector)
-                    .toUriString();
-            String response = restTemplate.getForObject(url, String.class);
-            return parseDataArray(response);
+            DivisionTree fresh = DivisionTree.of(LocalDate.now().toString(), crawl(new ArrayList<>()));
+            tree = fresh;
+            missing.clear();
+            writeSnapshot(fresh, "RDA API crawl of " + remoteUrl);
+            log.info("✅ Rwanda divisions refreshed in " + (System.currentTimeMillis() - started) + "ms: " + fresh.counts());
         } catch (RestClientException e) {
-            throw new RuntimeException("Failed to fetch cells: " + e.getMessage());
+            log.warn("⚠️ Rwanda divisions refresh failed, keeping version " + tree.version() + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            refreshing.set(false);
         }
     }
-    
-    public List<String> getVillages(String province, String district, String sector, String cell) {
+
+    private List<Division> crawl(List<String> path) throws InterruptedException {
+        List<String> names = fetchRemote(path);
+        if (crawlDelayMs > 0) {
+            Thread.sleep(crawlDelayMs);
+        }
+        List<Division> divisions = new ArrayList<>(names.size());
+        for (String name : names) {
+            List<Division> children = null;
+            if (path.size() < REMOTE_PATHS.length - 1) {
+                path.add(name);
+                children = crawl(path);
+                path.remove(path.size() - 1);
+            }
+            divisions.add(new Division(name, children));
+        }
+        return divisions;
+    }
+
+    // ===== Lookups =====
+
+    private List<String> children(List<String> path, String what) {
+        DivisionTree.Node node = tree.find(path);
+        if (node == null) {
+            // Not in our hierarchy (e.g. a misspelt parent)
+            return List.of();
+        }
+        if (node.childNames() == null) {
+            if (remoteEnabled) {
+                missing.putIfAbsent(String.join("/", path.stream().map(DivisionTree::normalize).toList()), List.copyOf(path));
+            }
+            log.debug("Rwanda " + what + " of " + path + " are not in snapshot " + tree.version());
+            return List.of();
+        }
+        return node.childNames();
+    }
+
+    /**
+     * Fetches the children of up to rwanda.divisions.fill-batch-size queued paths, grafts them in
+     * one tree swap and writes the snapshot once. Paths that fail stay queued for the next run.
+     */
+    @Scheduled(initialDelayString = "${rwanda.divisions.fill-interval-ms:10000}",
+               fixedDelayString = "${rwanda.divisions.fill-interval-ms:10000}")
+    public void fillMissing() {
+        if (!remoteEnabled || missing.isEmpty() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
         try {
-            String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/villages")
-                    .queryParam("province", province)
-                    .queryParam("district", district)
-                    .queryParam("sector", sector)
-                    .queryParam("cell", cell)
-                    .toUriString();
-            String response = restTemplate.getForObject(url, String.class);
-            return parseDataArray(response);
-        } catch (RestClientException e) {
-            throw new RuntimeException("Failed to fetch villages: " + e.getMessage());
+            DivisionTree grafted = tree;
+            int filled = 0;
+            for (Map.Entry<String, List<String>> entry : new ArrayList<>(missing.entrySet())) {
+                if (filled == fillBatchSize) {
+                    break;
+                }
+                DivisionTree.Node node = grafted.find(entry.getValue());
+                if (node != null && node.childNames() == null) {
+                    try {
+                        grafted = grafted.withChildren(entry.getValue(), fetchRemote(entry.getValue()));
+                    } catch (RestClientException e) {
+                        log.warn("⚠️ Cannot fetch Rwanda divisions under " + entry.getValue() + ": " + e.getMessage());
+                        break;
+                    }
+                    filled++;
+                }
+                missing.remove(entry.getKey());
+            }
+            if (filled > 0) {
+                tree = grafted;
+                writeSnapshot(grafted, "Bundled snapshot with children fetched from the RDA API");
+                log.info("✅ Rwanda divisions: filled " + filled + " missing lists, " + missing.size() + " still queued");
+            }
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private List<String> fetchRemote(List<String> path) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromUriString(remoteUrl + REMOTE_PATHS[path.size()]);
+        for (int i = 0; i < path.size(); i++) {
+            url.queryParam(REMOTE_PARAMS[i], path.get(i));
         }
+        return parseDataArray(restTemplate.getForObject(url.toUriString(), String.class));
     }
-    
+
     private List<String> parseDataArray(String jsonResponse) {
         try {
             JsonNode rootNode = objectMapper.readTree(jsonResponse);
             JsonNode dataNode = rootNode.get("data");
-            
+
             List<String> result = new ArrayList<>();
             if (dataNode != null && dataNode.isArray()) {
                 for (JsonNode item : dataNode) {
@@ -104,4 +270,39 @@ public class RwandaLocationService {
             throw new RuntimeException("Failed to parse response: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // ===== Snapshots =====
+
+    private DivisionTree readSnapshot() {
+        if (!snapshotFile.isBlank() && Files.isRegularFile(Path.of(snapshotFile))) {
+            try (InputStream in = Files.newInputStream(Path.of(snapshotFile))) {
+                Snapshot snapshot = objectMapper.readValue(in, Snapshot.class);
+                return DivisionTree.of(snapshot.version(), snapshot.provinces());
+            } catch (IOException e) {
+                log.warn("⚠️ Cannot read Rwanda divisions from " + snapshotFile + ", using the bundled snapshot: " + e.getMessage());
+            }
+        }
+        try (InputStream in = new ClassPathResource(BUNDLED_SNAPSHOT).getInputStream()) {
+            Snapshot snapshot = objectMapper.readValue(in, Snapshot.class);
+            return DivisionTree.of(snapshot.version(), snapshot.provinces());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read bundled Rwanda divisions snapshot " + BUNDLED_SNAPSHOT, e);
+        }
+    }
+
+    private void writeSnapshot(DivisionTree snapshotTree, String source) {
+        if (snapshotFile.isBlank()) {
+            return;
+        }
+        Path target = Path.of(snapshotFile);
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, "rwanda-divisions", ".json");
+            objectMapper.writeValue(temporary.toFile(), new Snapshot(snapshotTree.version(), source, snapshotTree.toDivisions()));
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("⚠️ Cannot write Rwanda divisions snapshot to " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+}
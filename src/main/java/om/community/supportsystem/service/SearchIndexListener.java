@@ -0,0 +1,131 @@
+package om.community.supportsystem.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import om.community.supportsystem.model.User;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+/**
+ * Keeps SearchIndexService in step with saves and deletes. Registered with Hibernate's event
+ * listeners, so the entities do not know about it.
+ *
+ * The document is built when the row is written, while the session is still open, and applied
+ * once the transaction commits; a rolled-back write never reaches the index. Writes outside a
+ * Spring transaction are applied straight away. Indexing failures are logged and never fail the write.
+ * Requests and posts show their user's name and location, so a change to those re-indexes them too.
+ */
+@Component
+public class SearchIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexListener.class);
+
+    // User fields copied into request and post documents
+    private static final Set<String> COPIED_USER_FIELDS = Set.of("name", "province", "district");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        stage(event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        stage(event.getEntity(), false);
+        if (event.getEntity() instanceof User user && changesCopiedFields(event)) {
+            Long userId = user.getUserId();
+            afterCommit(() -> searchIndexService.reindexDependents(userId), user);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        stage(event.getEntity(), true);
+    }
+
+    // The commit is observed through Spring's transaction synchronization, not Hibernate's
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void stage(Object entity, boolean removal) {
+        Runnable change;
+        try {
+            change = removal ? searchIndexService.prepareRemoval(entity) : searchIndexService.prepareIndex(entity);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to index " + entity.getClass().getSimpleName() + ": " + e.getMessage());
+            return;
+        }
+        if (change == null) {
+            return;
+        }
+
+        afterCommit(change, entity);
+    }
+
+    private void afterCommit(Runnable change, Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change, entity);
+                }
+            });
+        } else {
+            apply(change, entity);
+        }
+    }
+
+    // Without dirty tracking (e.g. a detached merge) every property counts as changed
+    private static boolean changesCopiedFields(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        for (int property : dirty) {
+            if (COPIED_USER_FIELDS.contains(names[property])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void apply(Runnable change, Object entity) {
+        try {
+            change.run();
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to update search index for " + entity.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package om.community.supportsystem.service;
+
+import om.community.supportsystem.model.CommunityPost;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.Skill;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.repository.CommunityPostRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import om.community.supportsystem.repository.SkillRepository;
+import om.community.supportsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded full-text index over users, requests, skills and community posts.
+ *
+ * Text is accent- and case-folded and split into terms; each term maps to the documents
+ * containing it with a field weight (titles count more than bodies). Queries match terms
+ * exactly, by prefix, or within a small edit distance, and are answered entirely from memory.
+ * The index is filled at startup and kept current by SearchIndexListener as this instance's
+ * transactions commit. Writes committed on other instances arrive with the periodic rebuild
+ * (search.rebuild.interval-ms), which can also be run on demand.
+ */
+@Service
+public class SearchIndexService {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final String TYPE_USER = "user";
+    public static final String TYPE_REQUEST = "request";
+    public static final String TYPE_SKILL = "skill";
+    public static final String TYPE_POST = "post";
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float BODY_WEIGHT = 1.0f;
+    private static final float PREFIX_FACTOR = 0.6f;
+    private static final float FUZZY_FACTOR = 0.4f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int SNIPPET_LENGTH = 200;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "to", "in", "for", "on", "with", "is", "at", "by", "or");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private CommunityPostRepository postRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${search.rebuild.page-size:500}")
+    private int rebuildPageSize;
+
+    private record DocKey(String type, Long id) {}
+
+    private record IndexedDoc(DocKey key, Map<String, Object> payload, Map<String, Float> termWeights) {}
+
+    private record Hit(DocKey key, double score) {}
+
+    private static final class InvertedIndex {
+        final Map<DocKey, IndexedDoc> docs = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, Map<DocKey, Float>> postings = new ConcurrentSkipListMap<>();
+        // Documents changed by a commit while this index is being built; rows read earlier must not overwrite them
+        final Set<DocKey> changedWhileBuilding = new HashSet<>();
+
+        synchronized void putChanged(IndexedDoc doc) {
+            changedWhileBuilding.add(doc.key());
+            put(doc);
+        }
+
+        synchronized void removeChanged(DocKey key) {
+            changedWhileBuilding.add(key);
+            remove(key);
+        }
+
+        synchronized void putLoaded(IndexedDoc doc) {
+            if (!changedWhileBuilding.contains(doc.key())) {
+                put(doc);
+            }
+        }
+
+        synchronized void put(IndexedDoc doc) {
+            remove(doc.key());
+            docs.put(doc.key(), doc);
+            doc.termWeights().forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(doc.key(), weight));
+        }
+
+        synchronized void remove(DocKey key) {
+            IndexedDoc old = docs.remove(key);
+            if (old == null) {
+                return;
+            }
+            for (String term : old.termWeights().keySet()) {
+                Map<DocKey, Float> docsForTerm = postings.get(term);
+                if (docsForTerm != null) {
+                    docsForTerm.remove(key);
+                    if (docsForTerm.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    // Non-null while rebuild() runs, so concurrent updates land in the new index too
+    private volatile InvertedIndex building;
+
+    // ===== Queries =====
+
+    /**
+     * Ranked search over one document type, or all types when {@code type} is null.
+     * Returns the requested page of hits plus the total number of matching documents.
+     */
+    public Map<String, Object> search(String query, String type, int page, int size) {
+        InvertedIndex current = index;
+        Map<DocKey, Double> scores = score(current, query, type);
+
+        int wanted = (page + 1) * size;
+        Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score)
+                .thenComparing(hit -> hit.key().id(), Comparator.reverseOrder());
+        PriorityQueue<Hit> top = new PriorityQueue<>(worstFirst);
+        scores.forEach((key, score) -> {
+            top.offer(new Hit(key, score));
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        });
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(worstFirst.reversed());
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = page * size; i < ranked.size(); i++) {
+            IndexedDoc doc = current.docs.get(ranked.get(i).key());
+            if (doc == null) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>(doc.payload());
+            item.put("score", Math.round(ranked.get(i).score() * 1000.0) / 1000.0);
+            items.add(item);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("query", query);
+        result.put("type", type);
+        result.put("page", page);
+        result.put("size", size);
+        result.put("total", scores.size());
+        result.put("items", items);
+        return result;
+    }
+
+    public int getDocumentCount() {
+        return index.docs.size();
+    }
+
+    private Map<DocKey, Double> score(InvertedIndex current, String query, String type) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        Map<DocKey, Double> totals = new HashMap<>();
+        if (tokens.isEmpty()) {
+            return totals;
+        }
+
+        Map<DocKey, Integer> matchedTokens = new HashMap<>();
+        double documentCount = Math.max(1, current.docs.size());
+
+        for (String token : tokens) {
+            Map<DocKey, Double> best = new HashMap<>();
+            Map<DocKey, Float> exact = current.postings.get(token);
+            if (exact != null) {
+                collect(best, exact, 1.0f, documentCount, type);
+            }
+
+            int expansions = 0;
+            for (Map.Entry<String, Map<DocKey, Float>> entry :
+                    current.postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                collect(best, entry.getValue(), PREFIX_FACTOR, documentCount, type);
+            }
+
+            // Typo tolerance only when the token itself is not a known term
+            if (exact == null && token.length() >= MIN_FUZZY_LENGTH) {
+                int maxDistance = token.length() >= 8 ? 2 : 1;
+                String first = token.substring(0, 1);
+                for (Map.Entry<String, Map<DocKey, Float>> entry :
+                        current.postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                    String term = entry.getKey();
+                    if (Math.abs(term.length() - token.length()) <= maxDistance
+                            && editDistance(token, term, maxDistance) <= maxDistance) {
+                        collect(best, entry.getValue(), FUZZY_FACTOR, documentCount, type);
+                    }
+                }
+            }
+
+            best.forEach((key, score) -> {
+                totals.merge(key, score, Double::sum);
+                matchedTokens.merge(key, 1, Integer::sum);
+            });
+        }
+
+        // Documents matching every query token rank above partial matches
+        totals.replaceAll((key, score) -> {
+            double coverage = matchedTokens.get(key) / (double) tokens.size();
+            return score * coverage * coverage;
+        });
+        return totals;
+    }
+
+    private static void collect(Map<DocKey, Double> best, Map<DocKey, Float> docsForTerm, float factor,
+                                double documentCount, String type) {
+        double idf = Math.log(1 + documentCount / docsForTerm.size());
+        docsForTerm.forEach((key, weight) -> {
+            if (type == null || type.equals(key.type())) {
+                best.merge(key, weight * factor * idf, Math::max);
+            }
+        });
+    }
+
+    /** Optimal string alignment distance, giving up once it exceeds {@code max}. */
+    static int editDistance(String a, String b, int max) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // ===== Index maintenance =====
+
+    /** Add or replace the document for a searchable entity. Other entities are ignored. */
+    public void index(Object entity) {
+        Runnable change = prepareIndex(entity);
+        if (change != null) {
+            change.run();
+        }
+    }
+
+    public void remove(Object entity) {
+        Runnable change = prepareRemoval(entity);
+        if (change != null) {
+            change.run();
+        }
+    }
+
+    /**
+     * Builds the document for a saved entity now, while its lazy associations can still be read,
+     * and returns the change that puts it into the index; null for entities that are not searchable.
+     */
+    public Runnable prepareIndex(Object entity) {
+        IndexedDoc doc = toDocument(entity);
+        if (doc == null) {
+            return null;
+        }
+        return () -> put(doc);
+    }
+
+    /**
+     * Re-indexes the requests and posts that show a user's name or location, after that user
+     * changed. Runs in its own read-only transaction, so it can be called after a commit.
+     */
+    public void reindexDependents(Long userId) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<IndexedDoc> docs = readOnly.execute(status -> {
+            List<IndexedDoc> dependents = new ArrayList<>();
+            requestRepository.findByCitizenUserId(userId).forEach(request -> dependents.add(requestDocument(request)));
+            postRepository.findByAuthorUserId(userId).forEach(post -> dependents.add(postDocument(post)));
+            return dependents;
+        });
+        docs.forEach(this::put);
+    }
+
+    private void put(IndexedDoc doc) {
+        index.put(doc);
+        InvertedIndex rebuilding = building;
+        if (rebuilding != null) {
+            rebuilding.putChanged(doc);
+        }
+    }
+
+    public Runnable prepareRemoval(Object entity) {
+        DocKey key = toKey(entity);
+        if (key == null) {
+            return null;
+        }
+        return () -> {
+            index.remove(key);
+            InvertedIndex rebuilding = building;
+            if (rebuilding != null) {
+                rebuilding.removeChanged(key);
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("❌ Failed to build search index: " + e.getMessage(), e);
+        }
+    }
+
+    /** Picks up writes committed on other instances, which this instance's listener never sees. */
+    @Scheduled(initialDelayString = "${search.rebuild.interval-ms:300000}",
+               fixedDelayString = "${search.rebuild.interval-ms:300000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("⚠️ Scheduled search index rebuild failed, keeping the current index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read every searchable entity into a fresh index and swap it in. Tables are read in
+     * id-ordered pages, each in its own read-only transaction, so only one page is held at a time.
+     */
+    public synchronized Map<String, Object> rebuild() {
+        long started = System.currentTimeMillis();
+        InvertedIndex fresh = new InvertedIndex();
+        building = fresh;
+        try {
+            addPages(fresh, userRepository::findPageAfter, User::getUserId);
+            addPages(fresh, requestRepository::findPageAfter, Request::getRequestId);
+            addPages(fresh, skillRepository::findPageAfter, Skill::getSkillId);
+            addPages(fresh, postRepository::findPageAfter, CommunityPost::getPostId);
+            index = fresh;
+        } finally {
+            building = null;
+        }
+
+        long duration = System.currentTimeMillis() - started;
+        log.info("✅ Search index built: " + fresh.docs.size() + " documents, " + fresh.postings.size()
+                + " terms in " + duration + "ms");
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("documents", fresh.docs.size());
+        result.put("terms", fresh.postings.size());
+        result.put("durationMs", duration);
+        return result;
+    }
+
+    private <T> void addPages(InvertedIndex target, BiFunction<Long, Pageable, List<T>> pageAfter, Function<T, Long> idOf) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long afterId = 0L;
+        while (afterId != null) {
+            Long from = afterId;
+            afterId = readOnly.execute(status -> {
+                List<T> page = pageAfter.apply(from, PageRequest.of(0, rebuildPageSize));
+                page.forEach(entity -> target.putLoaded(toDocument(entity)));
+                return page.size() < rebuildPageSize ? null : idOf.apply(page.get(page.size() - 1));
+            });
+        }
+    }
+
+    // ===== Documents =====
+
+    private IndexedDoc toDocument(Object entity) {
+        if (entity instanceof User user) {
+            return userDocument(user);
+        }
+        if (entity instanceof Request request) {
+            return requestDocument(request);
+        }
+        if (entity instanceof Skill skill) {
+            return skillDocument(skill);
+        }
+        if (entity instanceof CommunityPost post) {
+            return postDocument(post);
+        }
+        return null;
+    }
+
+    private static DocKey toKey(Object entity) {
+        if (entity instanceof User user) {
+            return new DocKey(TYPE_USER, user.getUserId());
+        }
+        if (entity instanceof Request request) {
+            return new DocKey(TYPE_REQUEST, request.getRequestId());
+        }
+        if (entity instanceof Skill skill) {
+            return new DocKey(TYPE_SKILL, skill.getSkillId());
+        }
+        if (entity instanceof CommunityPost post) {
+            return new DocKey(TYPE_POST, post.getPostId());
+        }
+        return null;
+    }
+
+    private IndexedDoc userDocument(User user) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", TYPE_USER);
+        payload.put("userId", user.getUserId());
+        payload.put("name", user.getName());
+        payload.put("role", user.getRole());
+        payload.put("province", user.getProvince());
+        payload.put("district", user.getDistrict());
+
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, user.getName(), TITLE_WEIGHT);
+        return new IndexedDoc(new DocKey(TYPE_USER, user.getUserId()), payload, terms);
+    }
+
+    private IndexedDoc requestDocument(Request request) {
+        User citizen = request.getCitizen();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", TYPE_REQUEST);
+        payload.put("requestId", request.getRequestId());
+        payload.put("title", request.getTitle());
+        payload.put("description", snippet(request.getDescription()));
+        payload.put("category", request.getCategory());
+        payload.put("status", request.getStatus());
+        payload.put("createdAt", request.getCreatedAt());
+        payload.put("citizenName", citizen != null ? citizen.getName() : null);
+        payload.put("province", citizen != null ? citizen.getProvince() : null);
+        payload.put("district", citizen != null ? citizen.getDistrict() : null);
+
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, request.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, request.getDescription(), BODY_WEIGHT);
+        return new IndexedDoc(new DocKey(TYPE_REQUEST, request.getRequestId()), payload, terms);
+    }
+
+    private IndexedDoc skillDocument(Skill skill) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", TYPE_SKILL);
+        payload.put("skillId", skill.getSkillId());
+        payload.put("skillName", skill.getSkillName());
+        payload.put("description", skill.getDescription());
+
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, skill.getSkillName(), TITLE_WEIGHT);
+        addTerms(terms, skill.getDescription(), BODY_WEIGHT);
+        return new IndexedDoc(new DocKey(TYPE_SKILL, skill.getSkillId()), payload, terms);
+    }
+
+    private IndexedDoc postDocument(CommunityPost post) {
+        User author = post.getAuthor();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", TYPE_POST);
+        payload.put("postId", post.getPostId());
+        payload.put("title", post.getTitle());
+        payload.put("content", snippet(post.getContent()));
+        payload.put("category", post.getCategory());
+        payload.put("authorName", author != null ? author.getName() : null);
+        payload.put("createdAt", post.getCreatedAt());
+
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, post.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, post.getContent(), BODY_WEIGHT);
+        return new IndexedDoc(new DocKey(TYPE_POST, post.getPostId()), payload, terms);
+    }
+
+    // Repeating a word within one field does not raise its weight
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : new HashSet<>(tokenize(text))) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    private static String snippet(String text) {
+        if (text == null || text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SNIPPET_LENGTH) + "…";
+    }
+}
@@ -1,73 +1,58 @@
 package om.community.supportsystem.service;
 
-import om.community.supportsystem.model.Request;
-import om.community.supportsystem.model.Skill;
-import om.community.supportsystem.model.User;
-import om.community.supportsystem.repository.RequestRepository;
-import om.community.supportsystem.repository.SkillRepository;
-import om.community.supportsystem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class SearchService {
 
     @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private RequestRepository requestRepository;
-
-    @Autowired
-    private SkillRepository skillRepository;
+    private SearchIndexService searchIndexService;
 
     public Map<String, Object> globalSearch(String query, int limit) {
         Map<String, Object> results = new HashMap<>();
-        
-        // Search users
-        List<User> users = userRepository.findByNameContainingIgnoreCase(query)
-            .stream()
-            .limit(limit)
-            .collect(Collectors.toList());
-        results.put("users", users);
-        
-        // Search requests
-        List<Request> requests = requestRepository.findByTitleContainingIgnoreCase(query)
-            .stream()
-            .limit(limit)
-            .collect(Collectors.toList());
-        results.put("requests", requests);
-        
-        // Search skills
-        List<Skill> skills = skillRepository.findBySkillNameContainingIgnoreCase(query)
-            .stream()
-            .limit(limit)
-            .collect(Collectors.toList());
-        results.put("skills", skills);
-        
-        // Add counts
-        results.put("totalUsers", users.size());
-        results.put("totalRequests", requests.size());
-        results.put("totalSkills", skills.size());
+
+        Map<String, Object> users = searchIndexService.search(query, SearchIndexService.TYPE_USER, 0, limit);
+        Map<String, Object> requests = searchIndexService.search(query, SearchIndexService.TYPE_REQUEST, 0, limit);
+        Map<String, Object> skills = searchIndexService.search(query, SearchIndexService.TYPE_SKILL, 0, limit);
+        Map<String, Object> posts = searchIndexService.search(query, SearchIndexService.TYPE_POST, 0, limit);
+
+        results.put("users", users.get("items"));
+        results.put("requests", requests.get("items"));
+        results.put("skills", skills.get("items"));
+        results.put("posts", posts.get("items"));
+
+        // Totals count every match, not just the returned top results
+        results.put("totalUsers", users.get("total"));
+        results.put("totalRequests", requests.get("total"));
+        results.put("totalSkills", skills.get("total"));
+        results.put("totalPosts", posts.get("total"));
         results.put("query", query);
-        
+
         return results;
     }
 
-    public List<User> searchUsers(String query) {
-        return userRepository.findByNameContainingIgnoreCase(query);
+    public Map<String, Object> search(String query, String type, int page, int size) {
+        return searchIndexService.search(query, type, page, size);
+    }
+
+    public List<?> searchUsers(String query, int page, int size) {
+        return (List<?>) searchIndexService.search(query, SearchIndexService.TYPE_USER, page, size).get("items");
+    }
+
+    public List<?> searchRequests(String query, int page, int size) {
+        return (List<?>) searchIndexService.search(query, SearchIndexService.TYPE_REQUEST, page, size).get("items");
     }
 
-    public List<Request> searchRequests(String query) {
-        return requestRepository.findByTitleContainingIgnoreCase(query);
+    public List<?> searchSkills(String query, int page, int size) {
+        return (List<?>) searchIndexService.search(query, SearchIndexService.TYPE_SKILL, page, size).get("items");
     }
 
-    public List<Skill> searchSkills(String query) {
-        return skillRepository.findBySkillNameContainingIgnoreCase(query);
+    public List<?> searchPosts(String query, int page, int size) {
+        return (List<?>) searchIndexService.search(query, SearchIndexService.TYPE_POST, page, size).get("items");
     }
-}
\ No newline at end of file
+}
@@ -4,17 +4,37 @@ import com.sendgrid.*;
 import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.Content;
 import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import om.community.supportsystem.email.BulkRecipient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 
 @Service
 public class SendGridEmailService {
     private static final Logger log = LoggerFactory.getLogger(SendGridEmailService.class);
 
+    /** Most personalizations (recipients) SendGrid accepts in one mail/send call. */
+    public static final int MAX_PERSONALIZATIONS = 1000;
+
+    /** A mail/send call that SendGrid answered with an error status. */
+    public static class SendGridException extends RuntimeException {
+        private final int statusCode;
+
+        public SendGridException(int statusCode, String body) {
+            super("Failed to send email. Status: " + statusCode + ", Body: " + body);
+            this.statusCode = statusCode;
+        }
+
+        public int getStatusCode() { return statusCode; }
+
+        /** Rate limited or a server error; the same call may succeed later. */
+        public boolean isRetryable() { return statusCode == 429 || statusCode >= 500; }
+    }
 
     @Value("${sendgrid.api.key}")
     private String apiKey;
@@ -27,6 +47,13 @@ public class SendGridEmailService {
     
     @Value("${frontend.url:https://community-support-system.vercel.app}")
     private String frontendUrl;
+
+    @Value("${sendgrid.api.host:api.sendgrid.com}")
+    private String apiHost;
+
+    // Plain HTTP, only for a local stand-in of the API
+    @Value("${sendgrid.api.plain-http:false}")
+    private boolean plainHttp;
     
     private String getFrontendUrl() {
         // Use the injected frontendUrl property (from FRONTEND_URL env var or default)
@@ -45,7 +72,40 @@ public class SendGridEmailService {
         // Add authentication headers to improve deliverability
         mail.setReplyTo(new Email(fromEmail, fromName));
         
-        SendGrid sg = new SendGrid(apiKey);
+        Response response = post(mail);
+        log.info("✅ Email sent successfully to: " + toEmail);
+        log.info("📧 Subject: " + subject);
+        log.info("📊 Status Code: " + response.getStatusCode());
+    }
+
+    /**
+     * Sends the same message to every recipient in one mail/send call, one personalization per
+     * recipient. Each recipient's substitutions replace their keys (e.g. -name-) in the subject
+     * as given and in the body HTML-escaped, and recipients do not see each other.
+     */
+    public void sendBulk(String subject, String htmlContent, List<BulkRecipient> recipients) throws IOException {
+        if (recipients.isEmpty() || recipients.size() > MAX_PERSONALIZATIONS) {
+            throw new IllegalArgumentException("A bulk send takes 1 to " + MAX_PERSONALIZATIONS + " recipients, got " + recipients.size());
+        }
+        Mail mail = new Mail();
+        mail.setFrom(new Email(fromEmail, fromName));
+        mail.setReplyTo(new Email(fromEmail, fromName));
+        mail.setSubject(subject);
+        mail.addContent(new Content("text/html", htmlContent));
+        for (BulkRecipient recipient : recipients) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(recipient.email()));
+            // The subject is plain text; substitutions only fill the HTML body, so they are escaped
+            personalization.setSubject(recipient.fill(subject));
+            recipient.htmlSubstitutions().forEach(personalization::addSubstitution);
+            mail.addPersonalization(personalization);
+        }
+        post(mail);
+    }
+
+    private Response post(Mail mail) throws IOException {
+        SendGrid sg = new SendGrid(apiKey, plainHttp);
+        sg.setHost(apiHost);
         Request request = new Request();
         
         try {
@@ -56,13 +116,9 @@ public class SendGridEmailService {
             Response response = sg.api(request);
             
             if (response.getStatusCode() >= 400) {
-                throw new RuntimeException("Failed to send email. Status: " + response.getStatusCode() + 
-                                         ", Body: " + response.getBody());
+                throw new SendGridException(response.getStatusCode(), response.getBody());
             }
-            
-            log.info("✅ Email sent successfully to: " + toEmail);
-            log.info("📧 Subject: " + subject);
-            log.info("📊 Status Code: " + response.getStatusCode());
+            return response;
             
         } catch (IOException ex) {
             log.error(String.valueOf("❌ Error sending email: " + ex.getMessage()));
@@ -82,7 +138,7 @@ public class SendGridEmailService {
         sendEmail(toEmail, subject, htmlContent);
     }
 
-    private String buildVerificationEmailTemplate(String userName, String verificationToken) {
+    String buildVerificationEmailTemplate(String userName, String verificationToken) {
         String verifyUrl = getFrontendUrl() + "/verify-email?token=" + verificationToken;
         return """
             <!DOCTYPE html>
@@ -145,7 +201,7 @@ public class SendGridEmailService {
             """.formatted(userName, verifyUrl, verifyUrl);
     }
 
-    private String buildPasswordResetEmailTemplate(String userName, String resetToken) {
+    String buildPasswordResetEmailTemplate(String userName, String resetToken) {
         String resetUrl = getFrontendUrl() + "/reset-password?token=" + resetToken;
         return """
             <!DOCTYPE html>
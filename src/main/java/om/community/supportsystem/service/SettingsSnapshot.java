@@ -0,0 +1,117 @@
+package om.community.supportsystem.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * An immutable copy of every system setting at one version. Values are parsed once when the
+ * snapshot is built, so typed reads are a map lookup. Changes produce a new snapshot.
+ */
+public final class SettingsSnapshot {
+
+    private record Value(String raw, Long asLong, Double asDouble, Boolean asBoolean) {
+
+        static Value parse(String raw) {
+            String trimmed = raw.trim();
+            Long asLong = null;
+            Double asDouble = null;
+            try {
+                asLong = Long.parseLong(trimmed);
+            } catch (NumberFormatException e) {
+                // not an integer
+            }
+            try {
+                asDouble = Double.parseDouble(trimmed);
+            } catch (NumberFormatException e) {
+                // not a number
+            }
+            Boolean asBoolean = "true".equalsIgnoreCase(trimmed) ? Boolean.TRUE
+                    : "false".equalsIgnoreCase(trimmed) ? Boolean.FALSE : null;
+            return new Value(raw, asLong, asDouble, asBoolean);
+        }
+    }
+
+    static final SettingsSnapshot EMPTY = new SettingsSnapshot(0, new TreeMap<>());
+
+    private final long version;
+    private final NavigableMap<String, Value> values;
+
+    private SettingsSnapshot(long version, NavigableMap<String, Value> values) {
+        this.version = version;
+        this.values = values;
+    }
+
+    static SettingsSnapshot of(long version, Map<String, String> settings) {
+        NavigableMap<String, Value> values = new TreeMap<>();
+        settings.forEach((key, raw) -> {
+            if (raw != null) {
+                values.put(key, Value.parse(raw));
+            }
+        });
+        return new SettingsSnapshot(version, values);
+    }
+
+    /** A copy at {@code version} with one setting replaced, or removed when {@code raw} is null. */
+    SettingsSnapshot with(long version, String key, String raw) {
+        NavigableMap<String, Value> copy = new TreeMap<>(values);
+        if (raw != null) {
+            copy.put(key, Value.parse(raw));
+        } else {
+            copy.remove(key);
+        }
+        return new SettingsSnapshot(version, copy);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        Value value = values.get(key);
+        return value != null ? value.raw() : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.asLong() != null ? value.asLong() : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.asLong() != null
+                && value.asLong() >= Integer.MIN_VALUE && value.asLong() <= Integer.MAX_VALUE
+                ? value.asLong().intValue() : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.asDouble() != null ? value.asDouble() : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.asBoolean() != null ? value.asBoolean() : defaultValue;
+    }
+
+    /** Raw values of the settings whose key starts with {@code prefix}, in key order. */
+    public Map<String, String> withPrefix(String prefix) {
+        Map<String, String> matching = new TreeMap<>();
+        for (Map.Entry<String, Value> entry : values.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            matching.put(entry.getKey(), entry.getValue().raw());
+        }
+        return Collections.unmodifiableMap(matching);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
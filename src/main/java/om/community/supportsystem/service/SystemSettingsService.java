@@ -1,49 +1,213 @@
 package om.community.supportsystem.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
 import om.community.supportsystem.model.SystemSettings;
 import om.community.supportsystem.repository.SystemSettingsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * System settings. Reads are answered from an in-memory SettingsSnapshot, so the typed getters
+ * are one volatile read plus a map lookup and are safe on hot paths.
+ *
+ * Every write also increments the settings.version row, under a row lock and in the same
+ * transaction, then swaps in a copy of the snapshot with the change applied. Other instances
+ * poll that row (settings.poll-interval-ms) and reload everything when it has moved.
+ */
 @Service
 public class SystemSettingsService {
-    
+    private static final Logger log = LoggerFactory.getLogger(SystemSettingsService.class);
+
+    public static final String VERSION_KEY = "settings.version";
+
+    private record Versioned<T>(T value, long version) {}
+
     @Autowired
     private SystemSettingsRepository settingsRepository;
-    
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private volatile SettingsSnapshot snapshot = SettingsSnapshot.EMPTY;
+
+    @PostConstruct
+    void initialize() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!settingsRepository.existsBySettingKey(VERSION_KEY)) {
+                    settingsRepository.save(versionRow());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+        reload();
+        log.info("✅ Loaded " + snapshot.size() + " system settings at version " + snapshot.version());
+    }
+
     public List<SystemSettings> getAllSettings() {
         return settingsRepository.findAll();
     }
-    
+
     public Optional<SystemSettings> getSettingByKey(String key) {
         return settingsRepository.findBySettingKey(key);
     }
-    
+
+    /** The current settings; hold on to it to read several values from one consistent version. */
+    public SettingsSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public long getVersion() {
+        return snapshot.version();
+    }
+
     public String getSettingValue(String key, String defaultValue) {
-        return settingsRepository.findBySettingKey(key)
-            .map(SystemSettings::getSettingValue)
-            .orElse(defaultValue);
+        return snapshot.getString(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return snapshot.getLong(key, defaultValue);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return snapshot.getDouble(key, defaultValue);
     }
-    
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
+    }
+
     public SystemSettings updateSetting(String key, String value) {
-        Optional<SystemSettings> existing = settingsRepository.findBySettingKey(key);
-        if (existing.isPresent()) {
-            SystemSettings setting = existing.get();
-            setting.setSettingValue(value);
-            setting.setUpdatedAt(LocalDateTime.now());
-            return settingsRepository.save(setting);
-        } else {
-            SystemSettings newSetting = new SystemSettings();
-            newSetting.setSettingKey(key);
-            newSetting.setSettingValue(value);
-            return settingsRepository.save(newSetting);
-        }
+        requireWritable(key);
+        Versioned<SystemSettings> result = transactionTemplate.execute(status -> {
+            long version = nextVersion();
+            Optional<SystemSettings> existing = settingsRepository.findBySettingKey(key);
+            if (existing.isPresent()) {
+                SystemSettings setting = existing.get();
+                setting.setSettingValue(value);
+                setting.setUpdatedAt(LocalDateTime.now());
+                return new Versioned<>(settingsRepository.save(setting), version);
+            } else {
+                SystemSettings newSetting = new SystemSettings();
+                newSetting.setSettingKey(key);
+                newSetting.setSettingValue(value);
+                return new Versioned<>(settingsRepository.save(newSetting), version);
+            }
+        });
+        apply(result.version(), key, value);
+        return result.value();
     }
-    
+
     public void deleteSetting(String key) {
-        settingsRepository.findBySettingKey(key).ifPresent(settingsRepository::delete);
+        requireWritable(key);
+        Versioned<Boolean> result = transactionTemplate.execute(status -> {
+            Optional<SystemSettings> existing = settingsRepository.findBySettingKey(key);
+            if (existing.isEmpty()) {
+                return new Versioned<>(false, 0L);
+            }
+            long version = nextVersion();
+            settingsRepository.delete(existing.get());
+            return new Versioned<>(true, version);
+        });
+        if (result.value()) {
+            apply(result.version(), key, null);
+        }
+    }
+
+    // ===== Snapshot maintenance =====
+
+    /** Rebuilds the snapshot from the table, bypassing Hibernate and its caches. */
+    public synchronized void reload() {
+        Map<String, String> values = new HashMap<>();
+        jdbcTemplate.query("SELECT setting_key, setting_value FROM system_settings",
+                rs -> { values.put(rs.getString(1), rs.getString(2)); });
+        snapshot = SettingsSnapshot.of(parseVersion(values.get(VERSION_KEY)), values);
+    }
+
+    @Scheduled(initialDelayString = "${settings.poll-interval-ms:5000}",
+               fixedDelayString = "${settings.poll-interval-ms:5000}")
+    public void pollForChanges() {
+        try {
+            List<String> rows = jdbcTemplate.queryForList(
+                    "SELECT setting_value FROM system_settings WHERE setting_key = ?", String.class, VERSION_KEY);
+            long version = rows.isEmpty() ? 0 : parseVersion(rows.get(0));
+            if (version == snapshot.version()) {
+                return;
+            }
+            reload();
+            // Entities and query results cached here predate the other instance's writes
+            entityManagerFactory.getCache().evict(SystemSettings.class);
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+            log.info("🔄 System settings changed elsewhere, reloaded version " + snapshot.version());
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to check system settings version: " + e.getMessage());
+        }
+    }
+
+    /** Publishes a committed write: a one-entry copy if it directly follows ours, else a full reload. */
+    private synchronized void apply(long version, String key, String value) {
+        SettingsSnapshot current = snapshot;
+        if (version == current.version() + 1) {
+            snapshot = current.with(version, key, value);
+        } else if (version > current.version()) {
+            // Another instance wrote in between; take all of its changes too
+            reload();
+        }
+        // Otherwise a reload already picked this write up
+    }
+
+    /** Increments the version row, holding its lock until the caller's transaction ends. */
+    private long nextVersion() {
+        SystemSettings row = settingsRepository.findForUpdate(VERSION_KEY).orElseGet(this::versionRow);
+        long next = parseVersion(row.getSettingValue()) + 1;
+        row.setSettingValue(Long.toString(next));
+        row.setUpdatedAt(LocalDateTime.now());
+        settingsRepository.save(row);
+        return next;
+    }
+
+    private SystemSettings versionRow() {
+        SystemSettings row = new SystemSettings();
+        row.setSettingKey(VERSION_KEY);
+        row.setSettingValue("0");
+        row.setDescription("Incremented on every settings change; instances poll it to stay in sync");
+        return row;
+    }
+
+    private static void requireWritable(String key) {
+        if (VERSION_KEY.equals(key)) {
+            throw new IllegalArgumentException(VERSION_KEY + " is maintained automatically");
+        }
+    }
+
+    private static long parseVersion(String value) {
+        try {
+            return value != null ? Long.parseLong(value.trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
@@ -8,8 +8,11 @@ import om.community.supportsystem.model.Skill;
 import om.community.supportsystem.repository.UserRepository;
 import om.community.supportsystem.repository.UserSettingsRepository;
 import om.community.supportsystem.repository.SkillRepository;
+import om.community.supportsystem.dto.CursorPage;
+import om.community.supportsystem.util.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -36,6 +39,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private VolunteerRoutingService volunteerRoutingService;
+    
     // Create
     public User createUser(User user) {
         // Validate required fields
@@ -67,18 +73,39 @@ public class UserService {
         
         // Location will be handled by JPA automatically
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        volunteerRoutingService.indexUser(savedUser);
+        return savedUser;
     }
     
     // Read
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
+
+    /** Keyset slice of users, newest first; a null role means every role. */
+    public CursorPage<User> getUserSlice(UserRole role, String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<User> fetched = after == null
+                ? userRepository.findSliceNewestFirst(role, limit)
+                : userRepository.findSliceNewestFirstAfter(role, after.createdAt(), after.id(), limit);
+        Long total = null;
+        if (includeTotal) {
+            total = role == null ? userRepository.count() : userRepository.countByRole(role);
+        }
+        return CursorPage.of(fetched, size, u -> new SeekCursor(u.getCreatedAt(), u.getUserId()), total);
+    }
     
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
+    /** Read-only profile with location and skills fetched up front, for returning as JSON. */
+    public Optional<User> getUserProfile(Long id) {
+        return userRepository.findWithProfileByUserId(id);
+    }
+    
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -152,7 +179,9 @@ public class UserService {
                     user.setSector(userDetails.getSector());
                     user.setCell(userDetails.getCell());
                     user.setVillage(userDetails.getVillage());
-                    return userRepository.save(user);
+                    User savedUser = userRepository.save(user);
+                    volunteerRoutingService.indexUser(savedUser);
+                    return savedUser;
                 })
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
@@ -171,7 +200,9 @@ public class UserService {
             throw new RuntimeException("Cannot delete user with existing assignments. Please complete assignments first.");
         }
         
+        userSettingsRepository.findByUserUserId(id).ifPresent(userSettingsRepository::delete);
         userRepository.deleteById(id);
+        volunteerRoutingService.removeUser(id);
     }
     
     // Utility methods
@@ -223,7 +254,7 @@ public class UserService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
         user.setRole(role);
-        userRepository.save(user);
+        volunteerRoutingService.indexUser(userRepository.save(user));
     }
     
     public void adminResetPassword(Long userId, String newPassword) {
@@ -252,11 +283,8 @@ public class UserService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
         
-        UserSettings settings = user.getUserSettings();
-        if (settings == null) {
-            settings = new UserSettings();
-            settings.setUser(user);
-        }
+        UserSettings settings = userSettingsRepository.findByUserUserId(userId)
+            .orElseGet(() -> new UserSettings(user));
         
         if (preferences.containsKey("emailNotifications")) {
             settings.setEmailNotifications(preferences.get("emailNotifications"));
@@ -287,7 +315,7 @@ public class UserService {
         settings.put("cell", user.getCell());
         settings.put("village", user.getVillage());
         
-        UserSettings userSettings = user.getUserSettings();
+        UserSettings userSettings = userSettingsRepository.findByUserUserId(userId).orElse(null);
         if (userSettings != null) {
             settings.put("emailNotifications", userSettings.getEmailNotifications());
             settings.put("pushNotifications", userSettings.getPushNotifications());
@@ -334,7 +362,7 @@ public class UserService {
             user.setVillage((String) profileData.get("village"));
         }
         
-        userRepository.save(user);
+        volunteerRoutingService.indexUser(userRepository.save(user));
     }
     
     // Skills Management
@@ -359,7 +387,9 @@ public class UserService {
         // Add skill to user
         user.getSkills().add(skill);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        volunteerRoutingService.indexUser(savedUser);
+        return savedUser;
     }
     
     public User removeSkillFromUser(Long userId, Long skillId) {
@@ -377,6 +407,8 @@ public class UserService {
             throw new RuntimeException("User does not have this skill");
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        volunteerRoutingService.indexUser(savedUser);
+        return savedUser;
     }
 }
\ No newline at end of file
@@ -0,0 +1,389 @@
+package om.community.supportsystem.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.Skill;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks which volunteers hear about a new request.
+ *
+ * Volunteers are ranked by skill/category match, how close they live to the citizen in the
+ * province > district > sector > cell > village hierarchy, how many assignments they
+ * already have open and their smoothed rating. Candidates come from in-memory inverted indexes keyed by
+ * (category, district), district and category, so routing never touches the database.
+ *
+ * The pool widens from the citizen's district to other districts of the same province and then to
+ * matching volunteers anywhere, stopping once it can fill the limit. It never holds more than
+ * notifications.routing.max-candidates volunteers, so scoring stays bounded as the volunteer base grows.
+ */
+@Service
+public class VolunteerRoutingService {
+    private static final Logger log = LoggerFactory.getLogger(VolunteerRoutingService.class);
+
+    private static final double SKILL_WEIGHT = 10.0;
+    private static final double AREA_WEIGHT = 2.0;
+    private static final double LOAD_WEIGHT = 1.5;
+    private static final int MAX_LOAD_PENALTY = 5;
+    private static final double RATING_WEIGHT = 1.0;
+
+    // Skills (lower-case names) that qualify a volunteer for each category.
+    // GENERAL_HELP and OTHERS have no entry: every volunteer qualifies.
+    private static final Map<RequestCategory, Set<String>> CATEGORY_SKILLS = new EnumMap<>(RequestCategory.class);
+
+    static {
+        CATEGORY_SKILLS.put(RequestCategory.TRANSPORTATION,
+                Set.of("transportation", "delivery", "moving services", "vehicle repair"));
+        CATEGORY_SKILLS.put(RequestCategory.TECHNOLOGY_SUPPORT,
+                Set.of("programming", "tech support", "data entry", "digital marketing", "graphic design"));
+        CATEGORY_SKILLS.put(RequestCategory.SHOPPING_AND_ERRANDS,
+                Set.of("personal shopping", "delivery", "transportation"));
+        CATEGORY_SKILLS.put(RequestCategory.TUTORING_AND_EDUCATION,
+                Set.of("tutoring", "education", "language translation", "music lessons"));
+        CATEGORY_SKILLS.put(RequestCategory.HOUSEHOLD_TASKS,
+                Set.of("cleaning services", "plumbing", "electrical work", "carpentry", "painting & decoration",
+                        "gardening", "construction", "cooking", "moving services"));
+        CATEGORY_SKILLS.put(RequestCategory.HEALTHCARE_ASSISTANCE,
+                Set.of("healthcare", "mental health support", "elderly care", "nutrition counseling",
+                        "fitness training", "childcare"));
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private RatingAggregationService ratingAggregationService;
+
+    // Other districts of the citizen's province searched when the own district is too small
+    @Value("${notifications.routing.nearby-districts:5}")
+    private int nearbyDistricts;
+
+    @Value("${notifications.routing.max-candidates:1000}")
+    private int maxCandidates;
+
+    private record Area(String province, String district, String sector, String cell, String village) {}
+
+    private record VolunteerProfile(Long userId, Area area, Set<RequestCategory> categories) {}
+
+    private record CategoryDistrict(RequestCategory category, String district) {}
+
+    /** Profiles plus the inverted indexes over them. Rebuilds swap in a new instance. */
+    private static final class RoutingIndex {
+        final Map<Long, VolunteerProfile> profiles = new ConcurrentHashMap<>();
+        final Map<CategoryDistrict, Set<Long>> byCategoryDistrict = new ConcurrentHashMap<>();
+        final Map<String, Set<Long>> byDistrict = new ConcurrentHashMap<>();
+        final Map<RequestCategory, Set<Long>> byCategory = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> districtsByProvince = new ConcurrentHashMap<>();
+
+        void add(VolunteerProfile profile) {
+            Long userId = profile.userId();
+            String district = profile.area().district();
+            profiles.put(userId, profile);
+            districtsByProvince.computeIfAbsent(profile.area().province(), p -> ConcurrentHashMap.newKeySet()).add(district);
+            byDistrict.computeIfAbsent(district, d -> ConcurrentHashMap.newKeySet()).add(userId);
+            for (RequestCategory category : profile.categories()) {
+                byCategory.computeIfAbsent(category, c -> ConcurrentHashMap.newKeySet()).add(userId);
+                byCategoryDistrict.computeIfAbsent(new CategoryDistrict(category, district), k -> ConcurrentHashMap.newKeySet()).add(userId);
+            }
+        }
+
+        void remove(Long userId) {
+            VolunteerProfile profile = profiles.remove(userId);
+            if (profile == null) {
+                return;
+            }
+            String district = profile.area().district();
+            removeMember(byDistrict, district, userId);
+            for (RequestCategory category : profile.categories()) {
+                removeMember(byCategory, category, userId);
+                removeMember(byCategoryDistrict, new CategoryDistrict(category, district), userId);
+            }
+        }
+
+        private static <K> void removeMember(Map<K, Set<Long>> index, K key, Long userId) {
+            Set<Long> members = index.get(key);
+            if (members != null) {
+                members.remove(userId);
+                if (members.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    private volatile RoutingIndex index = new RoutingIndex();
+    private final Map<Long, Integer> openAssignments = new ConcurrentHashMap<>();
+
+    // Non-null while a rebuild counts open assignments; volunteers whose load changes meanwhile keep their live count
+    private volatile Set<Long> loadsChangedDuringRebuild;
+
+    private final Timer routingTimer;
+    private final DistributionSummary candidatesScored;
+
+    public VolunteerRoutingService(MeterRegistry meterRegistry) {
+        this.routingTimer = Timer.builder("notifications.routing.latency")
+                .description("Time to select volunteers for a new request")
+                .register(meterRegistry);
+        this.candidatesScored = DistributionSummary.builder("notifications.routing.candidates")
+                .description("Volunteers scored for a new request")
+                .register(meterRegistry);
+    }
+
+    // ===== Routing =====
+
+    public boolean isReady() {
+        return !index.profiles.isEmpty();
+    }
+
+    /** The best {@code limit} volunteers for a request, best first. */
+    public List<Long> selectVolunteers(Request request, int limit) {
+        long started = System.nanoTime();
+        RequestCategory category = request.getCategory() != null ? request.getCategory() : RequestCategory.GENERAL_HELP;
+        Area target = areaOf(request.getCitizen());
+        RoutingIndex index = this.index;
+
+        // Widen the candidate pool only while it is too small to fill the limit
+        int cap = Math.max(limit, maxCandidates);
+        Set<Long> candidates = new HashSet<>();
+        addCandidates(candidates, index.byCategoryDistrict.get(new CategoryDistrict(category, target.district())), cap);
+        if (candidates.size() < limit) {
+            addCandidates(candidates, index.byDistrict.get(target.district()), cap);
+        }
+        if (candidates.size() < limit) {
+            List<String> nearby = nearbyDistricts(index, category, target);
+            for (String district : nearby) {
+                addCandidates(candidates, index.byCategoryDistrict.get(new CategoryDistrict(category, district)), cap);
+            }
+            for (int i = 0; i < nearby.size() && candidates.size() < limit; i++) {
+                addCandidates(candidates, index.byDistrict.get(nearby.get(i)), cap);
+            }
+        }
+        if (candidates.size() < limit) {
+            addCandidates(candidates, index.byCategory.get(category), cap);
+        }
+
+        // Min-heap of the best `limit` scores seen so far
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(
+                Comparator.<Map.Entry<Long, Double>>comparingDouble(Map.Entry::getValue)
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+        for (Long userId : candidates) {
+            VolunteerProfile profile = index.profiles.get(userId);
+            if (profile == null) {
+                continue;
+            }
+            best.offer(Map.entry(userId, score(profile, category, target)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Long> selected = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            selected.add(best.poll().getKey());
+        }
+        Collections.reverse(selected);
+
+        candidatesScored.record(candidates.size());
+        routingTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return selected;
+    }
+
+    private static void addCandidates(Set<Long> candidates, Set<Long> source, int cap) {
+        if (source == null) {
+            return;
+        }
+        Iterator<Long> members = source.iterator();
+        while (candidates.size() < cap && members.hasNext()) {
+            candidates.add(members.next());
+        }
+    }
+
+    /**
+     * Up to {@code nearbyDistricts} other districts of the target's province, those with the most
+     * volunteers for the category first. The index has no coordinates, so the province stands in for distance.
+     */
+    private List<String> nearbyDistricts(RoutingIndex index, RequestCategory category, Area target) {
+        Set<String> districts = index.districtsByProvince.get(target.province());
+        if (districts == null || target.province().isEmpty()) {
+            return List.of();
+        }
+        return districts.stream()
+                .filter(district -> !district.equals(target.district()))
+                .sorted(Comparator.<String>comparingInt(district ->
+                                index.byCategoryDistrict.getOrDefault(new CategoryDistrict(category, district), Set.of()).size())
+                        .reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(nearbyDistricts)
+                .toList();
+    }
+
+    private double score(VolunteerProfile profile, RequestCategory category, Area target) {
+        double score = 0;
+        if (profile.categories().contains(category)) {
+            score += SKILL_WEIGHT;
+        }
+        score += AREA_WEIGHT * sharedAreaLevels(profile.area(), target);
+        Integer load = openAssignments.get(profile.userId());
+        if (load != null) {
+            score -= LOAD_WEIGHT * Math.min(MAX_LOAD_PENALTY, Math.max(0, load));
+        }
+        // Well-rated volunteers move up within the same match level; unrated ones sit at the global mean
+        if (ratingAggregationService.getRatingCount(profile.userId()) > 0) {
+            score += RATING_WEIGHT * (ratingAggregationService.getBayesianScore(profile.userId())
+                    - ratingAggregationService.getGlobalAverage());
+        }
+        return score;
+    }
+
+    /** 0 (different province) to 5 (same village); levels must match from the top down. */
+    private static int sharedAreaLevels(Area a, Area b) {
+        String[] left = {a.province(), a.district(), a.sector(), a.cell(), a.village()};
+        String[] right = {b.province(), b.district(), b.sector(), b.cell(), b.village()};
+        int shared = 0;
+        while (shared < left.length && !left[shared].isEmpty() && left[shared].equals(right[shared])) {
+            shared++;
+        }
+        return shared;
+    }
+
+    // ===== Index maintenance =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${notifications.routing.refresh-interval-ms:300000}",
+               fixedDelayString = "${notifications.routing.refresh-interval-ms:300000}")
+    public synchronized void rebuildIndex() {
+        try {
+            long started = System.currentTimeMillis();
+
+            Map<Long, Set<String>> skillsByUser = new HashMap<>();
+            for (Object[] row : userRepository.findSkillNamesByRole(UserRole.VOLUNTEER)) {
+                skillsByUser.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add(normalize((String) row[1]));
+            }
+
+            RoutingIndex rebuilt = new RoutingIndex();
+            for (Object[] row : userRepository.findAreaRowsByRole(UserRole.VOLUNTEER)) {
+                Long userId = (Long) row[0];
+                Area area = new Area(normalize((String) row[1]), normalize((String) row[2]), normalize((String) row[3]),
+                        normalize((String) row[4]), normalize((String) row[5]));
+                rebuilt.add(new VolunteerProfile(userId, area, categoriesFor(skillsByUser.getOrDefault(userId, Set.of()))));
+            }
+
+            index = rebuilt;
+            reloadOpenAssignments();
+            log.info("✅ Volunteer routing index built for " + rebuilt.profiles.size() + " volunteers in "
+                    + (System.currentTimeMillis() - started) + "ms");
+        } catch (Exception e) {
+            log.error("❌ Failed to build volunteer routing index: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the load counts with the database's, in place. A volunteer whose load changes while
+     * the count runs keeps the live value, which already includes that change; the next rebuild
+     * corrects it if it has drifted.
+     */
+    private void reloadOpenAssignments() {
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        loadsChangedDuringRebuild = changed;
+        try {
+            Map<Long, Integer> counted = new HashMap<>();
+            for (Object[] row : assignmentRepository.countOpenAssignmentsByVolunteer()) {
+                counted.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+            Set<Long> volunteerIds = new HashSet<>(openAssignments.keySet());
+            volunteerIds.addAll(counted.keySet());
+            for (Long volunteerId : volunteerIds) {
+                openAssignments.compute(volunteerId, (id, live) -> changed.contains(id) ? live : counted.get(id));
+            }
+        } finally {
+            loadsChangedDuringRebuild = null;
+        }
+    }
+
+    /** Re-index a user after their role, skills or location changed. Non-volunteers are removed. */
+    public synchronized void indexUser(User user) {
+        index.remove(user.getUserId());
+        if (user.getRole() != UserRole.VOLUNTEER) {
+            return;
+        }
+        Set<String> skillNames = new HashSet<>();
+        if (user.getSkills() != null) {
+            for (Skill skill : user.getSkills()) {
+                skillNames.add(normalize(skill.getSkillName()));
+            }
+        }
+        index.add(new VolunteerProfile(user.getUserId(), areaOf(user), categoriesFor(skillNames)));
+    }
+
+    public synchronized void removeUser(Long userId) {
+        index.remove(userId);
+        openAssignments.remove(userId);
+    }
+
+    public void recordAssignmentOpened(Long volunteerId) {
+        markLoadChanged(volunteerId);
+        openAssignments.merge(volunteerId, 1, Integer::sum);
+    }
+
+    public void recordAssignmentClosed(Long volunteerId) {
+        markLoadChanged(volunteerId);
+        openAssignments.computeIfPresent(volunteerId, (id, load) -> Math.max(0, load - 1));
+    }
+
+    // Marked before the count changes, so a rebuild reconciling this volunteer keeps the live value
+    private void markLoadChanged(Long volunteerId) {
+        Set<Long> changed = loadsChangedDuringRebuild;
+        if (changed != null) {
+            changed.add(volunteerId);
+        }
+    }
+
+    private static Set<RequestCategory> categoriesFor(Set<String> skillNames) {
+        Set<RequestCategory> categories = EnumSet.of(RequestCategory.GENERAL_HELP, RequestCategory.OTHERS);
+        CATEGORY_SKILLS.forEach((category, skills) -> {
+            if (!Collections.disjoint(skills, skillNames)) {
+                categories.add(category);
+            }
+        });
+        return categories;
+    }
+
+    private static Area areaOf(User user) {
+        if (user == null) {
+            return new Area("", "", "", "", "");
+        }
+        Location location = user.getLocation();
+        return new Area(
+                normalize(user.getProvince() != null ? user.getProvince() : location != null ? location.getProvince() : null),
+                normalize(user.getDistrict() != null ? user.getDistrict() : location != null ? location.getDistrict() : null),
+                normalize(user.getSector() != null ? user.getSector() : location != null ? location.getSector() : null),
+                normalize(user.getCell() != null ? user.getCell() : location != null ? location.getCell() : null),
+                normalize(user.getVillage() != null ? user.getVillage() : location != null ? location.getVillage() : null));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,249 @@
+package om.community.supportsystem.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable hierarchy of named administrative divisions (province > district > sector > cell >
+ * village) with case- and accent-insensitive lookup and prefix autocomplete over every name.
+ *
+ * Names are interned per tree, so the many villages sharing a name share one String. Children
+ * are sorted by normalized name and found by binary search. Autocomplete uses a flattened trie:
+ * every node's normalized name sits in one sorted array, so the names starting with a prefix
+ * form one contiguous range found with a binary search.
+ *
+ * A node whose children are null has not been loaded yet, which is different from a node known
+ * to have none. Changes return a new tree; readers of the old one are unaffected.
+ */
+public final class DivisionTree {
+
+    public static final List<String> LEVELS = List.of("province", "district", "sector", "cell", "village");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /** Plain form of a subtree, as stored in snapshots; null children means "not loaded". */
+    public record Division(String name, List<Division> children) {}
+
+    /** An autocomplete hit: the division's name, its level and the names from province down to it. */
+    public record Match(String name, String level, List<String> path) {}
+
+    public static final class Node {
+        private final String name;
+        private final String key;
+        private final Node[] children;
+        private final List<String> childNames;
+
+        private Node(String name, String key, Node[] children) {
+            this.name = name;
+            this.key = key;
+            this.children = children;
+            this.childNames = children == null ? null
+                    : Arrays.stream(children).map(child -> child.name).toList();
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /** Child names in alphabetical order, or null if this node's children were never loaded. */
+        public List<String> childNames() {
+            return childNames;
+        }
+
+        private Node child(String key) {
+            if (children == null) {
+                return null;
+            }
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = children[mid].key.compareTo(key);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+    }
+
+    private record IndexEntry(String key, int level, String[] path) {}
+
+    private static final Comparator<IndexEntry> INDEX_ORDER = Comparator.comparing(IndexEntry::key)
+            .thenComparingInt(IndexEntry::level)
+            .thenComparing(entry -> String.join("/", entry.path()));
+
+    private final String version;
+    private final Node root;
+    private final IndexEntry[] index;
+    private final int[] countsByLevel = new int[LEVELS.size()];
+
+    private DivisionTree(String version, Node root) {
+        this.version = version;
+        this.root = root;
+        List<IndexEntry> entries = new ArrayList<>();
+        collect(root, new String[0], entries);
+        entries.sort(INDEX_ORDER);
+        this.index = entries.toArray(IndexEntry[]::new);
+    }
+
+    public static DivisionTree of(String version, List<Division> provinces) {
+        Map<String, String> interned = new HashMap<>();
+        return new DivisionTree(version, toNode("", provinces, interned));
+    }
+
+    public String version() {
+        return version;
+    }
+
+    /** The node at {@code path} (empty for the country), matched case-insensitively, or null. */
+    public Node find(List<String> path) {
+        Node node = root;
+        for (String name : path) {
+            node = name != null ? node.child(normalize(name)) : null;
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /** A copy of this tree with the children of the node at {@code path} set to {@code names}. */
+    public DivisionTree withChildren(List<String> path, List<String> names) {
+        List<Division> provinces = replaceChildren(toDivisions(), path, 0, names);
+        return of(version, provinces);
+    }
+
+    /**
+     * Up to {@code limit} divisions whose name starts with {@code prefix}, in alphabetical order;
+     * {@code level} restricts them to one of LEVELS, null means any.
+     */
+    public List<Match> search(String prefix, String level, int limit) {
+        String key = normalize(prefix);
+        int levelIndex = level != null ? LEVELS.indexOf(level.toLowerCase(Locale.ROOT)) : -1;
+        List<Match> matches = new ArrayList<>();
+        for (int i = lowerBound(key); i < index.length && matches.size() < limit && index[i].key.startsWith(key); i++) {
+            IndexEntry entry = index[i];
+            if (levelIndex < 0 || entry.level == levelIndex) {
+                matches.add(new Match(entry.path[entry.path.length - 1], LEVELS.get(entry.level), List.of(entry.path)));
+            }
+        }
+        return matches;
+    }
+
+    /** Number of known divisions per level. */
+    public Map<String, Integer> counts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int level = 0; level < LEVELS.size(); level++) {
+            counts.put(LEVELS.get(level), countsByLevel[level]);
+        }
+        return counts;
+    }
+
+    public List<Division> toDivisions() {
+        return toDivisions(root.children);
+    }
+
+    public static String normalize(String name) {
+        String stripped = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // ===== Construction =====
+
+    private static Node toNode(String name, List<Division> children, Map<String, String> interned) {
+        String internedName = interned.computeIfAbsent(name, n -> n);
+        String key = interned.computeIfAbsent(normalize(name), k -> k);
+        if (children == null) {
+            return new Node(internedName, key, null);
+        }
+        // Duplicate names within one parent collapse into the first
+        Map<String, Node> byKey = new HashMap<>();
+        for (Division child : children) {
+            if (child.name() != null && !child.name().isBlank()) {
+                Node node = toNode(child.name().trim(), child.children(), interned);
+                byKey.putIfAbsent(node.key, node);
+            }
+        }
+        Node[] sorted = byKey.values().toArray(Node[]::new);
+        Arrays.sort(sorted, Comparator.comparing((Node node) -> node.key));
+        return new Node(internedName, key, sorted);
+    }
+
+    private void collect(Node node, String[] path, List<IndexEntry> entries) {
+        if (node.children == null) {
+            return;
+        }
+        for (Node child : node.children) {
+            String[] childPath = Arrays.copyOf(path, path.length + 1);
+            childPath[path.length] = child.name;
+            if (path.length < LEVELS.size()) {
+                entries.add(new IndexEntry(child.key, path.length, childPath));
+                countsByLevel[path.length]++;
+            }
+            collect(child, childPath, entries);
+        }
+    }
+
+    private static List<Division> toDivisions(Node[] nodes) {
+        if (nodes == null) {
+            return null;
+        }
+        List<Division> divisions = new ArrayList<>(nodes.length);
+        for (Node node : nodes) {
+            divisions.add(new Division(node.name, toDivisions(node.children)));
+        }
+        return divisions;
+    }
+
+    private static List<Division> replaceChildren(List<Division> divisions, List<String> path, int depth, List<String> names) {
+        if (depth == path.size()) {
+            return names.stream().map(name -> new Division(name, null)).toList();
+        }
+        if (divisions == null) {
+            throw new IllegalArgumentException("Unknown division: " + String.join(" / ", path.subList(0, depth + 1)));
+        }
+        String key = normalize(path.get(depth));
+        List<Division> copy = new ArrayList<>(divisions.size());
+        boolean found = false;
+        for (Division division : divisions) {
+            if (!found && normalize(division.name()).equals(key)) {
+                copy.add(new Division(division.name(), replaceChildren(division.children(), path, depth + 1, names)));
+                found = true;
+            } else {
+                copy.add(division);
+            }
+        }
+        if (!found) {
+            throw new IllegalArgumentException("Unknown division: " + String.join(" / ", path.subList(0, depth + 1)));
+        }
+        return copy;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = index.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (index[mid].key.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
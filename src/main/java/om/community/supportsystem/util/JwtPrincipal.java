@@ -0,0 +1,13 @@
+package om.community.supportsystem.util;
+
+import java.time.Instant;
+
+/**
+ * Everything an authenticated request needs from a verified access token.
+ */
+public record JwtPrincipal(String email, String role, Long userId, Instant issuedAt, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
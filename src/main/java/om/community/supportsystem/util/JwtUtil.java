@@ -1,5 +1,9 @@
 package om.community.supportsystem.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -9,6 +13,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +36,25 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours
     private Long expiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${jwt.cache.ttl-ms:300000}") // 5 minutes
+    private long cacheTtlMs;
+
+    // Derived once at startup; HMAC keys and parsers are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private record CachedToken(JwtPrincipal principal, Claims claims, Duration lifetime) {}
+
+    // Time source for cache expiry; replaced in tests
+    private Ticker ticker = Ticker.systemTicker();
+
+    // Verified tokens keyed by SHA-256 of the token, size-bounded to cacheMaxSize; each entry
+    // expires after jwt.cache.ttl-ms or when its token does, whichever is sooner
+    private Cache<String, CachedToken> verified;
+
     @PostConstruct
     public void validateSecret() {
         int len = secret.getBytes(UTF_8).length;
@@ -38,10 +65,17 @@ public class JwtUtil {
                 MIN_SECRET_BYTES + " characters.");
         }
         log.info("JWT secret validated ({} bytes)", len);
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .ticker(ticker)
+                .expireAfter(Expiry.creating((String key, CachedToken entry) -> entry.lifetime()))
+                .build();
     }
 
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
     
     public String generateToken(String email, String role, Long userId) {
@@ -61,42 +95,83 @@ public class JwtUtil {
                 .compact();
     }
     
+    /**
+     * Verify the token's signature and expiry once and return its principal.
+     * Repeat calls with the same token are served from a bounded cache until the
+     * token expires or jwt.cache.ttl-ms passes, whichever comes first.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public JwtPrincipal verifyAndExtract(String token) {
+        return verify(token).principal();
+    }
+
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyAndExtract(token).email();
     }
     
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).claims().getExpiration();
     }
     
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return verifyAndExtract(token).role();
     }
     
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", Long.class));
+        return verifyAndExtract(token).userId();
     }
     
     public <T> T extractClaim(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token).claims();
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private CachedToken verify(String token) {
+        String key = hash(token);
+        CachedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Signature and expiry are checked here; failures are never cached
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("userId", Long.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        long lifetimeMillis = cacheTtlMs;
+        if (claims.getExpiration() != null) {
+            lifetimeMillis = Math.min(lifetimeMillis, claims.getExpiration().getTime() - System.currentTimeMillis());
+        }
+        CachedToken entry = new CachedToken(principal, claims, Duration.ofMillis(Math.max(0, lifetimeMillis)));
+        verified.put(key, entry);
+        return entry;
+    }
+
+    /** Drop a token's cached verification so its next use is parsed and checked again. */
+    public void invalidate(String token) {
+        verified.invalidate(hash(token));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     public Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verifyAndExtract(token).isExpired();
     }
     
     public Boolean validateToken(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
+        final JwtPrincipal principal = verifyAndExtract(token);
+        return (principal.email().equals(email) && !principal.isExpired());
     }
 
     /** Generate an opaque refresh token (UUID). Stored in the User entity. */
@@ -0,0 +1,144 @@
+-- Tables added after the production schema was created.
+-- The fly and prod profiles run with ddl-auto=none and execute this script on every start
+-- (spring.sql.init.mode=always), so every statement must be safe to repeat.
+
+-- Hourly/daily analytics counters (AnalyticsRollup)
+CREATE TABLE IF NOT EXISTS analytics_rollups (
+    rollup_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    metric VARCHAR(50) NOT NULL,
+    counter_value BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_analytics_rollups_bucket UNIQUE (granularity, bucket_start, metric)
+);
+CREATE INDEX IF NOT EXISTS idx_rollup_metric_bucket ON analytics_rollups (granularity, metric, bucket_start);
+
+-- Transactional email outbox (EmailOutboxMessage); bodies are AES-GCM sealed and cleared once sent
+CREATE TABLE IF NOT EXISTS email_outbox (
+    message_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    dedup_key VARCHAR(200) NOT NULL,
+    provider VARCHAR(20) NOT NULL,
+    to_email VARCHAR(255) NOT NULL,
+    subject VARCHAR(300) NOT NULL,
+    html_body TEXT,
+    text_body TEXT,
+    status VARCHAR(10) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    claimed_at TIMESTAMP(6),
+    sent_at TIMESTAMP(6),
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, provider, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_dedup ON email_outbox (dedup_key);
+
+-- Bulk email jobs (BulkEmailJob), their failed batches, and recipients still to send (BulkEmailRecipient)
+CREATE TABLE IF NOT EXISTS bulk_email_jobs (
+    job_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subject VARCHAR(300) NOT NULL,
+    html_body TEXT NOT NULL,
+    provider VARCHAR(20) NOT NULL,
+    recipients INTEGER NOT NULL,
+    batches INTEGER NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    next_batch INTEGER NOT NULL,
+    batches_sent INTEGER NOT NULL,
+    emails_sent INTEGER NOT NULL,
+    emails_failed INTEGER NOT NULL,
+    owner VARCHAR(100),
+    lease_until TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    started_at TIMESTAMP(6),
+    finished_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_bulk_email_jobs_status ON bulk_email_jobs (status, job_id);
+
+CREATE TABLE IF NOT EXISTS bulk_email_failures (
+    job_id BIGINT NOT NULL,
+    batch INTEGER NOT NULL,
+    recipients INTEGER NOT NULL,
+    error VARCHAR(1000)
+);
+CREATE INDEX IF NOT EXISTS idx_bulk_email_failures_job ON bulk_email_failures (job_id);
+
+CREATE TABLE IF NOT EXISTS bulk_email_recipients (
+    recipient_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    batch_number INTEGER NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    substitutions TEXT
+);
+CREATE INDEX IF NOT EXISTS idx_bulk_email_recipients_batch ON bulk_email_recipients (job_id, batch_number);
+
+-- Volunteer ratings (Rating) and their running totals (VolunteerRatingStats)
+CREATE TABLE IF NOT EXISTS ratings (
+    rating_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    volunteer_id BIGINT NOT NULL,
+    assignment_id BIGINT,
+    rater_id BIGINT,
+    score INTEGER NOT NULL,
+    comment TEXT,
+    created_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_ratings_volunteer_created ON ratings (volunteer_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_ratings_assignment ON ratings (assignment_id);
+CREATE INDEX IF NOT EXISTS idx_ratings_rater ON ratings (rater_id);
+
+CREATE TABLE IF NOT EXISTS volunteer_rating_stats (
+    volunteer_id BIGINT PRIMARY KEY,
+    rating_count BIGINT NOT NULL,
+    rating_sum BIGINT NOT NULL,
+    rating_sum_squares BIGINT NOT NULL,
+    stars_1 BIGINT NOT NULL,
+    stars_2 BIGINT NOT NULL,
+    stars_3 BIGINT NOT NULL,
+    stars_4 BIGINT NOT NULL,
+    stars_5 BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+-- Volunteer expense claims (Expense)
+CREATE TABLE IF NOT EXISTS expenses (
+    expense_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    volunteer_id BIGINT NOT NULL,
+    assignment_id BIGINT,
+    amount NUMERIC(12, 2) NOT NULL,
+    category VARCHAR(255),
+    description TEXT,
+    receipt_url VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    reviewed_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_expenses_volunteer_created ON expenses (volunteer_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_expenses_assignment ON expenses (assignment_id);
+CREATE INDEX IF NOT EXISTS idx_expenses_status ON expenses (status);
+
+-- Citizen/volunteer appointments (Appointment)
+CREATE TABLE IF NOT EXISTS appointments (
+    appointment_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    volunteer_id BIGINT,
+    assignment_id BIGINT,
+    title VARCHAR(255),
+    scheduled_at TIMESTAMP(6),
+    location VARCHAR(255),
+    notes TEXT,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_appointments_user_scheduled ON appointments (user_id, scheduled_at);
+CREATE INDEX IF NOT EXISTS idx_appointments_volunteer_scheduled ON appointments (volunteer_id, scheduled_at);
+CREATE INDEX IF NOT EXISTS idx_appointments_assignment ON appointments (assignment_id);
+
+-- Weekly availability per volunteer (VolunteerAvailability), slots as JSON
+CREATE TABLE IF NOT EXISTS volunteer_availability (
+    volunteer_id BIGINT PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    slots TEXT,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_availability_status ON volunteer_availability (status);
@@ -0,0 +1,56 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The metrics endpoint is exposed in the default profile but only to admins.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "management.endpoints.web.exposure.include=health,info,metrics")
+public class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    public void testMetricsAreNotAnonymouslyReachable() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testMetricsRequireAdminRole() throws Exception {
+        String volunteer = jwtUtil.generateToken("volunteer@example.com", "VOLUNTEER", 2L);
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + volunteer))
+                .andExpect(status().isForbidden());
+
+        String admin = jwtUtil.generateToken("admin@example.com", "ADMIN", 1L);
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + admin))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testHealthStaysPublic() throws Exception {
+        // The status may be DOWN here (no mail server), but it must not be refused
+        int status = mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus();
+        assertNotEquals(401, status);
+        assertNotEquals(403, status);
+    }
+}
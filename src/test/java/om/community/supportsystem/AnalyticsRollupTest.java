@@ -0,0 +1,140 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.dto.LoginRequest;
+import om.community.supportsystem.dto.RegisterRequest;
+import om.community.supportsystem.model.AnalyticsRollup;
+import om.community.supportsystem.model.RollupGranularity;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AnalyticsRollupRepository;
+import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.service.AnalyticsRollupService;
+import om.community.supportsystem.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Analytics counters keep every event through flushes, rebuilds and other instances' writes.
+ * Own database, since rollups are committed.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:analyticstest")
+public class AnalyticsRollupTest {
+
+    @Autowired
+    private AnalyticsRollupService rollupService;
+
+    @Autowired
+    private AnalyticsRollupRepository rollupRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Test
+    public void testEventRecordedDuringRebuildIsKept() {
+        LocalDate today = LocalDate.now();
+        rollupService.rebuildFromHistory();
+        long before = rollupService.sumDaily(AnalyticsRollupService.REQUEST_CREATED, today, today.plusDays(1));
+
+        // Arrives while the source tables are being streamed (users are left out; only requests are checked)
+        doAnswer(invocation -> {
+            rollupService.recordRequestCreated(LocalDateTime.now());
+            return Stream.empty();
+        }).when(userRepository).streamCreatedAt();
+        rollupService.rebuildFromHistory();
+
+        assertEquals(before + 1, rollupService.sumDaily(AnalyticsRollupService.REQUEST_CREATED, today, today.plusDays(1)));
+        rollupService.flushPendingDeltas();
+        assertEquals(before + 1, rollupService.sumDaily(AnalyticsRollupService.REQUEST_CREATED, today, today.plusDays(1)));
+        assertEquals(before + 1, storedDaily(AnalyticsRollupService.REQUEST_CREATED, today));
+    }
+
+    @Test
+    public void testConcurrentEventsSurviveFlushAndEviction() throws Exception {
+        // Older than the hourly window, so flushes also try to evict its pending entries
+        LocalDate day = LocalDate.now().minusDays(3);
+        rollupService.flushPendingDeltas();
+        long before = storedDaily(AnalyticsRollupService.ASSIGNMENT_COMPLETED, day);
+
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 500; i++) {
+                    rollupService.recordAssignmentCompleted(day.atTime(12, 0));
+                }
+            }));
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(writers.toArray(new CompletableFuture[0]));
+        while (!all.isDone()) {
+            rollupService.flushPendingDeltas();
+        }
+        all.get();
+        rollupService.flushPendingDeltas();
+
+        assertEquals(before + 2000, storedDaily(AnalyticsRollupService.ASSIGNMENT_COMPLETED, day));
+        assertEquals(before + 2000, rollupService.sumDaily(AnalyticsRollupService.ASSIGNMENT_COMPLETED, day, day.plusDays(1)));
+    }
+
+    @Test
+    public void testFlushPicksUpOtherInstancesRows() {
+        LocalDate day = LocalDate.now().minusDays(60);
+        rollupRepository.save(new AnalyticsRollup(RollupGranularity.DAILY, day.atStartOfDay(),
+                AnalyticsRollupService.USER_REGISTERED, 7L));
+        assertEquals(0, rollupService.sumDaily(AnalyticsRollupService.USER_REGISTERED, day, day.plusDays(1)));
+
+        rollupService.flushPendingDeltas();
+
+        assertEquals(7, rollupService.sumDaily(AnalyticsRollupService.USER_REGISTERED, day, day.plusDays(1)));
+    }
+
+    @Test
+    public void testVolunteerIsActiveOnlyAfterOtpVerification() {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Active Volunteer");
+        register.setEmail("active.volunteer@example.com");
+        register.setPhoneNumber("0788000111");
+        register.setPassword("password123");
+        register.setRole(UserRole.VOLUNTEER);
+        register.setProvince("Kigali City");
+        register.setDistrict("Gasabo");
+        authService.register(register);
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        long active = rollupService.countActiveVolunteers(since);
+
+        LoginRequest login = new LoginRequest("active.volunteer@example.com", "password123");
+        assertTrue(authService.login(login).isRequiresTwoFactor());
+        assertEquals(active, rollupService.countActiveVolunteers(since), "the password step alone is not a login");
+
+        User user = userRepository.findByEmail("active.volunteer@example.com").orElseThrow();
+        assertNull(user.getLastLoginAt());
+        login.setTwoFactorCode(user.getTwoFactorSecret());
+        authService.login(login);
+
+        assertEquals(active + 1, rollupService.countActiveVolunteers(since));
+    }
+
+    private long storedDaily(String metric, LocalDate day) {
+        return rollupRepository.findByGranularityAndBucketStartGreaterThanEqual(RollupGranularity.DAILY, day.atStartOfDay())
+                .stream()
+                .filter(r -> r.getMetric().equals(metric) && r.getBucketStart().equals(day.atStartOfDay()))
+                .mapToLong(AnalyticsRollup::getValue)
+                .sum();
+    }
+}
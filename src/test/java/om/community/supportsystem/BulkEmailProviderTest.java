@@ -0,0 +1,126 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.email.BulkEmailService;
+import om.community.supportsystem.email.BulkRecipient;
+import om.community.supportsystem.email.OutboundEmail;
+import om.community.supportsystem.email.StubEmailProvider;
+import om.community.supportsystem.model.BulkEmailJob;
+import om.community.supportsystem.model.BulkEmailJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk sends follow email.provider (the stub here, one recipient per batch), and jobs live in
+ * the database: a job left behind by a stopped instance is resumed, one another instance is
+ * still sending is left alone. Own database, since the jobs are committed.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:bulkemailprovidertest", "email.bulk.poll-interval-ms=600000",
+                "email.bulk.max-emails-per-second=0", "email.bulk.retry-backoff-ms=0"})
+public class BulkEmailProviderTest {
+
+    @Autowired
+    private BulkEmailService bulkEmailService;
+
+    @Autowired
+    private StubEmailProvider stubEmailProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        stubEmailProvider.clear();
+    }
+
+    @Test
+    public void testConfiguredProviderSendsEachRecipientWithEscapedNames() throws Exception {
+        BulkEmailJob job = await(bulkEmailService.submit("Hello -name-", "<p>Hi -name-</p><p>See you</p>", List.of(
+                recipient("ana@example.com", "Ana <b>& co</b>"), recipient("bo@example.com", "Bo"))));
+
+        assertEquals("stub", job.getProvider());
+        assertEquals(2, job.getBatches());
+        assertEquals(BulkEmailJobStatus.COMPLETED, job.getStatus());
+        OutboundEmail ana = stubEmailProvider.sent().get(0);
+        assertEquals("ana@example.com", ana.toEmail());
+        assertEquals("Hello Ana <b>& co</b>", ana.subject());
+        assertEquals("<p>Hi Ana &lt;b&gt;&amp; co&lt;/b&gt;</p><p>See you</p>", ana.htmlBody());
+        assertEquals("Hi Ana <b>& co</b>\nSee you", ana.textBody());
+        assertEquals("bo@example.com", stubEmailProvider.sent().get(1).toEmail());
+        // Recipients are only kept until the job is done
+        assertEquals(0, recipientsLeft(job.getJobId()));
+    }
+
+    @Test
+    public void testJobLeftByStoppedInstanceIsResumed() throws Exception {
+        // Another instance sent batch 0 of 3, then stopped; its lease has run out
+        long jobId = storedJob("dead-instance", LocalDateTime.now().minusMinutes(1), "a@example.com", "b@example.com", "c@example.com");
+
+        bulkEmailService.drain();
+
+        BulkEmailJob job = bulkEmailService.getJob(jobId).orElseThrow();
+        assertEquals(BulkEmailJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getEmailsSent());
+        assertEquals(List.of("b@example.com", "c@example.com"), stubEmailProvider.sent().stream().map(OutboundEmail::toEmail).toList());
+    }
+
+    @Test
+    public void testJobLeasedByLiveInstanceIsLeftAlone() throws Exception {
+        long jobId = storedJob("live-instance", LocalDateTime.now().plusMinutes(1), "x@example.com", "y@example.com");
+
+        bulkEmailService.drain();
+
+        assertEquals(BulkEmailJobStatus.RUNNING, bulkEmailService.getJob(jobId).orElseThrow().getStatus());
+        assertTrue(stubEmailProvider.sent().isEmpty());
+        // Release it so later tests are not queued behind it
+        jdbcTemplate.update("UPDATE bulk_email_jobs SET lease_until = ? WHERE job_id = ?", Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), jobId);
+        bulkEmailService.drain();
+        assertEquals(BulkEmailJobStatus.COMPLETED, bulkEmailService.getJob(jobId).orElseThrow().getStatus());
+    }
+
+    // A RUNNING job with one recipient per batch whose first batch was already sent
+    private long storedJob(String owner, LocalDateTime leaseUntil, String... emails) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO bulk_email_jobs (subject, html_body, provider, recipients, batches, status, next_batch, " +
+                        "batches_sent, emails_sent, emails_failed, owner, lease_until, created_at, started_at) " +
+                        "VALUES ('Digest', '<p>Digest</p>', 'stub', ?, ?, 'RUNNING', 1, 1, 1, 0, ?, ?, ?, ?)",
+                emails.length, emails.length, owner, Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now), Timestamp.valueOf(now));
+        long jobId = jdbcTemplate.queryForObject("SELECT MAX(job_id) FROM bulk_email_jobs", Long.class);
+        for (int i = 0; i < emails.length; i++) {
+            jdbcTemplate.update("INSERT INTO bulk_email_recipients (job_id, batch_number, email, substitutions) VALUES (?, ?, ?, '{}')",
+                    jobId, i, emails[i]);
+        }
+        return jobId;
+    }
+
+    private int recipientsLeft(long jobId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bulk_email_recipients WHERE job_id = ?", Integer.class, jobId);
+    }
+
+    private static BulkRecipient recipient(String email, String name) {
+        return new BulkRecipient(email, Map.of(BulkEmailService.NAME_PLACEHOLDER, name));
+    }
+
+    private BulkEmailJob await(BulkEmailJob queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        BulkEmailJob job = bulkEmailService.getJob(queued.getJobId()).orElseThrow();
+        while (!job.isDone()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for bulk job " + job.getJobId());
+            Thread.sleep(20);
+            job = bulkEmailService.getJob(queued.getJobId()).orElseThrow();
+        }
+        return job;
+    }
+}
@@ -0,0 +1,121 @@
+package om.community.supportsystem;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import om.community.supportsystem.email.BulkEmailService;
+import om.community.supportsystem.email.BulkRecipient;
+import om.community.supportsystem.model.BulkEmailJob;
+import om.community.supportsystem.model.BulkEmailJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk sends against SendGridStandIn, so no network is needed.
+ * Own database, since the jobs are committed.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:bulkemailtest", "email.provider=sendgrid",
+                "email.bulk.max-emails-per-second=0", "email.bulk.retry-backoff-ms=0"})
+public class BulkEmailTest {
+
+    private static final SendGridStandIn SENDGRID;
+
+    static {
+        try {
+            SENDGRID = new SendGridStandIn();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void sendGridProperties(DynamicPropertyRegistry registry) {
+        registry.add("sendgrid.api.host", SENDGRID::host);
+        registry.add("sendgrid.api.plain-http", () -> "true");
+    }
+
+    @Autowired
+    private BulkEmailService bulkEmailService;
+
+    @BeforeEach
+    public void setUp() {
+        SENDGRID.reset();
+    }
+
+    @Test
+    public void testRecipientsAreBatchedIntoPersonalizations() throws Exception {
+        BulkEmailJob job = await(bulkEmailService.submit("Hello -name-", "<p>Hi -name-</p>", recipients(2500)));
+
+        assertEquals(BulkEmailJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2500, job.getEmailsSent());
+        assertEquals(3, job.getBatchesSent());
+
+        List<JsonNode> requests = SENDGRID.requests();
+        assertEquals(List.of(1000, 1000, 500), requests.stream().map(r -> r.get("personalizations").size()).toList());
+        JsonNode first = requests.get(0).get("personalizations").get(0);
+        assertEquals("volunteer0@example.com", first.get("to").get(0).get("email").asText());
+        assertEquals("Volunteer 0", first.get("substitutions").get(BulkEmailService.NAME_PLACEHOLDER).asText());
+        assertEquals("Hello -name-", requests.get(0).get("subject").asText());
+        assertEquals("Hello Volunteer 0", first.get("subject").asText());
+    }
+
+    @Test
+    public void testNamesAreEscapedForTheHtmlBodyOnly() throws Exception {
+        BulkRecipient recipient = new BulkRecipient("mallory@example.com",
+                Map.of(BulkEmailService.NAME_PLACEHOLDER, "Mallory <img src=x onerror=alert(1)> & co"));
+        await(bulkEmailService.submit("Hello -name-", "<p>Hi -name-</p>", List.of(recipient)));
+
+        JsonNode personalization = SENDGRID.requests().get(0).get("personalizations").get(0);
+        assertEquals("Mallory &lt;img src=x onerror=alert(1)&gt; &amp; co",
+                personalization.get("substitutions").get(BulkEmailService.NAME_PLACEHOLDER).asText());
+        assertEquals("Hello Mallory <img src=x onerror=alert(1)> & co", personalization.get("subject").asText());
+    }
+
+    @Test
+    public void testFailedBatchIsReportedAndOthersStillSend() throws Exception {
+        // Batch 1: one 503 then accepted; batch 2: rejected outright
+        SENDGRID.respondNext(503, 202, 400);
+        BulkEmailJob job = await(bulkEmailService.submit("Digest", "<p>Digest</p>", recipients(2500)));
+
+        assertEquals(BulkEmailJobStatus.COMPLETED_WITH_FAILURES, job.getStatus());
+        assertEquals(1500, job.getEmailsSent());
+        assertEquals(1000, job.getEmailsFailed());
+        assertEquals(1, job.getFailures().size());
+        assertEquals(2, job.getFailures().get(0).batch());
+        assertEquals(4, SENDGRID.requests().size());
+        assertEquals(100, job.getPercentComplete());
+    }
+
+    private static List<BulkRecipient> recipients(int count) {
+        List<BulkRecipient> recipients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            recipients.add(new BulkRecipient("volunteer" + i + "@example.com",
+                    Map.of(BulkEmailService.NAME_PLACEHOLDER, "Volunteer " + i)));
+        }
+        return recipients;
+    }
+
+    private BulkEmailJob await(BulkEmailJob queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        BulkEmailJob job = bulkEmailService.getJob(queued.getJobId()).orElseThrow();
+        while (!job.isDone()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for bulk job " + job.getJobId());
+            Thread.sleep(20);
+            job = bulkEmailService.getJob(queued.getJobId()).orElseThrow();
+        }
+        return job;
+    }
+}
@@ -0,0 +1,67 @@
+package om.community.supportsystem;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import om.community.supportsystem.config.CacheConfig;
+import om.community.supportsystem.service.CacheAdminService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache policies from CacheConfig and invalidation through CacheAdminService.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class CacheConfigTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheAdminService cacheAdminService;
+
+    @Test
+    public void testEveryCacheIsBounded() {
+        cacheManager.getCache("ad-hoc");
+        for (String name : cacheManager.getCacheNames()) {
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(name);
+            assertTrue(cache.getNativeCache().policy().eviction().isPresent(), name + " has no size bound");
+            assertTrue(cache.getNativeCache().policy().expireAfterWrite().isPresent(), name + " never expires");
+        }
+    }
+
+    @Test
+    public void testAnalyticsCacheRefreshesInBackground() {
+        CaffeineCache analytics = (CaffeineCache) cacheManager.getCache(CacheConfig.ANALYTICS);
+        assertInstanceOf(LoadingCache.class, analytics.getNativeCache());
+        assertTrue(analytics.getNativeCache().policy().refreshAfterWrite().isPresent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInvalidateEmptiesCacheAndReportsStats() {
+        Cache skills = cacheManager.getCache(CacheConfig.SKILLS);
+        skills.put("all", List.of());
+        assertNotNull(skills.get("all"));
+
+        cacheAdminService.invalidate(CacheConfig.SKILLS);
+        assertNull(skills.get("all"));
+        assertThrows(IllegalArgumentException.class, () -> cacheAdminService.invalidate("no-such-cache"));
+
+        List<Map<String, Object>> application = (List<Map<String, Object>>) cacheAdminService.describeCaches().get("application");
+        Map<String, Object> skillStats = application.stream()
+                .filter(entry -> CacheConfig.SKILLS.equals(entry.get("name")))
+                .findFirst().orElseThrow();
+        assertEquals(10L, skillStats.get("maximumSize"));
+        assertTrue((Long) skillStats.get("hits") >= 1);
+    }
+}
@@ -0,0 +1,159 @@
+package om.community.supportsystem;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Notification;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.repository.NotificationRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import om.community.supportsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The response shape the frontend relies on for the cursor-paginated lists: content, size,
+ * hasNext and nextCursor on every slice, totalElements only when asked for, and following
+ * nextCursor visits every row exactly once. Own database, since the rows are committed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:cursorpagetest")
+public class CursorPageContractTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private static Long citizenId;
+
+    @BeforeEach
+    public void seed() {
+        if (citizenId != null) {
+            return;
+        }
+        citizenId = transactionTemplate.execute(status -> {
+            User citizen = StatementCounting.persistUser(entityManager, 6101, UserRole.CITIZEN, null);
+            User volunteer = StatementCounting.persistUser(entityManager, 6102, UserRole.VOLUNTEER, null);
+            StatementCounting.persistUser(entityManager, 6103, UserRole.VOLUNTEER, null);
+            for (int i = 0; i < 5; i++) {
+                Request request = StatementCounting.persistRequest(entityManager, "Water delivery " + i, citizen);
+                if (i < 3) {
+                    Assignment assignment = new Assignment(request, volunteer);
+                    if (i == 0) {
+                        assignment.setCompletedAt(LocalDateTime.now());
+                    }
+                    entityManager.persist(assignment);
+                }
+                entityManager.persist(new Notification("Update " + i, citizen));
+            }
+            return citizen.getUserId();
+        });
+    }
+
+    @Test
+    public void testSliceShapeAndTotalOnlyOnRequest() throws Exception {
+        mockMvc.perform(get("/api/requests").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/api/requests").param("size", "2").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(requestRepository.count()));
+
+        // One slice holds everything: no next slice and no cursor
+        mockMvc.perform(get("/api/notifications/user/" + citizenId).param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(5)))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void testFollowingNextCursorVisitsEveryRowOnce() throws Exception {
+        assertEquals(requestRepository.count(), collectIds("/api/requests", "requestId"));
+        assertEquals(assignmentRepository.count(), collectIds("/api/assignments", "assignmentId"));
+        assertEquals(userRepository.count(), collectIds("/api/users/search", "userId"));
+        assertEquals(notificationRepository.count(), collectIds("/api/notifications/user/" + citizenId, "notificationId"));
+    }
+
+    @Test
+    public void testInvalidCursorIsABadRequest() throws Exception {
+        for (String url : List.of("/api/requests", "/api/assignments", "/api/users/search",
+                "/api/notifications/user/" + citizenId)) {
+            mockMvc.perform(get(url).param("cursor", "not-a-cursor"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").exists());
+        }
+    }
+
+    @Test
+    public void testCountEndpointsBackTheAdminStats() throws Exception {
+        mockMvc.perform(get("/api/assignments/count/completed"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(String.valueOf(assignmentRepository.countByCompletedAtIsNotNull())));
+        mockMvc.perform(get("/api/requests/count/status/PENDING"))
+                .andExpect(status().isOk());
+    }
+
+    // Walk every slice two rows at a time; fails on a repeated row, returns how many were seen
+    private long collectIds(String url, String idField) throws Exception {
+        List<Object> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get(url).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ids.addAll(JsonPath.read(body, "$.content[*]." + idField));
+            cursor = JsonPath.<Boolean>read(body, "$.hasNext") ? JsonPath.read(body, "$.nextCursor") : null;
+        } while (cursor != null);
+
+        assertEquals(ids.size(), new HashSet<>(ids).size(), "a row was returned twice: " + ids);
+        return ids.size();
+    }
+}
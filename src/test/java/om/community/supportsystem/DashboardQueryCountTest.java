@@ -0,0 +1,103 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.dto.DashboardStats;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.service.DashboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The dashboard must be served by a fixed number of aggregate queries, not one per
+ * location/user/request.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class DashboardQueryCountTest {
+
+    private static final int MAX_DASHBOARD_QUERIES = 6;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int userSequence = 0;
+
+    @Test
+    public void testDashboardStatsQueryCountIsConstant() throws Exception {
+        seed("Kigali City", 2, 3, 2);
+        long smallQueries = countQueries(() -> dashboardService.getDashboardStats());
+
+        seed("Eastern Province", 5, 10, 3);
+        seed("Northern Province", 4, 8, 1);
+        long largeQueries = countQueries(() -> dashboardService.getDashboardStats());
+
+        assertEquals(smallQueries, largeQueries, "Dashboard query count must not grow with the data");
+        assertTrue(largeQueries <= MAX_DASHBOARD_QUERIES, "Dashboard used " + largeQueries + " queries");
+    }
+
+    @Test
+    public void testAdminDashboardQueryCountIsConstant() throws Exception {
+        seed("Kigali City", 1, 2, 1);
+        long smallQueries = countQueries(() -> dashboardService.getAdminDashboard());
+
+        seed("Western Province", 6, 10, 2);
+        long largeQueries = countQueries(() -> dashboardService.getAdminDashboard());
+
+        assertEquals(smallQueries, largeQueries, "Admin dashboard query count must not grow with the data");
+        assertTrue(largeQueries <= MAX_DASHBOARD_QUERIES + 1, "Admin dashboard used " + largeQueries + " queries");
+    }
+
+    @Test
+    public void testDashboardStatsCountsAreCorrect() {
+        seed("Kigali City", 2, 3, 2);
+        seed("Southern Province", 1, 4, 1);
+
+        DashboardStats stats = dashboardService.getDashboardStats();
+
+        assertEquals(10, stats.getTotalUsers());
+        assertEquals(10, stats.getTotalCitizens());
+        assertEquals(10, stats.getNewUsersThisWeek());
+        assertEquals(16, stats.getTotalRequests());
+        assertEquals(16, stats.getPendingRequests());
+        assertEquals(16, stats.getNewRequestsThisWeek());
+        assertEquals(3, stats.getTotalLocations());
+        assertEquals(6L, stats.getUsersByProvince().get("Kigali City"));
+        assertEquals(4L, stats.getUsersByProvince().get("Southern Province"));
+        assertEquals(12L, stats.getRequestsByProvince().get("Kigali City"));
+        assertEquals(4L, stats.getRequestsByProvince().get("Southern Province"));
+    }
+
+    private long countQueries(Runnable action) throws Exception {
+        return StatementCounting.countStatements(entityManager, entityManagerFactory, action::run);
+    }
+
+    private void seed(String province, int locations, int citizensPerLocation, int requestsPerCitizen) {
+        for (int l = 0; l < locations; l++) {
+            Location location = new Location(province, province + " District " + l, null);
+            entityManager.persist(location);
+            for (int c = 0; c < citizensPerLocation; c++) {
+                int n = ++userSequence;
+                User citizen = StatementCounting.persistUser(entityManager, n, UserRole.CITIZEN, location);
+                for (int r = 0; r < requestsPerCitizen; r++) {
+                    StatementCounting.persistRequest(entityManager, "Request " + n + "-" + r, citizen);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.seed.DatasetGenerator;
+import om.community.supportsystem.seed.SeedPlan;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Synthetic dataset generation. Uses its own in-memory database because the generator
+ * commits as it goes, so nothing it writes could be rolled back for the other tests.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:seedtest")
+public class DatasetGeneratorTest {
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testGeneratesConsistentDataset() {
+        SeedPlan plan = new SeedPlan(7, 0.0005, LocalDateTime.of(2026, 1, 1, 0, 0));
+        Map<String, Object> loaded = datasetGenerator.generate(plan, 3, 250);
+
+        assertEquals(plan.users(), loaded.get("users"));
+        assertEquals(plan.requests(), loaded.get("requests"));
+        assertEquals(plan.assignments(), loaded.get("assignments"));
+        assertEquals(plan.notifications(), loaded.get("notifications"));
+        assertEquals(plan.volunteers(), count("SELECT COUNT(*) FROM users WHERE role = 'VOLUNTEER' AND email LIKE 'seed%'"));
+
+        // Every assigned request has moved on from PENDING, and only completed ones have a completion time
+        assertEquals(plan.assignments(), count("SELECT COUNT(*) FROM requests WHERE status IN ('ACCEPTED', 'COMPLETED')"));
+        assertEquals(0, count("SELECT COUNT(*) FROM assignments a JOIN requests r ON r.request_id = a.request_id "
+                + "WHERE r.status NOT IN ('ACCEPTED', 'COMPLETED') "
+                + "OR (r.status = 'COMPLETED' AND a.completed_at IS NULL) "
+                + "OR (r.status = 'ACCEPTED' AND a.completed_at IS NOT NULL)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM requests r JOIN users u ON u.user_id = r.citizen_id WHERE u.role <> 'CITIZEN'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM assignments a JOIN users u ON u.user_id = a.volunteer_id WHERE u.role <> 'VOLUNTEER'"));
+
+        // Identities were moved past the explicit ids
+        User user = new User("After Seed", "after-seed@example.com", "0700009999", UserRole.CITIZEN, null);
+        user.setPassword("password123");
+        User saved = userRepository.save(user);
+        assertEquals(count("SELECT MAX(user_id) FROM users"), saved.getUserId());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
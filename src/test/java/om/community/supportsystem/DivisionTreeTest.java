@@ -0,0 +1,54 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.util.DivisionTree;
+import om.community.supportsystem.util.DivisionTree.Division;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lookups, grafting and prefix autocomplete in DivisionTree.
+ */
+public class DivisionTreeTest {
+
+    private final DivisionTree tree = DivisionTree.of("test", List.of(
+            new Division("Kigali City", List.of(
+                    new Division("Kicukiro", List.of(new Division("Kagarama", null), new Division("Gikondo", null))),
+                    new Division("Gasabo", null))),
+            new Division("Southern Province", List.of(new Division("Kamonyi", null)))));
+
+    @Test
+    public void testChildrenAreSortedAndMatchedCaseInsensitively() {
+        assertEquals(List.of("Kigali City", "Southern Province"), tree.find(List.of()).childNames());
+        assertEquals(List.of("Gasabo", "Kicukiro"), tree.find(List.of("kigali  city")).childNames());
+        assertEquals(List.of("Gikondo", "Kagarama"), tree.find(List.of("Kigali City", "KICUKIRO")).childNames());
+        assertNull(tree.find(List.of("Kigali City", "Gasabo")).childNames(), "Gasabo's sectors were never loaded");
+        assertNull(tree.find(List.of("Western Province")));
+    }
+
+    @Test
+    public void testWithChildrenKeepsTheOriginalTree() {
+        DivisionTree grafted = tree.withChildren(List.of("Kigali City", "Gasabo"), List.of("Remera", "Kimironko"));
+
+        assertEquals(List.of("Kimironko", "Remera"), grafted.find(List.of("Kigali City", "Gasabo")).childNames());
+        assertNull(tree.find(List.of("Kigali City", "Gasabo")).childNames());
+        assertEquals(2, grafted.counts().get("sector") - tree.counts().get("sector"));
+        assertThrows(IllegalArgumentException.class, () -> tree.withChildren(List.of("Nowhere"), List.of("X")));
+    }
+
+    @Test
+    public void testSearchReturnsPrefixMatchesWithPaths() {
+        List<DivisionTree.Match> matches = tree.search("k", null, 10);
+        assertEquals(List.of("Kagarama", "Kamonyi", "Kicukiro", "Kigali City"),
+                matches.stream().map(DivisionTree.Match::name).toList());
+        assertEquals(List.of("Kigali City", "Kicukiro", "Kagarama"), matches.get(0).path());
+        assertEquals("sector", matches.get(0).level());
+
+        assertEquals(List.of("Kamonyi", "Kicukiro"),
+                tree.search("K", "district", 10).stream().map(DivisionTree.Match::name).toList());
+        assertEquals(1, tree.search("k", null, 1).size());
+        assertTrue(tree.search("z", null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.email.EmailOutboxService;
+import om.community.supportsystem.email.EmailOutboxWorker;
+import om.community.supportsystem.email.OutboundEmail;
+import om.community.supportsystem.email.StubEmailProvider;
+import om.community.supportsystem.model.EmailOutboxMessage;
+import om.community.supportsystem.model.EmailOutboxStatus;
+import om.community.supportsystem.repository.EmailOutboxRepository;
+import om.community.supportsystem.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Outbox delivery through the stub provider. Uses its own in-memory database because outbox
+ * rows are only sent once their transaction commits.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:outboxtest", "email.outbox.initial-backoff-ms=0"})
+public class EmailOutboxTest {
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxWorker emailOutboxWorker;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private StubEmailProvider stubEmailProvider;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmailService emailService;
+
+    @BeforeEach
+    public void setUp() {
+        stubEmailProvider.clear();
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    public void testOnlyCommittedMessagesAreSent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailOutboxService.enqueue("rolled-back", email("rollback@example.com"));
+            status.setRollbackOnly();
+        });
+        emailOutboxService.enqueue("committed", email("commit@example.com"));
+
+        waitFor(() -> onlyMessage().getStatus() == EmailOutboxStatus.SENT);
+        assertEquals(1, emailOutboxRepository.count());
+        assertEquals(1, stubEmailProvider.sent().size());
+        assertEquals("commit@example.com", stubEmailProvider.sent().get(0).toEmail());
+    }
+
+    @Test
+    public void testWaitingMessageIsNotQueuedTwice() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(emailOutboxService.enqueue("same-key", email("dedup@example.com")));
+            assertFalse(emailOutboxService.enqueue("same-key", email("dedup@example.com")));
+        });
+
+        waitFor(() -> onlyMessage().getStatus() == EmailOutboxStatus.SENT);
+        assertEquals(1, stubEmailProvider.sent().size());
+    }
+
+    @Test
+    public void testFailedSendIsRetried() {
+        stubEmailProvider.failNext(2);
+        emailOutboxService.enqueue("retried", email("retry@example.com"));
+
+        waitFor(() -> {
+            emailOutboxWorker.drain();
+            return onlyMessage().getStatus() == EmailOutboxStatus.SENT;
+        });
+        EmailOutboxMessage message = onlyMessage();
+        assertEquals(3, message.getAttempts());
+        assertNull(message.getLastError());
+        assertEquals(1, stubEmailProvider.sent().size());
+    }
+
+    @Test
+    public void testCodeIsNotStoredInPlaintext() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendLoginOTP("otp@example.com", "482913");
+            EmailOutboxMessage stored = onlyMessage();
+            assertFalse(stored.getDedupKey().contains("482913"));
+            assertFalse(stored.getHtmlBody().contains("482913"));
+            assertFalse(stored.getTextBody().contains("482913"));
+        });
+
+        waitFor(() -> onlyMessage().getStatus() == EmailOutboxStatus.SENT);
+        assertNull(onlyMessage().getHtmlBody());
+        assertNull(onlyMessage().getTextBody());
+        assertTrue(stubEmailProvider.sent().get(0).textBody().contains("482913"));
+    }
+
+    @Test
+    public void testUnreadablePayloadFailsWithoutRetrying() {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setDedupKey("sealed-elsewhere");
+        message.setProvider("stub");
+        message.setToEmail("rotated@example.com");
+        message.setSubject("Subject");
+        message.setTextBody("v1:c2VhbGVkIHdpdGggYW5vdGhlciBrZXkgc2VhbGVk");
+        emailOutboxRepository.save(message);
+
+        waitFor(() -> {
+            emailOutboxWorker.drain();
+            return onlyMessage().getStatus() == EmailOutboxStatus.FAILED;
+        });
+        assertEquals(0, onlyMessage().getAttempts());
+        assertTrue(stubEmailProvider.sent().isEmpty());
+    }
+
+    private EmailOutboxMessage onlyMessage() {
+        return emailOutboxRepository.findAll().get(0);
+    }
+
+    private static OutboundEmail email(String to) {
+        return new OutboundEmail(to, "Subject", "<p>Body</p>", "Body");
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for the outbox");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
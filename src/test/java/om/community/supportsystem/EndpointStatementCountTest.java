@@ -0,0 +1,128 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.Skill;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each read endpoint runs, including JSON serialization.
+ * A budget that grows with the data means an association is being loaded one row at a time.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class EndpointStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int sequence = 0;
+    private Set<Skill> skills;
+    private Location location;
+    private User volunteer;
+    private User citizen;
+    private Assignment assignment;
+
+    @BeforeEach
+    public void setUp() {
+        skills = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Skill skill = new Skill("Skill " + (++sequence), "Statement count skill");
+            entityManager.persist(skill);
+            skills.add(skill);
+        }
+        location = new Location("Kigali City", "Gasabo", "KC");
+        entityManager.persist(location);
+        volunteer = persistUser(UserRole.VOLUNTEER);
+        citizen = persistUser(UserRole.CITIZEN);
+        assignment = seed(citizen, 2);
+    }
+
+    @Test
+    public void testRequestListsUseFixedStatements() throws Exception {
+        // Projection slices: one statement, no COUNT
+        assertBudget("/api/requests", 1);
+        // Entity lists: one statement with citizen and location joined, plus one batch for skills
+        assertBudget("/api/requests/citizen/" + citizen.getUserId(), 2);
+        assertBudget("/api/requests/pending", 2);
+    }
+
+    @Test
+    public void testAssignmentReadsUseFixedStatements() throws Exception {
+        assertBudget("/api/assignments", 1);
+        assertBudget("/api/assignments/volunteer/" + volunteer.getUserId(), 1);
+        assertBudget("/api/assignments/" + assignment.getAssignmentId(), 1);
+    }
+
+    @Test
+    public void testUserProfileUsesOneStatement() throws Exception {
+        assertBudget("/api/users/" + volunteer.getUserId(), 1);
+    }
+
+    /** Runs the endpoint on the base data and again after adding more rows; both must match the budget. */
+    private void assertBudget(String path, int budget) throws Exception {
+        long small = countStatements(path);
+
+        for (int i = 0; i < 10; i++) {
+            seed(persistUser(UserRole.CITIZEN), 3);
+        }
+        seed(citizen, 5);
+        long large = countStatements(path);
+
+        assertEquals(budget, small, path + " used " + small + " statements");
+        assertEquals(budget, large, path + " used " + large + " statements after adding data");
+    }
+
+    private long countStatements(String path) throws Exception {
+        return StatementCounting.countStatements(entityManager, entityManagerFactory,
+                () -> mockMvc.perform(get(path)).andExpect(status().isOk()));
+    }
+
+    private Assignment seed(User owner, int requests) {
+        owner = entityManager.merge(owner);
+        User assignee = entityManager.merge(volunteer);
+        Assignment last = null;
+        for (int r = 0; r < requests; r++) {
+            Request request = StatementCounting.persistRequest(entityManager, "Request " + (++sequence), owner);
+            last = new Assignment(request, assignee);
+            entityManager.persist(last);
+        }
+        return last;
+    }
+
+    private User persistUser(UserRole role) {
+        User user = StatementCounting.persistUser(entityManager, ++sequence, role, entityManager.merge(location));
+        Set<Skill> userSkills = new HashSet<>();
+        skills.forEach(skill -> userSkills.add(entityManager.merge(skill)));
+        user.setSkills(userSkills);
+        return user;
+    }
+}
@@ -0,0 +1,105 @@
+package om.community.supportsystem;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import om.community.supportsystem.service.ExportService;
+import om.community.supportsystem.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export concurrency permit must come back even when the streaming body never finishes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "export.max-concurrent=1")
+public class ExportPermitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    // Holds the export body until the test lets it go
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        unblock.countDown();
+    }
+
+    @Test
+    public void testPermitIsReleasedWhenTheBodyCompletes() throws Exception {
+        when(exportService.exportRequests(any(), any(), any())).thenReturn(0L);
+
+        MvcResult first = startExport();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(startExport())).andExpect(status().isOk());
+    }
+
+    @Test
+    public void testPermitIsReleasedWhenTheRequestTimesOut() throws Exception {
+        // A body stuck somewhere that ignores the interrupt sent on timeout
+        when(exportService.exportRequests(any(), any(), any())).thenAnswer(invocation -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (unblock.getCount() > 0 && System.nanoTime() < deadline) {
+                try {
+                    unblock.await(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ignored) {
+                    // keep holding
+                }
+            }
+            return 0L;
+        });
+
+        MvcResult stuck = startExport();
+        mockMvc.perform(exportRequest()).andExpect(status().isTooManyRequests());
+
+        // What the container does when spring.mvc.async.request-timeout passes
+        MockAsyncContext asyncContext = (MockAsyncContext) stuck.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onComplete(new AsyncEvent(asyncContext));
+        }
+
+        startExport();
+    }
+
+    private MvcResult startExport() throws Exception {
+        return mockMvc.perform(exportRequest())
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private org.springframework.test.web.servlet.RequestBuilder exportRequest() {
+        String admin = jwtUtil.generateToken("admin@example.com", "ADMIN", 1L);
+        return get("/api/admin/export/requests").header("Authorization", "Bearer " + admin);
+    }
+}
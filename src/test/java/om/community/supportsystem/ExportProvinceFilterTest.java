@@ -0,0 +1,83 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import om.community.supportsystem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The export province filter matches a citizen's Location or their own province field, like the
+ * other province queries, and exports the province it matched on.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional
+public class ExportProvinceFilterTest {
+
+    private static final String PROVINCE = "Export Province";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testProvinceMatchesLocationOrProfileField() {
+        Location location = new Location(PROVINCE, "Export District", "EP");
+        entityManager.persist(location);
+        // One citizen has only a Location, the other only the province field
+        User locationOnly = StatementCounting.persistUser(entityManager, 7101, UserRole.CITIZEN, location);
+        locationOnly.setProvince(null);
+        locationOnly.setDistrict(null);
+        User fieldOnly = StatementCounting.persistUser(entityManager, 7102, UserRole.CITIZEN, null);
+        fieldOnly.setProvince(PROVINCE);
+        User volunteer = StatementCounting.persistUser(entityManager, 7103, UserRole.VOLUNTEER, null);
+        Request fromLocation = StatementCounting.persistRequest(entityManager, "Export by location", locationOnly);
+        Request fromField = StatementCounting.persistRequest(entityManager, "Export by field", fieldOnly);
+        Assignment assignment = new Assignment(fromLocation, volunteer);
+        entityManager.persist(assignment);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object[]> requests = rows(requestRepository.streamForExport(null, PROVINCE, null, null));
+        assertEquals(List.of(fromLocation.getRequestId(), fromField.getRequestId()), requests.stream().map(row -> row[0]).toList());
+        assertEquals(PROVINCE, requests.get(0)[9]);
+        assertEquals("Export District", requests.get(0)[10]);
+
+        List<Object[]> assignments = rows(assignmentRepository.streamForExport(null, PROVINCE, null, null));
+        assertEquals(List.of(assignment.getAssignmentId()), assignments.stream().map(row -> row[0]).toList());
+        assertEquals(PROVINCE, assignments.get(0)[10]);
+
+        List<Object[]> users = rows(userRepository.streamForExport(null, PROVINCE, null, null));
+        assertEquals(List.of(locationOnly.getUserId(), fieldOnly.getUserId()), users.stream().map(row -> row[0]).toList());
+        assertEquals(PROVINCE, users.get(0)[5]);
+    }
+
+    private static List<Object[]> rows(Stream<Object[]> stream) {
+        try (stream) {
+            return stream.toList();
+        }
+    }
+}
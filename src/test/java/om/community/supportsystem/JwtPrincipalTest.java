@@ -0,0 +1,74 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The caller's identity comes from the access token: the principal and the /me endpoints
+ * never read the users table.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:jwtprincipaltest")
+public class JwtPrincipalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Test
+    public void testPrincipalIsBuiltWithoutUserLookup() throws Exception {
+        String token = jwtUtil.generateToken("citizen@example.com", "CITIZEN", 4242L);
+        clearInvocations(userRepository);
+
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(4242))
+                .andExpect(jsonPath("$.email").value("citizen@example.com"))
+                .andExpect(jsonPath("$.role").value("CITIZEN"));
+        mockMvc.perform(get("/api/notifications/me/unread/count").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+        mockMvc.perform(get("/api/notifications/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray());
+        mockMvc.perform(get("/api/requests/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+        // The role check reads the authority taken from the token
+        mockMvc.perform(get("/api/dashboard/citizen/4242").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testMeEndpointsRequireAToken() throws Exception {
+        mockMvc.perform(get("/api/notifications/me/unread/count"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/requests/me"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/assignments/me").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(patch("/api/notifications/me/mark-all-read"))
+                .andExpect(status().isUnauthorized());
+    }
+}
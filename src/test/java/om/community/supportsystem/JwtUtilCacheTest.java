@@ -0,0 +1,88 @@
+package om.community.supportsystem;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.JwtException;
+import om.community.supportsystem.util.JwtPrincipal;
+import om.community.supportsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The verified-token cache in JwtUtil: hits, expiry and invalidation, on a fake cache clock.
+ */
+public class JwtUtilCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private JwtUtil jwtUtil(long tokenLifetimeMs, long cacheTtlMs) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-that-is-at-least-32-bytes-long");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", tokenLifetimeMs);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtlMs", cacheTtlMs);
+        ReflectionTestUtils.setField(jwtUtil, "ticker", (Ticker) nanos::get);
+        jwtUtil.validateSecret();
+        return jwtUtil;
+    }
+
+    @Test
+    public void testRepeatVerificationIsServedFromCache() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000, 300_000);
+        String token = jwtUtil.generateToken("user@example.com", "VOLUNTEER", 7L);
+
+        JwtPrincipal first = jwtUtil.verifyAndExtract(token);
+        assertEquals(7L, first.userId());
+        assertEquals("VOLUNTEER", first.role());
+        assertSame(first, jwtUtil.verifyAndExtract(token));
+    }
+
+    @Test
+    public void testEntriesExpireAfterTheCacheTtl() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000, 300_000);
+        String token = jwtUtil.generateToken("user@example.com", "VOLUNTEER", 7L);
+        JwtPrincipal first = jwtUtil.verifyAndExtract(token);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(299));
+        assertSame(first, jwtUtil.verifyAndExtract(token));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertNotSame(first, jwtUtil.verifyAndExtract(token), "re-verified after jwt.cache.ttl-ms");
+    }
+
+    @Test
+    public void testEntriesNeverOutliveTheirToken() {
+        JwtUtil jwtUtil = jwtUtil(60_000, 300_000);
+        String token = jwtUtil.generateToken("user@example.com", "VOLUNTEER", 7L);
+        JwtPrincipal first = jwtUtil.verifyAndExtract(token);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertNotSame(first, jwtUtil.verifyAndExtract(token), "cached only until the token's own expiry");
+    }
+
+    @Test
+    public void testInvalidateForcesReverification() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000, 300_000);
+        String token = jwtUtil.generateToken("user@example.com", "ADMIN", 1L);
+        JwtPrincipal first = jwtUtil.verifyAndExtract(token);
+
+        jwtUtil.invalidate(token);
+        JwtPrincipal second = jwtUtil.verifyAndExtract(token);
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testTamperedTokensAreRejectedAndNotCached() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000, 300_000);
+        String token = jwtUtil.generateToken("user@example.com", "VOLUNTEER", 7L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verifyAndExtract(tampered));
+        assertThrows(JwtException.class, () -> jwtUtil.verifyAndExtract(tampered));
+        assertNotNull(jwtUtil.verifyAndExtract(token));
+    }
+}
@@ -0,0 +1,75 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import om.community.supportsystem.model.Achievement;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The volunteer leaderboard ranks volunteers only, whether rebuilt from the database or
+ * updated as achievements are awarded. Own database, since the standings outlive the rollback.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:leaderboardtest")
+@Transactional
+public class LeaderboardRoleTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testOnlyVolunteersAreRanked() {
+        User volunteer = StatementCounting.persistUser(entityManager, 1, UserRole.VOLUNTEER, null);
+        User citizen = StatementCounting.persistUser(entityManager, 2, UserRole.CITIZEN, null);
+        User admin = StatementCounting.persistUser(entityManager, 3, UserRole.ADMIN, null);
+        Request request = StatementCounting.persistRequest(entityManager, "Request", citizen);
+        Assignment assignment = new Assignment(request, volunteer);
+        assignment.setCompletedAt(LocalDateTime.now());
+        entityManager.persist(assignment);
+        persistAchievement(volunteer, 5);
+        persistAchievement(citizen, 500);
+        persistAchievement(admin, 500);
+        entityManager.flush();
+
+        leaderboardService.reconcile();
+        assertRankedUsers(List.of(volunteer.getUserId()));
+        assertEquals(15L, leaderboardService.getUserRank(volunteer.getUserId()).get("points"));
+
+        leaderboardService.recordAchievement(citizen, 1000);
+        leaderboardService.recordAchievement(admin, 1000);
+        leaderboardService.recordAchievement(volunteer, 10);
+        assertRankedUsers(List.of(volunteer.getUserId()));
+        assertNull(leaderboardService.getUserRank(citizen.getUserId()));
+        assertEquals(25L, leaderboardService.getUserRank(volunteer.getUserId()).get("points"));
+    }
+
+    private void assertRankedUsers(List<Long> userIds) {
+        assertEquals(userIds, leaderboardService.getTopVolunteers(10).stream().map(e -> (Long) e.get("userId")).toList());
+    }
+
+    private void persistAchievement(User user, int points) {
+        Achievement achievement = new Achievement();
+        achievement.setUser(user);
+        achievement.setTitle("Badge");
+        achievement.setBadgeType("TEST");
+        achievement.setPoints(points);
+        entityManager.persist(achievement);
+    }
+}
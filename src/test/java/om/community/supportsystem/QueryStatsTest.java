@@ -0,0 +1,97 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import om.community.supportsystem.config.QueryStatsFilter;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.querystats.QueryStats;
+import om.community.supportsystem.querystats.QueryStatsStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-request SQL stats: response headers from the filter and N+1 detection in the inspector.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional
+public class QueryStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testResponseCarriesStatementHeaders() throws Exception {
+        Location location = new Location("Kigali City", "Gasabo", "KC");
+        entityManager.persist(location);
+        User citizen = new User("Citizen", "citizen@example.com", "0700000001", UserRole.CITIZEN, location);
+        citizen.setPassword("password123");
+        entityManager.persist(citizen);
+        User volunteer = new User("Volunteer", "volunteer@example.com", "0700000002", UserRole.VOLUNTEER, location);
+        volunteer.setPassword("password123");
+        entityManager.persist(volunteer);
+        Request request = new Request("Request", "Help needed", RequestCategory.GENERAL_HELP, citizen);
+        entityManager.persist(request);
+        Assignment assignment = new Assignment(request, volunteer);
+        entityManager.persist(assignment);
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult result = mockMvc.perform(get("/api/assignments/" + assignment.getAssignmentId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("1", result.getResponse().getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+        assertNotNull(result.getResponse().getHeader(QueryStatsFilter.DB_TIME_HEADER));
+        // assignment, request, citizen, volunteer and the shared location
+        assertEquals("5", result.getResponse().getHeader(QueryStatsFilter.ENTITIES_LOADED_HEADER));
+    }
+
+    @Test
+    public void testRepeatedSelectShapeIsReported() {
+        QueryStatsStatementInspector inspector = new QueryStatsStatementInspector(3, true);
+        QueryStats.begin("GET /test");
+        try {
+            for (int id = 1; id <= 3; id++) {
+                inspector.inspect("select u.name from users u where u.user_id=" + id);
+            }
+            // Different statement shapes and writes do not count towards the repeat
+            inspector.inspect("select u.name from users u where u.email='a@example.com'");
+            inspector.inspect("insert into users (name) values ('x')");
+            inspector.inspect("insert into users (name) values ('y')");
+
+            IllegalStateException error = assertThrows(IllegalStateException.class,
+                    () -> inspector.inspect("select u.name from users u where u.user_id=4"));
+            assertTrue(error.getMessage().contains("GET /test"));
+            assertEquals(7, QueryStats.current().getStatements());
+        } finally {
+            QueryStats.end();
+        }
+    }
+
+    @Test
+    public void testStatementsOutsideRequestsAreIgnored() {
+        QueryStatsStatementInspector inspector = new QueryStatsStatementInspector(1, true);
+        for (int id = 1; id <= 5; id++) {
+            assertDoesNotThrow(() -> inspector.inspect("select u.name from users u where u.user_id=?"));
+        }
+    }
+}
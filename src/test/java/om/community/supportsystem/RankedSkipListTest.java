@@ -0,0 +1,116 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.util.RankedSkipList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert, remove, rank and range in RankedSkipList, including ties on the score.
+ */
+public class RankedSkipListTest {
+
+    private record Entry(long id, long score) {}
+
+    // Highest score first, ties broken by id, as the leaderboard orders standings
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparingLong(Entry::id);
+
+    @Test
+    public void testInsertKeepsOrderAndRanks() {
+        RankedSkipList<Entry> list = new RankedSkipList<>(ORDER);
+        list.insert(new Entry(1, 10));
+        list.insert(new Entry(2, 30));
+        list.insert(new Entry(3, 20));
+
+        assertEquals(3, list.size());
+        assertEquals(List.of(new Entry(2, 30), new Entry(3, 20), new Entry(1, 10)), list.range(1, 10));
+        assertEquals(1, list.rankOf(new Entry(2, 30)));
+        assertEquals(3, list.rankOf(new Entry(1, 10)));
+        assertEquals(0, list.rankOf(new Entry(1, 30)), "same id with another score is a different element");
+    }
+
+    @Test
+    public void testTiesAreOrderedById() {
+        RankedSkipList<Entry> list = new RankedSkipList<>(ORDER);
+        list.insert(new Entry(7, 50));
+        list.insert(new Entry(3, 50));
+        list.insert(new Entry(5, 50));
+        list.insert(new Entry(9, 60));
+
+        assertEquals(List.of(new Entry(9, 60), new Entry(3, 50), new Entry(5, 50), new Entry(7, 50)), list.range(1, 4));
+        assertEquals(2, list.rankOf(new Entry(3, 50)));
+        assertEquals(4, list.rankOf(new Entry(7, 50)));
+    }
+
+    @Test
+    public void testRemoveUpdatesRanks() {
+        RankedSkipList<Entry> list = new RankedSkipList<>(ORDER);
+        for (long id = 1; id <= 5; id++) {
+            list.insert(new Entry(id, id * 10));
+        }
+
+        assertTrue(list.remove(new Entry(4, 40)));
+        assertFalse(list.remove(new Entry(4, 40)));
+        assertFalse(list.remove(new Entry(2, 99)));
+        assertEquals(4, list.size());
+        assertEquals(0, list.rankOf(new Entry(4, 40)));
+        assertEquals(2, list.rankOf(new Entry(3, 30)));
+
+        // Moving an entry is remove + insert with the new score
+        list.remove(new Entry(1, 10));
+        list.insert(new Entry(1, 100));
+        assertEquals(List.of(new Entry(1, 100), new Entry(5, 50)), list.range(1, 2));
+    }
+
+    @Test
+    public void testRangeBounds() {
+        RankedSkipList<Entry> list = new RankedSkipList<>(ORDER);
+        for (long id = 1; id <= 5; id++) {
+            list.insert(new Entry(id, 0));
+        }
+
+        assertEquals(List.of(new Entry(4, 0), new Entry(5, 0)), list.range(4, 10));
+        assertTrue(list.range(6, 3).isEmpty());
+        assertTrue(list.range(0, 3).isEmpty());
+        assertTrue(new RankedSkipList<>(ORDER).range(1, 3).isEmpty());
+    }
+
+    @Test
+    public void testMatchesASortedSetUnderRandomUpdates() {
+        Random random = new Random(42);
+        RankedSkipList<Entry> list = new RankedSkipList<>(ORDER);
+        TreeSet<Entry> expected = new TreeSet<>(ORDER);
+        Entry[] current = new Entry[500];
+
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(current.length);
+            if (current[id] != null) {
+                assertTrue(list.remove(current[id]));
+                expected.remove(current[id]);
+                current[id] = null;
+            }
+            if (random.nextInt(4) != 0) {
+                // Few distinct scores, so ties are common
+                current[id] = new Entry(id, random.nextInt(20));
+                list.insert(current[id]);
+                expected.add(current[id]);
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        assertEquals(new ArrayList<>(expected), list.range(1, expected.size()));
+        int rank = 1;
+        for (Entry entry : expected) {
+            assertEquals(rank, list.rankOf(entry));
+            assertEquals(List.of(entry), list.range(rank, 1));
+            rank++;
+        }
+    }
+}
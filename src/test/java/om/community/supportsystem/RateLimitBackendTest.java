@@ -0,0 +1,126 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.ratelimit.ClientIpResolver;
+import om.community.supportsystem.ratelimit.InMemoryRateLimitBackend;
+import om.community.supportsystem.ratelimit.RateLimitDecision;
+import om.community.supportsystem.ratelimit.RateLimitPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Token buckets in InMemoryRateLimitBackend, driven by a fake clock, and client IP resolution.
+ */
+public class RateLimitBackendTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // 5 tokens, refilling 1 per second
+    private final RateLimitPolicy policy = new RateLimitPolicy("test", "/api", "ANY", 5, 1, 1);
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    public void testCapacityIsEnforced() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend(100, clock::get);
+
+        for (int i = 4; i >= 0; i--) {
+            RateLimitDecision decision = backend.tryConsume("a", policy);
+            assertTrue(decision.allowed());
+            assertEquals(i, decision.remaining());
+        }
+        RateLimitDecision rejected = backend.tryConsume("a", policy);
+        assertFalse(rejected.allowed());
+        assertEquals(1, rejected.retryAfterSeconds());
+        assertTrue(backend.tryConsume("b", policy).allowed(), "other keys have their own bucket");
+    }
+
+    @Test
+    public void testTokensRefillOverTimeUpToCapacity() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend(100, clock::get);
+        for (int i = 0; i < 5; i++) {
+            backend.tryConsume("a", policy);
+        }
+        assertFalse(backend.tryConsume("a", policy).allowed());
+
+        clock.addAndGet(2 * SECOND);
+        assertTrue(backend.tryConsume("a", policy).allowed());
+        assertTrue(backend.tryConsume("a", policy).allowed());
+        assertFalse(backend.tryConsume("a", policy).allowed());
+
+        clock.addAndGet(60 * SECOND);
+        assertEquals(4, backend.tryConsume("a", policy).remaining(), "refill stops at capacity");
+    }
+
+    @Test
+    public void testIdleBucketsAreSwept() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend(100, clock::get);
+        backend.tryConsume("a", policy);
+        clock.addAndGet(3 * SECOND);
+        backend.tryConsume("b", policy);
+
+        clock.addAndGet(3 * SECOND);
+        backend.sweepIdleBuckets();
+        assertEquals(1, backend.size(), "a has refilled completely, b has not");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedBucketsAreEvictedAtTheCap() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend(10, clock::get);
+        for (int i = 0; i < 10; i++) {
+            backend.tryConsume("client" + i, policy);
+            backend.tryConsume("client" + i, policy);
+            clock.addAndGet(SECOND / 10);
+        }
+        // client0 is the oldest bucket but was just used, so client1 is least recently used
+        backend.tryConsume("client0", policy);
+
+        assertEquals(4, backend.tryConsume("newcomer", policy).remaining(), "the newcomer gets a bucket of its own");
+        assertEquals(10, backend.size());
+
+        assertEquals(2, backend.tryConsume("client0", policy).remaining(), "client0 kept its state");
+        assertEquals(4, backend.tryConsume("client1", policy).remaining(), "client1 was evicted and starts full again");
+    }
+
+    @Test
+    public void testForwardedHeadersAreIgnoredWithoutATrustedProxy() {
+        ClientIpResolver resolver = new ClientIpResolver("", List.of());
+        MockHttpServletRequest request = request("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+        request.addHeader("Fly-Client-IP", "198.51.100.2");
+
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    public void testForwardedForIsReadFromTheRightBehindTrustedProxies() {
+        ClientIpResolver resolver = new ClientIpResolver(null, List.of("10.0.0.0/8"));
+
+        MockHttpServletRequest proxied = request("10.1.2.3");
+        proxied.addHeader("X-Forwarded-For", "1.1.1.1, 198.51.100.9, 10.4.5.6");
+        assertEquals("198.51.100.9", resolver.resolve(proxied), "the spoofed left-most entry is skipped");
+
+        MockHttpServletRequest direct = request("203.0.113.7");
+        direct.addHeader("X-Forwarded-For", "1.1.1.1");
+        assertEquals("203.0.113.7", resolver.resolve(direct));
+    }
+
+    @Test
+    public void testPlatformHeaderWinsWhenConfigured() {
+        ClientIpResolver resolver = new ClientIpResolver("Fly-Client-IP", List.of());
+        MockHttpServletRequest request = request("172.16.0.1");
+        request.addHeader("Fly-Client-IP", "198.51.100.2");
+
+        assertEquals("198.51.100.2", resolver.resolve(request));
+        assertEquals("172.16.0.1", resolver.resolve(request("172.16.0.1")));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/requests");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
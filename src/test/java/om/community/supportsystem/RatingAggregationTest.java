@@ -0,0 +1,120 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.dto.CreateRatingDTO;
+import om.community.supportsystem.model.Rating;
+import om.community.supportsystem.repository.VolunteerRatingStatsRepository;
+import om.community.supportsystem.service.RatingAggregationService;
+import om.community.supportsystem.service.RatingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The in-memory rating aggregates stay in step with the durable rows through missing rows,
+ * concurrent rebuilds and writes from other instances. Own database, since ratings are committed.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:ratingstest")
+public class RatingAggregationTest {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RatingAggregationService ratingAggregationService;
+
+    @Autowired
+    private VolunteerRatingStatsRepository statsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testRatingIsCountedWhenItsStatsRowWasRemoved() {
+        ratingService.createRating(request(101L, 4));
+        // e.g. a rebuild on another instance deleted it after the in-memory check passed
+        statsRepository.deleteById(101L);
+        ratingService.createRating(request(101L, 2));
+
+        assertEquals(1, statsRepository.findById(101L).orElseThrow().getRatingCount());
+        assertEquals(2, ratingAggregationService.getRatingCount(101L), "the mirror counts both until the next reload");
+        ratingAggregationService.refresh();
+        assertEquals(1, ratingAggregationService.getRatingCount(101L));
+    }
+
+    @Test
+    public void testRatingInFlightDuringRebuildIsKept() throws Exception {
+        ratingService.createRating(request(202L, 5));
+        CountDownLatch inTransaction = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Rating> writer = CompletableFuture.supplyAsync(() -> ratingAggregationService.record(() -> {
+            inTransaction.countDown();
+            await(release);
+            Rating saved = rating(202L, 3);
+            jdbcTemplate.update("INSERT INTO ratings (volunteer_id, score, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)", 202L, 3);
+            ratingAggregationService.persist(saved);
+            return saved;
+        }));
+        assertTrue(inTransaction.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Map<String, Object>> rebuild = CompletableFuture.supplyAsync(ratingAggregationService::rebuild);
+        Thread.sleep(200);
+        assertFalse(rebuild.isDone(), "rebuild waits for the rating being written");
+
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, ratingAggregationService.getRatingCount(202L));
+        assertEquals(4.0, ratingAggregationService.getAverage(202L));
+        assertEquals(2, statsRepository.findById(202L).orElseThrow().getRatingCount());
+    }
+
+    @Test
+    public void testRefreshPicksUpOtherInstancesRatings() {
+        ratingService.createRating(request(303L, 5));
+        // Another instance records a 1-star rating
+        jdbcTemplate.update("UPDATE volunteer_rating_stats SET rating_count = rating_count + 1, "
+                + "rating_sum = rating_sum + 1, rating_sum_squares = rating_sum_squares + 1, stars_1 = stars_1 + 1 "
+                + "WHERE volunteer_id = ?", 303L);
+        assertEquals(1, ratingAggregationService.getRatingCount(303L));
+
+        ratingAggregationService.refresh();
+        assertEquals(2, ratingAggregationService.getRatingCount(303L));
+        assertEquals(3.0, ratingAggregationService.getAverage(303L));
+        assertEquals(1L, ratingAggregationService.getSummary(303L).distribution().get(1));
+    }
+
+    private static CreateRatingDTO request(Long volunteerId, int score) {
+        CreateRatingDTO dto = new CreateRatingDTO();
+        dto.setVolunteerId(volunteerId);
+        dto.setScore(score);
+        return dto;
+    }
+
+    private static Rating rating(Long volunteerId, int score) {
+        Rating rating = new Rating();
+        rating.setVolunteerId(volunteerId);
+        rating.setScore(score);
+        return rating;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.dto.AssignmentResponseDTO;
+import om.community.supportsystem.dto.RequestResponseDTO;
+import om.community.supportsystem.model.Assignment;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.Skill;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The request and assignment read paths are served by constructor projections: one statement,
+ * the same DTO the entity path would build. The 10k-row benchmark compares both paths and only
+ * runs with -Dbenchmarks=true.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class ReadModelProjectionTest {
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int userSequence = 0;
+
+    @Test
+    public void testRequestViewMatchesEntityDto() {
+        Set<Skill> skills = seedSkills(3);
+        Location location = new Location("Kigali City", "Gasabo", "KC");
+        entityManager.persist(location);
+        User withLocation = persistUser(UserRole.CITIZEN, location, skills);
+        User withoutLocation = persistUser(UserRole.CITIZEN, null, skills);
+        withoutLocation.setProvince("Eastern Province");
+        withoutLocation.setDistrict("Rwamagana");
+        Request first = persistRequest(withLocation);
+        Request second = persistRequest(withoutLocation);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Long id : List.of(first.getRequestId(), second.getRequestId())) {
+            RequestResponseDTO expected = new RequestResponseDTO(requestRepository.findById(id).orElseThrow());
+            RequestResponseDTO actual = requestRepository.findViewById(id).orElseThrow();
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getCitizenId(), actual.getCitizenId());
+            assertEquals(expected.getCitizenEmail(), actual.getCitizenEmail());
+            assertEquals(expected.getCitizenProvince(), actual.getCitizenProvince());
+            assertEquals(expected.getCitizenDistrict(), actual.getCitizenDistrict());
+            assertEquals(expected.getCitizen().getLocation().getProvince(), actual.getCitizen().getLocation().getProvince());
+        }
+    }
+
+    @Test
+    public void testListSlicesUseOneStatement() throws Exception {
+        seed(20, 3);
+
+        long requestQueries = countQueries(() -> requestRepository.findViewSliceNewestFirst(PageRequest.of(0, 50)));
+        long assignmentQueries = countQueries(() -> assignmentRepository.findViewSliceNewestFirst(PageRequest.of(0, 50)));
+
+        assertEquals(1, requestQueries, "Request slice must be a single statement");
+        assertEquals(1, assignmentQueries, "Assignment slice must be a single statement");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    public void benchmarkTenThousandRowLists() {
+        seed(1_000, 10);
+        PageRequest tenThousand = PageRequest.of(0, 10_000);
+
+        report("requests   entity    ", () -> requestRepository.findAll().stream().map(RequestResponseDTO::new).toList());
+        report("requests   projection", () -> requestRepository.findViewSliceNewestFirst(tenThousand));
+        report("assignments entity    ", () -> assignmentRepository.findAll().stream().map(AssignmentResponseDTO::new).toList());
+        report("assignments projection", () -> assignmentRepository.findViewSliceNewestFirst(tenThousand));
+    }
+
+    private void report(String label, Supplier<List<?>> read) {
+        final int warmup = 3;
+        final int measured = 5;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] nanos = new long[measured];
+        long[] bytes = new long[measured];
+        long statements = 0;
+        int rows = 0;
+        for (int i = 0; i < warmup + measured; i++) {
+            entityManager.clear();
+            Statistics statistics = statistics();
+            statistics.clear();
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long started = System.nanoTime();
+            rows = read.get().size();
+            long elapsed = System.nanoTime() - started;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (i >= warmup) {
+                nanos[i - warmup] = elapsed;
+                bytes[i - warmup] = allocated;
+                statements = statistics.getPrepareStatementCount();
+            }
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+        System.out.printf("%s rows=%d median=%.1fms allocated=%.1fMB statements=%d%n", label, rows,
+                nanos[measured / 2] / 1_000_000.0, bytes[measured / 2] / (1024.0 * 1024.0), statements);
+    }
+
+    private long countQueries(Runnable action) throws Exception {
+        return StatementCounting.countStatements(entityManager, entityManagerFactory, action::run);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void seed(int citizens, int requestsPerCitizen) {
+        Set<Skill> skills = seedSkills(3);
+        Location location = new Location("Kigali City", "Gasabo", "KC");
+        entityManager.persist(location);
+        User volunteer = persistUser(UserRole.VOLUNTEER, location, skills);
+        for (int c = 0; c < citizens; c++) {
+            User citizen = persistUser(UserRole.CITIZEN, location, skills);
+            for (int r = 0; r < requestsPerCitizen; r++) {
+                entityManager.persist(new Assignment(persistRequest(citizen), volunteer));
+            }
+            if (c % 100 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                location = entityManager.merge(location);
+                volunteer = entityManager.merge(volunteer);
+                skills = new HashSet<>(skills.stream().map(entityManager::merge).toList());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Set<Skill> seedSkills(int count) {
+        Set<Skill> skills = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            Skill skill = new Skill("Skill " + (++userSequence), "Benchmark skill");
+            entityManager.persist(skill);
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    private User persistUser(UserRole role, Location location, Set<Skill> skills) {
+        User user = StatementCounting.persistUser(entityManager, ++userSequence, role, location);
+        user.setSkills(new HashSet<>(skills));
+        return user;
+    }
+
+    private Request persistRequest(User citizen) {
+        return StatementCounting.persistRequest(entityManager, "Request " + (++userSequence), citizen);
+    }
+}
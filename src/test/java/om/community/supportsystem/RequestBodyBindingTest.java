@@ -0,0 +1,93 @@
+package om.community.supportsystem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Ratings, expenses, appointments and availability bind request DTOs, so server-managed
+ * fields in a request body are ignored. Own database, since the services commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:bindingtest")
+public class RequestBodyBindingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testExpenseIgnoresServerManagedFields() throws Exception {
+        mockMvc.perform(post("/api/expenses").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"volunteerId\": 7, \"amount\": 12.50, \"category\": \"TRANSPORT\"," +
+                                " \"expenseId\": 999, \"status\": \"APPROVED\", \"reviewedAt\": \"2026-01-01T00:00:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenseId").value(not(999)))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.reviewedAt").doesNotExist())
+                .andExpect(jsonPath("$.amount").value(12.50));
+
+        mockMvc.perform(post("/api/expenses").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"volunteerId\": 7, \"amount\": -1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testRatingIsValidatedAndKeepsTheRaterAlias() throws Exception {
+        mockMvc.perform(post("/api/ratings").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"volunteerId\": 8, \"score\": 4, \"citizenId\": 3, \"ratingId\": 999," +
+                                " \"createdAt\": \"2020-01-01T00:00:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ratingId").value(not(999)))
+                .andExpect(jsonPath("$.raterId").value(3))
+                .andExpect(jsonPath("$.createdAt").value(not("2020-01-01T00:00:00")));
+
+        mockMvc.perform(post("/api/ratings").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"volunteerId\": 8, \"score\": 6}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testAppointmentUpdateCannotChangeOwnerOrStatus() throws Exception {
+        String created = mockMvc.perform(post("/api/appointments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 5, \"title\": \"Groceries\", \"status\": \"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SCHEDULED"))
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(created.replaceAll(".*\"appointmentId\":(\\d+).*", "$1"));
+
+        mockMvc.perform(put("/api/appointments/" + id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Pharmacy\", \"userId\": 6, \"status\": \"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Pharmacy"))
+                .andExpect(jsonPath("$.userId").value(5))
+                .andExpect(jsonPath("$.status").value("SCHEDULED"));
+
+        mockMvc.perform(post("/api/appointments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"No owner\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testAvailabilityIsSavedForThePathVolunteer() throws Exception {
+        mockMvc.perform(post("/api/availability/volunteer/11").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"volunteerId\": 12, \"status\": \"ONLINE\", \"slots\": [{\"day\": \"MON\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.volunteerId").value(11))
+                .andExpect(jsonPath("$.status").value("ONLINE"))
+                .andExpect(jsonPath("$.slots[0].day").value("MON"));
+
+        mockMvc.perform(get("/api/availability/volunteer/12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("OFFLINE"));
+    }
+}
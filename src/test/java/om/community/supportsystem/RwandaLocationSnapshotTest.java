@@ -0,0 +1,83 @@
+package om.community.supportsystem;
+
+import om.community.supportsystem.service.RwandaLocationService;
+import om.community.supportsystem.util.DivisionTree;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lookups never call the RDA API: children missing from the snapshot answer empty and are
+ * fetched by the background fill, which writes the snapshot file so the next start answers and
+ * autocompletes them without the network.
+ */
+public class RwandaLocationSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> calls = new ArrayList<>();
+
+    private RwandaLocationService service(String snapshotFile, boolean networkUp) {
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+                calls.add(url);
+                if (!networkUp) {
+                    throw new ResourceAccessException("RDA API unreachable");
+                }
+                return (T) "{\"data\":[\"Remera\",\"Kimironko\"]}";
+            }
+        };
+        RwandaLocationService service = new RwandaLocationService(restTemplate);
+        ReflectionTestUtils.setField(service, "remoteUrl", "http://rda.test");
+        ReflectionTestUtils.setField(service, "remoteEnabled", true);
+        ReflectionTestUtils.setField(service, "snapshotFile", snapshotFile);
+        ReflectionTestUtils.setField(service, "fillBatchSize", 50);
+        ReflectionTestUtils.invokeMethod(service, "loadSnapshot");
+        return service;
+    }
+
+    @Test
+    public void testMissingChildrenAreFetchedInTheBackgroundAndSurviveARestart() {
+        Path snapshotFile = dir.resolve("data/rwanda-divisions.json");
+
+        RwandaLocationService first = service(snapshotFile.toString(), true);
+        assertEquals(List.of(), first.getSectors("Kigali City", "Gasabo"));
+        assertEquals(List.of(), first.getSectors("kigali city", "GASABO"));
+        assertEquals(List.of(), first.getSectors("Kigali City", "Atlantis"));
+        assertTrue(calls.isEmpty(), "lookups answer from the snapshot only");
+        assertEquals(1, first.getStatus().get("missing"));
+
+        first.fillMissing();
+        assertEquals(1, calls.size(), "queued once for both spellings; unknown parents are not queued");
+        assertEquals(List.of("Kimironko", "Remera"), first.getSectors("Kigali City", "Gasabo"));
+        assertEquals(0, first.getStatus().get("missing"));
+        assertTrue(Files.isRegularFile(snapshotFile));
+
+        RwandaLocationService restarted = service(snapshotFile.toString(), false);
+        assertEquals(List.of("Kimironko", "Remera"), restarted.getSectors("Kigali City", "Gasabo"));
+        assertEquals(List.of("Remera"), restarted.search("rem", "sector", 10).stream().map(DivisionTree.Match::name).toList());
+        assertEquals(1, calls.size(), "the restarted instance never called the API");
+    }
+
+    @Test
+    public void testFailedFetchStaysQueued() {
+        RwandaLocationService service = service("", false);
+        service.getSectors("Kigali City", "Gasabo");
+
+        service.fillMissing();
+        assertEquals(List.of(), service.getSectors("Kigali City", "Gasabo"));
+        assertEquals(1, service.getStatus().get("missing"));
+    }
+}
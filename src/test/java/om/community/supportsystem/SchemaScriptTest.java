@@ -0,0 +1,76 @@
+package om.community.supportsystem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * db/schema-postgresql.sql creates the same columns Hibernate maps, and can run on every start.
+ * Own database, since tables are dropped.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:schematest;MODE=PostgreSQL")
+public class SchemaScriptTest {
+
+    private static final String SCRIPT = "db/schema-postgresql.sql";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testScriptMatchesMappedTables() throws Exception {
+        List<String> tables = scriptTables();
+        assertFalse(tables.isEmpty());
+        Map<String, Map<String, String>> mapped = new TreeMap<>();
+        for (String table : tables) {
+            mapped.put(table, columns(table));
+            assertFalse(mapped.get(table).isEmpty(), table + " is not mapped by any entity");
+        }
+
+        for (String table : tables) {
+            jdbcTemplate.execute("DROP TABLE " + table + " CASCADE");
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCRIPT));
+        populator.execute(dataSource);
+        // Runs on every start, so a second pass must be a no-op
+        populator.execute(dataSource);
+
+        for (String table : tables) {
+            assertEquals(mapped.get(table), columns(table), "columns of " + table);
+        }
+    }
+
+    private List<String> scriptTables() throws Exception {
+        String sql = new ClassPathResource(SCRIPT).getContentAsString(StandardCharsets.UTF_8);
+        Matcher matcher = Pattern.compile("CREATE TABLE IF NOT EXISTS (\\w+)").matcher(sql);
+        List<String> tables = new ArrayList<>();
+        while (matcher.find()) {
+            tables.add(matcher.group(1));
+        }
+        return tables;
+    }
+
+    /** Column name -> nullability; types are compared by the database when the entities are used. */
+    private Map<String, String> columns(String table) {
+        Map<String, String> columns = new TreeMap<>();
+        jdbcTemplate.query("SELECT column_name, is_nullable FROM information_schema.columns WHERE table_name = ?",
+                rs -> { columns.put(rs.getString(1).toLowerCase(), rs.getString(2)); }, table.toUpperCase());
+        return columns;
+    }
+}
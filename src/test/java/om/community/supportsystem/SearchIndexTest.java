@@ -0,0 +1,160 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.Skill;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.CommunityPostRepository;
+import om.community.supportsystem.repository.RequestRepository;
+import om.community.supportsystem.repository.SkillRepository;
+import om.community.supportsystem.repository.UserRepository;
+import om.community.supportsystem.service.SearchIndexService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The search index only sees committed writes, follows a user's changes into their requests,
+ * and rebuilds read every table page by page, including rows another instance wrote.
+ * Own database, since the writes are committed.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:searchindextest", "search.rebuild.page-size=2"})
+public class SearchIndexTest {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private CommunityPostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testRolledBackSaveIsNotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            StatementCounting.persistUser(entityManager, 4101, UserRole.VOLUNTEER, null).setName("Rolledback Umutoni");
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, total("Umutoni", SearchIndexService.TYPE_USER));
+    }
+
+    @Test
+    public void testSaveIsIndexedOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User citizen = StatementCounting.persistUser(entityManager, 4102, UserRole.CITIZEN, null);
+            citizen.setName("Committed Nyirahabimana");
+            StatementCounting.persistRequest(entityManager, "Borehole repair in Kayonza", citizen);
+            entityManager.flush();
+
+            assertEquals(0, total("Nyirahabimana", SearchIndexService.TYPE_USER));
+            assertEquals(0, total("borehole", SearchIndexService.TYPE_REQUEST));
+        });
+
+        assertEquals(1, total("Nyirahabimana", SearchIndexService.TYPE_USER));
+        List<?> items = (List<?>) searchIndexService.search("borehole", SearchIndexService.TYPE_REQUEST, 0, 10).get("items");
+        assertEquals(1, items.size());
+        assertEquals("Committed Nyirahabimana", ((Map<?, ?>) items.get(0)).get("citizenName"));
+    }
+
+    @Test
+    public void testDeleteIsAppliedAfterCommit() {
+        Long requestId = transactionTemplate.execute(status -> {
+            User citizen = StatementCounting.persistUser(entityManager, 4103, UserRole.CITIZEN, null);
+            return StatementCounting.persistRequest(entityManager, "Roofing sheets for Gicumbi", citizen).getRequestId();
+        });
+        assertEquals(1, total("gicumbi", SearchIndexService.TYPE_REQUEST));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.remove(entityManager.find(Request.class, requestId));
+            entityManager.flush();
+            assertEquals(1, total("gicumbi", SearchIndexService.TYPE_REQUEST));
+        });
+
+        assertEquals(0, total("gicumbi", SearchIndexService.TYPE_REQUEST));
+    }
+
+    @Test
+    public void testRebuildReadsEveryPage() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                entityManager.persist(new Skill("Beekeeping " + i, "Hive care and honey harvesting"));
+            }
+        });
+
+        Map<String, Object> result = searchIndexService.rebuild();
+
+        // Page size is 2, so every table spans several pages
+        long rows = userRepository.count() + requestRepository.count() + skillRepository.count() + postRepository.count();
+        assertEquals((int) rows, result.get("documents"));
+        assertEquals(5, total("beekeeping", SearchIndexService.TYPE_SKILL));
+    }
+
+    @Test
+    public void testRenamedCitizenIsShownOnTheirRequests() {
+        Long citizenId = transactionTemplate.execute(status -> {
+            User citizen = StatementCounting.persistUser(entityManager, 4104, UserRole.CITIZEN, null);
+            citizen.setName("Before Mukamana");
+            StatementCounting.persistRequest(entityManager, "Water tank for Rusizi", citizen);
+            return citizen.getUserId();
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User citizen = entityManager.find(User.class, citizenId);
+            citizen.setName("After Mukamana");
+            citizen.setDistrict("Rusizi");
+        });
+
+        Map<?, ?> item = (Map<?, ?>) ((List<?>) searchIndexService.search("rusizi", SearchIndexService.TYPE_REQUEST, 0, 10).get("items")).get(0);
+        assertEquals("After Mukamana", item.get("citizenName"));
+        assertEquals("Rusizi", item.get("district"));
+    }
+
+    @Test
+    public void testScheduledRebuildPicksUpWritesFromOtherInstances() {
+        Long requestId = transactionTemplate.execute(status -> {
+            User citizen = StatementCounting.persistUser(entityManager, 4105, UserRole.CITIZEN, null);
+            return StatementCounting.persistRequest(entityManager, "Firewood for Nyamasheke", citizen).getRequestId();
+        });
+        // Another instance's commit: this instance's listener never sees it
+        jdbcTemplate.update("UPDATE requests SET title = ? WHERE request_id = ?", "Solar lamp for Nyamasheke", requestId);
+        assertEquals(0, total("solar", SearchIndexService.TYPE_REQUEST));
+
+        searchIndexService.scheduledRebuild();
+
+        assertEquals(1, total("solar", SearchIndexService.TYPE_REQUEST));
+        assertEquals(0, total("firewood", SearchIndexService.TYPE_REQUEST));
+    }
+
+    private int total(String query, String type) {
+        return (int) searchIndexService.search(query, type, 0, 10).get("total");
+    }
+}
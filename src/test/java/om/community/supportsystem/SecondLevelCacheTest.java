@@ -0,0 +1,76 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.config.SecondLevelCacheConfig;
+import om.community.supportsystem.model.Skill;
+import om.community.supportsystem.model.SystemSettings;
+import om.community.supportsystem.repository.SkillRepository;
+import om.community.supportsystem.service.SystemSettingsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Second-level and query caching of reference data. Uses its own in-memory database because
+ * the cache is only written when transactions commit.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:l2cachetest")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SystemSettingsService systemSettingsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testSkillIsLoadedFromCache() {
+        Long skillId = skillRepository.save(new Skill("Carpentry", "Furniture and roof repairs")).getSkillId();
+        transactionTemplate.executeWithoutResult(status -> skillRepository.findById(skillId).orElseThrow());
+
+        Statistics statistics = statistics();
+        transactionTemplate.executeWithoutResult(status -> skillRepository.findById(skillId).orElseThrow());
+        transactionTemplate.executeWithoutResult(status -> skillRepository.findById(skillId).orElseThrow());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.SKILLS_REGION).getHitCount());
+    }
+
+    @Test
+    public void testSettingUpdateIsVisibleThroughCache() {
+        systemSettingsService.updateSetting("cache.test", "one");
+        assertEquals("one", cachedValue("cache.test"));
+
+        Statistics statistics = statistics();
+        assertEquals("one", cachedValue("cache.test"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        systemSettingsService.updateSetting("cache.test", "two");
+        assertEquals("two", cachedValue("cache.test"));
+        assertNull(cachedValue("cache.missing"));
+    }
+
+    private String cachedValue(String key) {
+        return systemSettingsService.getSettingByKey(key).map(SystemSettings::getSettingValue).orElse(null);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,71 @@
+package om.community.supportsystem;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Local HTTP stand-in for SendGrid's mail/send endpoint. Point the application at it with
+ * sendgrid.api.host=localhost:{port} and sendgrid.api.plain-http=true. Records every request
+ * body and answers 202, or the statuses queued with respondNext first.
+ */
+class SendGridStandIn {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new ArrayList<>();
+    private final Deque<Integer> queuedStatuses = new ConcurrentLinkedDeque<>();
+    private final HttpServer server;
+
+    SendGridStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v3/mail/send", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                JsonNode body = objectMapper.readTree(in);
+                synchronized (requests) {
+                    requests.add(body);
+                }
+            }
+            Integer queued = queuedStatuses.pollFirst();
+            int status = queued != null ? queued : 202;
+            byte[] response = (status >= 400 ? "{\"errors\":[{\"message\":\"stand-in failure\"}]}" : "")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, response.length == 0 ? -1 : response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    String host() {
+        return "localhost:" + server.getAddress().getPort();
+    }
+
+    /** The next calls are answered with these statuses, in order. */
+    void respondNext(Integer... statuses) {
+        queuedStatuses.addAll(List.of(statuses));
+    }
+
+    List<JsonNode> requests() {
+        synchronized (requests) {
+            return new ArrayList<>(requests);
+        }
+    }
+
+    void reset() {
+        synchronized (requests) {
+            requests.clear();
+        }
+        queuedStatuses.clear();
+    }
+}
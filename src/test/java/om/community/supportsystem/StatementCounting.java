@@ -0,0 +1,52 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.model.Location;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Shared by the tests that pin SQL statement counts. They need
+ * spring.jpa.properties.hibernate.generate_statistics=true.
+ */
+final class StatementCounting {
+
+    interface Action {
+        void run() throws Exception;
+    }
+
+    private StatementCounting() {}
+
+    /**
+     * Flushes and clears the persistence context so nothing is served from it, then returns the
+     * number of statements Hibernate prepared while running {@code action}.
+     */
+    static long countStatements(EntityManager entityManager, EntityManagerFactory entityManagerFactory,
+                                Action action) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /** Persists a user whose name, email and phone number are derived from {@code n}. */
+    static User persistUser(EntityManager entityManager, int n, UserRole role, Location location) {
+        User user = new User("User " + n, "user" + n + "@example.com", String.format("07%08d", n), role, location);
+        user.setPassword("password123");
+        entityManager.persist(user);
+        return user;
+    }
+
+    static Request persistRequest(EntityManager entityManager, String title, User citizen) {
+        Request request = new Request(title, "Help needed", RequestCategory.GENERAL_HELP, citizen);
+        entityManager.persist(request);
+        return request;
+    }
+}
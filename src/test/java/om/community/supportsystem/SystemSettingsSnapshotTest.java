@@ -0,0 +1,71 @@
+package om.community.supportsystem;
+
+import jakarta.persistence.EntityManagerFactory;
+import om.community.supportsystem.service.SettingsSnapshot;
+import om.community.supportsystem.service.SystemSettingsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Settings reads from the in-memory snapshot, and syncing with writes made by other instances.
+ * Uses its own in-memory database because writes commit.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:settingstest")
+public class SystemSettingsSnapshotTest {
+
+    @Autowired
+    private SystemSettingsService systemSettingsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testWritesAreVisibleImmediatelyAndReadsSkipTheDatabase() {
+        long before = systemSettingsService.getVersion();
+        systemSettingsService.updateSetting("snapshot.limit", " 25 ");
+        systemSettingsService.updateSetting("snapshot.enabled", "TRUE");
+        assertEquals(before + 2, systemSettingsService.getVersion());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(25, systemSettingsService.getInt("snapshot.limit", 0));
+        assertTrue(systemSettingsService.getBoolean("snapshot.enabled", false));
+        assertEquals(7, systemSettingsService.getInt("snapshot.enabled", 7));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        SettingsSnapshot held = systemSettingsService.snapshot();
+        systemSettingsService.deleteSetting("snapshot.limit");
+        assertEquals(-1, systemSettingsService.getLong("snapshot.limit", -1));
+        assertEquals(25, held.getInt("snapshot.limit", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> systemSettingsService.updateSetting(SystemSettingsService.VERSION_KEY, "0"));
+    }
+
+    @Test
+    public void testPollPicksUpChangesFromAnotherInstance() {
+        systemSettingsService.updateSetting("snapshot.remote", "before");
+        long version = systemSettingsService.getVersion();
+
+        // What another instance's updateSetting leaves in the table
+        jdbcTemplate.update("UPDATE system_settings SET setting_value = ? WHERE setting_key = ?", "after", "snapshot.remote");
+        jdbcTemplate.update("UPDATE system_settings SET setting_value = ? WHERE setting_key = ?",
+                Long.toString(version + 1), SystemSettingsService.VERSION_KEY);
+        assertEquals("before", systemSettingsService.getSettingValue("snapshot.remote", null));
+
+        systemSettingsService.pollForChanges();
+        assertEquals("after", systemSettingsService.getSettingValue("snapshot.remote", null));
+        assertEquals(version + 1, systemSettingsService.getVersion());
+    }
+}
@@ -0,0 +1,108 @@
+package om.community.supportsystem;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import om.community.supportsystem.model.Request;
+import om.community.supportsystem.model.RequestCategory;
+import om.community.supportsystem.model.User;
+import om.community.supportsystem.model.UserRole;
+import om.community.supportsystem.repository.AssignmentRepository;
+import om.community.supportsystem.service.VolunteerRoutingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Volunteer routing widens to nearby districts before the rest of the country, scores no more
+ * than the candidate cap, and keeps load changes made while the index is rebuilt.
+ * Own database, since the volunteers are committed.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:routingtest",
+                "notifications.routing.nearby-districts=1", "notifications.routing.max-candidates=4"})
+public class VolunteerRoutingTest {
+
+    @Autowired
+    private VolunteerRoutingService routingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private AssignmentRepository assignmentRepository;
+
+    private static int nextUser = 5100;
+
+    @Test
+    public void testWideningPrefersNearbyDistrictsAndIsCapped() {
+        Long home = volunteer("Widenland", "Home");
+        Long alpha = volunteer("Widenland", "Alpha");
+        volunteer("Widenland", "Zulu");
+        for (int i = 0; i < 6; i++) {
+            volunteer("Elsewhere", "Remote " + i);
+        }
+        routingService.rebuildIndex();
+
+        // Alpha is the one nearby district searched (nearby-districts=1); Zulu and the rest of the country are not needed
+        assertEquals(List.of(home, alpha), routingService.selectVolunteers(request("Widenland", "Home"), 2));
+
+        // Nobody near the citizen: the nationwide fallback stops at max-candidates=4
+        DistributionSummary scored = meterRegistry.get("notifications.routing.candidates").summary();
+        double before = scored.totalAmount();
+        assertEquals(2, routingService.selectVolunteers(request("Nowhere", "Nowhere"), 2).size());
+        assertEquals(4.0, scored.totalAmount() - before);
+    }
+
+    @Test
+    public void testLoadRecordedDuringRebuildIsKept() {
+        Long first = volunteer("Loadland", "Same");
+        Long second = volunteer("Loadland", "Same");
+        routingService.rebuildIndex();
+        assertEquals(List.of(first), routingService.selectVolunteers(request("Loadland", "Same"), 1));
+
+        // An assignment opens while the rebuild is counting, and the count does not include it
+        doAnswer(invocation -> {
+            routingService.recordAssignmentOpened(first);
+            return List.of();
+        }).when(assignmentRepository).countOpenAssignmentsByVolunteer();
+        routingService.rebuildIndex();
+        assertEquals(List.of(second), routingService.selectVolunteers(request("Loadland", "Same"), 1));
+
+        // Untouched by a later rebuild, the load comes from the database again
+        doAnswer(invocation -> List.of()).when(assignmentRepository).countOpenAssignmentsByVolunteer();
+        routingService.rebuildIndex();
+        assertEquals(List.of(first), routingService.selectVolunteers(request("Loadland", "Same"), 1));
+    }
+
+    private Long volunteer(String province, String district) {
+        return transactionTemplate.execute(status -> {
+            User user = StatementCounting.persistUser(entityManager, nextUser++, UserRole.VOLUNTEER, null);
+            user.setProvince(province);
+            user.setDistrict(district);
+            return user.getUserId();
+        });
+    }
+
+    private static Request request(String province, String district) {
+        User citizen = new User();
+        citizen.setProvince(province);
+        citizen.setDistrict(district);
+        return new Request("Help needed", "Help needed nearby", RequestCategory.GENERAL_HELP, citizen);
+    }
+}